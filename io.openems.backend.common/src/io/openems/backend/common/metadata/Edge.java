@@ -80,10 +80,20 @@ public class Edge {
 	public String toString() {
 		return "Edge [id=" + id + ", comment=" + comment + ", state=" + state + ", version=" + version
 				+ ", producttype=" + producttype + ", deprecatedConfig="
-				+ (config.toString().isEmpty() ? "NOT_SET" : "set") + ", lastMessage=" + lastMessage + ", lastUpdate="
+				+ (this.isConfigSet() ? "set" : "NOT_SET") + ", lastMessage=" + lastMessage + ", lastUpdate="
 				+ lastUpdate + ", isOnline=" + isOnline + "]";
 	}
 
+	/**
+	 * Gets whether a configuration is set. Used by {@link #toString()}; must not
+	 * parse a lazily loaded configuration.
+	 * 
+	 * @return true if a configuration is set
+	 */
+	protected boolean isConfigSet() {
+		return this.config != null && !this.config.toString().isEmpty();
+	}
+
 	/*
 	 * Online
 	 */
@@ -0,0 +1,79 @@
+package io.openems.backend.common.timedata;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Maps {@link ChannelAddress}es to dense, numeric IDs.
+ *
+ * <p>
+ * The dictionary is shared by the {@link EdgeCache}s of all Edges, so every
+ * distinct {@link ChannelAddress} is held only once in memory, no matter how
+ * many Edges provide it. IDs are never removed.
+ */
+class ChannelAddressDictionary {
+
+	private final Map<ChannelAddress, Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * The ChannelAddresses by ID; replaced on growth.
+	 */
+	private volatile ChannelAddress[] addresses = new ChannelAddress[1024];
+
+	/**
+	 * The number of IDs; guarded by 'this'.
+	 */
+	private int size = 0;
+
+	/**
+	 * Gets the ID of a {@link ChannelAddress}, or null if it is not known.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the ID or null
+	 */
+	protected Integer find(ChannelAddress address) {
+		return this.ids.get(address);
+	}
+
+	/**
+	 * Gets the ID of a {@link ChannelAddress}; adds it if it is not known yet.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the ID
+	 */
+	protected int getOrAdd(ChannelAddress address) {
+		Integer id = this.ids.get(address);
+		if (id != null) {
+			return id;
+		}
+		synchronized (this) {
+			id = this.ids.get(address);
+			if (id != null) {
+				return id;
+			}
+			ChannelAddress[] addresses = this.addresses;
+			if (this.size == addresses.length) {
+				addresses = Arrays.copyOf(addresses, addresses.length * 2);
+			}
+			addresses[this.size] = address;
+			this.addresses = addresses;
+			id = this.size++;
+			this.ids.put(address, id);
+			return id;
+		}
+	}
+
+	/**
+	 * Gets the {@link ChannelAddress} for an ID.
+	 *
+	 * @param id the ID, as returned by {@link #getOrAdd(ChannelAddress)}
+	 * @return the {@link ChannelAddress}
+	 */
+	protected ChannelAddress get(int id) {
+		return this.addresses[id];
+	}
+
+}
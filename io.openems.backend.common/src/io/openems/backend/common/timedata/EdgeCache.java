@@ -1,7 +1,7 @@
 package io.openems.backend.common.timedata;
 
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -11,11 +11,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
 
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
 
+/**
+ * Caches the latest Channel values of an Edge.
+ *
+ * <p>
+ * The values are held in an immutable {@link Snapshot}, that is replaced on
+ * every write. Readers never lock. Numeric values are stored as primitives;
+ * Channels are identified by their ID in a {@link ChannelAddressDictionary}
+ * that is shared by all Edges.
+ */
 public class EdgeCache {
 
+	/**
+	 * Cached values elder than this are not valid anymore.
+	 */
+	private static final long MAX_AGE = 5 * 60 * 1000; // [ms]
+
+	private static final ChannelAddressDictionary DICTIONARY = new ChannelAddressDictionary();
+
 	private final Logger log = LoggerFactory.getLogger(EdgeCache.class);
 
 	/**
@@ -28,14 +46,46 @@ public class EdgeCache {
 	 */
 	private long lastAppliedTimestamp = 0l;
 
-	private final HashMap<ChannelAddress, JsonElement> cacheData = new HashMap<>();
+	/**
+	 * The system time of the last write to the Cache.
+	 */
+	private volatile long lastWriteMillis = System.currentTimeMillis();
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
 
-	public synchronized final Optional<JsonElement> getChannelValue(ChannelAddress address) {
-		return Optional.ofNullable(this.cacheData.get(address));
+	/**
+	 * Gets the cached value of a Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the value or Optional.Empty if it is not cached
+	 */
+	public final Optional<JsonElement> getChannelValue(ChannelAddress address) {
+		Integer id = DICTIONARY.find(address);
+		if (id == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(this.snapshot.get(id));
+	}
+
+	/**
+	 * Did this Cache not receive any data for longer than it would be valid?.
+	 *
+	 * @param now the current system time in milliseconds
+	 * @return true if the Cache is expired
+	 */
+	public boolean isExpired(long now) {
+		return now > this.lastWriteMillis + MAX_AGE;
 	}
 
+	/**
+	 * Complements the incoming data with the cached values and updates the Cache.
+	 *
+	 * @param edgeId        the Edge-ID
+	 * @param incomingDatas the incoming data; it is modified
+	 */
 	public synchronized void complementDataFromCache(String edgeId,
 			SortedMap<Long, Map<ChannelAddress, JsonElement>> incomingDatas) {
+		this.lastWriteMillis = System.currentTimeMillis();
 		for (Entry<Long, Map<ChannelAddress, JsonElement>> entry : incomingDatas.entrySet()) {
 			Long incomingTimestamp = entry.getKey();
 			Map<ChannelAddress, JsonElement> incomingData = entry.getValue();
@@ -47,7 +97,7 @@ public class EdgeCache {
 			} else {
 				// Incoming data is more recent than cache
 
-				if (incomingTimestamp > this.cacheTimestamp + 5 * 60 * 1000) {
+				if (incomingTimestamp > this.cacheTimestamp + MAX_AGE) {
 					// Cache is not anymore valid (elder than 5 minutes)
 					if (this.cacheTimestamp != 0L) {
 						this.log.info("Edge [" + edgeId + "]: invalidate cache. Incoming ["
@@ -55,7 +105,7 @@ public class EdgeCache {
 								+ Instant.ofEpochMilli(cacheTimestamp) + "]");
 					}
 					// Clear Cache
-					this.cacheData.clear();
+					this.snapshot = Snapshot.EMPTY;
 
 				} else if (incomingTimestamp < this.lastAppliedTimestamp + 60 * 1000) {
 					// Apply Cache only once every minute to throttle writes
@@ -65,22 +115,176 @@ public class EdgeCache {
 
 					// cache is valid (not elder than 5 minutes)
 					this.lastAppliedTimestamp = incomingTimestamp;
-					for (Entry<ChannelAddress, JsonElement> cacheEntry : this.cacheData.entrySet()) {
-						ChannelAddress channel = cacheEntry.getKey();
+					Snapshot snapshot = this.snapshot;
+					for (int i = 0; i < snapshot.ids.length; i++) {
+						ChannelAddress channel = DICTIONARY.get(snapshot.ids[i]);
 						// check if there is a current value for this timestamp + channel
 						if (!incomingData.containsKey(channel)) {
 							// if not -> add cache data to write data
-							incomingData.put(channel, cacheEntry.getValue());
+							incomingData.put(channel, snapshot.getAt(i));
 						}
 					}
 				}
 
 				// update cache
 				this.cacheTimestamp = incomingTimestamp;
-				for (Entry<ChannelAddress, JsonElement> channelEntry : incomingData.entrySet()) {
-					this.cacheData.put(channelEntry.getKey(), channelEntry.getValue());
+				this.snapshot = this.snapshot.with(incomingData);
+			}
+		}
+	}
+
+	/**
+	 * An immutable set of Channel values, sorted by the IDs of their Channels.
+	 */
+	private static final class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(new int[0], new long[0], new JsonElement[0]);
+
+		private final int[] ids;
+
+		/**
+		 * Numeric values; either a long or the raw bits of a double.
+		 */
+		private final long[] numbers;
+
+		/**
+		 * Non-numeric values. An entry is a {@link #LONG} or {@link #DOUBLE} marker
+		 * for numeric values.
+		 */
+		private final JsonElement[] others;
+
+		private static final JsonElement LONG = new JsonPrimitive("LONG");
+		private static final JsonElement DOUBLE = new JsonPrimitive("DOUBLE");
+
+		private Snapshot(int[] ids, long[] numbers, JsonElement[] others) {
+			this.ids = ids;
+			this.numbers = numbers;
+			this.others = others;
+		}
+
+		/**
+		 * Gets the value for a Channel-ID.
+		 *
+		 * @param id the ID in the {@link ChannelAddressDictionary}
+		 * @return the value or null
+		 */
+		private JsonElement get(int id) {
+			int index = Arrays.binarySearch(this.ids, id);
+			if (index < 0) {
+				return null;
+			}
+			return this.getAt(index);
+		}
+
+		/**
+		 * Gets the value at an index.
+		 *
+		 * @param index the index
+		 * @return the value
+		 */
+		private JsonElement getAt(int index) {
+			JsonElement other = this.others[index];
+			if (other == LONG) {
+				return new JsonPrimitive(this.numbers[index]);
+			} else if (other == DOUBLE) {
+				return new JsonPrimitive(Double.longBitsToDouble(this.numbers[index]));
+			} else {
+				return other;
+			}
+		}
+
+		/**
+		 * Creates a new Snapshot with the given values added or replaced.
+		 *
+		 * @param values the values
+		 * @return the new Snapshot
+		 */
+		private Snapshot with(Map<ChannelAddress, JsonElement> values) {
+			if (values.isEmpty()) {
+				return this;
+			}
+			int[] valueIds = new int[values.size()];
+			int added = 0;
+			int i = 0;
+			for (ChannelAddress address : values.keySet()) {
+				int id = DICTIONARY.getOrAdd(address);
+				valueIds[i++] = id;
+				if (Arrays.binarySearch(this.ids, id) < 0) {
+					added++;
+				}
+			}
+
+			final int[] ids;
+			final long[] numbers;
+			final JsonElement[] others;
+			if (added == 0) {
+				// Only replaced values: share the IDs
+				ids = this.ids;
+				numbers = this.numbers.clone();
+				others = this.others.clone();
+			} else {
+				// Merge new IDs
+				int[] newIds = new int[added];
+				int n = 0;
+				for (int id : valueIds) {
+					if (Arrays.binarySearch(this.ids, id) < 0) {
+						newIds[n++] = id;
+					}
 				}
+				Arrays.sort(newIds);
+				ids = new int[this.ids.length + added];
+				numbers = new long[ids.length];
+				others = new JsonElement[ids.length];
+				int a = 0;
+				int b = 0;
+				for (int j = 0; j < ids.length; j++) {
+					if (b == newIds.length || (a < this.ids.length && this.ids[a] < newIds[b])) {
+						ids[j] = this.ids[a];
+						numbers[j] = this.numbers[a];
+						others[j] = this.others[a];
+						a++;
+					} else {
+						ids[j] = newIds[b++];
+					}
+				}
+			}
+
+			// Set values
+			i = 0;
+			for (JsonElement value : values.values()) {
+				int index = Arrays.binarySearch(ids, valueIds[i++]);
+				Number number = toNumber(value);
+				if (number instanceof Long) {
+					numbers[index] = number.longValue();
+					others[index] = LONG;
+				} else if (number instanceof Double) {
+					numbers[index] = Double.doubleToRawLongBits(number.doubleValue());
+					others[index] = DOUBLE;
+				} else {
+					numbers[index] = 0;
+					others[index] = value;
+				}
+			}
+			return new Snapshot(ids, numbers, others);
+		}
+
+		/**
+		 * Converts a numeric {@link JsonElement} to a {@link Long} or {@link Double}.
+		 *
+		 * <p>
+		 * Integral values are returned as {@link Long}. Other numbers are returned as
+		 * the nearest {@link Double}, like {@link JsonElement#getAsDouble()} does. See
+		 * {@link JsonUtils#parseNumber(Number)}.
+		 *
+		 * @param value the value
+		 * @return the number; null if the value is not numeric or is an integral
+		 *         value that does not fit in a long
+		 */
+		private static Number toNumber(JsonElement value) {
+			if (value == null || !value.isJsonPrimitive() || !value.getAsJsonPrimitive().isNumber()) {
+				return null;
 			}
+			return JsonUtils.parseNumber(value.getAsNumber());
 		}
 	}
 
@@ -17,6 +17,10 @@ public interface Timedata extends CommonTimedataService {
 	/**
 	 * Sends the data points to the Timedata service.
 	 * 
+	 * <p>
+	 * Implementations may process the data asynchronously and modify it; callers
+	 * must not use the data afterwards.
+	 * 
 	 * @param edgeId The unique Edge-ID
 	 * @param data   Table of timestamp (epoch in milliseconds), Channel-Address and
 	 *               the Channel value as JsonElement. Sorted by timestamp.
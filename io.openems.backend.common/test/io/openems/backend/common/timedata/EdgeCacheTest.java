@@ -0,0 +1,96 @@
+package io.openems.backend.common.timedata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+public class EdgeCacheTest {
+
+	private static final ChannelAddress[] ADDRESSES = new ChannelAddress[6];
+
+	static {
+		for (int i = 0; i < ADDRESSES.length; i++) {
+			ADDRESSES[i] = new ChannelAddress("_sum", "EdgeCacheTest" + i);
+		}
+	}
+
+	private static void write(EdgeCache sut, long timestamp, Map<ChannelAddress, JsonElement> values) {
+		SortedMap<Long, Map<ChannelAddress, JsonElement>> data = new TreeMap<>();
+		data.put(timestamp, new HashMap<>(values));
+		sut.complementDataFromCache("edge0", data);
+	}
+
+	private static void assertValue(EdgeCache sut, ChannelAddress address, JsonElement expected) {
+		assertEquals(expected, sut.getChannelValue(address).get());
+	}
+
+	@Test
+	public void testMerge() {
+		// Assign IDs to all addresses in the shared dictionary
+		final EdgeCache other = new EdgeCache();
+		Map<ChannelAddress, JsonElement> all = new HashMap<>();
+		for (ChannelAddress address : ADDRESSES) {
+			all.put(address, new JsonPrimitive(0));
+		}
+		write(other, 1000, all);
+
+		final EdgeCache sut = new EdgeCache();
+		write(sut, 1000, Map.of(//
+				ADDRESSES[1], new JsonPrimitive(1), //
+				ADDRESSES[3], new JsonPrimitive("three")));
+		assertFalse(sut.getChannelValue(ADDRESSES[0]).isPresent());
+
+		// New IDs are merged in between existing ones
+		write(sut, 2000, Map.of(//
+				ADDRESSES[0], new JsonPrimitive(0.5), //
+				ADDRESSES[2], JsonNull.INSTANCE, //
+				ADDRESSES[4], new JsonPrimitive(4L), //
+				ADDRESSES[5], new JsonPrimitive(true)));
+		assertValue(sut, ADDRESSES[0], new JsonPrimitive(0.5));
+		assertValue(sut, ADDRESSES[1], new JsonPrimitive(1L));
+		assertValue(sut, ADDRESSES[2], JsonNull.INSTANCE);
+		assertValue(sut, ADDRESSES[3], new JsonPrimitive("three"));
+		assertValue(sut, ADDRESSES[4], new JsonPrimitive(4L));
+		assertValue(sut, ADDRESSES[5], new JsonPrimitive(true));
+
+		// Only replaced values; types may change
+		write(sut, 3000, Map.of(//
+				ADDRESSES[1], new JsonPrimitive("one"), //
+				ADDRESSES[3], new JsonPrimitive(3)));
+		assertValue(sut, ADDRESSES[0], new JsonPrimitive(0.5));
+		assertValue(sut, ADDRESSES[1], new JsonPrimitive("one"));
+		assertValue(sut, ADDRESSES[3], new JsonPrimitive(3L));
+
+		// The other EdgeCache is not affected
+		assertValue(other, ADDRESSES[1], new JsonPrimitive(0L));
+	}
+
+	@Test
+	public void testParsedNumbers() {
+		final EdgeCache sut = new EdgeCache();
+		write(sut, 1000, Map.of(//
+				ADDRESSES[0], JsonParser.parseString("-123"), //
+				ADDRESSES[1], JsonParser.parseString("1.25"), //
+				ADDRESSES[2], JsonParser.parseString("9223372036854775807"), //
+				// does not fit in a long: kept as is
+				ADDRESSES[3], JsonParser.parseString("12345678901234567890123")));
+		assertValue(sut, ADDRESSES[0], new JsonPrimitive(-123L));
+		assertValue(sut, ADDRESSES[1], new JsonPrimitive(1.25));
+		assertValue(sut, ADDRESSES[2], new JsonPrimitive(Long.MAX_VALUE));
+		assertEquals("12345678901234567890123", sut.getChannelValue(ADDRESSES[3]).get().getAsString());
+	}
+
+}
@@ -17,6 +17,9 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default false;
 
+	@AttributeDefinition(name = "Compression", description = "Supports compressed messages ('permessage-deflate') for Edges that request it")
+	boolean compression() default true;
+
 	String webconsole_configurationFactory_nameHint() default "Edge Websocket";
 
 }
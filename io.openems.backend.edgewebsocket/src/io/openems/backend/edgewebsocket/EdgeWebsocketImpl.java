@@ -62,7 +62,7 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	private Config config;
 
 	private final Runnable startServerWhenMetadataIsInitialized = () -> {
-		this.startServer(config.port(), config.poolSize(), config.debugMode());
+		this.startServer(config.port(), config.poolSize(), config.debugMode(), config.compression());
 	};
 
 	@Activate
@@ -82,10 +82,11 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	 * 
 	 * @param port      the port
 	 * @param poolSize  number of threads dedicated to handle the tasks
-	 * @param debugMode activate a regular debug log about the state of the tasks
+	 * @param debugMode   activate a regular debug log about the state of the tasks
+	 * @param compression support the 'permessage-deflate' extension
 	 */
-	private synchronized void startServer(int port, int poolSize, boolean debugMode) {
-		this.server = new WebsocketServer(this, this.getName(), port, poolSize, debugMode);
+	private synchronized void startServer(int port, int poolSize, boolean debugMode, boolean compression) {
+		this.server = new WebsocketServer(this, this.getName(), port, poolSize, debugMode, compression);
 		this.server.start();
 	}
 
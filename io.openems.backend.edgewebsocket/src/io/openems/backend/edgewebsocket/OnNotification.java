@@ -1,6 +1,6 @@
 package io.openems.backend.edgewebsocket;
 
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -9,7 +9,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 
 import io.openems.backend.common.metadata.Edge;
 import io.openems.common.channel.Level;
@@ -20,11 +19,14 @@ import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
+	private static final ChannelAddress SUM_STATE = new ChannelAddress("_sum", "State");
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+
 	private final Logger log = LoggerFactory.getLogger(OnNotification.class);
 	private final EdgeWebsocketImpl parent;
 
@@ -103,37 +105,43 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			throws OpenemsNamedException {
 		String edgeId = wsData.assertEdgeId(message);
 
-		try {
-			this.parent.timedata.write(edgeId, message.getData());
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-		}
-
-		// Read some specific channels
+		// Read some specific channels; iterate the parsed data instead of serializing
+		// it back to JSON
 		Edge edge = this.parent.metadata.getEdgeOrError(edgeId);
-		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
-			JsonObject data = JsonUtils.getAsJsonObject(entry.getValue());
+		for (Map<ChannelAddress, JsonElement> data : message.getData().rowMap().values()) {
 			// set Edge last update timestamp only for those channels
-			for (String channel : data.keySet()) {
+			for (ChannelAddress address : data.keySet()) {
+				String channel = address.getChannelId();
 				if (channel.endsWith("ActivePower")
 						|| channel.endsWith("ActivePowerL1") | channel.endsWith("ActivePowerL2")
 								| channel.endsWith("ActivePowerL3") | channel.endsWith("Soc")) {
 					edge.setLastUpdateTimestamp();
+					break;
 				}
 			}
 
 			// set specific Edge values
-			if (data.has("_sum/State") && data.get("_sum/State").isJsonPrimitive()) {
-				Level sumState = Level.fromJson(data, "_sum/State").orElse(Level.FAULT);
+			JsonElement sumStateElement = data.get(SUM_STATE);
+			if (sumStateElement != null && sumStateElement.isJsonPrimitive()) {
+				Level sumState = Level.fromJson(sumStateElement).orElse(Level.FAULT);
 				edge.setSumState(sumState);
 			}
 
-			if (data.has("_meta/Version") && data.get("_meta/Version").isJsonPrimitive()) {
-				String version = JsonUtils.getAsPrimitive(data, "_meta/Version").getAsString();
+			JsonElement versionElement = data.get(META_VERSION);
+			if (versionElement != null && versionElement.isJsonPrimitive()) {
+				String version = versionElement.getAsString();
 				edge.setVersion(SemanticVersion.fromString(version));
 			}
 
 		}
+
+		// Write data; Timedata might process it asynchronously, so it must not be
+		// used afterwards
+		try {
+			this.parent.timedata.write(edgeId, message.getData());
+		} catch (IllegalArgumentException e) {
+			e.printStackTrace();
+		}
 	}
 
 	/**
@@ -39,8 +39,9 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 	private final OnError onError;
 	private final OnClose onClose;
 
-	public WebsocketServer(EdgeWebsocketImpl parent, String name, int port, int poolSize, boolean debugMode) {
-		super(name, port, poolSize, debugMode);
+	public WebsocketServer(EdgeWebsocketImpl parent, String name, int port, int poolSize, boolean debugMode,
+			boolean compression) {
+		super(name, port, poolSize, debugMode, compression);
 		this.parent = parent;
 		this.onOpen = new OnOpen(parent);
 		this.onRequest = new OnRequest(parent);
@@ -22,12 +22,9 @@ import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeProducttype;
 import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeStateActive;
 import io.openems.backend.metadata.odoo.postgres.task.UpdateSumState;
 import io.openems.common.channel.Level;
-import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
-import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.EdgeConfigDiff;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class EdgeCache {
 
@@ -56,33 +53,23 @@ public class EdgeCache {
 	/**
 	 * Adds a Edge or Updates an existing Edge from a SQL ResultSet.
 	 * 
+	 * <p>
+	 * The EdgeConfig is only kept in compressed form; it is parsed on first access
+	 * via {@link MyEdge#getConfig()}.
+	 * 
 	 * @param rs the ResultSet record
 	 * @return the new or updated Edge instance
 	 * @throws SQLException     on error
 	 * @throws OpenemsException on error
 	 */
-	public synchronized MyEdge addOrUpate(ResultSet rs) throws SQLException, OpenemsException {
+	public MyEdge addOrUpate(ResultSet rs) throws SQLException, OpenemsException {
 		// simple fields
 		String edgeId = PgUtils.getAsString(rs, EdgeDevice.NAME);
 		int odooId = PgUtils.getAsInt(rs, EdgeDevice.ID);
 		String apikey = PgUtils.getAsString(rs, EdgeDevice.APIKEY);
 
 		// Config
-		EdgeConfig config;
-		String configString = PgUtils.getAsStringOrElse(rs, EdgeDevice.OPENEMS_CONFIG, "");
-		if (configString.isEmpty()) {
-			config = new EdgeConfig();
-		} else {
-			try {
-				config = EdgeConfig.fromJson(//
-						JsonUtils.getAsJsonObject(//
-								JsonUtils.parse(configString)));
-			} catch (OpenemsNamedException e) {
-				this.parent.logWarn(this.log, "Unable to read Edge-Config for Odoo-ID [" + odooId + "] Edge-ID ["
-						+ edgeId + "]: " + e.getMessage());
-				config = new EdgeConfig();
-			}
-		}
+		byte[] config = MyEdge.compressConfig(PgUtils.getAsStringOrElse(rs, EdgeDevice.OPENEMS_CONFIG, ""));
 
 		// State
 		String stateString = PgUtils.getAsStringOrElse(rs, EdgeDevice.STATE, State.INACTIVE.name());
@@ -102,25 +89,27 @@ public class EdgeCache {
 		int sumStateInt = PgUtils.getAsIntegerOrElse(rs, EdgeDevice.OPENEMS_SUM_STATE, -1);
 		Level sumState = Level.fromValue(sumStateInt).orElse(null);
 
-		MyEdge edge = this.edgeIdToEdge.get(edgeId);
-		if (edge == null) {
-			// This is new -> create instance of Edge and register listeners
-			edge = new MyEdge(odooId, edgeId, apikey, comment, state, version, productType, sumState, config);
-			this.addListeners(edge);
-			this.edgeIdToEdge.put(edgeId, edge);
-			this.odooIdToEdgeId.put(odooId, edgeId);
-			this.apikeyToEdgeId.put(apikey, edgeId);
-		} else {
-			// Edge exists -> update information
-			edge.setComment(comment);
-			edge.setState(state);
-			edge.setVersion(SemanticVersion.fromStringOrZero(version), false);
-			edge.setProducttype(productType);
-			edge.setSumState(sumState, false);
-			edge.setConfig(config, false);
-		}
+		synchronized (this) {
+			MyEdge edge = this.edgeIdToEdge.get(edgeId);
+			if (edge == null) {
+				// This is new -> create instance of Edge and register listeners
+				edge = new MyEdge(odooId, edgeId, apikey, comment, state, version, productType, sumState, config);
+				this.addListeners(edge);
+				this.edgeIdToEdge.put(edgeId, edge);
+				this.odooIdToEdgeId.put(odooId, edgeId);
+				this.apikeyToEdgeId.put(apikey, edgeId);
+			} else {
+				// Edge exists -> update information
+				edge.setComment(comment);
+				edge.setState(state);
+				edge.setVersion(SemanticVersion.fromStringOrZero(version), false);
+				edge.setProducttype(productType);
+				edge.setSumState(sumState, false);
+				edge.setCompressedConfig(config);
+			}
 
-		return edge;
+			return edge;
+		}
 	}
 
 	/**
@@ -1,19 +1,62 @@
 package io.openems.backend.metadata.odoo;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 import io.openems.backend.common.metadata.Edge;
 import io.openems.common.channel.Level;
 import io.openems.common.types.EdgeConfig;
+import io.openems.common.utils.JsonUtils;
 
 public class MyEdge extends Edge {
 
+	/**
+	 * The max number of parsed {@link EdgeConfig}s, that are kept in memory for
+	 * Edges with a config from Postgres.
+	 */
+	protected static final int MAX_PARSED_CONFIGS = 1_000;
+
+	/**
+	 * Parsed {@link EdgeConfig}s by their compressed JSON; shared by all Edges.
+	 * Keys are compared by identity.
+	 */
+	protected static final Cache<byte[], EdgeConfig> PARSED_CONFIGS = CacheBuilder.newBuilder() //
+			.weakKeys() //
+			.maximumSize(MAX_PARSED_CONFIGS) //
+			.build();
+
+	private final Logger log = LoggerFactory.getLogger(MyEdge.class);
+
 	private final int odooId;
 	private final String apikey;
 
+	/**
+	 * The compressed JSON of the EdgeConfig as read from Postgres. It is parsed
+	 * only on access. Null if the config was set by the Edge.
+	 */
+	private volatile byte[] compressedConfig = null;
+
 	public MyEdge(int odooId, String edgeId, String apikey, String comment, State state, String version,
-			String producttype, Level sumState, EdgeConfig config) {
-		super(edgeId, comment, state, version, producttype, sumState, config);
+			String producttype, Level sumState, byte[] compressedConfig) {
+		super(edgeId, comment, state, version, producttype, sumState, null);
 		this.apikey = apikey;
 		this.odooId = odooId;
+		this.setCompressedConfig(compressedConfig);
 	}
 
 	public int getOdooId() {
@@ -24,4 +67,88 @@ public class MyEdge extends Edge {
 		return apikey;
 	}
 
+	@Override
+	public EdgeConfig getConfig() {
+		byte[] compressedConfig = this.compressedConfig;
+		if (compressedConfig == null) {
+			return super.getConfig();
+		}
+		try {
+			return PARSED_CONFIGS.get(compressedConfig, () -> EdgeConfig.fromJson(//
+					JsonUtils.getAsJsonObject(//
+							JsonUtils.parse(decompress(compressedConfig)))));
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			this.log.warn("Unable to read Edge-Config for Odoo-ID [" + this.odooId + "] Edge-ID [" + this.getId()
+					+ "]: " + e.getCause().getMessage());
+			synchronized (this) {
+				// Do not try again
+				if (this.compressedConfig == compressedConfig) {
+					this.setCompressedConfig(null);
+				}
+			}
+			return super.getConfig();
+		}
+	}
+
+	@Override
+	protected boolean isConfigSet() {
+		byte[] compressedConfig = this.compressedConfig;
+		if (compressedConfig != null) {
+			return compressedConfig.length != 0;
+		}
+		return super.isConfigSet();
+	}
+
+	@Override
+	public synchronized void setConfig(EdgeConfig config, boolean callListeners) {
+		super.setConfig(config, callListeners);
+		this.compressedConfig = null;
+	}
+
+	/**
+	 * Sets the compressed JSON of the EdgeConfig, as read from Postgres.
+	 *
+	 * @param compressedConfig the config created by
+	 *                         {@link #compressConfig(String)}; null for an empty
+	 *                         config
+	 */
+	public synchronized void setCompressedConfig(byte[] compressedConfig) {
+		if (compressedConfig == null) {
+			super.setConfig(new EdgeConfig(), false);
+			this.compressedConfig = null;
+		} else {
+			this.compressedConfig = compressedConfig;
+			super.setConfig(null, false);
+		}
+	}
+
+	/**
+	 * Compresses the JSON of an EdgeConfig.
+	 *
+	 * @param config the JSON of the EdgeConfig
+	 * @return the compressed config; null for an empty config
+	 */
+	public static byte[] compressConfig(String config) {
+		if (config == null || config.isEmpty()) {
+			return null;
+		}
+		ByteArrayOutputStream result = new ByteArrayOutputStream(config.length() / 8);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (OutputStream out = new DeflaterOutputStream(result, deflater)) {
+			out.write(config.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			// ByteArrayOutputStream never throws
+			throw new IllegalStateException(e);
+		} finally {
+			deflater.end();
+		}
+		return result.toByteArray();
+	}
+
+	private static String decompress(byte[] compressedConfig) throws IOException {
+		try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(compressedConfig))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
 }
@@ -4,13 +4,19 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.zaxxer.hikari.HikariDataSource;
 
 import io.openems.backend.metadata.odoo.Field;
@@ -19,6 +25,16 @@ import io.openems.common.utils.ThreadPoolUtils;
 
 public class InitializeEdgesWorker {
 
+	/**
+	 * Number of parallel threads, i.e. Postgres connections, to read the Edges.
+	 */
+	private static final int NUMBER_OF_THREADS = 4;
+
+	/**
+	 * Number of Odoo-IDs per page.
+	 */
+	private static final int PAGE_SIZE = 500;
+
 	private final Logger log = LoggerFactory.getLogger(InitializeEdgesWorker.class);
 	protected final PostgresHandler parent;
 	private final HikariDataSource dataSource;
@@ -66,47 +82,138 @@ public class InitializeEdgesWorker {
 
 		/**
 		 * Reads all Edges from Postgres and puts them in a local Cache.
+		 * 
+		 * <p>
+		 * The Edges are read in pages of Odoo-IDs, that are handled in parallel.
 		 */
+		int minId;
+		int maxId;
 		try (Connection con = self.dataSource.getConnection(); //
-				PreparedStatement pst = self.psQueryAllEdges(con); //
+				PreparedStatement pst = self.psQueryEdgeIdRange(con); //
 				ResultSet rs = pst.executeQuery(); //
 		) {
-			self.parent.logInfo(this.log, "Caching Edges from Postgres");
-			for (int i = 0; rs.next(); i++) {
-				if (i % 100 == 0) {
-					self.parent.logInfo(this.log, "Caching Edges from Postgres. Finished [" + i + "]");
+			rs.next();
+			minId = rs.getInt(1);
+			maxId = rs.getInt(2);
+			if (rs.wasNull()) {
+				// No Edges
+				minId = 0;
+				maxId = -1;
+			}
+		} catch (SQLException e) {
+			self.parent.logError(this.log,
+					"Unable to initialize Edges: " + e.getClass().getSimpleName() + ". " + e.getMessage());
+			e.printStackTrace();
+			minId = 0;
+			maxId = -1;
+		}
+
+		self.parent.logInfo(this.log, "Caching Edges from Postgres");
+		final AtomicInteger count = new AtomicInteger();
+		final ExecutorService pageExecutor = Executors.newFixedThreadPool(NUMBER_OF_THREADS,
+				new ThreadFactoryBuilder().setNameFormat("Metadata.Odoo.PGInitialize-%d").build());
+		final List<Future<?>> pages = new ArrayList<>();
+		for (int[] page : getPages(minId, maxId, PAGE_SIZE)) {
+			pages.add(pageExecutor.submit(() -> self.initializePage(page[0], page[1], count)));
+		}
+		try {
+			for (Future<?> page : pages) {
+				page.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			self.parent.logError(this.log, "Unable to initialize Edges: " + e.getCause().getClass().getSimpleName()
+					+ ". " + e.getCause().getMessage());
+		} finally {
+			ThreadPoolUtils.shutdownAndAwaitTermination(pageExecutor, 5);
+		}
+
+		self.parent.logInfo(this.log, "Caching Edges from Postgres finished [" + count.get() + "]");
+		self.onFinished.run();
+	};
+
+	/**
+	 * Splits a range of Odoo-IDs into pages.
+	 * 
+	 * @param minId    the first Odoo-ID
+	 * @param maxId    the last Odoo-ID; smaller than minId for an empty range
+	 * @param pageSize the max number of Odoo-IDs per page
+	 * @return a list of pages as [fromId, toId], both inclusive
+	 */
+	protected static List<int[]> getPages(int minId, int maxId, int pageSize) {
+		final List<int[]> result = new ArrayList<>();
+		for (long fromId = minId; fromId <= maxId; fromId += pageSize) {
+			result.add(new int[] { (int) fromId, (int) Math.min(fromId + pageSize - 1, maxId) });
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the Edges of one page from Postgres and puts them in the local Cache.
+	 * 
+	 * @param fromId the first Odoo-ID of the page
+	 * @param toId   the last Odoo-ID of the page
+	 * @param count  the counter of cached Edges
+	 */
+	private void initializePage(int fromId, int toId, AtomicInteger count) {
+		try (Connection con = this.dataSource.getConnection(); //
+				PreparedStatement pst = this.psQueryEdgesPage(con, fromId, toId); //
+				ResultSet rs = pst.executeQuery(); //
+		) {
+			while (rs.next()) {
+				int i = count.incrementAndGet();
+				if (i % 1000 == 0) {
+					this.parent.logInfo(this.log, "Caching Edges from Postgres. Finished [" + i + "]");
 				}
 				try {
-					self.parent.edgeCache.addOrUpate(rs);
+					this.parent.edgeCache.addOrUpate(rs);
 
 				} catch (Exception e) {
-					self.parent.logError(this.log,
+					this.parent.logError(this.log,
 							"Unable to read Edge: " + e.getClass().getSimpleName() + ". " + e.getMessage());
 					e.printStackTrace();
 				}
 			}
 		} catch (SQLException e) {
-			self.parent.logError(this.log,
-					"Unable to initialize Edges: " + e.getClass().getSimpleName() + ". " + e.getMessage());
+			this.parent.logError(this.log, "Unable to initialize Edges [" + fromId + "-" + toId + "]: "
+					+ e.getClass().getSimpleName() + ". " + e.getMessage());
 			e.printStackTrace();
 		}
-
-		self.parent.logInfo(this.log, "Caching Edges from Postgres finished");
-		self.onFinished.run();
-	};
+	}
 
 	/**
-	 * SELECT {} FROM {edge.device};.
+	 * SELECT MIN(id), MAX(id) FROM {edge.device};.
 	 * 
 	 * @param connection the {@link Connection}
 	 * @return the {@link PreparedStatement}
 	 * @throws SQLException on error
 	 */
-	private PreparedStatement psQueryAllEdges(Connection connection) throws SQLException {
+	private PreparedStatement psQueryEdgeIdRange(Connection connection) throws SQLException {
 		return connection.prepareStatement(//
+				"SELECT MIN(" + EdgeDevice.ID.id() + "), MAX(" + EdgeDevice.ID.id() + ")" //
+						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ ";");
+	}
+
+	/**
+	 * SELECT {} FROM {edge.device} WHERE id BETWEEN {} AND {};.
+	 * 
+	 * @param connection the {@link Connection}
+	 * @param fromId     the first Odoo-ID
+	 * @param toId       the last Odoo-ID
+	 * @return the {@link PreparedStatement}
+	 * @throws SQLException on error
+	 */
+	private PreparedStatement psQueryEdgesPage(Connection connection, int fromId, int toId) throws SQLException {
+		PreparedStatement pst = connection.prepareStatement(//
 				"SELECT " + Field.getSqlQueryFields(EdgeDevice.values()) //
 						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ " WHERE " + EdgeDevice.ID.id() + " BETWEEN ? AND ?" //
 						+ ";");
+		pst.setInt(1, fromId);
+		pst.setInt(2, toId);
+		return pst;
 	}
 
 	/**
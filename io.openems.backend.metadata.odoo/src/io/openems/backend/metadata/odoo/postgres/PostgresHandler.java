@@ -78,6 +78,8 @@ public class PostgresHandler {
 		pgds.setServerNames(new String[] { config.pgHost() });
 		pgds.setPortNumbers(new int[] { config.pgPort() });
 		pgds.setDatabaseName(config.database());
+		// Rewrite batched INSERTs to multi-row INSERTs
+		pgds.setReWriteBatchedInserts(true);
 		pgds.setUser(config.pgUser());
 		if (config.pgPassword() != null) {
 			pgds.setPassword(config.pgPassword());
@@ -1,12 +1,15 @@
 package io.openems.backend.metadata.odoo.postgres;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,14 +18,18 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.zaxxer.hikari.HikariDataSource;
 
 import io.openems.backend.metadata.odoo.postgres.task.DatabaseTask;
-import io.openems.backend.metadata.odoo.postgres.task.InsertEdgeConfigUpdate;
-import io.openems.backend.metadata.odoo.postgres.task.InsertOrUpdateDeviceStates;
-import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeConfig;
-import io.openems.backend.metadata.odoo.postgres.task.UpdateEdgeProducttype;
 import io.openems.common.utils.ThreadPoolUtils;
 
 /**
  * This worker writes all Statements in a queue.
+ *
+ * <p>
+ * Tasks are collected for {@link #BATCH_WINDOW_IN_MILLISECONDS} and then
+ * executed on one Connection, one JDBC batch per type of Task. Queued Tasks
+ * that are superseded by a newer Task with the same
+ * {@link DatabaseTask#getSupersedeKey()} are dropped. Compared to executing
+ * every Task on its own Connection, this keeps the load on the Connection pool
+ * low when many Edges reconnect at once.
  */
 public class QueueWriteWorker {
 
@@ -31,18 +38,28 @@ public class QueueWriteWorker {
 	 */
 	private static final boolean DEBUG_MODE = false;
 
+	private static final int BATCH_WINDOW_IN_MILLISECONDS = 1_000;
+
 	private final Logger log = LoggerFactory.getLogger(QueueWriteWorker.class);
 	private final PostgresHandler parent;
 	private final HikariDataSource dataSource;
 
-	// Executor for subscriptions task. Like a CachedThreadPool, but properly typed
-	// for DEBUG_MODE.
-	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
-			new SynchronousQueue<Runnable>(),
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
 			new ThreadFactoryBuilder().setNameFormat("Metadata.Odoo.PGQueue-%d").build());
 
 	private final ScheduledExecutorService debugLogExecutor;
 
+	/**
+	 * Queued Tasks by their supersede-key, in order of arrival; guarded by
+	 * 'this.queue'.
+	 */
+	private final LinkedHashMap<Object, DatabaseTask> queue = new LinkedHashMap<>();
+
+	private final AtomicLong countAdded = new AtomicLong(0);
+	private final AtomicLong countSuperseded = new AtomicLong(0);
+	private final AtomicLong countExecuted = new AtomicLong(0);
+	private final AtomicLong countFailed = new AtomicLong(0);
+
 	public QueueWriteWorker(PostgresHandler parent, HikariDataSource dataSource) {
 		this.parent = parent;
 		this.dataSource = dataSource;
@@ -58,6 +75,8 @@ public class QueueWriteWorker {
 	 * Starts the {@link QueueWriteWorker}.
 	 */
 	public synchronized void start() {
+		this.executor.scheduleWithFixedDelay(this::executeQueue, BATCH_WINDOW_IN_MILLISECONDS,
+				BATCH_WINDOW_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
 		if (DEBUG_MODE) {
 			this.initializeDebugLog();
 		}
@@ -70,31 +89,125 @@ public class QueueWriteWorker {
 		// Shutdown executors
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 5);
+
+		// Write remaining Tasks
+		this.executeQueue();
 	}
 
 	/**
 	 * Adds a {@link DatabaseTask} to the queue.
-	 * 
+	 *
 	 * @param task the {@link DatabaseTask}
 	 */
 	public void addTask(DatabaseTask task) {
-		if (DEBUG_MODE) {
-			this.count(task, true);
+		Object key = task.getSupersedeKey();
+		if (key == null) {
+			key = new Object(); // never superseded
+		}
+		this.countAdded.incrementAndGet();
+		synchronized (this.queue) {
+			if (this.queue.remove(key) != null) {
+				this.countSuperseded.incrementAndGet();
+			}
+			this.queue.put(key, task);
 		}
+	}
+
+	/**
+	 * Gets the number of Tasks that are waiting for execution.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueSize() {
+		synchronized (this.queue) {
+			return this.queue.size();
+		}
+	}
+
+	/**
+	 * Gets the total number of Tasks that were dropped, because they were
+	 * superseded by a newer Task.
+	 *
+	 * @return the number of superseded Tasks
+	 */
+	public long getSupersededCount() {
+		return this.countSuperseded.get();
+	}
+
+	/**
+	 * Gets the total number of Tasks that failed.
+	 *
+	 * @return the number of failed Tasks
+	 */
+	public long getFailedCount() {
+		return this.countFailed.get();
+	}
 
-		this.executor.execute(() -> {
-			if (DEBUG_MODE) {
-				this.count(task, false);
+	/**
+	 * Executes all queued Tasks. Called regularly by the executor.
+	 */
+	private void executeQueue() {
+		// Take all queued Tasks, grouped by type
+		Map<Class<?>, List<DatabaseTask>> batches = new LinkedHashMap<>();
+		synchronized (this.queue) {
+			if (this.queue.isEmpty()) {
+				return;
+			}
+			for (DatabaseTask task : this.queue.values()) {
+				batches.computeIfAbsent(task.getClass(), c -> new ArrayList<>()).add(task);
 			}
+			this.queue.clear();
+		}
 
-			try {
-				task.execute(this.dataSource);
-			} catch (SQLException e) {
-				this.parent.logWarn(this.log,
-						"Unable to execute Task. " + task.getClass().getSimpleName() + ": " + e.getMessage());
-				e.printStackTrace();
+		// Number of Tasks that were neither executed nor counted as failed
+		int pending = batches.values().stream().mapToInt(List::size).sum();
+		try (Connection con = this.dataSource.getConnection()) {
+			con.setAutoCommit(false);
+			for (List<DatabaseTask> tasks : batches.values()) {
+				try {
+					DatabaseTask.executeBatch(con, tasks);
+					con.commit();
+					this.countExecuted.addAndGet(tasks.size());
+					pending -= tasks.size();
+
+				} catch (SQLException e) {
+					con.rollback();
+					// Retry one by one to isolate the failing Task(s)
+					for (DatabaseTask task : tasks) {
+						this.executeSingle(con, task);
+						pending--;
+					}
+				}
 			}
-		});
+			con.setAutoCommit(true);
+		} catch (SQLException e) {
+			this.parent.logWarn(this.log, "Unable to execute Tasks: " + e.getMessage() + ". Lost [" + pending + "]");
+			// Remaining Tasks are lost
+			this.countFailed.addAndGet(pending);
+		}
+	}
+
+	/**
+	 * Executes a single Task and commits it. A failing Task is rolled back and
+	 * counted as failed.
+	 * 
+	 * @param con  the {@link Connection}
+	 * @param task the {@link DatabaseTask}
+	 * @throws SQLException if the Connection is not usable anymore; the Task is
+	 *                      not counted then
+	 */
+	private void executeSingle(Connection con, DatabaseTask task) throws SQLException {
+		try {
+			DatabaseTask.executeBatch(con, List.of(task));
+			con.commit();
+			this.countExecuted.incrementAndGet();
+		} catch (SQLException e) {
+			con.rollback();
+			this.countFailed.incrementAndGet();
+			this.parent.logWarn(this.log,
+					"Unable to execute Task. " + task.getClass().getSimpleName() + ": " + e.getMessage());
+			e.printStackTrace();
+		}
 	}
 
 	/*
@@ -103,74 +216,13 @@ public class QueueWriteWorker {
 
 	private void initializeDebugLog() {
 		this.debugLogExecutor.scheduleWithFixedDelay(() -> {
-			long totalTasks = this.executor.getTaskCount();
-			long completedTasks = this.executor.getCompletedTaskCount();
-			int countInsertEdgeConfigUpdateUp = this.countInsertEdgeConfigUpdateUp.get();
-			int countInsertEdgeConfigUpdateDown = this.countInsertEdgeConfigUpdateDown.get();
-			int countInsertOrUpdateDeviceStateUp = this.countInsertOrUpdateDeviceStateUp.get();
-			int countInsertOrUpdateDeviceStateDown = this.countInsertOrUpdateDeviceStateDown.get();
-			int countUpdateEdgeConfigUp = this.countUpdateEdgeConfigUp.get();
-			int countUpdateEdgeConfigDown = this.countUpdateEdgeConfigDown.get();
-			int countUpdateEdgeProducttypeUp = this.countUpdateEdgeProducttypeUp.get();
-			int countUpdateEdgeProducttypeDown = this.countUpdateEdgeProducttypeDown.get();
-
 			this.parent.logInfo(this.log, "QueueWriteWorker. " //
-					+ "Total tasks [" + totalTasks + "|" + completedTasks + "|" + (totalTasks - completedTasks) + "] " //
-					+ "Threads [" + this.executor.getPoolSize() + "] " //
-					+ "InsertEdgeConfigUpdate [" + countInsertEdgeConfigUpdateUp + "|" + countInsertEdgeConfigUpdateDown
-					+ "|" + (countInsertEdgeConfigUpdateUp - countInsertEdgeConfigUpdateDown) + "] " //
-					+ "InsertOrUpdateDeviceState [" + countInsertOrUpdateDeviceStateUp + "|"
-					+ countInsertOrUpdateDeviceStateDown + "|"
-					+ (countInsertOrUpdateDeviceStateUp - countInsertOrUpdateDeviceStateDown) + "] " //
-					+ "UpdateEdgeConfig [" + countUpdateEdgeConfigUp + "|" + countUpdateEdgeConfigDown + "|"
-					+ (countUpdateEdgeConfigUp - countUpdateEdgeConfigDown) + "] " //
-					+ "UpdateEdgeProducttype [" + countUpdateEdgeProducttypeUp + "|" + countUpdateEdgeProducttypeDown
-					+ "|" + (countUpdateEdgeProducttypeUp - countUpdateEdgeProducttypeDown) + "] " //
-			);
+					+ "Queue [" + this.getQueueSize() + "] " //
+					+ "Added [" + this.countAdded.get() + "] " //
+					+ "Superseded [" + this.countSuperseded.get() + "] " //
+					+ "Executed [" + this.countExecuted.get() + "] " //
+					+ "Failed [" + this.countFailed.get() + "]");
 		}, 10, 10, TimeUnit.SECONDS);
 	}
 
-	private final AtomicInteger countInsertEdgeConfigUpdateUp = new AtomicInteger(0);
-	private final AtomicInteger countInsertEdgeConfigUpdateDown = new AtomicInteger(0);
-	private final AtomicInteger countInsertOrUpdateDeviceStateUp = new AtomicInteger(0);
-	private final AtomicInteger countInsertOrUpdateDeviceStateDown = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeConfigUp = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeConfigDown = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeProducttypeUp = new AtomicInteger(0);
-	private final AtomicInteger countUpdateEdgeProducttypeDown = new AtomicInteger(0);
-
-	private void count(DatabaseTask task, boolean up) {
-		if (up) {
-			AtomicInteger counter;
-			if (task instanceof InsertEdgeConfigUpdate) {
-				counter = this.countInsertEdgeConfigUpdateUp;
-			} else if (task instanceof InsertOrUpdateDeviceStates) {
-				counter = this.countInsertOrUpdateDeviceStateUp;
-			} else if (task instanceof UpdateEdgeConfig) {
-				counter = this.countUpdateEdgeConfigUp;
-			} else if (task instanceof UpdateEdgeProducttype) {
-				counter = this.countUpdateEdgeProducttypeUp;
-			} else {
-				System.out.println("Unknown Task " + task.getClass());
-				return;
-			}
-			counter.getAndIncrement();
-		} else {
-			AtomicInteger counter;
-			if (task instanceof InsertEdgeConfigUpdate) {
-				counter = this.countInsertEdgeConfigUpdateDown;
-			} else if (task instanceof InsertOrUpdateDeviceStates) {
-				counter = this.countInsertOrUpdateDeviceStateDown;
-			} else if (task instanceof UpdateEdgeConfig) {
-				counter = this.countUpdateEdgeConfigDown;
-			} else if (task instanceof UpdateEdgeProducttype) {
-				counter = this.countUpdateEdgeProducttypeDown;
-			} else {
-				System.out.println("Unknown Task " + task.getClass());
-				return;
-			}
-			counter.getAndIncrement();
-		}
-	}
-
 }
@@ -1,7 +1,11 @@
 package io.openems.backend.metadata.odoo.postgres.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import com.zaxxer.hikari.HikariDataSource;
 
@@ -16,9 +20,86 @@ public abstract class DatabaseTask {
 	 */
 	public void execute(HikariDataSource dataSource) throws SQLException {
 		try (Connection con = dataSource.getConnection()) {
-			this._execute(con);
+			executeBatch(con, Collections.singletonList(this));
 		}
 	}
 
-	protected abstract void _execute(Connection connection) throws SQLException;
-}
\ No newline at end of file
+	/**
+	 * Executes Tasks of the same type as one JDBC batch.
+	 * 
+	 * <p>
+	 * All Tasks of a type use the same SQL statement; only the parameters differ.
+	 * Batched INSERTs are rewritten to multi-row INSERTs by the Postgres driver.
+	 * 
+	 * @param connection the {@link Connection}
+	 * @param tasks      the Tasks; all of the same type
+	 * @throws SQLException on error
+	 */
+	public static void executeBatch(Connection connection, List<? extends DatabaseTask> tasks)
+			throws SQLException {
+		if (tasks.isEmpty()) {
+			return;
+		}
+		final DatabaseTask first = tasks.get(0);
+		try (PreparedStatement ps = first.prepareStatement(connection)) {
+			for (DatabaseTask task : first.mergeBatch(tasks)) {
+				task.addBatch(ps);
+			}
+			ps.executeBatch();
+		}
+	}
+
+	/**
+	 * Gets a key that identifies Tasks that supersede each other, e.g. updates of
+	 * the same field of the same Edge. Of queued Tasks with the same key only the
+	 * latest one needs to be executed.
+	 * 
+	 * @return the key; null if this Task is never superseded
+	 */
+	public Object getSupersedeKey() {
+		return null;
+	}
+
+	/**
+	 * Creates a key for {@link #getSupersedeKey()} from the type of this Task and
+	 * the Odoo-ID of an Edge.
+	 * 
+	 * @param odooId the Odoo-ID of the Edge
+	 * @return the key
+	 */
+	protected final Object supersedeKey(int odooId) {
+		return Arrays.asList(this.getClass(), odooId);
+	}
+
+	/**
+	 * Merges Tasks of this type before they are added to one batch. Override if
+	 * the batch must not contain two rows with the same key, e.g. for a multi-row
+	 * 'INSERT ... ON CONFLICT DO UPDATE'.
+	 * 
+	 * @param tasks the Tasks in order of arrival; all of this type
+	 * @return the merged Tasks; by default the given Tasks
+	 */
+	protected List<? extends DatabaseTask> mergeBatch(List<? extends DatabaseTask> tasks) {
+		return tasks;
+	}
+
+	/**
+	 * Prepares the SQL statement of this type of Task.
+	 * 
+	 * @param connection the {@link Connection}
+	 * @return the {@link PreparedStatement}
+	 * @throws SQLException on error
+	 */
+	protected abstract PreparedStatement prepareStatement(Connection connection) throws SQLException;
+
+	/**
+	 * Sets the parameters of this Task and adds them to the batch of the
+	 * {@link PreparedStatement}.
+	 * 
+	 * @param ps the {@link PreparedStatement}, as created by
+	 *           {@link #prepareStatement(Connection)}
+	 * @throws SQLException on error
+	 */
+	protected abstract void addBatch(PreparedStatement ps) throws SQLException;
+
+}
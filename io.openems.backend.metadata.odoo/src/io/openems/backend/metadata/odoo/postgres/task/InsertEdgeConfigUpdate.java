@@ -25,23 +25,24 @@ public class InsertEdgeConfigUpdate extends DatabaseTask {
 	}
 
 	@Override
-	protected void _execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psInsertEdgeConfigUpdate(connection);
+	protected void addBatch(PreparedStatement ps) throws SQLException {
 		ps.setTimestamp(1, this.createDate);
 		ps.setInt(2, this.odooId);
 		ps.setString(3, this.teaser);
 		ps.setString(4, this.details);
-		ps.execute();
+		ps.addBatch();
 	}
 
 	/**
 	 * UPDATE {} SET openems_config = {}, openems_config_components = {} WHERE id =
 	 * {};.
 	 * 
+	 * @param connection the {@link Connection}
 	 * @return the PreparedStatement
 	 * @throws SQLException on error
 	 */
-	private PreparedStatement psInsertEdgeConfigUpdate(Connection connection) throws SQLException {
+	@Override
+	protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
 		return connection.prepareStatement(//
 				"INSERT INTO " + EdgeConfigUpdate.ODOO_TABLE //
 						+ " (create_date" //
@@ -57,4 +58,4 @@ public class InsertEdgeConfigUpdate extends DatabaseTask {
 				+ this.teaser + "]";
 	}
 
-}
\ No newline at end of file
+}
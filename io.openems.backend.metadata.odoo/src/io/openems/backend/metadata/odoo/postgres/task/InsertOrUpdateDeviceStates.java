@@ -4,7 +4,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import io.openems.backend.metadata.odoo.Field.EdgeDeviceStatus;
 import io.openems.common.channel.Level;
@@ -34,9 +38,40 @@ public class InsertOrUpdateDeviceStates extends DatabaseTask {
 		this.deviceStates = deviceStates;
 	}
 
+	/**
+	 * Keeps only the latest {@link DeviceState} per Edge and Channel. Postgres
+	 * rejects a multi-row 'INSERT ... ON CONFLICT DO UPDATE' that affects the same
+	 * row twice.
+	 * 
+	 * @param tasks the {@link InsertOrUpdateDeviceStates} Tasks in order of
+	 *              arrival
+	 * @return the merged Tasks
+	 */
 	@Override
-	protected void _execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psInsertOrUpdateDeviceState(connection);
+	protected List<InsertOrUpdateDeviceStates> mergeBatch(List<? extends DatabaseTask> tasks) {
+		final Set<List<Object>> keys = new HashSet<>();
+		final List<InsertOrUpdateDeviceStates> result = new ArrayList<>();
+		// Iterate from latest to oldest
+		for (int i = tasks.size() - 1; i >= 0; i--) {
+			final InsertOrUpdateDeviceStates task = (InsertOrUpdateDeviceStates) tasks.get(i);
+			final List<DeviceState> deviceStates = new ArrayList<>();
+			for (int j = task.deviceStates.size() - 1; j >= 0; j--) {
+				final DeviceState deviceState = task.deviceStates.get(j);
+				if (keys.add(List.of(task.odooId, deviceState.channelAddress))) {
+					deviceStates.add(deviceState);
+				}
+			}
+			if (!deviceStates.isEmpty()) {
+				Collections.reverse(deviceStates);
+				result.add(new InsertOrUpdateDeviceStates(task.odooId, task.timestamp, deviceStates));
+			}
+		}
+		Collections.reverse(result);
+		return result;
+	}
+
+	@Override
+	protected void addBatch(PreparedStatement ps) throws SQLException {
 		// device_id
 		ps.setInt(1, this.odooId);
 		// last_appearance
@@ -52,7 +87,7 @@ public class InsertOrUpdateDeviceStates extends DatabaseTask {
 			// channel_name
 			ps.setString(6, deviceState.stateChannelName);
 
-			ps.execute();
+			ps.addBatch();
 		}
 	}
 
@@ -60,13 +95,12 @@ public class InsertOrUpdateDeviceStates extends DatabaseTask {
 	 * INSERT INTO {} (...) VALUES (...) ON CONFLICT (..) UPDATE SET
 	 * item=excluded.item;
 	 * 
-	 * <p>
-	 * Be careful to synchronize access to the resulting PreparedStatement.
-	 * 
+	 * @param connection the {@link Connection}
 	 * @return the PreparedStatement
 	 * @throws SQLException on error
 	 */
-	private PreparedStatement psInsertOrUpdateDeviceState(Connection connection) throws SQLException {
+	@Override
+	protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
 		return connection.prepareStatement(//
 				"INSERT INTO " + EdgeDeviceStatus.ODOO_TABLE //
 						+ " (device_id, last_appearance, channel_address, level, component_id, channel_name)" //
@@ -25,22 +25,23 @@ public class UpdateEdgeConfig extends DatabaseTask {
 	}
 
 	@Override
-	protected void _execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psUpdateEdgeConfig(connection);
+	protected void addBatch(PreparedStatement ps) throws SQLException {
 		ps.setString(1, this.fullConfig);
 		ps.setString(2, this.componentsConfig);
 		ps.setInt(3, this.odooId);
-		ps.execute();
+		ps.addBatch();
 	}
 
 	/**
 	 * UPDATE {} SET openems_config = {}, openems_config_components = {} WHERE id =
 	 * {};.
 	 * 
+	 * @param connection the {@link Connection}
 	 * @return the PreparedStatement
 	 * @throws SQLException on error
 	 */
-	private PreparedStatement psUpdateEdgeConfig(Connection connection) throws SQLException {
+	@Override
+	protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
 		return connection.prepareStatement(//
 				"UPDATE " + EdgeDevice.ODOO_TABLE //
 						+ " SET" //
@@ -49,10 +50,15 @@ public class UpdateEdgeConfig extends DatabaseTask {
 						+ " WHERE id = ?");
 	}
 
+	@Override
+	public Object getSupersedeKey() {
+		return this.supersedeKey(this.odooId);
+	}
+
 	@Override
 	public String toString() {
 		return "UpdateEdgeConfig [odooId=" + this.odooId + ", componentsConfig="
 				+ StringUtils.toShortString(this.componentsConfig, 100) + "]";
 	}
 
-}
\ No newline at end of file
+}
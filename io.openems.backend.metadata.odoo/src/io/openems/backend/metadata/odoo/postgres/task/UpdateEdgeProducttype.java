@@ -17,20 +17,21 @@ public class UpdateEdgeProducttype extends DatabaseTask {
 	}
 
 	@Override
-	protected void _execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psUpdateProductType(connection);
+	protected void addBatch(PreparedStatement ps) throws SQLException {
 		ps.setString(1, this.producttype);
 		ps.setInt(2, this.odooId);
-		ps.execute();
+		ps.addBatch();
 	}
 
 	/**
 	 * UPDATE {} SET version = {} WHERE id = {};.
 	 * 
+	 * @param connection the {@link Connection}
 	 * @return the PreparedStatement
 	 * @throws SQLException on error
 	 */
-	private PreparedStatement psUpdateProductType(Connection connection) throws SQLException {
+	@Override
+	protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
 		return connection.prepareStatement(//
 				"UPDATE " + EdgeDevice.ODOO_TABLE //
 						+ " SET" //
@@ -38,9 +39,14 @@ public class UpdateEdgeProducttype extends DatabaseTask {
 						+ " WHERE id = ?");
 	}
 
+	@Override
+	public Object getSupersedeKey() {
+		return this.supersedeKey(this.odooId);
+	}
+
 	@Override
 	public String toString() {
 		return "UpdateEdgeProducttype [odooId=" + this.odooId + ", producttype=" + this.producttype + "]";
 	}
 
-}
\ No newline at end of file
+}
@@ -15,19 +15,20 @@ public class UpdateEdgeStateActive extends DatabaseTask {
 	}
 
 	@Override
-	protected void _execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psUpdateEdgeStateActive(connection);
+	protected void addBatch(PreparedStatement ps) throws SQLException {
 		ps.setInt(1, this.odooId);
-		ps.execute();
+		ps.addBatch();
 	}
 
 	/**
 	 * UPDATE {} SET state = 'active' WHERE id = {};.
 	 * 
+	 * @param connection the {@link Connection}
 	 * @return the PreparedStatement
 	 * @throws SQLException on error
 	 */
-	private PreparedStatement psUpdateEdgeStateActive(Connection connection) throws SQLException {
+	@Override
+	protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
 		return connection.prepareStatement(//
 				"UPDATE " + EdgeDevice.ODOO_TABLE //
 						+ " SET" //
@@ -35,9 +36,14 @@ public class UpdateEdgeStateActive extends DatabaseTask {
 						+ " WHERE id = ?");
 	}
 
+	@Override
+	public Object getSupersedeKey() {
+		return this.supersedeKey(this.odooId);
+	}
+
 	@Override
 	public String toString() {
 		return "UpdateEdgeStateActive [odooId=" + this.odooId + "]";
 	}
 
-}
\ No newline at end of file
+}
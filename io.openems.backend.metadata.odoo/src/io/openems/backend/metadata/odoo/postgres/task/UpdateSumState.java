@@ -18,8 +18,7 @@ public class UpdateSumState extends DatabaseTask {
 	}
 
 	@Override
-	protected void _execute(Connection connection) throws SQLException {
-		PreparedStatement ps = this.psUpdateSumState(connection);
+	protected void addBatch(PreparedStatement ps) throws SQLException {
 		final String sumStateString;
 		if (this.sumState != null) {
 			sumStateString = sumState.getName().toLowerCase();
@@ -28,16 +27,18 @@ public class UpdateSumState extends DatabaseTask {
 		}
 		ps.setString(1, sumStateString);
 		ps.setInt(2, this.odooId);
-		ps.execute();
+		ps.addBatch();
 	}
 
 	/**
 	 * UPDATE {} SET openems_sum_state_level = {} WHERE id = {};.
 	 * 
+	 * @param connection the {@link Connection}
 	 * @return the PreparedStatement
 	 * @throws SQLException on error
 	 */
-	private PreparedStatement psUpdateSumState(Connection connection) throws SQLException {
+	@Override
+	protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
 		return connection.prepareStatement(//
 				"UPDATE " + EdgeDevice.ODOO_TABLE //
 						+ " SET" //
@@ -45,9 +46,14 @@ public class UpdateSumState extends DatabaseTask {
 						+ " WHERE id = ?");
 	}
 
+	@Override
+	public Object getSupersedeKey() {
+		return this.supersedeKey(this.odooId);
+	}
+
 	@Override
 	public String toString() {
 		return "UpdateSumState [odooId=" + this.odooId + ", sumState=" + this.sumState + "]";
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package io.openems.backend.metadata.odoo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.backend.common.metadata.Edge.State;
+import io.openems.common.channel.Level;
+import io.openems.common.types.EdgeConfig;
+
+public class MyEdgeTest {
+
+	private static final String CONFIG = "{" //
+			+ "\"components\":{" //
+			+ "\"meter0\":{\"alias\":\"Grid Meter\",\"factoryId\":\"Meter.Socomec\"," //
+			+ "\"properties\":{\"enabled\":true}}}," //
+			+ "\"factories\":{}}";
+
+	private static MyEdge createEdge(byte[] compressedConfig) {
+		return new MyEdge(1, "edge1", "apikey", "comment", State.ACTIVE, "2021.1.0", "producttype", Level.OK,
+				compressedConfig);
+	}
+
+	private static void assertMeter(EdgeConfig config) {
+		EdgeConfig.Component meter = config.getComponent("meter0").get();
+		assertEquals("Grid Meter", meter.getAlias());
+		assertEquals("Meter.Socomec", meter.getFactoryId());
+	}
+
+	@Test
+	public void testCompressConfig() {
+		assertNull(MyEdge.compressConfig(null));
+		assertNull(MyEdge.compressConfig(""));
+
+		byte[] compressed = MyEdge.compressConfig(CONFIG);
+		assertNotNull(compressed);
+		assertTrue(compressed.length > 0);
+
+		// Round-trip via the lazily parsed config
+		assertMeter(createEdge(compressed).getConfig());
+
+		// Empty config
+		EdgeConfig empty = createEdge(null).getConfig();
+		assertNotNull(empty);
+		assertTrue(empty.getComponents().isEmpty());
+	}
+
+	@Test
+	public void testLazyParse() {
+		final byte[] compressed = MyEdge.compressConfig(CONFIG);
+		final MyEdge sut = createEdge(compressed);
+
+		// toString() does not parse the config
+		assertTrue(sut.toString().contains("deprecatedConfig=set"));
+		assertNull(MyEdge.PARSED_CONFIGS.getIfPresent(compressed));
+
+		// Parsed on first access, then taken from the cache
+		EdgeConfig config = sut.getConfig();
+		assertMeter(config);
+		assertSame(config, MyEdge.PARSED_CONFIGS.getIfPresent(compressed));
+		assertSame(config, sut.getConfig());
+
+		// A config from the Edge replaces the compressed config
+		EdgeConfig fromEdge = new EdgeConfig();
+		sut.setConfig(fromEdge, false);
+		assertSame(fromEdge, sut.getConfig());
+	}
+
+	@Test
+	public void testInvalidConfig() {
+		final MyEdge sut = createEdge(MyEdge.compressConfig("{\"components\": ["));
+
+		// Falls back to an empty config
+		EdgeConfig config = sut.getConfig();
+		assertNotNull(config);
+		assertTrue(config.getComponents().isEmpty());
+		assertSame(config, sut.getConfig());
+	}
+
+	@Test
+	public void testCacheEviction() {
+		final List<byte[]> compressedConfigs = new ArrayList<>();
+		final List<MyEdge> edges = new ArrayList<>();
+		for (int i = 0; i < MyEdge.MAX_PARSED_CONFIGS * 2; i++) {
+			byte[] compressed = MyEdge.compressConfig(CONFIG);
+			compressedConfigs.add(compressed);
+			edges.add(createEdge(compressed));
+		}
+
+		final EdgeConfig first = edges.get(0).getConfig();
+		for (MyEdge edge : edges) {
+			edge.getConfig();
+		}
+
+		// Cache is bounded; the least recently used config was dropped
+		assertTrue(MyEdge.PARSED_CONFIGS.size() <= MyEdge.MAX_PARSED_CONFIGS);
+		assertNull(MyEdge.PARSED_CONFIGS.getIfPresent(compressedConfigs.get(0)));
+
+		// ...and is parsed again on the next access
+		EdgeConfig again = edges.get(0).getConfig();
+		assertNotSame(first, again);
+		assertMeter(again);
+	}
+
+}
@@ -0,0 +1,45 @@
+package io.openems.backend.metadata.odoo.postgres;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class InitializeEdgesWorkerTest {
+
+	@Test
+	public void testGetPages() {
+		List<int[]> pages = InitializeEdgesWorker.getPages(1, 1200, 500);
+		assertEquals(3, pages.size());
+		assertArrayEquals(new int[] { 1, 500 }, pages.get(0));
+		assertArrayEquals(new int[] { 501, 1000 }, pages.get(1));
+		assertArrayEquals(new int[] { 1001, 1200 }, pages.get(2));
+
+		// Exactly one page
+		pages = InitializeEdgesWorker.getPages(1, 500, 500);
+		assertEquals(1, pages.size());
+		assertArrayEquals(new int[] { 1, 500 }, pages.get(0));
+
+		// Single Edge
+		pages = InitializeEdgesWorker.getPages(7, 7, 500);
+		assertEquals(1, pages.size());
+		assertArrayEquals(new int[] { 7, 7 }, pages.get(0));
+	}
+
+	@Test
+	public void testGetPagesEmptyRange() {
+		// No Edges or query failed
+		assertTrue(InitializeEdgesWorker.getPages(0, -1, 500).isEmpty());
+	}
+
+	@Test
+	public void testGetPagesNoOverflow() {
+		List<int[]> pages = InitializeEdgesWorker.getPages(Integer.MAX_VALUE - 600, Integer.MAX_VALUE, 500);
+		assertEquals(2, pages.size());
+		assertArrayEquals(new int[] { Integer.MAX_VALUE - 100, Integer.MAX_VALUE }, pages.get(1));
+	}
+
+}
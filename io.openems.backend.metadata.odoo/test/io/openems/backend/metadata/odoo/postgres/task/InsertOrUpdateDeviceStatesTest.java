@@ -0,0 +1,110 @@
+package io.openems.backend.metadata.odoo.postgres.task;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.openems.backend.metadata.odoo.postgres.task.InsertOrUpdateDeviceStates.DeviceState;
+import io.openems.common.channel.Level;
+import io.openems.common.types.ChannelAddress;
+
+public class InsertOrUpdateDeviceStatesTest {
+
+	private static final ChannelAddress STATE_0 = new ChannelAddress("ess0", "State0");
+	private static final ChannelAddress STATE_1 = new ChannelAddress("ess0", "State1");
+
+	/**
+	 * Executes the Tasks as one batch on a fake {@link Connection}.
+	 *
+	 * @param tasks the Tasks
+	 * @return the parameters of the batched rows
+	 * @throws SQLException on error
+	 */
+	private static List<Map<Integer, Object>> executeBatch(DatabaseTask... tasks) throws SQLException {
+		final List<Map<Integer, Object>> rows = new ArrayList<>();
+		final Map<Integer, Object> parameters = new HashMap<>();
+		final PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(
+				InsertOrUpdateDeviceStatesTest.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "setInt":
+					case "setString":
+					case "setTimestamp":
+						parameters.put((Integer) args[0], args[1]);
+						break;
+					case "addBatch":
+						rows.add(new HashMap<>(parameters));
+						break;
+					case "executeBatch":
+						return new int[rows.size()];
+					}
+					return null;
+				});
+		final Connection con = (Connection) Proxy.newProxyInstance(
+				InsertOrUpdateDeviceStatesTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> method.getName().equals("prepareStatement") ? ps : null);
+		DatabaseTask.executeBatch(con, List.of(tasks));
+		return rows;
+	}
+
+	private static void assertRow(Map<Integer, Object> row, int odooId, long timestamp, ChannelAddress channelAddress,
+			Level level) {
+		assertEquals(odooId, row.get(1));
+		assertEquals(new Timestamp(timestamp), row.get(2));
+		assertEquals(channelAddress.toString(), row.get(3));
+		assertEquals(level.name().toLowerCase(), row.get(4));
+	}
+
+	@Test
+	public void testMergeSameEdgeAndChannel() throws SQLException {
+		final List<Map<Integer, Object>> rows = executeBatch(//
+				new InsertOrUpdateDeviceStates(1, new Timestamp(1000), List.of(//
+						new DeviceState(STATE_0, Level.WARNING, "State0"), //
+						new DeviceState(STATE_1, Level.FAULT, "State1"))), //
+				new InsertOrUpdateDeviceStates(1, new Timestamp(2000), List.of(//
+						new DeviceState(STATE_0, Level.FAULT, "State0"))));
+
+		// Only the latest row per Edge and Channel
+		assertEquals(2, rows.size());
+		assertRow(rows.get(0), 1, 1000, STATE_1, Level.FAULT);
+		assertRow(rows.get(1), 1, 2000, STATE_0, Level.FAULT);
+	}
+
+	@Test
+	public void testKeepDifferentEdges() throws SQLException {
+		final List<Map<Integer, Object>> rows = executeBatch(//
+				new InsertOrUpdateDeviceStates(1, new Timestamp(1000), List.of(//
+						new DeviceState(STATE_0, Level.WARNING, "State0"))), //
+				new InsertOrUpdateDeviceStates(2, new Timestamp(2000), List.of(//
+						new DeviceState(STATE_0, Level.FAULT, "State0"))));
+
+		assertEquals(2, rows.size());
+		assertRow(rows.get(0), 1, 1000, STATE_0, Level.WARNING);
+		assertRow(rows.get(1), 2, 2000, STATE_0, Level.FAULT);
+	}
+
+	@Test
+	public void testFullySupersededTask() throws SQLException {
+		final List<Map<Integer, Object>> rows = executeBatch(//
+				new InsertOrUpdateDeviceStates(1, new Timestamp(1000), List.of(//
+						new DeviceState(STATE_0, Level.WARNING, "State0"))), //
+				new InsertOrUpdateDeviceStates(1, new Timestamp(2000), List.of(//
+						new DeviceState(STATE_1, Level.WARNING, "State1"), //
+						new DeviceState(STATE_0, Level.INFO, "State0"))));
+
+		assertEquals(2, rows.size());
+		assertRow(rows.get(0), 1, 2000, STATE_1, Level.WARNING);
+		assertRow(rows.get(1), 1, 2000, STATE_0, Level.INFO);
+	}
+
+}
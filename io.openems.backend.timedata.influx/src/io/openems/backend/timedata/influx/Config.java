@@ -32,6 +32,15 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Read-Only mode", description = "Activates the read-only mode. Then no data is written to InfluxDB.")
 	boolean isReadOnly() default false;
 
+	@AttributeDefinition(name = "Number of Write-Threads", description = "Incoming data is distributed by Edge-ID to this number of threads, that write to InfluxDB in batches")
+	int writeThreads() default 4;
+
+	@AttributeDefinition(name = "Write-Queue Size", description = "The max number of queued write requests per Write-Thread; if the queue is full, incoming data is dropped")
+	int writeQueueSize() default 10_000;
+
+	@AttributeDefinition(name = "Memory-bounded Edge-Cache", description = "Drops the cached Channel values of Edges that did not send data for 5 minutes. Recommended for Backends with many Edges; the UI then shows no current data for offline Edges")
+	boolean isEdgeCacheMemoryBounded() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata InfluxDB";
 
 }
@@ -1,13 +1,15 @@
 package io.openems.backend.timedata.influx;
 
 import java.time.ZonedDateTime;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
@@ -27,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ObjectArrays;
 import com.google.common.collect.TreeBasedTable;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
 
@@ -41,7 +44,9 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.SemanticVersion;
+import io.openems.common.utils.JsonUtils;
 import io.openems.common.utils.StringUtils;
+import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.shared.influxdb.InfluxConnector;
 
 @Designate(ocd = Config.class, factory = false)
@@ -54,10 +59,12 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 	private static final Pattern NAME_NUMBER_PATTERN = Pattern.compile("[^0-9]+([0-9]+)$");
 
 	private final Logger log = LoggerFactory.getLogger(Influx.class);
-	private final Map<String, EdgeCache> edgeCacheMap = new HashMap<>();
+	private final Map<String, EdgeCache> edgeCacheMap = new ConcurrentHashMap<>();
 	private final FieldTypeConflictHandler fieldTypeConflictHandler;
 
 	private InfluxConnector influxConnector = null;
+	private WriteWorker writeWorker = null;
+	private ScheduledExecutorService edgeCacheCleaner = null;
 
 	public Influx() {
 		super("Timedata.InfluxDB");
@@ -78,6 +85,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 				";password=" + (config.password() != null ? "ok" : "NOT_SET") + //
 				";measurement=" + config.measurement() + //
 				(config.isReadOnly() ? ";READ_ONLY_MODE" : "") + //
+				(config.isEdgeCacheMemoryBounded() ? ";MEMORY_BOUNDED_EDGE_CACHE" : "") + //
 				"]");
 
 		this.influxConnector = new InfluxConnector(config.url(), config.port(), config.username(), config.password(),
@@ -92,11 +100,28 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 										+ StringUtils.toShortString(failedPoints.toString(), 100));
 					}
 				});
+
+		this.writeWorker = new WriteWorker(this, config.writeThreads(), config.writeQueueSize());
+		this.writeWorker.start();
+
+		if (config.isEdgeCacheMemoryBounded()) {
+			// Regularly drop expired EdgeCaches
+			this.edgeCacheCleaner = Executors.newSingleThreadScheduledExecutor(
+					new ThreadFactoryBuilder().setNameFormat(this.getName() + ":EdgeCacheCleaner-%d").build());
+			this.edgeCacheCleaner.scheduleWithFixedDelay(() -> {
+				long now = System.currentTimeMillis();
+				this.edgeCacheMap.values().removeIf(edgeCache -> edgeCache.isExpired(now));
+			}, 1, 1, TimeUnit.MINUTES);
+		}
 	}
 
 	@Deactivate
 	void deactivate() {
 		this.logInfo(this.log, "Deactivate");
+		if (this.writeWorker != null) {
+			this.writeWorker.stop();
+		}
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.edgeCacheCleaner, 5);
 		if (this.influxConnector != null) {
 			this.influxConnector.deactivate();
 		}
@@ -107,37 +132,30 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		// parse the numeric EdgeId
 		int influxEdgeId = Influx.parseNumberFromName(edgeId);
 
-		// get existing or create new DeviceCache
-		EdgeCache edgeCache = this.edgeCacheMap.get(edgeId);
-		if (edgeCache == null) {
-			edgeCache = new EdgeCache();
-			this.edgeCacheMap.put(edgeId, edgeCache);
-		}
-
-		// Complement incoming data with data from Cache, because only changed values
-		// are transmitted
-		edgeCache.complementDataFromCache(edgeId, data.rowMap());
-
-		// Write data to default location
-		this.writeData(influxEdgeId, data);
+		// Hand over to the WriteWorker; data is dropped if the queue is full
+		this.writeWorker.offer(edgeId, influxEdgeId, data);
 	}
 
 	/**
-	 * Actually writes the data to InfluxDB.
+	 * Complements the data with data from the {@link EdgeCache} and converts it
+	 * to InfluxDB records. Called by the {@link WriteWorker}.
 	 * 
+	 * @param edgeId       the Edge-ID
 	 * @param influxEdgeId the unique, numeric identifier of the Edge
 	 * @param data         the data
-	 * @throws OpenemsException on error
+	 * @param points       the list to add the {@link Point}s to
 	 */
-	private void writeData(int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data)
-			throws OpenemsException {
-		Set<Entry<Long, Map<ChannelAddress, JsonElement>>> dataEntries = data.rowMap().entrySet();
-		if (dataEntries.isEmpty()) {
-			// no data to write
-			return;
-		}
+	protected void toPoints(String edgeId, int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data,
+			List<Point> points) {
+		// get existing or create new DeviceCache
+		EdgeCache edgeCache = this.edgeCacheMap.computeIfAbsent(edgeId, e -> new EdgeCache());
 
-		for (Entry<Long, Map<ChannelAddress, JsonElement>> dataEntry : dataEntries) {
+		// Complement incoming data with data from Cache, because only changed values
+		// are transmitted
+		edgeCache.complementDataFromCache(edgeId, data.rowMap());
+
+		final String influxEdgeIdString = String.valueOf(influxEdgeId);
+		for (Entry<Long, Map<ChannelAddress, JsonElement>> dataEntry : data.rowMap().entrySet()) {
 			Set<Entry<ChannelAddress, JsonElement>> channelEntries = dataEntry.getValue().entrySet();
 			if (channelEntries.isEmpty()) {
 				// no points to add
@@ -148,17 +166,27 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 			// this builds an InfluxDB record ("point") for a given timestamp
 			Point.Builder builder = Point //
 					.measurement(InfluxConnector.MEASUREMENT) //
-					.tag(OpenemsOEM.INFLUXDB_TAG, String.valueOf(influxEdgeId)) //
+					.tag(OpenemsOEM.INFLUXDB_TAG, influxEdgeIdString) //
 					.time(timestamp, TimeUnit.MILLISECONDS);
 			for (Entry<ChannelAddress, JsonElement> channelEntry : channelEntries) {
 				this.addValue(builder, channelEntry.getKey().toString(), channelEntry.getValue());
 			}
 			if (builder.hasFields()) {
-				this.influxConnector.write(builder.build());
+				points.add(builder.build());
 			}
 		}
 	}
 
+	/**
+	 * Writes a batch of InfluxDB records. Called by the {@link WriteWorker}.
+	 * 
+	 * @param points the {@link Point}s
+	 * @return true on success
+	 */
+	protected boolean writePoints(List<Point> points) {
+		return this.influxConnector.write(points);
+	}
+
 	public static Integer parseNumberFromName(String name) throws OpenemsException {
 		try {
 			Matcher matcher = NAME_NUMBER_PATTERN.matcher(name);
@@ -220,14 +248,14 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		if (element.isJsonPrimitive()) {
 			JsonPrimitive value = element.getAsJsonPrimitive();
 			if (value.isNumber()) {
-				try {
-					builder.addField(field, Long.parseLong(value.toString()));
-				} catch (NumberFormatException e1) {
-					try {
-						builder.addField(field, Double.parseDouble(value.toString()));
-					} catch (NumberFormatException e2) {
-						builder.addField(field, value.getAsNumber());
-					}
+				Number number = JsonUtils.parseNumber(value.getAsNumber());
+				if (number instanceof Long) {
+					builder.addField(field, number.longValue());
+				} else if (number instanceof Double) {
+					builder.addField(field, number.doubleValue());
+				} else {
+					// e.g. integral value that does not fit in a long
+					builder.addField(field, value.getAsNumber());
 				}
 			} else if (value.isBoolean()) {
 				builder.addField(field, value.getAsBoolean());
@@ -478,4 +506,9 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		super.logWarn(log, message);
 	}
 
+	@Override
+	protected void logDebug(Logger log, String message) {
+		super.logDebug(log, message);
+	}
+
 }
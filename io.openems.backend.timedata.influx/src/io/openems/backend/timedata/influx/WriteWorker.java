@@ -0,0 +1,245 @@
+package io.openems.backend.timedata.influx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.influxdb.dto.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
+
+/**
+ * Decouples writing of data from the websocket threads.
+ *
+ * <p>
+ * Incoming data is put into one of several bounded queues; the queue is
+ * selected by the Edge-ID, so the data of one Edge is always handled in order
+ * by the same thread. Each thread converts the data to {@link Point}s and
+ * flushes them in batches of {@link #MAX_BATCH_SIZE} points or after
+ * {@link #FLUSH_INTERVAL} milliseconds, whatever comes first. If a queue is
+ * full, incoming data is dropped.
+ */
+public class WriteWorker {
+
+	private static final int MAX_BATCH_SIZE = 5_000; // [points]
+	private static final long FLUSH_INTERVAL = 1_000; // [ms]
+
+	private final Logger log = LoggerFactory.getLogger(WriteWorker.class);
+
+	private final Influx parent;
+	private final Shard[] shards;
+	private final AtomicLong dropped = new AtomicLong();
+	private final ScheduledExecutorService monitorExecutor;
+
+	private volatile boolean isRunning = true;
+
+	/**
+	 * Creates a {@link WriteWorker}.
+	 *
+	 * @param parent    the {@link Influx} component
+	 * @param threads   the number of threads
+	 * @param queueSize the max number of queued write requests per thread
+	 */
+	public WriteWorker(Influx parent, int threads, int queueSize) {
+		this.parent = parent;
+		this.shards = new Shard[Math.max(1, threads)];
+		for (int i = 0; i < this.shards.length; i++) {
+			this.shards[i] = new Shard(i, Math.max(1, queueSize));
+		}
+		this.monitorExecutor = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setNameFormat(parent.getName() + ":WriteWorkerMonitor-%d").build());
+	}
+
+	/**
+	 * Starts the threads.
+	 */
+	public void start() {
+		for (Shard shard : this.shards) {
+			shard.start();
+		}
+		final AtomicLong lastDropped = new AtomicLong();
+		this.monitorExecutor.scheduleWithFixedDelay(() -> {
+			final long dropped = this.getDropped();
+			final String message = String.format("[monitor] Queue: %d, Dropped: %d, Written Points: %d",
+					this.getQueueSize(), dropped, this.getWrittenPoints());
+			if (dropped != lastDropped.getAndSet(dropped)) {
+				// Data was dropped since the last run
+				this.parent.logWarn(this.log, message);
+			} else {
+				this.parent.logDebug(this.log, message);
+			}
+		}, 10, 10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Stops the threads; pending data is flushed.
+	 */
+	public void stop() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.monitorExecutor, 1);
+		this.isRunning = false;
+		for (Shard shard : this.shards) {
+			shard.interrupt();
+		}
+		for (Shard shard : this.shards) {
+			try {
+				shard.join(5_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Queues data for writing. Never blocks.
+	 *
+	 * @param edgeId       the Edge-ID
+	 * @param influxEdgeId the unique, numeric identifier of the Edge
+	 * @param data         the data; ownership is passed to the {@link WriteWorker}
+	 * @return false if the queue was full and the data was dropped
+	 */
+	public boolean offer(String edgeId, int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		Shard shard = this.shards[Math.floorMod(edgeId.hashCode(), this.shards.length)];
+		if (shard.queue.offer(new WriteRequest(edgeId, influxEdgeId, data))) {
+			return true;
+		}
+		this.dropped.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Gets the total number of queued write requests.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueSize() {
+		int result = 0;
+		for (Shard shard : this.shards) {
+			result += shard.queue.size();
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of write requests that were dropped because the queue was
+	 * full.
+	 *
+	 * @return the drop counter
+	 */
+	public long getDropped() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * Gets the number of points that were successfully written.
+	 *
+	 * @return the counter
+	 */
+	public long getWrittenPoints() {
+		long result = 0;
+		for (Shard shard : this.shards) {
+			result += shard.writtenPoints.get();
+		}
+		return result;
+	}
+
+	private static class WriteRequest {
+		private final String edgeId;
+		private final int influxEdgeId;
+		private final TreeBasedTable<Long, ChannelAddress, JsonElement> data;
+
+		private WriteRequest(String edgeId, int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+			this.edgeId = edgeId;
+			this.influxEdgeId = influxEdgeId;
+			this.data = data;
+		}
+	}
+
+	private class Shard extends Thread {
+
+		private final BlockingQueue<WriteRequest> queue;
+		private final AtomicLong writtenPoints = new AtomicLong();
+		private final List<Point> batch = new ArrayList<>();
+
+		private long lastFlush = System.nanoTime();
+
+		private Shard(int index, int queueSize) {
+			super(WriteWorker.this.parent.getName() + ":WriteWorker-" + index);
+			this.queue = new ArrayBlockingQueue<>(queueSize);
+		}
+
+		@Override
+		public void run() {
+			final List<WriteRequest> requests = new ArrayList<>();
+			while (WriteWorker.this.isRunning) {
+				try {
+					long waitMillis = FLUSH_INTERVAL
+							- TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.lastFlush);
+					WriteRequest request = this.queue.poll(Math.max(0, waitMillis), TimeUnit.MILLISECONDS);
+					if (request != null) {
+						requests.add(request);
+						this.queue.drainTo(requests);
+						this.convert(requests);
+					}
+				} catch (InterruptedException e) {
+					// stop() was called
+				} catch (RuntimeException e) {
+					// Keep the thread alive; otherwise all Edges of this shard would lose data
+					WriteWorker.this.parent.logWarn(WriteWorker.this.log,
+							"Unable to handle data: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+					requests.clear();
+				}
+				if (System.nanoTime() - this.lastFlush >= TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL)) {
+					this.flush();
+				}
+			}
+
+			// Write remaining data
+			this.queue.drainTo(requests);
+			this.convert(requests);
+			this.flush();
+		}
+
+		private void convert(List<WriteRequest> requests) {
+			for (WriteRequest request : requests) {
+				try {
+					WriteWorker.this.parent.toPoints(request.edgeId, request.influxEdgeId, request.data, this.batch);
+				} catch (RuntimeException e) {
+					WriteWorker.this.parent.logWarn(WriteWorker.this.log, "Unable to convert data of Edge ["
+							+ request.edgeId + "]: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+				}
+				if (this.batch.size() >= MAX_BATCH_SIZE) {
+					this.flush();
+				}
+			}
+			requests.clear();
+		}
+
+		private void flush() {
+			try {
+				if (!this.batch.isEmpty() && WriteWorker.this.parent.writePoints(this.batch)) {
+					this.writtenPoints.addAndGet(this.batch.size());
+				}
+			} catch (RuntimeException e) {
+				WriteWorker.this.parent.logWarn(WriteWorker.this.log, "Unable to write [" + this.batch.size()
+						+ "] points: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+			} finally {
+				this.batch.clear();
+				this.lastFlush = System.nanoTime();
+			}
+		}
+	}
+
+}
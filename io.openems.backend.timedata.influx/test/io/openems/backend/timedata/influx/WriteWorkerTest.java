@@ -0,0 +1,99 @@
+package io.openems.backend.timedata.influx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.influxdb.dto.Point;
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+public class WriteWorkerTest {
+
+	private static final ChannelAddress ACTIVE_POWER = new ChannelAddress("meter0", "ActivePower");
+
+	/**
+	 * Records the written batches instead of writing to InfluxDB.
+	 */
+	private static class TestInflux extends Influx {
+
+		private final List<Integer> batchSizes = new ArrayList<>();
+
+		@Override
+		protected synchronized boolean writePoints(List<Point> points) {
+			this.batchSizes.add(points.size());
+			return true;
+		}
+	}
+
+	/**
+	 * Creates data with one value per second.
+	 *
+	 * @param fromTimestamp the first timestamp
+	 * @param rows          the number of timestamps
+	 * @return the data
+	 */
+	private static TreeBasedTable<Long, ChannelAddress, JsonElement> createData(long fromTimestamp, int rows) {
+		TreeBasedTable<Long, ChannelAddress, JsonElement> data = TreeBasedTable.create();
+		for (int i = 0; i < rows; i++) {
+			data.put(fromTimestamp + i * 1_000L, ACTIVE_POWER, new JsonPrimitive(i));
+		}
+		return data;
+	}
+
+	@Test
+	public void testBatching() {
+		final TestInflux parent = new TestInflux();
+		final WriteWorker sut = new WriteWorker(parent, 1, 10);
+
+		// Queued before start, so all requests are handled in one go
+		long timestamp = 1_600_000_000_000L;
+		for (int i = 0; i < 3; i++) {
+			assertTrue(sut.offer("edge0", 0, createData(timestamp, 2_500)));
+			timestamp += 2_500 * 1_000L;
+		}
+		assertEquals(3, sut.getQueueSize());
+
+		sut.start();
+		sut.stop();
+
+		// Batch is flushed once it reaches 5000 points; the rest on stop()
+		assertEquals(List.of(5_000, 2_500), parent.batchSizes);
+		assertEquals(7_500, sut.getWrittenPoints());
+		assertEquals(0, sut.getQueueSize());
+		assertEquals(0, sut.getDropped());
+	}
+
+	@Test
+	public void testQueueFull() {
+		final TestInflux parent = new TestInflux();
+		final WriteWorker sut = new WriteWorker(parent, 1, 2);
+
+		long timestamp = 1_600_000_000_000L;
+		assertTrue(sut.offer("edge0", 0, createData(timestamp, 10)));
+		assertTrue(sut.offer("edge0", 0, createData(timestamp + 10_000, 10)));
+
+		// Queue is full: data is dropped without blocking
+		assertFalse(sut.offer("edge0", 0, createData(timestamp + 20_000, 10)));
+		assertFalse(sut.offer("edge0", 0, createData(timestamp + 30_000, 10)));
+		assertEquals(2, sut.getDropped());
+		assertEquals(2, sut.getQueueSize());
+
+		sut.start();
+		sut.stop();
+
+		// Only the queued data was written
+		assertEquals(List.of(20), parent.batchSizes);
+		assertEquals(20, sut.getWrittenPoints());
+		assertEquals(2, sut.getDropped());
+	}
+
+}
@@ -0,0 +1,144 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.openems.backend.common.metadata.User;
+
+/**
+ * Indexes the authenticated UI sessions by the Edge-IDs their {@link User} has
+ * access to.
+ *
+ * <p>
+ * This allows broadcasting a notification of an Edge to all UIs in
+ * O(subscribers) instead of checking the permissions of every open connection.
+ * The index is updated on login, logout, close of a connection and whenever
+ * the Edge-Roles of a {@link User} might have changed.
+ *
+ * <p>
+ * Metadata does not announce revoked permissions, changed Roles or removed
+ * Users. Because of that the Role of every indexed session is checked again
+ * against the current {@link User} from Metadata in
+ * {@link #getAuthorized(String)}; outdated sessions are re-indexed.
+ */
+class EdgeSessions {
+
+	/**
+	 * Gets the current {@link User} for a User-ID from Metadata.
+	 */
+	private final Function<String, Optional<User>> getUser;
+
+	/**
+	 * Sessions per Edge-ID; the sets are concurrent, so they can be iterated
+	 * without holding the lock.
+	 */
+	private final Map<String, Set<WsData>> wsDatasByEdgeId = new ConcurrentHashMap<>();
+
+	/**
+	 * The indexed Edge-IDs and User-ID per session; guarded by 'this'.
+	 */
+	private final Map<WsData, Entry<String, Set<String>>> indexedSessions = new HashMap<>();
+
+	public EdgeSessions(Function<String, Optional<User>> getUser) {
+		this.getUser = getUser;
+	}
+
+	/**
+	 * Adds an authenticated session to the index.
+	 *
+	 * <p>
+	 * The Edge-Roles of the {@link User} are also re-applied to all other
+	 * sessions of the same User, as a new login might have updated them.
+	 *
+	 * @param wsData the WebSocket attachment
+	 * @param user   the authenticated {@link User}
+	 */
+	public synchronized void add(WsData wsData, User user) {
+		this.index(wsData, user);
+		this.update(user);
+	}
+
+	/**
+	 * Re-applies the Edge-Roles of the {@link User} to all its sessions.
+	 *
+	 * @param user the {@link User}
+	 */
+	public synchronized void update(User user) {
+		for (Entry<WsData, Entry<String, Set<String>>> entry : new HashSet<>(this.indexedSessions.entrySet())) {
+			if (user.getId().equals(entry.getValue().getKey())) {
+				this.index(entry.getKey(), user);
+			}
+		}
+	}
+
+	/**
+	 * Removes a session from the index, e.g. on logout or close.
+	 *
+	 * @param wsData the WebSocket attachment
+	 */
+	public synchronized void remove(WsData wsData) {
+		Entry<String, Set<String>> indexed = this.indexedSessions.remove(wsData);
+		if (indexed == null) {
+			return;
+		}
+		for (String edgeId : indexed.getValue()) {
+			Set<WsData> wsDatas = this.wsDatasByEdgeId.get(edgeId);
+			if (wsDatas != null) {
+				wsDatas.remove(wsData);
+				if (wsDatas.isEmpty()) {
+					this.wsDatasByEdgeId.remove(edgeId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the sessions of all Users that currently have access to an Edge-ID.
+	 *
+	 * <p>
+	 * Sessions whose {@link User} lost access to the Edge or is not available
+	 * anymore are skipped and re-indexed.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the WsDatas; empty list if there are none
+	 */
+	public List<WsData> getAuthorized(String edgeId) {
+		Set<WsData> wsDatas = this.wsDatasByEdgeId.get(edgeId);
+		if (wsDatas == null) {
+			return new ArrayList<>();
+		}
+		List<WsData> result = new ArrayList<>(wsDatas.size());
+		for (WsData wsData : wsDatas) {
+			Optional<User> user = wsData.getUserId().flatMap(this.getUser);
+			if (!user.isPresent()) {
+				// User is not available anymore
+				this.remove(wsData);
+			} else if (!user.get().getRole(edgeId).isPresent()) {
+				// Access to the Edge was revoked
+				this.update(user.get());
+			} else {
+				result.add(wsData);
+			}
+		}
+		return result;
+	}
+
+	private void index(WsData wsData, User user) {
+		this.remove(wsData);
+		Set<String> edgeIds = new HashSet<>(user.getEdgeRoles().keySet());
+		for (String edgeId : edgeIds) {
+			this.wsDatasByEdgeId.computeIfAbsent(edgeId, e -> ConcurrentHashMap.newKeySet()).add(wsData);
+		}
+		this.indexedSessions.put(wsData, new AbstractMap.SimpleImmutableEntry<>(user.getId(), edgeIds));
+	}
+
+}
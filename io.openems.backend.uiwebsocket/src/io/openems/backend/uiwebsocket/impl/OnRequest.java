@@ -154,6 +154,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 
 		wsData.setUserId(user.getId());
 		wsData.setToken(user.getToken());
+		this.parent.edgeSessions.add(wsData, user);
 		return CompletableFuture.completedFuture(new AuthenticateResponse(requestId, user.getToken(), user,
 				User.generateEdgeMetadatas(user, this.parent.metadata), user.getLanguage()));
 	}
@@ -184,6 +185,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	 */
 	private CompletableFuture<JsonrpcResponseSuccess> handleLogoutRequest(WsData wsData, User user,
 			LogoutRequest request) throws OpenemsNamedException {
+		this.parent.edgeSessions.remove(wsData);
 		wsData.logout();
 		this.parent.metadata.logout(user);
 		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
@@ -272,9 +274,8 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	 */
 	private CompletableFuture<JsonrpcResponseSuccess> handleSubscribeChannelsRequest(WsData wsData, String edgeId,
 			User user, SubscribeChannelsRequest request) throws OpenemsNamedException {
-		// activate SubscribedChannelsWorker
-		SubscribedChannelsWorker worker = wsData.getSubscribedChannelsWorker(edgeId);
-		worker.handleSubscribeChannelsRequest(user.getRole(edgeId).orElse(Role.GUEST), request);
+		// register at SubscribedChannelsHub
+		this.parent.subscribedChannelsHub.handleSubscribeChannelsRequest(wsData, edgeId, request);
 
 		// JSON-RPC response
 		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
@@ -310,6 +311,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	private CompletableFuture<AddEdgeToUserResponse> handleAddEdgeToUserRequest(User user, AddEdgeToUserRequest request)
 			throws OpenemsNamedException {
 		Edge edge = this.parent.metadata.addEdgeToUser(user, request.getSetupPassword());
+		this.parent.edgeSessions.update(user);
 
 		return CompletableFuture.completedFuture(new AddEdgeToUserResponse(request.getId(), edge));
 	}
@@ -0,0 +1,182 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import io.openems.common.jsonrpc.notification.CurrentDataNotification;
+import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Sends the subscribed Channel values of an Edge to all UI sessions that
+ * subscribed to them.
+ *
+ * <p>
+ * Instead of one worker per session, one task regularly handles all
+ * subscriptions of all Edges:
+ *
+ * <ul>
+ * <li>the value of every Channel in the union of all subscriptions of an Edge
+ * is read only once from {@link io.openems.backend.common.timedata.Timedata}
+ * <li>the {@link CurrentDataNotification} is serialized only once for every
+ * distinct set of subscribed Channels, i.e. sessions showing the same UI
+ * widgets share the same message
+ * <li>a session only receives a message if one of its subscribed values
+ * changed since the last message it received
+ * </ul>
+ *
+ * <p>
+ * The UI replaces its current data with every received
+ * {@link CurrentDataNotification}, so a message always contains all subscribed
+ * Channels of the session.
+ */
+public class SubscribedChannelsHub {
+
+	protected static final int UPDATE_INTERVAL_IN_SECONDS = 2;
+
+	private final Logger log = LoggerFactory.getLogger(SubscribedChannelsHub.class);
+
+	private final UiWebsocketImpl parent;
+
+	/**
+	 * Subscriptions per Edge-ID and session.
+	 */
+	private final Map<String, Map<WsData, Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+	private static class Subscription {
+
+		private final int requestCount;
+		private final Set<ChannelAddress> channels;
+
+		/**
+		 * The last message sent for this Subscription.
+		 */
+		private volatile String lastMessage = null;
+
+		private Subscription(int requestCount, Set<ChannelAddress> channels) {
+			this.requestCount = requestCount;
+			this.channels = channels;
+		}
+	}
+
+	public SubscribedChannelsHub(UiWebsocketImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Applies a {@link SubscribeChannelsRequest} of a UI session.
+	 *
+	 * <p>
+	 * Requests with a 'count' lower than the one of the last applied request are
+	 * ignored. An empty set of Channels stops sending current data. The current
+	 * data of a new subscription is sent immediately.
+	 *
+	 * @param wsData  the WebSocket attachment
+	 * @param edgeId  the Edge-ID
+	 * @param request the {@link SubscribeChannelsRequest}
+	 */
+	public synchronized void handleSubscribeChannelsRequest(WsData wsData, String edgeId,
+			SubscribeChannelsRequest request) {
+		Map<WsData, Subscription> edgeSubscriptions = this.subscriptions.computeIfAbsent(edgeId,
+				e -> new ConcurrentHashMap<>());
+		Subscription existing = edgeSubscriptions.get(wsData);
+		if (existing != null && existing.requestCount >= request.getCount()) {
+			return;
+		}
+		// An empty subscription is kept to remember the request count
+		Subscription subscription = new Subscription(request.getCount(),
+				Collections.unmodifiableSet(new TreeSet<>(request.getChannels())));
+		edgeSubscriptions.put(wsData, subscription);
+
+		// Send current data immediately
+		this.run(edgeId, Collections.singletonMap(wsData, subscription));
+	}
+
+	/**
+	 * Removes all subscriptions of a UI session, e.g. on logout or close.
+	 *
+	 * @param wsData the WebSocket attachment
+	 */
+	public synchronized void remove(WsData wsData) {
+		for (Iterator<Map<WsData, Subscription>> iter = this.subscriptions.values().iterator(); iter.hasNext();) {
+			Map<WsData, Subscription> edgeSubscriptions = iter.next();
+			edgeSubscriptions.remove(wsData);
+			if (edgeSubscriptions.isEmpty()) {
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Sends the current data of all Edges to their subscribers. This method is
+	 * executed regularly.
+	 */
+	protected void run() {
+		for (Entry<String, Map<WsData, Subscription>> entry : this.subscriptions.entrySet()) {
+			try {
+				this.run(entry.getKey(), entry.getValue());
+			} catch (RuntimeException e) {
+				this.parent.logWarn(this.log,
+						"Unable to send SubscribedChannels for Edge [" + entry.getKey() + "]: " + e.getMessage());
+			}
+		}
+	}
+
+	private void run(String edgeId, Map<WsData, Subscription> edgeSubscriptions) {
+		final Map<ChannelAddress, JsonElement> values = new HashMap<>();
+		final Map<Set<ChannelAddress>, String> messages = new HashMap<>();
+		for (Entry<WsData, Subscription> entry : edgeSubscriptions.entrySet()) {
+			WsData wsData = entry.getKey();
+			Subscription subscription = entry.getValue();
+			if (subscription.channels.isEmpty()) {
+				continue;
+			}
+			WebSocket ws = wsData.getWebsocket();
+			if (ws == null || !ws.isOpen()) {
+				// disconnected; subscription is removed on close
+				continue;
+			}
+
+			String message = messages.computeIfAbsent(subscription.channels, channels -> {
+				CurrentDataNotification currentData = new CurrentDataNotification();
+				for (ChannelAddress channel : channels) {
+					currentData.add(channel, values.computeIfAbsent(channel, c -> this.getChannelValue(edgeId, c)));
+				}
+				return new EdgeRpcNotification(edgeId, currentData).toString();
+			});
+			if (message.equals(subscription.lastMessage)) {
+				// no value changed
+				continue;
+			}
+
+			try {
+				ws.send(message);
+				subscription.lastMessage = message;
+			} catch (WebsocketNotConnectedException e) {
+				this.parent.logWarn(this.log, "Unable to send SubscribedChannels: " + e.getMessage());
+			}
+		}
+	}
+
+	private JsonElement getChannelValue(String edgeId, ChannelAddress channelAddress) {
+		Optional<JsonElement> channelCacheValue = this.parent.timeData.getChannelValue(edgeId, channelAddress);
+		return channelCacheValue.orElse(JsonNull.INSTANCE);
+	}
+
+}
@@ -1,11 +1,10 @@
 package io.openems.backend.uiwebsocket.impl;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
 import org.osgi.service.component.annotations.Activate;
@@ -20,7 +19,6 @@ import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
 import io.openems.backend.common.metadata.Metadata;
-import io.openems.backend.common.metadata.User;
 import io.openems.backend.common.timedata.Timedata;
 import io.openems.backend.common.uiwebsocket.UiWebsocket;
 import io.openems.common.exceptions.OpenemsError;
@@ -28,7 +26,6 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
-import io.openems.common.session.Role;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(//
@@ -42,6 +39,13 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	protected WebsocketServer server = null;
 
+	/**
+	 * The authenticated UI sessions by Edge-ID; used for broadcasts.
+	 */
+	protected final EdgeSessions edgeSessions = new EdgeSessions(userId -> this.metadata.getUser(userId));
+
+	protected final SubscribedChannelsHub subscribedChannelsHub = new SubscribedChannelsHub(this);
+
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -86,6 +90,8 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	private synchronized void startServer(int port, int poolSize, boolean debugMode) {
 		this.server = new WebsocketServer(this, "Ui.Websocket", port, poolSize, debugMode);
 		this.server.start();
+		this.server.scheduleWithFixedDelay(this.subscribedChannelsHub::run, 0,
+				SubscribedChannelsHub.UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
 	}
 
 	/**
@@ -122,9 +128,8 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	@Override
 	public void sendBroadcast(String edgeId, JsonrpcNotification notification) throws OpenemsNamedException {
-		List<WsData> wsDatas = this.getWsDatasForEdgeId(edgeId);
 		OpenemsNamedException exception = null;
-		for (WsData wsData : wsDatas) {
+		for (WsData wsData : this.edgeSessions.getAuthorized(edgeId)) {
 			try {
 				wsData.send(notification);
 			} catch (OpenemsNamedException e) {
@@ -156,36 +161,4 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 		throw OpenemsError.BACKEND_NO_UI_WITH_TOKEN.exception(token);
 	}
 
-	/**
-	 * Gets the WebSocket connection attachments of all connections accessing an
-	 * Edge-ID.
-	 * 
-	 * @param edgeId the Edge-ID
-	 * @return the WsDatas; empty list if there are none
-	 */
-	private List<WsData> getWsDatasForEdgeId(String edgeId) {
-		List<WsData> result = new ArrayList<>();
-		Collection<WebSocket> connections = this.server.getConnections();
-		for (Iterator<WebSocket> iter = connections.iterator(); iter.hasNext();) {
-			WebSocket websocket = iter.next();
-			WsData wsData = websocket.getAttachment();
-			// get attachment User-ID
-			Optional<String> userIdOpt = wsData.getUserId();
-			if (userIdOpt.isPresent()) {
-				String userId = userIdOpt.get();
-				// get User for User-ID
-				Optional<User> userOpt = this.metadata.getUser(userId);
-				if (userOpt.isPresent()) {
-					User user = userOpt.get();
-					Optional<Role> edgeRoleOpt = user.getRole(edgeId);
-					if (edgeRoleOpt.isPresent()) {
-						// User has access to this Edge-ID
-						result.add(wsData);
-					}
-				}
-			}
-		}
-		return result;
-	}
-
 }
@@ -1,7 +1,5 @@
 package io.openems.backend.uiwebsocket.impl;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -14,7 +12,6 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 public class WsData extends io.openems.common.websocket.WsData {
 
 	private final WebsocketServer parent;
-	private final Map<String, SubscribedChannelsWorker> subscribedChannelsWorkers = new HashMap<>();
 	private Optional<String> userId = Optional.empty();
 	private Optional<String> token = Optional.empty();
 
@@ -23,10 +20,8 @@ public class WsData extends io.openems.common.websocket.WsData {
 	}
 
 	@Override
-	public synchronized void dispose() {
-		for (SubscribedChannelsWorker subscribedChannelsWorker : this.subscribedChannelsWorkers.values()) {
-			subscribedChannelsWorker.dispose();
-		}
+	public void dispose() {
+		this.parent.parent.subscribedChannelsHub.remove(this);
 	}
 
 	/**
@@ -108,21 +103,6 @@ public class WsData extends io.openems.common.websocket.WsData {
 		throw OpenemsError.BACKEND_UI_TOKEN_MISSING.exception();
 	}
 
-	/**
-	 * Gets the SubscribedChannelsWorker to take care of subscribe to CurrentData.
-	 * 
-	 * @param edgeId the Edge-ID
-	 * @return the SubscribedChannelsWorker
-	 */
-	public synchronized SubscribedChannelsWorker getSubscribedChannelsWorker(String edgeId) {
-		SubscribedChannelsWorker result = this.subscribedChannelsWorkers.get(edgeId);
-		if (result == null) {
-			result = new SubscribedChannelsWorker(this.parent.parent, edgeId, this);
-			this.subscribedChannelsWorkers.put(edgeId, result);
-		}
-		return result;
-	}
-
 	@Override
 	public String toString() {
 		String tokenString;
@@ -0,0 +1,88 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import io.openems.backend.common.metadata.User;
+import io.openems.common.session.Role;
+
+public class EdgeSessionsTest {
+
+	private static User createUser(String userId, String... edgeIds) {
+		TreeMap<String, Role> roles = new TreeMap<>();
+		for (String edgeId : edgeIds) {
+			roles.put(edgeId, Role.OWNER);
+		}
+		return new User(userId, userId, "token", Role.GUEST, roles, "EN");
+	}
+
+	private static WsData createWsData(User user) {
+		WsData wsData = new WsData(null);
+		wsData.setUserId(user.getId());
+		return wsData;
+	}
+
+	@Test
+	public void testRevokedPermission() {
+		final Map<String, User> users = new HashMap<>();
+		final EdgeSessions sut = new EdgeSessions(userId -> Optional.ofNullable(users.get(userId)));
+
+		User user0 = createUser("user0", "edge0", "edge1");
+		users.put("user0", user0);
+		WsData wsData0 = createWsData(user0);
+		WsData wsData1 = createWsData(user0);
+		sut.add(wsData0, user0);
+		sut.add(wsData1, user0);
+
+		assertEquals(2, sut.getAuthorized("edge0").size());
+		assertEquals(2, sut.getAuthorized("edge1").size());
+		assertTrue(sut.getAuthorized("edge2").isEmpty());
+
+		// Metadata revokes access to edge0
+		users.put("user0", createUser("user0", "edge1"));
+		assertTrue(sut.getAuthorized("edge0").isEmpty());
+		assertEquals(2, sut.getAuthorized("edge1").size());
+	}
+
+	@Test
+	public void testRemovedUser() {
+		final Map<String, User> users = new HashMap<>();
+		final EdgeSessions sut = new EdgeSessions(userId -> Optional.ofNullable(users.get(userId)));
+
+		User user0 = createUser("user0", "edge0");
+		users.put("user0", user0);
+		WsData wsData0 = createWsData(user0);
+		sut.add(wsData0, user0);
+
+		// Metadata removes the User
+		users.remove("user0");
+		assertTrue(sut.getAuthorized("edge0").isEmpty());
+
+		// User is available again, but the session needs to login again
+		users.put("user0", user0);
+		assertTrue(sut.getAuthorized("edge0").isEmpty());
+	}
+
+	@Test
+	public void testRemove() {
+		final Map<String, User> users = new HashMap<>();
+		final EdgeSessions sut = new EdgeSessions(userId -> Optional.ofNullable(users.get(userId)));
+
+		User user0 = createUser("user0", "edge0");
+		users.put("user0", user0);
+		WsData wsData0 = createWsData(user0);
+		sut.add(wsData0, user0);
+
+		// Logout or close
+		sut.remove(wsData0);
+		assertTrue(sut.getAuthorized("edge0").isEmpty());
+	}
+
+}
@@ -0,0 +1,178 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.java_websocket.WebSocket;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.common.timedata.Timedata;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcRequest;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+
+public class SubscribedChannelsHubTest {
+
+	private static final String EDGE_ID = "edge0";
+	private static final ChannelAddress ESS_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress GRID_ACTIVE_POWER = new ChannelAddress("_sum", "GridActivePower");
+
+	/**
+	 * The latest Channel values of {@link #EDGE_ID}.
+	 */
+	private final Map<ChannelAddress, JsonElement> values = new ConcurrentHashMap<>();
+
+	private UiWebsocketImpl parent;
+	private WebsocketServer server;
+	private SubscribedChannelsHub sut;
+
+	/**
+	 * A UI session that records the sent messages.
+	 */
+	private static class Session {
+
+		private final WsData wsData;
+		private final List<String> messages = new ArrayList<>();
+
+		private Session(WebsocketServer server) {
+			this.wsData = new WsData(server);
+			this.wsData.setWebsocket((WebSocket) Proxy.newProxyInstance(
+					SubscribedChannelsHubTest.class.getClassLoader(), new Class<?>[] { WebSocket.class },
+					(proxy, method, args) -> {
+						switch (method.getName()) {
+						case "isOpen":
+							return true;
+						case "send":
+							this.messages.add((String) args[0]);
+							break;
+						}
+						return null;
+					}));
+		}
+	}
+
+	private static SubscribeChannelsRequest createRequest(int count, ChannelAddress... channels)
+			throws OpenemsNamedException {
+		JsonArray array = new JsonArray();
+		for (ChannelAddress channel : channels) {
+			array.add(channel.toString());
+		}
+		return SubscribeChannelsRequest.from(new GenericJsonrpcRequest(UUID.randomUUID(),
+				SubscribeChannelsRequest.METHOD, JsonUtils.buildJsonObject() //
+						.addProperty("count", count) //
+						.add("channels", array) //
+						.build(),
+				Optional.empty()));
+	}
+
+	@Before
+	public void before() {
+		this.parent = new UiWebsocketImpl();
+		this.parent.timeData = (Timedata) Proxy.newProxyInstance(SubscribedChannelsHubTest.class.getClassLoader(),
+				new Class<?>[] { Timedata.class }, (proxy, method, args) -> {
+					if (method.getName().equals("getChannelValue") && EDGE_ID.equals(args[0])) {
+						return Optional.ofNullable(this.values.get(args[1]));
+					}
+					return Optional.empty();
+				});
+		// Server is never started; it is only required by WsData.dispose()
+		this.server = new WebsocketServer(this.parent, "Ui.Websocket", 0, 1, false);
+		this.sut = this.parent.subscribedChannelsHub;
+		this.values.put(ESS_SOC, new JsonPrimitive(50));
+		this.values.put(GRID_ACTIVE_POWER, new JsonPrimitive(1000));
+	}
+
+	@Test
+	public void testTwoSessionsOfSameEdge() throws OpenemsNamedException {
+		final Session session0 = new Session(this.server);
+		final Session session1 = new Session(this.server);
+
+		// Current data is sent immediately on subscribe
+		this.sut.handleSubscribeChannelsRequest(session0.wsData, EDGE_ID, createRequest(1, ESS_SOC));
+		this.sut.handleSubscribeChannelsRequest(session1.wsData, EDGE_ID, createRequest(1, ESS_SOC));
+		assertEquals(1, session0.messages.size());
+		assertEquals(1, session1.messages.size());
+		assertTrue(session0.messages.get(0).contains("\"_sum/EssSoc\":50"));
+		assertEquals(session0.messages.get(0), session1.messages.get(0));
+
+		// No value changed: nothing is sent
+		this.sut.run();
+		assertEquals(1, session0.messages.size());
+		assertEquals(1, session1.messages.size());
+
+		// Session 1 unsubscribes; an older request is ignored
+		this.sut.handleSubscribeChannelsRequest(session1.wsData, EDGE_ID, createRequest(2));
+		this.sut.handleSubscribeChannelsRequest(session1.wsData, EDGE_ID, createRequest(1, GRID_ACTIVE_POWER));
+
+		this.values.put(ESS_SOC, new JsonPrimitive(51));
+		this.sut.run();
+		assertEquals(2, session0.messages.size());
+		assertTrue(session0.messages.get(1).contains("\"_sum/EssSoc\":51"));
+		assertEquals(1, session1.messages.size());
+
+		// Session 1 subscribes again with different Channels
+		this.sut.handleSubscribeChannelsRequest(session1.wsData, EDGE_ID,
+				createRequest(3, ESS_SOC, GRID_ACTIVE_POWER));
+		assertEquals(2, session1.messages.size());
+		assertTrue(session1.messages.get(1).contains("\"_sum/GridActivePower\":1000"));
+		assertEquals(2, session0.messages.size());
+	}
+
+	@Test
+	public void testDispose() throws OpenemsNamedException {
+		final Session session0 = new Session(this.server);
+		final Session session1 = new Session(this.server);
+		this.sut.handleSubscribeChannelsRequest(session0.wsData, EDGE_ID, createRequest(1, ESS_SOC));
+		this.sut.handleSubscribeChannelsRequest(session1.wsData, EDGE_ID, createRequest(1, ESS_SOC));
+
+		// Session 0 is closed
+		session0.wsData.dispose();
+
+		this.values.put(ESS_SOC, new JsonPrimitive(51));
+		this.sut.run();
+		assertEquals(1, session0.messages.size());
+		assertEquals(2, session1.messages.size());
+
+		// Last session of the Edge is closed
+		session1.wsData.dispose();
+
+		this.values.put(ESS_SOC, new JsonPrimitive(52));
+		this.sut.run();
+		assertEquals(1, session0.messages.size());
+		assertEquals(2, session1.messages.size());
+	}
+
+	@Test
+	public void testEmptySubscription() throws OpenemsNamedException {
+		final Session session = new Session(this.server);
+
+		// Nothing is sent for an empty set of Channels
+		this.sut.handleSubscribeChannelsRequest(session.wsData, EDGE_ID, createRequest(1));
+		this.values.put(ESS_SOC, new JsonPrimitive(51));
+		this.sut.run();
+		assertTrue(session.messages.isEmpty());
+
+		// ...but the request count is remembered
+		this.sut.handleSubscribeChannelsRequest(session.wsData, EDGE_ID, createRequest(1, ESS_SOC));
+		assertTrue(session.messages.isEmpty());
+
+		this.sut.handleSubscribeChannelsRequest(session.wsData, EDGE_ID, createRequest(2, ESS_SOC));
+		assertEquals(1, session.messages.size());
+	}
+
+}
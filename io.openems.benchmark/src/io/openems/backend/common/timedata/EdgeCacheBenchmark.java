@@ -0,0 +1,68 @@
+package io.openems.backend.common.timedata;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openems.benchmark.BackendFixture;
+
+/**
+ * Measures {@link EdgeCache#complementDataFromCache(String, java.util.SortedMap)}
+ * for one round of TimestampedDataNotifications of all Edges of a
+ * {@link BackendFixture}.
+ *
+ * <p>
+ * Every round advances the time by two seconds, so the Cache is applied to the
+ * incoming data in every 30th round; the creation of the incoming data is
+ * included in the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EdgeCacheBenchmark {
+
+	private static final long START_TIMESTAMP = 1_600_000_000_000L;
+	private static final long INTERVAL = 2_000; // [ms]
+
+	@Param({ "10", "100" })
+	public int changedPercent;
+
+	private BackendFixture backend;
+	private EdgeCache[] edgeCaches;
+	private long timestamp = START_TIMESTAMP;
+
+	@Setup
+	public void setup() {
+		this.backend = new BackendFixture();
+		this.edgeCaches = new EdgeCache[BackendFixture.NUMBER_OF_EDGES];
+		for (int i = 0; i < BackendFixture.NUMBER_OF_EDGES; i++) {
+			this.edgeCaches[i] = new EdgeCache();
+			// Initially fill the Cache with all values
+			this.edgeCaches[i].complementDataFromCache(this.backend.getEdgeId(i),
+					this.backend.createTimestampedData(this.timestamp, 100));
+		}
+	}
+
+	@Benchmark
+	public void complementDataFromCache() {
+		this.timestamp += INTERVAL;
+		for (int i = 0; i < BackendFixture.NUMBER_OF_EDGES; i++) {
+			this.edgeCaches[i].complementDataFromCache(this.backend.getEdgeId(i),
+					this.backend.createTimestampedData(this.timestamp, this.changedPercent));
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+package io.openems.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * Mimics the data of an OpenEMS Backend with {@value #NUMBER_OF_EDGES}
+ * connected Edges; each Edge has the Channels of an {@link EdgeFixture}.
+ */
+public class BackendFixture {
+
+	public static final int NUMBER_OF_EDGES = 1_000;
+
+	private final String[] edgeIds = new String[NUMBER_OF_EDGES];
+	private final ChannelAddress[] channels;
+
+	public BackendFixture() {
+		for (int i = 0; i < NUMBER_OF_EDGES; i++) {
+			this.edgeIds[i] = "edge" + i;
+		}
+		this.channels = new EdgeFixture().getChannels().stream() //
+				.map(Channel::address) //
+				.toArray(ChannelAddress[]::new);
+	}
+
+	/**
+	 * Gets the Edge-ID.
+	 *
+	 * @param index the index of the Edge; from 0 to {@link #NUMBER_OF_EDGES} - 1
+	 * @return the Edge-ID
+	 */
+	public String getEdgeId(int index) {
+		return this.edgeIds[index];
+	}
+
+	/**
+	 * Gets the addresses of all Channels of one Edge.
+	 *
+	 * @return an array of {@link ChannelAddress}es
+	 */
+	public ChannelAddress[] getChannels() {
+		return this.channels;
+	}
+
+	/**
+	 * Creates the data of one TimestampedDataNotification of an Edge.
+	 *
+	 * <p>
+	 * Like a real Edge, only changed values are contained; the given percentage
+	 * of Channels changes with every timestamp.
+	 *
+	 * @param timestamp      the timestamp in [ms]
+	 * @param changedPercent the percentage of changed Channels; 100 for all
+	 *                       Channels
+	 * @return a new, modifiable map of timestamp to values
+	 */
+	public SortedMap<Long, Map<ChannelAddress, JsonElement>> createTimestampedData(long timestamp,
+			int changedPercent) {
+		final JsonElement value = new JsonPrimitive(timestamp / 1000);
+		final Map<ChannelAddress, JsonElement> values = new HashMap<>();
+		for (int i = 0; i < this.channels.length; i++) {
+			if (i % 100 < changedPercent) {
+				values.put(this.channels[i], value);
+			}
+		}
+		SortedMap<Long, Map<ChannelAddress, JsonElement>> result = new TreeMap<>();
+		result.put(timestamp, values);
+		return result;
+	}
+
+}
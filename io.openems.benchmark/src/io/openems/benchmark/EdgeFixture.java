@@ -0,0 +1,137 @@
+package io.openems.benchmark;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.api.SymmetricEss;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.ess.test.DummyMetaEss;
+import io.openems.edge.meter.test.DummyAsymmetricMeter;
+import io.openems.edge.meter.test.DummySymmetricMeter;
+
+/**
+ * Mimics a typical OpenEMS Edge with {@value #NUMBER_OF_COMPONENTS}
+ * Components: the Sum, an ESS-Cluster of {@value #NUMBER_OF_CLUSTERED_ESS}
+ * ESS and symmetric and asymmetric meters.
+ */
+public class EdgeFixture {
+
+	public static final int NUMBER_OF_COMPONENTS = 50;
+	public static final int NUMBER_OF_CLUSTERED_ESS = 4;
+	public static final String ESS_CLUSTER_ID = "ess0";
+
+	private final DummyComponentManager componentManager;
+	private final List<OpenemsComponent> components = new ArrayList<>();
+	private final List<ManagedSymmetricEss> esss = new ArrayList<>();
+	private final List<Channel<?>> channels = new ArrayList<>();
+	private final List<IntegerReadChannel> integerChannels = new ArrayList<>();
+
+	public EdgeFixture() {
+		this(Clock.systemDefaultZone());
+	}
+
+	public EdgeFixture(Clock clock) {
+		this.componentManager = new DummyComponentManager(clock);
+		this.components.add(new DummySum());
+
+		// ESS-Cluster
+		SymmetricEss[] clusteredEss = new SymmetricEss[NUMBER_OF_CLUSTERED_ESS];
+		for (int i = 0; i < NUMBER_OF_CLUSTERED_ESS; i++) {
+			DummyManagedSymmetricEss ess = new DummyManagedSymmetricEss("ess" + (i + 1)) //
+					.withMaxApparentPower(10_000) //
+					.withAllowedChargePower(-10_000) //
+					.withAllowedDischargePower(10_000) //
+					.withCapacity(20_000) //
+					.withSoc(20 + i * 20);
+			clusteredEss[i] = ess;
+			this.esss.add(ess);
+		}
+		DummyMetaEss cluster = new DummyMetaEss(ESS_CLUSTER_ID, clusteredEss);
+		this.esss.add(0, cluster);
+		this.components.addAll(this.esss);
+
+		// Fill up with Meters
+		for (int i = 0; this.components.size() < NUMBER_OF_COMPONENTS; i++) {
+			String id = "meter" + i;
+			this.components.add(i % 2 == 0 ? new DummySymmetricMeter(id) : new DummyAsymmetricMeter(id));
+		}
+
+		for (OpenemsComponent component : this.components) {
+			this.componentManager.addComponent(component);
+			for (Channel<?> channel : component.channels()) {
+				this.channels.add(channel);
+				if (channel instanceof IntegerReadChannel) {
+					this.integerChannels.add((IntegerReadChannel) channel);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the next values of all Integer-Channels, like the devices would do in
+	 * one Cycle.
+	 *
+	 * <p>
+	 * The given percentage of Channels gets a new value in every Cycle; the
+	 * others keep a constant value.
+	 *
+	 * @param cycle          the number of the Cycle
+	 * @param changedPercent the percentage of changed Channels
+	 */
+	public void setNextValues(int cycle, int changedPercent) {
+		for (int i = 0; i < this.integerChannels.size(); i++) {
+			this.integerChannels.get(i).setNextValue(i % 100 < changedPercent ? cycle : i);
+		}
+	}
+
+	/**
+	 * Switches all Channels to the next Process Image.
+	 */
+	public void nextProcessImage() {
+		for (Channel<?> channel : this.channels) {
+			channel.nextProcessImage();
+		}
+	}
+
+	/**
+	 * Simulates one Cycle; combines {@link #setNextValues(int, int)} and
+	 * {@link #nextProcessImage()}.
+	 *
+	 * @param cycle          the number of the Cycle
+	 * @param changedPercent the percentage of changed Channels
+	 */
+	public void nextCycle(int cycle, int changedPercent) {
+		this.setNextValues(cycle, changedPercent);
+		this.nextProcessImage();
+	}
+
+	public DummyComponentManager getComponentManager() {
+		return this.componentManager;
+	}
+
+	public List<OpenemsComponent> getComponents() {
+		return Collections.unmodifiableList(this.components);
+	}
+
+	/**
+	 * Gets the ESS; the ESS-Cluster comes first.
+	 *
+	 * @return a list of {@link ManagedSymmetricEss}
+	 */
+	public List<ManagedSymmetricEss> getEsss() {
+		return Collections.unmodifiableList(this.esss);
+	}
+
+	public List<Channel<?>> getChannels() {
+		return Collections.unmodifiableList(this.channels);
+	}
+
+}
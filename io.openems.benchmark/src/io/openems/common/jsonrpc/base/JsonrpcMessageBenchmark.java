@@ -0,0 +1,101 @@
+package io.openems.common.jsonrpc.base;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.benchmark.EdgeFixture;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.jsonrpc.request.EdgeRpcRequest;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * Measures {@link JsonrpcMessage#from(String)} for typical messages between
+ * UI, Backend and an {@link EdgeFixture}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonrpcMessageBenchmark {
+
+	/**
+	 * The type of the message.
+	 *
+	 * <ul>
+	 * <li>timestampedData: values of all Channels of the Edge
+	 * <li>edgeRpc: a subscription to 50 Channels, wrapped for the Edge
+	 * <li>response: a small response
+	 * </ul>
+	 */
+	@Param({ "timestampedData", "edgeRpc", "response" })
+	public String message;
+
+	private String json;
+
+	@Setup
+	public void setup() {
+		EdgeFixture edge = new EdgeFixture();
+		edge.nextCycle(1, 100);
+
+		switch (this.message) {
+		case "timestampedData":
+			TimestampedDataNotification notification = new TimestampedDataNotification();
+			for (Channel<?> channel : edge.getChannels()) {
+				notification.add(1_600_000_000_000L, channel.address(), channel.value().asJson());
+			}
+			this.json = notification.toString();
+			break;
+
+		case "edgeRpc":
+			JsonArray channels = new JsonArray();
+			edge.getChannels().stream() //
+					.limit(50) //
+					.forEach(channel -> channels.add(new JsonPrimitive(channel.address().toString())));
+			JsonrpcRequest subscribe = new GenericJsonrpcRequest(UUID.randomUUID(), SubscribeChannelsRequest.METHOD,
+					JsonUtils.buildJsonObject() //
+							.addProperty("count", 1) //
+							.add("channels", channels) //
+							.build(),
+					Optional.empty());
+			this.json = new EdgeRpcRequest("edge0", subscribe).toString();
+			break;
+
+		case "response":
+			this.json = new GenericJsonrpcResponseSuccess(UUID.randomUUID(), JsonUtils.buildJsonObject() //
+					.addProperty("edgeId", "edge0") //
+					.addProperty("isOnline", true) //
+					.build()).toString();
+			break;
+
+		default:
+			throw new IllegalArgumentException("Unknown message [" + this.message + "]");
+		}
+	}
+
+	@Benchmark
+	public JsonrpcMessage from() throws OpenemsNamedException {
+		return JsonrpcMessage.from(this.json);
+	}
+
+}
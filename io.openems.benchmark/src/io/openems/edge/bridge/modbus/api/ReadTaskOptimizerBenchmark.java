@@ -0,0 +1,100 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openems.benchmark.EdgeFixture;
+import io.openems.edge.bridge.modbus.api.element.AbstractModbusElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Measures the planning of the Read-Tasks in
+ * {@link ModbusWorker#onBeforeProcessImage()}, i.e. merging the Read-Tasks of
+ * all Modbus devices of an {@link EdgeFixture} with the
+ * {@link ReadTaskOptimizer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReadTaskOptimizerBenchmark {
+
+	private static final int NUMBER_OF_DEVICES = EdgeFixture.NUMBER_OF_COMPONENTS - 1; // all except Sum
+	private static final int TASKS_PER_DEVICE = 12;
+	private static final int REGISTERS_PER_TASK = 8;
+
+	/**
+	 * Max gap for merging; '-1' disables merging.
+	 */
+	@Param({ "-1", "0", "10" })
+	public int maxGap;
+
+	private final ReadTaskOptimizer optimizer = new ReadTaskOptimizer();
+	private final List<ReadTask> tasks = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		// Like the ModbusWorker: all high priority and one low priority Read-Task
+		ReadTask lowPriorityTask = null;
+		for (int device = 0; device < NUMBER_OF_DEVICES; device++) {
+			DummyDevice parent = new DummyDevice();
+			int address = 0;
+			for (int task = 0; task < TASKS_PER_DEVICE; task++) {
+				AbstractModbusElement<?>[] elements = new AbstractModbusElement<?>[REGISTERS_PER_TASK];
+				for (int i = 0; i < REGISTERS_PER_TASK; i++) {
+					elements[i] = new UnsignedWordElement(address + i);
+				}
+				Priority priority = task % 3 == 0 ? Priority.LOW : Priority.HIGH;
+				FC3ReadRegistersTask t = new FC3ReadRegistersTask(address, priority, elements);
+				t.setParent(parent);
+				if (priority == Priority.HIGH) {
+					this.tasks.add(t);
+				} else if (lowPriorityTask == null) {
+					lowPriorityTask = t;
+				}
+				address += REGISTERS_PER_TASK + task % 4 * 3; // gaps of 0 to 9 registers
+			}
+		}
+		this.tasks.add(0, lowPriorityTask);
+	}
+
+	@Benchmark
+	public List<ReadTask> optimize() {
+		return this.optimizer.optimize(this.tasks, this.maxGap);
+	}
+
+	private static class DummyDevice extends AbstractOpenemsModbusComponent implements ModbusComponent {
+
+		private DummyDevice() {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					ModbusComponent.ChannelId.values() //
+			);
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+package io.openems.edge.common.channel.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openems.benchmark.EdgeFixture;
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * Measures {@link AbstractReadChannel#nextProcessImage()} for all Channels of
+ * an {@link EdgeFixture}, i.e. the switch of the Process Image in one Cycle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AbstractReadChannelBenchmark {
+
+	@Param({ "0", "10", "100" })
+	public int changedPercent;
+
+	private EdgeFixture edge;
+	private int cycle = 0;
+
+	@Setup
+	public void setup() {
+		this.edge = new EdgeFixture();
+	}
+
+	/**
+	 * Sets the next values and switches the Process Image.
+	 */
+	@Benchmark
+	public void nextProcessImage() {
+		this.edge.setNextValues(this.cycle++, this.changedPercent);
+		for (Channel<?> channel : this.edge.getChannels()) {
+			channel.nextProcessImage();
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+package io.openems.edge.controller.api.backend;
+
+import java.net.Proxy.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openems.benchmark.EdgeFixture;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.websocket.DummyWebsocketServer;
+import io.openems.edge.common.test.AbstractComponentConfig;
+import io.openems.edge.common.test.DummyCycle;
+
+/**
+ * Measures {@link SendChannelValuesWorker#collectData()} for an
+ * {@link EdgeFixture} that is connected to a local dummy Backend.
+ *
+ * <p>
+ * Every invocation simulates one Cycle first; compare with
+ * {@link io.openems.edge.common.channel.internal.AbstractReadChannelBenchmark}
+ * for the share of the Process Image switch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SendChannelValuesWorkerBenchmark {
+
+	private static final int CONNECT_TIMEOUT = 10_000; // [ms]
+
+	@Param({ "0", "10", "100" })
+	public int changedPercent;
+
+	private DummyWebsocketServer server;
+	private EdgeFixture edge;
+	private BackendApiImpl sut;
+	private int cycle = 0;
+
+	@Setup
+	public void setup() throws OpenemsException, InterruptedException {
+		this.server = DummyWebsocketServer.create().build();
+		final int port = this.server.startBlocking();
+
+		this.edge = new EdgeFixture();
+		this.sut = new BackendApiImpl();
+		this.sut.componentManager = this.edge.getComponentManager();
+		this.sut.cycle = new DummyCycle(1000);
+		this.sut.activate(null, new BenchmarkConfig("ws://localhost:" + port));
+
+		final long start = System.currentTimeMillis();
+		while (!this.sut.isConnected()) {
+			if (System.currentTimeMillis() - start > CONNECT_TIMEOUT) {
+				throw new OpenemsException("Unable to connect to [ws://localhost:" + port + "]");
+			}
+			Thread.sleep(100);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		this.sut.deactivate();
+		this.server.close();
+	}
+
+	@Benchmark
+	public void collectData() {
+		this.edge.nextCycle(this.cycle++, this.changedPercent);
+		this.sut.sendChannelValuesWorker.collectData();
+	}
+
+	@SuppressWarnings("all")
+	private static class BenchmarkConfig extends AbstractComponentConfig implements Config {
+
+		private final String uri;
+
+		private BenchmarkConfig(String uri) {
+			super(Config.class, "ctrlBackend0");
+			this.uri = uri;
+		}
+
+		@Override
+		public String apikey() {
+			return "benchmark";
+		}
+
+		@Override
+		public String uri() {
+			return this.uri;
+		}
+
+		@Override
+		public String proxyAddress() {
+			return "";
+		}
+
+		@Override
+		public int proxyPort() {
+			return 0;
+		}
+
+		@Override
+		public Type proxyType() {
+			return Type.DIRECT;
+		}
+
+		@Override
+		public int apiTimeout() {
+			return 60;
+		}
+
+		@Override
+		public PersistencePriority persistencePriority() {
+			return PersistencePriority.VERY_LOW;
+		}
+
+		@Override
+		public boolean debugMode() {
+			return false;
+		}
+
+		@Override
+		public int pendingDataBufferSize() {
+			return 0;
+		}
+
+		@Override
+		public boolean compression() {
+			return true;
+		}
+	}
+
+}
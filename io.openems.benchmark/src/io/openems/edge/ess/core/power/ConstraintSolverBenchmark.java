@@ -0,0 +1,67 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.optim.PointValuePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openems.benchmark.EdgeFixture;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+
+/**
+ * Measures {@link ConstraintSolver#solve(Coefficients, List)} with the
+ * {@link Data} of the ESS-Cluster of an {@link EdgeFixture} and a typical
+ * Controller Constraint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConstraintSolverBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean symmetricMode;
+
+	private Coefficients coefficients;
+	private List<Constraint> constraints;
+
+	@Setup
+	public void setup() throws OpenemsException {
+		Data data = new Data();
+		data.setSymmetricMode(this.symmetricMode);
+		for (ManagedSymmetricEss ess : new EdgeFixture().getEsss()) {
+			data.addEss(ess);
+		}
+		data.initializeCycle();
+		data.addSimpleConstraint("Controller", EdgeFixture.ESS_CLUSTER_ID, Phase.ALL, Pwr.ACTIVE,
+				Relationship.EQUALS, 5_000);
+		this.coefficients = data.getCoefficients();
+		this.constraints = data.getConstraintsForAllInverters();
+	}
+
+	@Benchmark
+	public PointValuePair solve() {
+		return ConstraintSolver.solve(this.coefficients, this.constraints);
+	}
+
+}
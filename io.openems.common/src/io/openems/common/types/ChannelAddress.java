@@ -9,10 +9,14 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 	private final String componentId;
 	private final String channelId;
 
+	// Cached "Component-ID/Channel-ID"; used for comparison and hashing
+	private final String address;
+
 	public ChannelAddress(String componentId, String channelId) {
 		super();
 		this.componentId = componentId;
 		this.channelId = channelId;
+		this.address = componentId + "/" + channelId;
 	}
 
 	/**
@@ -35,7 +39,7 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 
 	@Override
 	public String toString() {
-		return componentId + "/" + channelId;
+		return this.address;
 	}
 
 	/**
@@ -58,12 +62,12 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 
 	@Override
 	public int compareTo(ChannelAddress other) {
-		return this.toString().compareTo(other.toString());
+		return this.address.compareTo(other.address);
 	}
 
 	@Override
 	public int hashCode() {
-		return this.toString().hashCode();
+		return this.address.hashCode();
 	}
 
 	@Override
@@ -78,7 +82,7 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 			return false;
 		}
 		ChannelAddress other = (ChannelAddress) obj;
-		return this.toString().equals(other.toString());
+		return this.address.equals(other.address);
 	}
 
 	/**
@@ -1400,6 +1400,54 @@ public class JsonUtils {
 		return JsonUtils.getAsJsonObject(JsonUtils.parse(string));
 	}
 
+	/**
+	 * Converts a JSON number to a {@link Long} or {@link Double}.
+	 *
+	 * <p>
+	 * Integral values are returned as {@link Long}. Other numbers are returned as
+	 * the nearest {@link Double}. Gson's lazily parsed numbers are parsed from
+	 * their original text; integral text that does not fit in a long is not
+	 * converted, as a {@link Double} would lose precision.
+	 *
+	 * @param number the {@link Number}, e.g. from
+	 *               {@link JsonPrimitive#getAsNumber()}
+	 * @return the {@link Long} or {@link Double}; null if the text is not a valid
+	 *         number or is an integral value that does not fit in a long
+	 */
+	public static Number parseNumber(Number number) {
+		if (number instanceof Long || number instanceof Integer || number instanceof Short
+				|| number instanceof Byte) {
+			return number.longValue();
+		} else if (number instanceof Double || number instanceof Float) {
+			return number.doubleValue();
+		} else if (number == null) {
+			return null;
+		}
+		final String text = number.toString();
+		boolean isIntegral = !text.isEmpty();
+		for (int i = 0; i < text.length() && isIntegral; i++) {
+			char c = text.charAt(i);
+			isIntegral = (c >= '0' && c <= '9') || (i == 0 && c == '-' && text.length() > 1);
+		}
+		if (isIntegral) {
+			try {
+				return Long.parseLong(text);
+			} catch (NumberFormatException e) {
+				// does not fit in a long
+				return null;
+			}
+		}
+		try {
+			double d = Double.parseDouble(text);
+			if (Double.isFinite(d)) {
+				return d;
+			}
+		} catch (NumberFormatException e) {
+			// not a valid number
+		}
+		return null;
+	}
+
 	/**
 	 * Pretty print a {@link JsonElement}.
 	 *
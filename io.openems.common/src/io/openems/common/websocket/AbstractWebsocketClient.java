@@ -10,6 +10,7 @@ import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.drafts.Draft;
 import org.java_websocket.drafts.Draft_6455;
 import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
 import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ServerHandshake;
 import org.slf4j.Logger;
@@ -38,6 +39,12 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 	public final static Proxy NO_PROXY = null;
 	public final static Draft DEFAULT_DRAFT = new Draft_6455();
 
+	/**
+	 * Offers the 'permessage-deflate' extension (RFC 7692) to the server. Falls
+	 * back to uncompressed messages if the server does not support it.
+	 */
+	public final static Draft COMPRESSION_DRAFT = new Draft_6455(new PerMessageDeflateExtension());
+
 	protected final WebSocketClient ws;
 
 	private final Logger log = LoggerFactory.getLogger(AbstractWebsocketClient.class);
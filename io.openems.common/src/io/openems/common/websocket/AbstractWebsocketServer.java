@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.net.BindException;
 import java.net.InetSocketAddress;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -12,6 +13,8 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.server.WebSocketServer;
 import org.slf4j.Logger;
@@ -52,6 +55,19 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	 * @param debugMode activate a regular debug log about the state of the tasks
 	 */
 	protected AbstractWebsocketServer(String name, int port, int poolSize, boolean debugMode) {
+		this(name, port, poolSize, debugMode, false);
+	}
+
+	/**
+	 * @param name        to identify this server
+	 * @param port        to listen on
+	 * @param poolSize    number of threads dedicated to handle the tasks
+	 * @param debugMode   activate a regular debug log about the state of the tasks
+	 * @param compression support the 'permessage-deflate' extension (RFC 7692) for
+	 *                    clients that request it
+	 */
+	protected AbstractWebsocketServer(String name, int port, int poolSize, boolean debugMode,
+			boolean compression) {
 		super(name);
 		this.executor = new ScheduledThreadPoolExecutor(poolSize,
 				new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
@@ -72,7 +88,9 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		}
 
 		this.port = port;
-		this.ws = new WebSocketServer(new InetSocketAddress(port)) {
+		this.ws = new WebSocketServer(new InetSocketAddress(port), Collections.singletonList(compression //
+				? new Draft_6455(new PerMessageDeflateExtension()) //
+				: new Draft_6455())) {
 
 			@Override
 			public void onStart() {
@@ -1,6 +1,7 @@
 package io.openems.common.utils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.util.Optional;
@@ -9,6 +10,7 @@ import org.junit.Test;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -80,4 +82,28 @@ public class JsonUtilsTest {
 
 	}
 
+	@Test
+	public void testParseNumber() {
+		// Lazily parsed numbers
+		assertEquals(Long.MAX_VALUE,
+				JsonUtils.parseNumber(JsonParser.parseString("9223372036854775807").getAsNumber()));
+		assertEquals(Long.MIN_VALUE,
+				JsonUtils.parseNumber(JsonParser.parseString("-9223372036854775808").getAsNumber()));
+		assertEquals(-123L, JsonUtils.parseNumber(JsonParser.parseString("-123").getAsNumber()));
+		assertEquals(0L, JsonUtils.parseNumber(JsonParser.parseString("0").getAsNumber()));
+		assertEquals(1.25, JsonUtils.parseNumber(JsonParser.parseString("1.25").getAsNumber()));
+		assertEquals(-0.5, JsonUtils.parseNumber(JsonParser.parseString("-0.5").getAsNumber()));
+		assertEquals(1000.0, JsonUtils.parseNumber(JsonParser.parseString("1e3").getAsNumber()));
+
+		// Does not fit in a long
+		assertNull(JsonUtils.parseNumber(JsonParser.parseString("9223372036854775808").getAsNumber()));
+		assertNull(JsonUtils.parseNumber(JsonParser.parseString("-9223372036854775809").getAsNumber()));
+
+		// Already typed numbers
+		assertEquals(5L, JsonUtils.parseNumber(5));
+		assertEquals(5L, JsonUtils.parseNumber((short) 5));
+		assertEquals(1.5, JsonUtils.parseNumber(1.5f));
+		assertNull(JsonUtils.parseNumber(null));
+	}
+
 }
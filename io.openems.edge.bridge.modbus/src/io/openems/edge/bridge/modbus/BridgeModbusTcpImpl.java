@@ -13,8 +13,11 @@ import org.osgi.service.event.EventConstants;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.metatype.annotations.Designate;
 
+import com.ghgande.j2mod.modbus.ModbusException;
 import com.ghgande.j2mod.modbus.io.ModbusTCPTransaction;
 import com.ghgande.j2mod.modbus.io.ModbusTransaction;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
 import com.ghgande.j2mod.modbus.net.TCPMasterConnection;
 
 import io.openems.common.exceptions.OpenemsException;
@@ -48,6 +51,12 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	 */
 	private InetAddress ipAddress = null;
 	private int port;
+	private int maxOutstandingTransactions = 1;
+
+	/**
+	 * The pipelined connection; only used if maxOutstandingTransactions > 1.
+	 */
+	private ModbusTcpPipeline pipeline = null;
 
 	public BridgeModbusTcpImpl() {
 		super(//
@@ -59,10 +68,17 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 
 	@Activate
 	protected void activate(ComponentContext context, ConfigTcp config) throws UnknownHostException {
-		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
-				config.invalidateElementsAfterReadErrors());
 		this.setIpAddress(InetAddress.getByName(config.ip()));
 		this.port = config.port();
+		this.maxOutstandingTransactions = Math.max(1, config.maxOutstandingTransactions());
+		if (this.maxOutstandingTransactions > 1) {
+			this.pipeline = new ModbusTcpPipeline(this.getIpAddress(), this.port,
+					AbstractModbusBridge.DEFAULT_TIMEOUT, this.maxOutstandingTransactions);
+		} else {
+			this.pipeline = null;
+		}
+		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
+				config.invalidateElementsAfterReadErrors(), config.mergeReadTasksMaxGap());
 	}
 
 	@Deactivate
@@ -81,6 +97,23 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 			this._connection.close();
 			this._connection = null;
 		}
+		if (this.pipeline != null) {
+			this.pipeline.close();
+		}
+	}
+
+	@Override
+	public ModbusResponse executeTransaction(ModbusRequest request) throws OpenemsException, ModbusException {
+		ModbusTcpPipeline pipeline = this.pipeline;
+		if (pipeline == null) {
+			return super.executeTransaction(request);
+		}
+		return pipeline.execute(request);
+	}
+
+	@Override
+	public int getMaxOutstandingTransactions() {
+		return this.maxOutstandingTransactions;
 	}
 
 	@Override
@@ -42,5 +42,8 @@ import io.openems.edge.bridge.modbus.api.Stopbit;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Merge Read-Tasks with max gap", description = "Merges adjacent FC3/FC4 Read-Tasks of a device into one request if at most this number of unused registers lies between them. Ranges rejected with 'Illegal Data Address' are split automatically. '-1' disables merging.")
+	int mergeReadTasksMaxGap() default -1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/RTU Serial [{id}]";
 }
\ No newline at end of file
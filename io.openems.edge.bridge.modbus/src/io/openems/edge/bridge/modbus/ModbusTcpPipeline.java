@@ -0,0 +1,252 @@
+package io.openems.edge.bridge.modbus;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusIOException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.msg.ExceptionResponse;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+
+import io.openems.common.exceptions.OpenemsException;
+
+/**
+ * A Modbus/TCP connection that keeps multiple transactions in flight.
+ *
+ * <p>
+ * Requests are sent without waiting for the response of previous requests. A
+ * reader thread receives the responses and matches them to the requests via the
+ * Modbus/TCP transaction identifier of the MBAP header. The number of
+ * outstanding transactions is limited by the configured window.
+ *
+ * <p>
+ * This is useful for gateways that forward requests for multiple Unit-IDs
+ * concurrently, e.g. multiple battery racks behind one Modbus/TCP gateway.
+ */
+class ModbusTcpPipeline {
+
+	private static final int MBAP_HEADER_LENGTH = 7;
+	private static final int PROTOCOL_ID = 0;
+
+	private final InetAddress ipAddress;
+	private final int port;
+	private final int timeout;
+	private final Semaphore window;
+	private final AtomicInteger nextTransactionId = new AtomicInteger(0);
+	private final Map<Integer, CompletableFuture<ModbusResponse>> pending = new ConcurrentHashMap<>();
+
+	private Socket socket = null;
+	private DataOutputStream out = null;
+	private Thread reader = null;
+
+	/**
+	 * Creates a {@link ModbusTcpPipeline}.
+	 *
+	 * @param ipAddress the IP address of the Modbus/TCP device
+	 * @param port      the port of the Modbus/TCP device
+	 * @param timeout   the response timeout in [ms]
+	 * @param window    the max number of outstanding transactions
+	 */
+	public ModbusTcpPipeline(InetAddress ipAddress, int port, int timeout, int window) {
+		this.ipAddress = ipAddress;
+		this.port = port;
+		this.timeout = timeout;
+		this.window = new Semaphore(window, true);
+	}
+
+	/**
+	 * Sends a request and waits for the matching response.
+	 *
+	 * <p>
+	 * This method is thread-safe and is intended to be called by multiple threads
+	 * concurrently.
+	 *
+	 * @param request the {@link ModbusRequest}; Unit-ID needs to be set
+	 * @return the {@link ModbusResponse}
+	 * @throws OpenemsException on connection error
+	 * @throws ModbusException  on timeout or Modbus exception response
+	 */
+	public ModbusResponse execute(ModbusRequest request) throws OpenemsException, ModbusException {
+		try {
+			this.window.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ModbusIOException("Interrupted while waiting for a free transaction slot");
+		}
+		int transactionId = -1;
+		try {
+			final DataOutputStream out = this.getOutputStream();
+			final CompletableFuture<ModbusResponse> future = new CompletableFuture<>();
+			do {
+				transactionId = this.nextTransactionId.getAndIncrement() & 0xFFFF;
+			} while (this.pending.putIfAbsent(transactionId, future) != null);
+
+			final byte[] data = request.getMessage();
+			try {
+				synchronized (out) {
+					out.writeShort(transactionId);
+					out.writeShort(PROTOCOL_ID);
+					out.writeShort(data.length + 2); // Unit-ID + Function-Code + data
+					out.writeByte(request.getUnitID());
+					out.writeByte(request.getFunctionCode());
+					out.write(data);
+					out.flush();
+				}
+			} catch (IOException e) {
+				synchronized (this) {
+					// Connection might have been reopened in the meantime
+					if (this.out == out) {
+						this.close(e);
+					}
+				}
+				throw new OpenemsException("Sending request to [" + this.ipAddress.getHostAddress() + "] failed: "
+						+ e.getMessage());
+			}
+
+			final ModbusResponse response;
+			try {
+				response = future.get(this.timeout, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				throw new ModbusIOException("Timeout waiting for response to transaction [" + transactionId + "]");
+			} catch (ExecutionException e) {
+				throw new OpenemsException("Receiving response from [" + this.ipAddress.getHostAddress()
+						+ "] failed: " + e.getCause().getMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ModbusIOException("Interrupted while waiting for response to transaction [" + transactionId
+						+ "]");
+			}
+
+			if (response instanceof ExceptionResponse) {
+				throw new ModbusSlaveException(((ExceptionResponse) response).getExceptionCode());
+			}
+			return response;
+
+		} finally {
+			if (transactionId >= 0) {
+				this.pending.remove(transactionId);
+			}
+			this.window.release();
+		}
+	}
+
+	/**
+	 * Gets the output stream of the socket; opens the connection if required.
+	 *
+	 * @return the {@link DataOutputStream}
+	 * @throws OpenemsException on error
+	 */
+	private synchronized DataOutputStream getOutputStream() throws OpenemsException {
+		if (this.socket == null || this.socket.isClosed()) {
+			try {
+				Socket socket = new Socket();
+				socket.setTcpNoDelay(true);
+				socket.connect(new InetSocketAddress(this.ipAddress, this.port), this.timeout);
+				this.socket = socket;
+				this.out = new DataOutputStream(socket.getOutputStream());
+				DataInputStream in = new DataInputStream(socket.getInputStream());
+				this.reader = new Thread(() -> this.readResponses(socket, in),
+						"Modbus/TCP Pipeline " + this.ipAddress.getHostAddress() + ":" + this.port);
+				this.reader.setDaemon(true);
+				this.reader.start();
+			} catch (IOException e) {
+				throw new OpenemsException(
+						"Connection to [" + this.ipAddress.getHostAddress() + "] failed: " + e.getMessage());
+			}
+		}
+		return this.out;
+	}
+
+	/**
+	 * Reads responses from the socket until it is closed and completes the
+	 * matching pending transactions.
+	 *
+	 * @param socket the {@link Socket}
+	 * @param in     the {@link DataInputStream} of the socket
+	 */
+	private void readResponses(Socket socket, DataInputStream in) {
+		final byte[] header = new byte[MBAP_HEADER_LENGTH];
+		try {
+			while (!socket.isClosed()) {
+				in.readFully(header);
+				int transactionId = ((header[0] & 0xFF) << 8) | (header[1] & 0xFF);
+				int length = ((header[4] & 0xFF) << 8) | (header[5] & 0xFF);
+				int unitId = header[6] & 0xFF;
+				if (length < 2) {
+					throw new IOException("Invalid MBAP length [" + length + "]");
+				}
+				byte[] pdu = new byte[length - 1];
+				in.readFully(pdu);
+
+				CompletableFuture<ModbusResponse> future = this.pending.get(transactionId);
+				if (future == null) {
+					// late response after timeout -> ignore
+					continue;
+				}
+				ModbusResponse response = ModbusResponse.createModbusResponse(pdu[0] & 0xFF);
+				response.setHeadless();
+				response.setUnitID(unitId);
+				response.setTransactionID(transactionId);
+				response.readData(new DataInputStream(new ByteArrayInputStream(pdu, 1, pdu.length - 1)));
+				future.complete(response);
+			}
+		} catch (IOException e) {
+			this.close(socket, e);
+		} catch (RuntimeException e) {
+			// e.g. unparsable response; without the reader thread all pending
+			// transactions would run into the timeout
+			this.close(socket, new IOException(e));
+		}
+	}
+
+	/**
+	 * Closes the connection if it still uses the given {@link Socket}.
+	 *
+	 * @param socket the {@link Socket}
+	 * @param cause  the cause for pending transactions
+	 */
+	private synchronized void close(Socket socket, IOException cause) {
+		if (this.socket == socket) {
+			this.close(cause);
+		}
+	}
+
+	/**
+	 * Closes the connection and fails all pending transactions.
+	 */
+	public void close() {
+		this.close(new IOException("Connection closed"));
+	}
+
+	private synchronized void close(IOException cause) {
+		if (this.socket != null) {
+			try {
+				this.socket.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			this.socket = null;
+			this.out = null;
+			this.reader = null;
+		}
+		for (CompletableFuture<ModbusResponse> future : this.pending.values()) {
+			future.completeExceptionally(cause);
+		}
+	}
+
+}
@@ -1,21 +1,34 @@
 package io.openems.edge.bridge.modbus.api;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 
+import com.ghgande.j2mod.modbus.ModbusException;
 import com.ghgande.j2mod.modbus.io.ModbusTransaction;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
 
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.edge.bridge.modbus.jsonrpc.GetModbusMetricsRequest;
+import io.openems.edge.bridge.modbus.jsonrpc.GetModbusMetricsResponse;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
 import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.jsonapi.JsonApi;
+import io.openems.edge.common.user.User;
 
 /**
  * Abstract service for connecting to, querying and writing to a Modbus device.
  */
-public abstract class AbstractModbusBridge extends AbstractOpenemsComponent implements BridgeModbus, EventHandler {
+public abstract class AbstractModbusBridge extends AbstractOpenemsComponent
+		implements BridgeModbus, EventHandler, JsonApi {
 
 	/**
 	 * Default Modbus timeout in [ms].
@@ -35,10 +48,12 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 
 	private LogVerbosity logVerbosity = LogVerbosity.NONE;
 	private int invalidateElementsAfterReadErrors = 1;
+	private int mergeReadTasksMaxGap = -1;
 
 	// private final Logger log =
 	// LoggerFactory.getLogger(AbstractModbusBridge.class);
 	private final ModbusWorker worker = new ModbusWorker(this);
+	private final ModbusMetrics metrics = new ModbusMetrics();
 
 	protected AbstractModbusBridge(io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
 			io.openems.edge.common.channel.ChannelId[]... furtherInitialChannelIds) {
@@ -46,10 +61,11 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	}
 
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
-			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors) {
+			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors, int mergeReadTasksMaxGap) {
 		super.activate(context, id, alias, enabled);
 		this.logVerbosity = logVerbosity;
 		this.invalidateElementsAfterReadErrors = invalidateElementsAfterReadErrors;
+		this.mergeReadTasksMaxGap = mergeReadTasksMaxGap;
 		if (this.isEnabled()) {
 			this.worker.activate(id);
 		}
@@ -105,6 +121,41 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	 */
 	public abstract ModbusTransaction getNewModbusTransaction() throws OpenemsException;
 
+	/**
+	 * Executes a Modbus Request and returns the Response.
+	 * 
+	 * <p>
+	 * By default this creates a new {@link ModbusTransaction} via
+	 * {@link #getNewModbusTransaction()}. Implementations that support multiple
+	 * outstanding transactions override this method; it is then called by
+	 * multiple threads concurrently.
+	 * 
+	 * @param request the {@link ModbusRequest}; Unit-ID needs to be set
+	 * @return the {@link ModbusResponse}
+	 * @throws OpenemsException on error
+	 * @throws ModbusException  on Modbus error
+	 */
+	public ModbusResponse executeTransaction(ModbusRequest request) throws OpenemsException, ModbusException {
+		ModbusTransaction transaction = this.getNewModbusTransaction();
+		transaction.setRequest(request);
+		transaction.execute();
+		return transaction.getResponse();
+	}
+
+	/**
+	 * Gets the max number of Modbus transactions that may be in flight at the same
+	 * time.
+	 * 
+	 * <p>
+	 * If this is larger than '1', the {@link ModbusWorker} executes Read-Tasks
+	 * concurrently via {@link #executeTransaction(ModbusRequest)}.
+	 * 
+	 * @return the max number of outstanding transactions; defaults to '1'
+	 */
+	public int getMaxOutstandingTransactions() {
+		return 1;
+	}
+
 	/**
 	 * Closes the Modbus connection.
 	 */
@@ -137,4 +188,34 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	public int invalidateElementsAfterReadErrors() {
 		return this.invalidateElementsAfterReadErrors;
 	}
+
+	/**
+	 * Gets the max number of unused registers between two Read-Tasks that are
+	 * merged into one request.
+	 * 
+	 * @return the max gap; negative if merging is disabled
+	 */
+	public int getMergeReadTasksMaxGap() {
+		return this.mergeReadTasksMaxGap;
+	}
+
+	/**
+	 * Gets the {@link ModbusMetrics} of this bridge.
+	 * 
+	 * @return the {@link ModbusMetrics}
+	 */
+	public ModbusMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	@Override
+	public CompletableFuture<JsonrpcResponseSuccess> handleJsonrpcRequest(User user, JsonrpcRequest request)
+			throws OpenemsNamedException {
+		switch (request.getMethod()) {
+		case GetModbusMetricsRequest.METHOD:
+			return CompletableFuture.completedFuture(new GetModbusMetricsResponse(request.getId(), //
+					this.metrics.toJson()));
+		}
+		return null;
+	}
 }
@@ -19,7 +19,42 @@ public interface BridgeModbus extends OpenemsComponent {
 		CYCLE_TIME_IS_TOO_SHORT(Doc.of(Level.INFO) //
 				.debounce(10, Debounce.TRUE_VALUES_IN_A_ROW_TO_SET_TRUE)), //
 		EXECUTION_DURATION(Doc.of(OpenemsType.LONG) //
-				.unit(Unit.MILLISECONDS));
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Median latency of Modbus transactions since the previous Cycle.
+		 */
+		TRANSACTION_LATENCY_P50(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * 95th percentile latency of Modbus transactions since the previous Cycle.
+		 */
+		TRANSACTION_LATENCY_P95(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * 99th percentile latency of Modbus transactions since the previous Cycle.
+		 */
+		TRANSACTION_LATENCY_P99(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Total number of Modbus transactions.
+		 */
+		TRANSACTIONS(Doc.of(OpenemsType.LONG)), //
+		/**
+		 * Total number of Modbus transactions that failed with timeout or I/O error.
+		 */
+		TRANSACTION_TIMEOUTS(Doc.of(OpenemsType.LONG)), //
+		/**
+		 * Total number of retries after closing the connection.
+		 */
+		TRANSACTION_RETRIES(Doc.of(OpenemsType.LONG)), //
+		/**
+		 * Total number of sent PDU bytes.
+		 */
+		BYTES_SENT(Doc.of(OpenemsType.LONG)), //
+		/**
+		 * Total number of received PDU bytes.
+		 */
+		BYTES_RECEIVED(Doc.of(OpenemsType.LONG));
 
 		private final Doc doc;
 
@@ -0,0 +1,99 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies with logarithmic buckets.
+ *
+ * <p>
+ * Bucket 'i' holds latencies up to {@code 100 µs * 2^(i/4)}, i.e. the relative
+ * resolution is about 19 %. The last bucket has an upper bound of ~5.5 s and
+ * also holds all larger latencies. Percentiles are approximated by the upper bound of the bucket.
+ */
+public class LatencyHistogram {
+
+	private static final int NO_OF_BUCKETS = 64;
+	private static final long[] UPPER_BOUNDS_NANOS = new long[NO_OF_BUCKETS];
+
+	static {
+		for (int i = 0; i < NO_OF_BUCKETS; i++) {
+			UPPER_BOUNDS_NANOS[i] = Math.round(100_000 * Math.pow(2, i / 4.));
+		}
+	}
+
+	private final AtomicLongArray buckets = new AtomicLongArray(NO_OF_BUCKETS);
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in [ns]
+	 */
+	public void record(long nanos) {
+		this.buckets.incrementAndGet(bucketOf(nanos));
+	}
+
+	private static int bucketOf(long nanos) {
+		// binary search for the first bucket with upper bound >= nanos
+		int low = 0;
+		int high = NO_OF_BUCKETS - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (UPPER_BOUNDS_NANOS[mid] < nanos) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Gets the number of recorded latencies.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < NO_OF_BUCKETS; i++) {
+			count += this.buckets.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the approximated percentile.
+	 *
+	 * @param percentile the percentile in (0, 100], e.g. '95'
+	 * @return the latency in [ms]; null if nothing was recorded
+	 */
+	public Double getPercentile(double percentile) {
+		final long[] counts = new long[NO_OF_BUCKETS];
+		long total = 0;
+		for (int i = 0; i < NO_OF_BUCKETS; i++) {
+			counts[i] = this.buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return null;
+		}
+		final long rank = (long) Math.ceil(total * percentile / 100.);
+		long sum = 0;
+		for (int i = 0; i < NO_OF_BUCKETS; i++) {
+			sum += counts[i];
+			if (sum >= rank) {
+				return UPPER_BOUNDS_NANOS[i] / 1_000_000.;
+			}
+		}
+		return UPPER_BOUNDS_NANOS[NO_OF_BUCKETS - 1] / 1_000_000.;
+	}
+
+	/**
+	 * Removes all recorded latencies.
+	 */
+	public void reset() {
+		for (int i = 0; i < NO_OF_BUCKETS; i++) {
+			this.buckets.set(i, 0);
+		}
+	}
+
+}
@@ -0,0 +1,248 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ghgande.j2mod.modbus.ModbusIOException;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.bridge.modbus.api.task.Task;
+
+/**
+ * Collects latency histograms and counters of a Modbus bridge - in total, per
+ * Unit-ID and per {@link Task}.
+ *
+ * <p>
+ * Transaction metrics are recorded for every single Modbus request; Task
+ * metrics cover the complete execution of a Task including retries. Byte
+ * counts refer to the Modbus PDU, i.e. function code and data, without
+ * transport framing.
+ *
+ * <p>
+ * All methods are thread-safe.
+ */
+public class ModbusMetrics {
+
+	/**
+	 * Histogram and counters for one scope.
+	 */
+	public static class Counters {
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final AtomicLong transactions = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong timeouts = new AtomicLong();
+		private final AtomicLong retries = new AtomicLong();
+		private final AtomicLong bytesSent = new AtomicLong();
+		private final AtomicLong bytesReceived = new AtomicLong();
+
+		private void addTransaction(long nanos, int sent, int received, boolean isError, boolean isTimeout) {
+			this.latency.record(nanos);
+			this.transactions.incrementAndGet();
+			if (isError) {
+				this.errors.incrementAndGet();
+			}
+			if (isTimeout) {
+				this.timeouts.incrementAndGet();
+			}
+			if (sent != 0) {
+				this.bytesSent.addAndGet(sent);
+			}
+			if (received != 0) {
+				this.bytesReceived.addAndGet(received);
+			}
+		}
+
+		public LatencyHistogram getLatency() {
+			return this.latency;
+		}
+
+		public long getTransactions() {
+			return this.transactions.get();
+		}
+
+		public long getErrors() {
+			return this.errors.get();
+		}
+
+		public long getTimeouts() {
+			return this.timeouts.get();
+		}
+
+		public long getRetries() {
+			return this.retries.get();
+		}
+
+		public long getBytesSent() {
+			return this.bytesSent.get();
+		}
+
+		public long getBytesReceived() {
+			return this.bytesReceived.get();
+		}
+
+		/**
+		 * Serializes the Counters to JSON.
+		 *
+		 * @return a {@link JsonObject}
+		 */
+		public JsonObject toJson() {
+			return JsonUtils.buildJsonObject() //
+					.addProperty("count", this.transactions.get()) //
+					.addProperty("errors", this.errors.get()) //
+					.addProperty("timeouts", this.timeouts.get()) //
+					.addProperty("retries", this.retries.get()) //
+					.addProperty("bytesSent", this.bytesSent.get()) //
+					.addProperty("bytesReceived", this.bytesReceived.get()) //
+					.add("latency", latencyToJson(this.latency)) //
+					.build();
+		}
+	}
+
+	private final Counters total = new Counters();
+	private final Map<Integer, Counters> byUnitId = new ConcurrentHashMap<>();
+	private final Map<Task, Counters> byTask = Collections.synchronizedMap(new WeakHashMap<>());
+
+	// Latencies since the last call of updateChannels()
+	private final LatencyHistogram interval = new LatencyHistogram();
+
+	/**
+	 * Records a successful Modbus transaction.
+	 *
+	 * @param unitId   the Unit-ID
+	 * @param request  the {@link ModbusRequest}
+	 * @param response the {@link ModbusResponse}
+	 * @param nanos    the duration in [ns]
+	 */
+	public void recordTransaction(int unitId, ModbusRequest request, ModbusResponse response, long nanos) {
+		final int sent = request.getDataLength() + 1;
+		final int received = response == null ? 0 : response.getDataLength() + 1;
+		this.interval.record(nanos);
+		this.total.addTransaction(nanos, sent, received, false, false);
+		this.getUnitCounters(unitId).addTransaction(nanos, sent, received, false, false);
+	}
+
+	/**
+	 * Records a failed Modbus transaction.
+	 *
+	 * <p>
+	 * A {@link ModbusIOException} is counted as timeout, as j2mod uses it for
+	 * read timeouts and broken connections.
+	 *
+	 * @param unitId  the Unit-ID
+	 * @param request the {@link ModbusRequest}
+	 * @param e       the cause
+	 * @param nanos   the duration in [ns]
+	 */
+	public void recordFailedTransaction(int unitId, ModbusRequest request, Exception e, long nanos) {
+		final int sent = request.getDataLength() + 1;
+		final boolean isTimeout = e instanceof ModbusIOException;
+		this.interval.record(nanos);
+		this.total.addTransaction(nanos, sent, 0, true, isTimeout);
+		this.getUnitCounters(unitId).addTransaction(nanos, sent, 0, true, isTimeout);
+	}
+
+	/**
+	 * Records a retry, i.e. a repeated transaction after closing the connection.
+	 *
+	 * @param unitId the Unit-ID
+	 */
+	public void recordRetry(int unitId) {
+		this.total.retries.incrementAndGet();
+		this.getUnitCounters(unitId).retries.incrementAndGet();
+	}
+
+	/**
+	 * Records the execution of a {@link Task}.
+	 *
+	 * @param task    the {@link Task}
+	 * @param nanos   the duration in [ns]
+	 * @param success true if the execution was successful
+	 */
+	public void recordTask(Task task, long nanos, boolean success) {
+		this.byTask.computeIfAbsent(task, t -> new Counters()).addTransaction(nanos, 0, 0, !success, false);
+	}
+
+	private Counters getUnitCounters(int unitId) {
+		return this.byUnitId.computeIfAbsent(unitId, u -> new Counters());
+	}
+
+	/**
+	 * Gets the total Counters.
+	 *
+	 * @return the {@link Counters}
+	 */
+	public Counters getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * Updates the metrics Channels of the bridge and starts a new interval for
+	 * the latency percentiles.
+	 *
+	 * @param bridge the {@link BridgeModbus}
+	 */
+	public void updateChannels(BridgeModbus bridge) {
+		bridge.channel(BridgeModbus.ChannelId.TRANSACTION_LATENCY_P50).setNextValue(this.interval.getPercentile(50));
+		bridge.channel(BridgeModbus.ChannelId.TRANSACTION_LATENCY_P95).setNextValue(this.interval.getPercentile(95));
+		bridge.channel(BridgeModbus.ChannelId.TRANSACTION_LATENCY_P99).setNextValue(this.interval.getPercentile(99));
+		this.interval.reset();
+		bridge.channel(BridgeModbus.ChannelId.TRANSACTIONS).setNextValue(this.total.getTransactions());
+		bridge.channel(BridgeModbus.ChannelId.TRANSACTION_TIMEOUTS).setNextValue(this.total.getTimeouts());
+		bridge.channel(BridgeModbus.ChannelId.TRANSACTION_RETRIES).setNextValue(this.total.getRetries());
+		bridge.channel(BridgeModbus.ChannelId.BYTES_SENT).setNextValue(this.total.getBytesSent());
+		bridge.channel(BridgeModbus.ChannelId.BYTES_RECEIVED).setNextValue(this.total.getBytesReceived());
+	}
+
+	/**
+	 * Serializes all metrics to JSON.
+	 *
+	 * @return a {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		JsonArray units = new JsonArray();
+		for (Entry<Integer, Counters> entry : this.byUnitId.entrySet()) {
+			JsonObject j = entry.getValue().toJson();
+			j.addProperty("unitId", entry.getKey());
+			units.add(j);
+		}
+		List<Entry<Task, Counters>> taskEntries;
+		synchronized (this.byTask) {
+			taskEntries = new ArrayList<>(this.byTask.entrySet());
+		}
+		JsonArray tasks = new JsonArray();
+		for (Entry<Task, Counters> entry : taskEntries) {
+			Task task = entry.getKey();
+			Counters c = entry.getValue();
+			tasks.add(JsonUtils.buildJsonObject() //
+					.addProperty("task", task.toString()) //
+					.addProperty("count", c.getTransactions()) //
+					.addProperty("errors", c.getErrors()) //
+					.add("latency", latencyToJson(c.latency)) //
+					.build());
+		}
+		return JsonUtils.buildJsonObject() //
+				.add("total", this.total.toJson()) //
+				.add("units", units) //
+				.add("tasks", tasks) //
+				.build();
+	}
+
+	private static JsonObject latencyToJson(LatencyHistogram latency) {
+		return JsonUtils.buildJsonObject() //
+				.addPropertyIfNotNull("p50", latency.getPercentile(50)) //
+				.addPropertyIfNotNull("p95", latency.getPercentile(95)) //
+				.addPropertyIfNotNull("p99", latency.getPercentile(99)) //
+				.build();
+	}
+
+}
@@ -6,6 +6,10 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
@@ -14,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.worker.AbstractImmediateWorker;
@@ -34,6 +39,12 @@ import io.openems.edge.common.taskmanager.Priority;
  * TOPIC_CYCLE_EXECUTE_WRITE event) and all Read-Tasks as late as possible to
  * have correct values available exactly when they are needed (i.e. at the
  * TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event).
+ * 
+ * <p>
+ * If the bridge allows multiple outstanding transactions (see
+ * {@link AbstractModbusBridge#getMaxOutstandingTransactions()}), consecutive
+ * Read-Tasks are executed concurrently and the planning takes the overlapped
+ * execution into account. Write-Tasks are always executed sequentially.
  */
 public class ModbusWorker extends AbstractImmediateWorker {
 
@@ -44,11 +55,17 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	private final LinkedBlockingDeque<Task> tasksQueue = new LinkedBlockingDeque<>();
 	private final MetaTasksManager<ReadTask> readTasksManager = new MetaTasksManager<>();
 	private final MetaTasksManager<WriteTask> writeTasksManager = new MetaTasksManager<>();
+	private final ReadTaskOptimizer readTaskOptimizer = new ReadTaskOptimizer();
 	private final AbstractModbusBridge parent;
 
 	// The measured duration between BeforeProcessImage event and ExecuteWrite event
 	private long durationBetweenBeforeProcessImageTillExecuteWrite = 0;
 
+	// Executes Read-Tasks concurrently; only created if the bridge allows multiple
+	// outstanding transactions
+	private ExecutorService readTasksExecutor = null;
+	private int readTasksExecutorSize = 0;
+
 	protected ModbusWorker(AbstractModbusBridge parent) {
 		this.parent = parent;
 	}
@@ -67,6 +84,9 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			return;
 		}
 
+		// Publish the metrics of the previous round
+		this.parent.getMetrics().updateChannels(this.parent);
+
 		// Collect the next read-tasks
 		List<ReadTask> nextReadTasks = new ArrayList<>();
 		ReadTask lowPriorityTask = this.getOneLowPriorityReadTask();
@@ -74,9 +94,18 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			nextReadTasks.add(lowPriorityTask);
 		}
 		nextReadTasks.addAll(this.getAllHighPriorityReadTasks());
+		nextReadTasks = this.readTaskOptimizer.optimize(nextReadTasks, this.parent.getMergeReadTasksMaxGap());
+		final int window = this.parent.getMaxOutstandingTransactions();
 		long readTasksDuration = 0;
+		long maxReadTaskDuration = 0;
 		for (ReadTask task : nextReadTasks) {
 			readTasksDuration += task.getExecuteDuration();
+			maxReadTaskDuration = Math.max(maxReadTaskDuration, task.getExecuteDuration());
+		}
+		if (window > 1) {
+			// Read-Tasks are executed overlapped; the duration is limited by the window
+			// and by the slowest Task
+			readTasksDuration = Math.max(maxReadTaskDuration, ceilDiv(readTasksDuration, window));
 		}
 
 		// collect the next write-tasks
@@ -108,7 +137,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 				break;
 			}
 			noOfTasksBeforeExecuteWriteEvent++;
-			durationOfTasksBeforeExecuteWriteEvent += task.getExecuteDuration();
+			durationOfTasksBeforeExecuteWriteEvent += ceilDiv(task.getExecuteDuration(), window);
 		}
 
 		// Build Queue
@@ -163,7 +192,68 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			return;
 		}
 
+		int window = this.parent.getMaxOutstandingTransactions();
+		if (window > 1 && task instanceof ReadTask) {
+			// Collect consecutive Read-Tasks and execute them concurrently
+			List<Task> readTasks = new ArrayList<>();
+			readTasks.add(task);
+			Task next;
+			while ((next = this.tasksQueue.pollLast()) != null) {
+				if (!(next instanceof ReadTask)) {
+					this.tasksQueue.offerLast(next);
+					break;
+				}
+				readTasks.add(next);
+			}
+			if (readTasks.size() > 1) {
+				this.executeConcurrently(readTasks, window);
+				return;
+			}
+		}
+
+		this.execute(task);
+	}
+
+	/**
+	 * Executes the given Tasks concurrently and waits till all are finished.
+	 * 
+	 * @param tasks  the Tasks
+	 * @param window the max number of outstanding transactions
+	 * @throws InterruptedException on interrupt
+	 */
+	private void executeConcurrently(List<Task> tasks, int window) throws InterruptedException {
+		if (this.readTasksExecutor == null || this.readTasksExecutorSize != window) {
+			if (this.readTasksExecutor != null) {
+				this.readTasksExecutor.shutdown();
+			}
+			this.readTasksExecutor = Executors.newFixedThreadPool(window, new ThreadFactoryBuilder() //
+					.setNameFormat("Modbus-ReadTask-%d") //
+					.setDaemon(true) //
+					.build());
+			this.readTasksExecutorSize = window;
+		}
+		List<Future<?>> futures = new ArrayList<>(tasks.size());
+		for (Task task : tasks) {
+			futures.add(this.readTasksExecutor.submit(() -> this.execute(task)));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				this.parent.logWarn(this.log, "Concurrent task execution failed: " + e.getCause().getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Executes a Task and handles errors.
+	 * 
+	 * @param task the Task
+	 */
+	private void execute(Task task) {
 		ModbusComponent modbusComponent = task.getParent();
+		final long start = System.nanoTime();
+		boolean success = false;
 		try {
 			// execute the task
 			int noOfExecutedSubTasks = task.execute(this.parent);
@@ -175,6 +265,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 					modbusComponent._setModbusCommunicationFailed(false);
 				}
 			}
+			success = true;
 
 		} catch (OpenemsException e) {
 			this.parent.logWarn(this.log, task.toString() + " execution failed: " + e.getMessage());
@@ -188,6 +279,20 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			for (ModbusElement<?> element : task.getElements()) {
 				element.invalidate(this.parent);
 			}
+
+		} finally {
+			if (!(task instanceof WaitTask)) {
+				this.parent.getMetrics().recordTask(task, System.nanoTime() - start, success);
+			}
+		}
+	}
+
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		if (this.readTasksExecutor != null) {
+			this.readTasksExecutor.shutdownNow();
+			this.readTasksExecutor = null;
 		}
 	}
 
@@ -296,6 +401,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	public void removeProtocol(String sourceId) {
 		this.readTasksManager.removeTasksManager(sourceId);
 		this.writeTasksManager.removeTasksManager(sourceId);
+		this.readTaskOptimizer.clear();
 	}
 
 	/**
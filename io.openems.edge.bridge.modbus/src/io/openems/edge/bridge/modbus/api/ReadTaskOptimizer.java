@@ -0,0 +1,163 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.edge.bridge.modbus.api.task.AbstractReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.MergedReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Merges {@link AbstractReadInputRegistersTask}s with adjacent register ranges
+ * into {@link MergedReadRegistersTask}s to reduce the number of Modbus
+ * requests.
+ *
+ * <p>
+ * Tasks are merged only if they have the same parent Component (and therefore
+ * the same Unit-ID), the same Function-Code and the same Priority; if the gap
+ * between them is at most the configured number of registers; and if the
+ * merged range does not exceed {@link MergedReadRegistersTask#MAX_LENGTH}.
+ *
+ * <p>
+ * If a device rejects a merged range with an 'Illegal Data Address' exception,
+ * the range is remembered and split in two halves in the next run. Repeated
+ * rejections split the range further until the original Tasks remain.
+ */
+public class ReadTaskOptimizer {
+
+	private static final Comparator<AbstractReadInputRegistersTask> BY_START_ADDRESS = Comparator
+			.comparingInt(AbstractReadInputRegistersTask::getStartAddress);
+
+	private final Set<List<AbstractReadInputRegistersTask>> rejected = ConcurrentHashMap.newKeySet();
+
+	// Keeps the MergedReadRegistersTasks between runs to preserve their execution
+	// duration for planning
+	private Map<List<AbstractReadInputRegistersTask>, MergedReadRegistersTask> mergedTasks = new HashMap<>();
+
+	/**
+	 * Merges the given Read-Tasks.
+	 *
+	 * @param tasks  the Read-Tasks
+	 * @param maxGap the max number of unused registers between two merged Tasks;
+	 *               negative to disable merging
+	 * @return the optimized list of Read-Tasks
+	 */
+	public synchronized List<ReadTask> optimize(List<ReadTask> tasks, int maxGap) {
+		if (maxGap < 0 || tasks.size() < 2) {
+			return tasks;
+		}
+
+		// Group mergeable Tasks; keep the others as they are
+		final List<ReadTask> result = new ArrayList<>(tasks.size());
+		final Map<GroupKey, List<AbstractReadInputRegistersTask>> groups = new LinkedHashMap<>();
+		for (ReadTask task : tasks) {
+			if (task instanceof AbstractReadInputRegistersTask && task.getParent() != null) {
+				AbstractReadInputRegistersTask t = (AbstractReadInputRegistersTask) task;
+				groups.computeIfAbsent(new GroupKey(t), k -> new ArrayList<>()).add(t);
+			} else {
+				result.add(task);
+			}
+		}
+
+		final Map<List<AbstractReadInputRegistersTask>, MergedReadRegistersTask> mergedTasks = new HashMap<>();
+		for (List<AbstractReadInputRegistersTask> group : groups.values()) {
+			group.sort(BY_START_ADDRESS);
+			List<AbstractReadInputRegistersTask> range = new ArrayList<>();
+			int rangeEnd = 0; // exclusive
+			for (AbstractReadInputRegistersTask task : group) {
+				if (!range.isEmpty()) {
+					int start = range.get(0).getStartAddress();
+					int gap = task.getStartAddress() - rangeEnd;
+					int end = task.getStartAddress() + task.getLength();
+					if (gap < 0 || gap > maxGap || end - start > MergedReadRegistersTask.MAX_LENGTH) {
+						this.addRange(result, mergedTasks, range);
+						range = new ArrayList<>();
+					}
+				}
+				range.add(task);
+				rangeEnd = task.getStartAddress() + task.getLength();
+			}
+			this.addRange(result, mergedTasks, range);
+		}
+		this.mergedTasks = mergedTasks;
+		return result;
+	}
+
+	/**
+	 * Adds a range of Tasks to the result - either as one
+	 * {@link MergedReadRegistersTask} or, if the range was rejected before, split
+	 * in two halves.
+	 *
+	 * @param result      the result list
+	 * @param mergedTasks the {@link MergedReadRegistersTask}s used in this run
+	 * @param range       the Tasks of the range, sorted by start address
+	 */
+	private void addRange(List<ReadTask> result,
+			Map<List<AbstractReadInputRegistersTask>, MergedReadRegistersTask> mergedTasks,
+			List<AbstractReadInputRegistersTask> range) {
+		if (range.size() == 1) {
+			result.add(range.get(0));
+			return;
+		}
+		if (this.rejected.contains(range)) {
+			int half = range.size() / 2;
+			this.addRange(result, mergedTasks, new ArrayList<>(range.subList(0, half)));
+			this.addRange(result, mergedTasks, new ArrayList<>(range.subList(half, range.size())));
+			return;
+		}
+		MergedReadRegistersTask merged = this.mergedTasks.get(range);
+		if (merged == null) {
+			merged = new MergedReadRegistersTask(range, t -> this.rejected.add(t.getTasks()));
+		}
+		mergedTasks.put(range, merged);
+		result.add(merged);
+	}
+
+	/**
+	 * Forgets about all merged Tasks and rejected ranges, e.g. after a protocol
+	 * was removed.
+	 */
+	public synchronized void clear() {
+		this.mergedTasks = new HashMap<>();
+		this.rejected.clear();
+	}
+
+	/**
+	 * Only Tasks with the same {@link GroupKey} may be merged.
+	 */
+	private static final class GroupKey {
+		private final ModbusComponent parent;
+		private final Class<?> clazz;
+		private final Priority priority;
+
+		private GroupKey(AbstractReadInputRegistersTask task) {
+			this.parent = task.getParent();
+			this.clazz = task.getClass();
+			this.priority = task.getPriority();
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(this.parent), this.clazz, this.priority);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof GroupKey)) {
+				return false;
+			}
+			GroupKey other = (GroupKey) obj;
+			return this.parent == other.parent && this.clazz == other.clazz
+					&& this.priority == other.priority;
+		}
+	}
+
+}
@@ -2,6 +2,7 @@ package io.openems.edge.bridge.modbus.api.task;
 
 import java.util.Arrays;
 
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
 import com.ghgande.j2mod.modbus.procimg.InputRegister;
 
 import io.openems.common.exceptions.OpenemsException;
@@ -37,4 +38,14 @@ public abstract class AbstractReadInputRegistersTask extends AbstractReadTask<In
 	protected int increasePosition(int position, ModbusElement<?> modbusElement) {
 		return position + modbusElement.getLength();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Gets a Modbus Request of the Function-Code of this Task for the given
+	 * register range.
+	 * 
+	 * @param startAddress the start address
+	 * @param length       the number of registers
+	 * @return the {@link ModbusRequest}
+	 */
+	protected abstract ModbusRequest getRequest(int startAddress, int length);
+}
@@ -46,6 +46,7 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 			 * Second try: with new connection
 			 */
 			bridge.closeModbusConnection();
+			bridge.getMetrics().recordRetry(this.getParent().getUnitId());
 			try {
 				response = this.readElements(bridge);
 
@@ -92,6 +92,17 @@ public abstract class AbstractTask implements Task {
 
 	protected abstract int _execute(AbstractModbusBridge bridge) throws OpenemsException;
 
+	/**
+	 * Marks this Task as successfully executed as part of a
+	 * {@link MergedReadRegistersTask}.
+	 * 
+	 * @param executeDuration the share of the execution duration in [ms]
+	 */
+	synchronized void setExecutedSuccessfully(long executeDuration) {
+		this.hasBeenExecutedSuccessfully = true;
+		this.lastExecuteDuration = executeDuration;
+	}
+
 	/*
 	 * Enable Debug mode for this Element. Activates verbose logging. TODO:
 	 * implement debug write in all implementations (FC16 is already done)
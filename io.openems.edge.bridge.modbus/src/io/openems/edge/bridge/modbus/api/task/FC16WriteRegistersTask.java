@@ -73,6 +73,7 @@ public class FC16WriteRegistersTask extends AbstractTask implements WriteTask {
 				 * Second try: with new connection
 				 */
 				bridge.closeModbusConnection();
+				bridge.getMetrics().recordRetry(this.getParent().getUnitId());
 				try {
 					this.writeMultipleRegisters(bridge, this.getParent().getUnitId(), write.startAddress,
 							write.getRegisters());
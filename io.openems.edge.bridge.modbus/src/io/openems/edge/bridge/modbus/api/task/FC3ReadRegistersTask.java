@@ -22,7 +22,12 @@ public class FC3ReadRegistersTask extends AbstractReadInputRegistersTask impleme
 
 	@Override
 	protected ModbusRequest getRequest() {
-		return new ReadMultipleRegistersRequest(getStartAddress(), getLength());
+		return this.getRequest(this.getStartAddress(), this.getLength());
+	}
+
+	@Override
+	protected ModbusRequest getRequest(int startAddress, int length) {
+		return new ReadMultipleRegistersRequest(startAddress, length);
 	}
 
 	@Override
@@ -27,7 +27,12 @@ public class FC4ReadInputRegistersTask extends AbstractReadInputRegistersTask im
 
 	@Override
 	protected ModbusRequest getRequest() {
-		return new ReadInputRegistersRequest(getStartAddress(), getLength());
+		return this.getRequest(this.getStartAddress(), this.getLength());
+	}
+
+	@Override
+	protected ModbusRequest getRequest(int startAddress, int length) {
+		return new ReadInputRegistersRequest(startAddress, length);
 	}
 
 	@Override
@@ -52,6 +52,7 @@ public class FC6WriteRegisterTask extends AbstractTask implements WriteTask {
 						 * Second try: with new connection
 						 */
 						bridge.closeModbusConnection();
+						bridge.getMetrics().recordRetry(this.getParent().getUnitId());
 						try {
 							this.writeSingleRegister(bridge, this.getParent().getUnitId(), this.getStartAddress(),
 									register);
@@ -0,0 +1,226 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ghgande.j2mod.modbus.Modbus;
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.google.common.base.Stopwatch;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.bridge.modbus.api.AbstractOpenemsModbusComponent;
+import io.openems.edge.bridge.modbus.api.LogVerbosity;
+import io.openems.edge.bridge.modbus.api.ModbusComponent;
+import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Reads the register ranges of multiple {@link AbstractReadInputRegistersTask}s
+ * of the same Component and Function-Code with one single Modbus request.
+ *
+ * <p>
+ * The registers of the response are distributed to the original Tasks; the
+ * registers in gaps between the Tasks are discarded. If the device rejects the
+ * merged range with an 'Illegal Data Address' exception, the original Tasks are
+ * executed one by one and the rejection is reported via the callback.
+ *
+ * <p>
+ * Instances are created by the
+ * {@link io.openems.edge.bridge.modbus.api.ReadTaskOptimizer}.
+ */
+public class MergedReadRegistersTask implements ReadTask {
+
+	/**
+	 * The max number of registers per FC3/FC4 request according to the Modbus
+	 * specification.
+	 */
+	public static final int MAX_LENGTH = 125;
+
+	private final Logger log = LoggerFactory.getLogger(MergedReadRegistersTask.class);
+
+	private final List<AbstractReadInputRegistersTask> tasks;
+	private final Consumer<MergedReadRegistersTask> onIllegalAddress;
+	private final ModbusElement<?>[] elements;
+	private final int startAddress;
+	private final int length;
+	private final Stopwatch stopwatch = Stopwatch.createUnstarted();
+
+	private boolean hasBeenExecutedSuccessfully = false;
+	private long lastExecuteDuration;
+
+	/**
+	 * Creates a {@link MergedReadRegistersTask}.
+	 *
+	 * @param tasks            the Tasks, sorted by start address, not overlapping,
+	 *                         all of the same class, parent and priority
+	 * @param onIllegalAddress callback if the device rejects the merged range
+	 */
+	public MergedReadRegistersTask(List<AbstractReadInputRegistersTask> tasks,
+			Consumer<MergedReadRegistersTask> onIllegalAddress) {
+		if (tasks.size() < 2) {
+			throw new IllegalArgumentException("MergedReadRegistersTask requires at least two Tasks");
+		}
+		this.tasks = tasks;
+		this.onIllegalAddress = onIllegalAddress;
+		this.elements = tasks.stream() //
+				.flatMap(task -> Arrays.stream(task.getElements())) //
+				.toArray(ModbusElement<?>[]::new);
+		AbstractReadInputRegistersTask last = tasks.get(tasks.size() - 1);
+		this.startAddress = tasks.get(0).getStartAddress();
+		this.length = last.getStartAddress() + last.getLength() - this.startAddress;
+		long duration = 0;
+		for (AbstractReadInputRegistersTask task : tasks) {
+			duration = Math.max(duration, task.getExecuteDuration());
+		}
+		this.lastExecuteDuration = duration;
+	}
+
+	/**
+	 * Gets the original Tasks.
+	 *
+	 * @return a list of Tasks, sorted by start address
+	 */
+	public List<AbstractReadInputRegistersTask> getTasks() {
+		return this.tasks;
+	}
+
+	@Override
+	public synchronized int execute(AbstractModbusBridge bridge) throws OpenemsException {
+		this.stopwatch.reset();
+		this.stopwatch.start();
+		try {
+			int noOfSubTasksExecuted = this._execute(bridge);
+			this.hasBeenExecutedSuccessfully = true;
+			return noOfSubTasksExecuted;
+
+		} finally {
+			this.lastExecuteDuration = this.stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private int _execute(AbstractModbusBridge bridge) throws OpenemsException {
+		final AbstractReadInputRegistersTask first = this.tasks.get(0);
+		final ModbusRequest request = first.getRequest(this.startAddress, this.length);
+		final int unitId = first.getParent().getUnitId();
+		ModbusResponse response;
+		try {
+			try {
+				response = Utils.getResponse(request, unitId, bridge);
+			} catch (ModbusSlaveException e) {
+				throw e;
+			} catch (OpenemsException | ModbusException e) {
+				// Second try: with new connection
+				bridge.closeModbusConnection();
+				bridge.getMetrics().recordRetry(unitId);
+				response = Utils.getResponse(request, unitId, bridge);
+			}
+
+		} catch (ModbusSlaveException e) {
+			if (!e.isType(Modbus.ILLEGAL_ADDRESS_EXCEPTION)) {
+				throw new OpenemsException("Transaction failed: " + e.getMessage(), e);
+			}
+			// Device rejected the merged range -> fall back to the original Tasks
+			bridge.logInfo(this.log, this.getActiondescription() + " [" + unitId + ":" + this.startAddress
+					+ ";length=" + this.length + "] was rejected with Illegal Data Address. Splitting.");
+			this.onIllegalAddress.accept(this);
+			int noOfSubTasksExecuted = 0;
+			for (AbstractReadInputRegistersTask task : this.tasks) {
+				noOfSubTasksExecuted += task.execute(bridge);
+			}
+			return noOfSubTasksExecuted;
+
+		} catch (ModbusException e) {
+			throw new OpenemsException("Transaction failed: " + e.getMessage(), e);
+		}
+
+		InputRegister[] registers = first.handleResponse(response);
+		if (registers.length < this.length) {
+			throw new OpenemsException("Received message is too short. Expected [" + this.length + "], got ["
+					+ registers.length + "]");
+		}
+
+		if (first.getLogVerbosity(bridge) == LogVerbosity.READS_AND_WRITES) {
+			bridge.logInfo(this.log, this.getActiondescription() + " [" + unitId + ":" + this.startAddress + "/0x"
+					+ Integer.toHexString(this.startAddress) + ";length=" + this.length + "]: " //
+					+ Utils.toBitString(registers));
+		}
+
+		// Distribute the registers to the original Tasks
+		final long executeDuration = this.stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		for (AbstractReadInputRegistersTask task : this.tasks) {
+			int offset = task.getStartAddress() - this.startAddress;
+			task.fillElements(Arrays.copyOfRange(registers, offset, offset + task.getLength()));
+			task.setExecutedSuccessfully(executeDuration);
+		}
+		return 1;
+	}
+
+	@Override
+	public ModbusElement<?>[] getElements() {
+		return this.elements;
+	}
+
+	@Override
+	public int getStartAddress() {
+		return this.startAddress;
+	}
+
+	@Override
+	public int getLength() {
+		return this.length;
+	}
+
+	@Override
+	public void setParent(AbstractOpenemsModbusComponent parent) {
+		for (AbstractReadInputRegistersTask task : this.tasks) {
+			task.setParent(parent);
+		}
+	}
+
+	@Override
+	public ModbusComponent getParent() {
+		return this.tasks.get(0).getParent();
+	}
+
+	@Override
+	public Priority getPriority() {
+		return this.tasks.get(0).getPriority();
+	}
+
+	@Override
+	public void deactivate() {
+		// Elements are deactivated by the original Tasks
+	}
+
+	@Override
+	public boolean hasBeenExecuted() {
+		return this.hasBeenExecutedSuccessfully;
+	}
+
+	@Override
+	public long getExecuteDuration() {
+		return this.lastExecuteDuration;
+	}
+
+	private String getActiondescription() {
+		return this.tasks.get(0).getActiondescription() + "(merged " + this.tasks.size() + ")";
+	}
+
+	@Override
+	public String toString() {
+		return this.getActiondescription() + " [" + this.getParent().id() + ";unitid=" + this.getParent().getUnitId()
+				+ ";ref=" + this.startAddress + "/0x" + Integer.toHexString(this.startAddress) + ";length="
+				+ this.length + "]";
+	}
+
+}
@@ -5,7 +5,6 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.ghgande.j2mod.modbus.ModbusException;
-import com.ghgande.j2mod.modbus.io.ModbusTransaction;
 import com.ghgande.j2mod.modbus.msg.ModbusRequest;
 import com.ghgande.j2mod.modbus.msg.ModbusResponse;
 import com.ghgande.j2mod.modbus.procimg.InputRegister;
@@ -36,10 +35,15 @@ public class Utils {
 	public static ModbusResponse getResponse(ModbusRequest request, int unitId, AbstractModbusBridge bridge)
 			throws OpenemsException, ModbusException {
 		request.setUnitID(unitId);
-		ModbusTransaction transaction = bridge.getNewModbusTransaction();
-		transaction.setRequest(request);
-		transaction.execute();
-		ModbusResponse response = transaction.getResponse();
+		final long start = System.nanoTime();
+		final ModbusResponse response;
+		try {
+			response = bridge.executeTransaction(request);
+		} catch (OpenemsException | ModbusException e) {
+			bridge.getMetrics().recordFailedTransaction(unitId, request, e, System.nanoTime() - start);
+			throw e;
+		}
+		bridge.getMetrics().recordTransaction(unitId, request, response, System.nanoTime() - start);
 		return response;
 	}
 
@@ -0,0 +1,49 @@
+package io.openems.edge.bridge.modbus.jsonrpc;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+
+/**
+ * Represents a JSON-RPC Request for 'getModbusMetrics'.
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "getModbusMetrics",
+ *   "params": {}
+ * }
+ * </pre>
+ */
+public class GetModbusMetricsRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "getModbusMetrics";
+
+	/**
+	 * Create {@link GetModbusMetricsRequest} from a template
+	 * {@link JsonrpcRequest}.
+	 * 
+	 * @param r the template {@link JsonrpcRequest}
+	 * @return the {@link GetModbusMetricsRequest}
+	 * @throws OpenemsNamedException on parse error
+	 */
+	public static GetModbusMetricsRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		return new GetModbusMetricsRequest(r);
+	}
+
+	public GetModbusMetricsRequest() {
+		super(METHOD);
+	}
+
+	private GetModbusMetricsRequest(JsonrpcRequest request) {
+		super(request, METHOD);
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return new JsonObject();
+	}
+
+}
@@ -0,0 +1,49 @@
+package io.openems.edge.bridge.modbus.jsonrpc;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+
+/**
+ * Wraps a JSON-RPC Response to 'getModbusMetrics' Request.
+ * 
+ * <p>
+ * Latencies are given in [ms]; 'count' is the number of transactions (or
+ * executions for Tasks).
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "total": {
+ *       "count": number, "errors": number, "timeouts": number, "retries": number,
+ *       "bytesSent": number, "bytesReceived": number,
+ *       "latency": { "p50": number, "p95": number, "p99": number }
+ *     },
+ *     "units": [{ "unitId": number, ...same as total }],
+ *     "tasks": [{
+ *       "task": string, "count": number, "errors": number,
+ *       "latency": { "p50": number, "p95": number, "p99": number }
+ *     }]
+ *   }
+ * }
+ * </pre>
+ */
+public class GetModbusMetricsResponse extends JsonrpcResponseSuccess {
+
+	private final JsonObject metrics;
+
+	public GetModbusMetricsResponse(UUID id, JsonObject metrics) {
+		super(id);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		return this.metrics;
+	}
+
+}
@@ -1,7 +1,16 @@
 package io.openems.edge.bridge.modbus;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Test;
 
+import com.ghgande.j2mod.modbus.procimg.IllegalAddressException;
 import com.ghgande.j2mod.modbus.procimg.Register;
 import com.ghgande.j2mod.modbus.procimg.SimpleProcessImage;
 import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
@@ -32,6 +41,7 @@ public class BridgeModbusTcpImplTest {
 	private static final int CYCLE_TIME = 100;
 
 	private static final ChannelAddress REGISTER_100 = new ChannelAddress(DEVICE_ID, "Register100");
+	private static final ChannelAddress REGISTER_102 = new ChannelAddress(DEVICE_ID, "Register102");
 	private static final ChannelAddress MODBUS_COMMUNICATION_FAILED = new ChannelAddress(DEVICE_ID,
 			"ModbusCommunicationFailed");
 
@@ -111,6 +121,229 @@ public class BridgeModbusTcpImplTest {
 		}
 	}
 
+	@Test
+	public void testPipelined() throws Exception {
+		final ThrowingRunnable<Exception> sleep = () -> Thread.sleep(CYCLE_TIME);
+
+		int port = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
+		ModbusSlave slave = null;
+		try {
+			/*
+			 * Open Modbus/TCP Slave
+			 */
+			slave = ModbusSlaveFactory.createTCPSlave(port, 1);
+			SimpleProcessImage processImage = new SimpleProcessImage(UNIT_ID);
+			processImage.addRegister(100, new SimpleRegister(123));
+			slave.addProcessImage(UNIT_ID, processImage);
+			slave.open();
+
+			/*
+			 * Instantiate Modbus-Bridge with multiple outstanding transactions
+			 */
+			BridgeModbusTcpImpl sut = new BridgeModbusTcpImpl();
+			MyModbusComponent device = new MyModbusComponent(DEVICE_ID, sut, UNIT_ID);
+			ComponentTest test = new ComponentTest(sut) //
+					.addComponent(device) //
+					.addReference("cycle", new DummyCycle(CYCLE_TIME)) //
+					.activate(MyConfigTcp.create() //
+							.setId(MODBUS_ID) //
+							.setIp("127.0.0.1") //
+							.setPort(port) //
+							.setInvalidateElementsAfterReadErrors(1) //
+							.setLogVerbosity(LogVerbosity.NONE) //
+							.setMaxOutstandingTransactions(4) //
+							.build());
+
+			/*
+			 * Successfully read Register
+			 */
+			test //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep)) //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep) //
+							.output(REGISTER_100, 123) //
+							.output(MODBUS_COMMUNICATION_FAILED, false)); //
+		} finally {
+			if (slave != null) {
+				slave.close();
+			}
+		}
+	}
+
+	@Test
+	public void testMergedReadTasks() throws Exception {
+		final ThrowingRunnable<Exception> sleep = () -> Thread.sleep(CYCLE_TIME);
+
+		int port = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
+		ModbusSlave slave = null;
+		try {
+			/*
+			 * Open Modbus/TCP Slave
+			 */
+			slave = ModbusSlaveFactory.createTCPSlave(port, 1);
+			RecordingProcessImage processImage = new RecordingProcessImage(UNIT_ID);
+			processImage.addRegister(100, new SimpleRegister(123));
+			processImage.addRegister(101, new SimpleRegister(0));
+			processImage.addRegister(102, new SimpleRegister(456));
+			slave.addProcessImage(UNIT_ID, processImage);
+			slave.open();
+
+			/*
+			 * Instantiate Modbus-Bridge; the two Read-Tasks are merged into one request
+			 */
+			BridgeModbusTcpImpl sut = new BridgeModbusTcpImpl();
+			MyMergeModbusComponent device = new MyMergeModbusComponent(DEVICE_ID, sut, UNIT_ID);
+			ComponentTest test = new ComponentTest(sut) //
+					.addComponent(device) //
+					.addReference("cycle", new DummyCycle(CYCLE_TIME)) //
+					.activate(MyConfigTcp.create() //
+							.setId(MODBUS_ID) //
+							.setIp("127.0.0.1") //
+							.setPort(port) //
+							.setInvalidateElementsAfterReadErrors(1) //
+							.setLogVerbosity(LogVerbosity.NONE) //
+							.setMergeReadTasksMaxGap(1) //
+							.build());
+
+			test //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep)) //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep) //
+							.output(REGISTER_100, 123) //
+							.output(REGISTER_102, 456) //
+							.output(MODBUS_COMMUNICATION_FAILED, false)); //
+
+			// Every request covered both Tasks and the gap
+			List<String> requests = processImage.getRequests();
+			assertFalse(requests.isEmpty());
+			for (String request : requests) {
+				assertEquals("100/3", request);
+			}
+		} finally {
+			if (slave != null) {
+				slave.close();
+			}
+		}
+	}
+
+	@Test
+	public void testMergedReadTasksFallback() throws Exception {
+		final ThrowingRunnable<Exception> sleep = () -> Thread.sleep(CYCLE_TIME);
+
+		int port = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
+		ModbusSlave slave = null;
+		try {
+			/*
+			 * Open Modbus/TCP Slave; register 101 in the gap does not exist
+			 */
+			slave = ModbusSlaveFactory.createTCPSlave(port, 1);
+			RecordingProcessImage processImage = new RecordingProcessImage(UNIT_ID);
+			processImage.addRegister(100, new SimpleRegister(123));
+			processImage.addRegister(102, new SimpleRegister(456));
+			slave.addProcessImage(UNIT_ID, processImage);
+			slave.open();
+
+			BridgeModbusTcpImpl sut = new BridgeModbusTcpImpl();
+			MyMergeModbusComponent device = new MyMergeModbusComponent(DEVICE_ID, sut, UNIT_ID);
+			ComponentTest test = new ComponentTest(sut) //
+					.addComponent(device) //
+					.addReference("cycle", new DummyCycle(CYCLE_TIME)) //
+					.activate(MyConfigTcp.create() //
+							.setId(MODBUS_ID) //
+							.setIp("127.0.0.1") //
+							.setPort(port) //
+							.setInvalidateElementsAfterReadErrors(1) //
+							.setLogVerbosity(LogVerbosity.NONE) //
+							.setMergeReadTasksMaxGap(1) //
+							.build());
+
+			/*
+			 * Merged request is rejected with Illegal Data Address; the original Tasks
+			 * are executed instead
+			 */
+			test //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep)) //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep)) //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep) //
+							.output(REGISTER_100, 123) //
+							.output(REGISTER_102, 456) //
+							.output(MODBUS_COMMUNICATION_FAILED, false)); //
+
+			// Merged range was tried once, then only the original ranges are read
+			List<String> requests = processImage.getRequests();
+			assertEquals("100/3", requests.get(0));
+			assertEquals(1, Collections.frequency(requests, "100/3"));
+			assertTrue(requests.contains("100/1"));
+			assertTrue(requests.contains("102/1"));
+		} finally {
+			if (slave != null) {
+				slave.close();
+			}
+		}
+	}
+
+	/**
+	 * Records the register ranges of all FC3 requests as 'address/length'.
+	 */
+	private static class RecordingProcessImage extends SimpleProcessImage {
+
+		private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+		public RecordingProcessImage(int unitId) {
+			super(unitId);
+		}
+
+		@Override
+		public synchronized Register[] getRegisterRange(int offset, int count) throws IllegalAddressException {
+			this.requests.add(offset + "/" + count);
+			return super.getRegisterRange(offset, count);
+		}
+
+		public List<String> getRequests() {
+			synchronized (this.requests) {
+				return new ArrayList<>(this.requests);
+			}
+		}
+	}
+
+	private static class MyMergeModbusComponent extends DummyModbusComponent {
+
+		public MyMergeModbusComponent(String id, AbstractModbusBridge bridge, int unitId) throws OpenemsException {
+			super(id, bridge, unitId, ChannelId.values());
+		}
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			REGISTER_100(Doc.of(OpenemsType.INTEGER)), //
+			REGISTER_102(Doc.of(OpenemsType.INTEGER)); //
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() throws OpenemsException {
+			return new ModbusProtocol(this, //
+					new FC3ReadRegistersTask(100, Priority.HIGH, //
+							m(ChannelId.REGISTER_100, new UnsignedWordElement(100))), //
+					new FC3ReadRegistersTask(102, Priority.HIGH, //
+							m(ChannelId.REGISTER_102, new UnsignedWordElement(102)))); //
+		}
+
+	}
+
 	private static class MyModbusComponent extends DummyModbusComponent {
 
 		public MyModbusComponent(String id, AbstractModbusBridge bridge, int unitId) throws OpenemsException {
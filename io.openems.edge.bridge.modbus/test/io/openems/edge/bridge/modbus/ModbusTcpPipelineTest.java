@@ -0,0 +1,161 @@
+package io.openems.edge.bridge.modbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersRequest;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersResponse;
+
+import io.openems.common.exceptions.OpenemsException;
+
+public class ModbusTcpPipelineTest {
+
+	private static final int TIMEOUT = 5_000; // [ms]
+
+	/**
+	 * A Modbus/TCP server that waits for a number of FC3 requests and answers them
+	 * in reverse order. The value of each register is 'Unit-ID * 1000 + address'.
+	 */
+	private static class ReversingServer implements AutoCloseable {
+
+		private final ServerSocket serverSocket;
+		private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+		private ReversingServer(int requests) throws IOException {
+			this.serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+			final Thread thread = new Thread(() -> {
+				try (Socket socket = this.serverSocket.accept()) {
+					this.handle(socket, requests);
+					this.done.complete(null);
+				} catch (IOException e) {
+					this.done.completeExceptionally(e);
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		private void handle(Socket socket, int requests) throws IOException {
+			final DataInputStream in = new DataInputStream(socket.getInputStream());
+			final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+			final List<int[]> received = new ArrayList<>();
+			for (int i = 0; i < requests; i++) {
+				int transactionId = in.readUnsignedShort();
+				in.readUnsignedShort(); // Protocol-ID
+				in.readUnsignedShort(); // Length
+				int unitId = in.readUnsignedByte();
+				in.readUnsignedByte(); // Function-Code
+				int address = in.readUnsignedShort();
+				int count = in.readUnsignedShort();
+				received.add(new int[] { transactionId, unitId, address, count });
+			}
+			Collections.reverse(received);
+			for (int[] request : received) {
+				int count = request[3];
+				out.writeShort(request[0]);
+				out.writeShort(0);
+				out.writeShort(3 + count * 2); // Unit-ID + Function-Code + Byte-Count + data
+				out.writeByte(request[1]);
+				out.writeByte(3);
+				out.writeByte(count * 2);
+				for (int i = 0; i < count; i++) {
+					out.writeShort(request[1] * 1000 + request[2] + i);
+				}
+			}
+			out.flush();
+			// Wait for the client to close the connection
+			in.read();
+		}
+
+		private int getPort() {
+			return this.serverSocket.getLocalPort();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.serverSocket.close();
+		}
+	}
+
+	private static ReadMultipleRegistersRequest createRequest(int unitId, int address) {
+		ReadMultipleRegistersRequest request = new ReadMultipleRegistersRequest(address, 1);
+		request.setUnitID(unitId);
+		return request;
+	}
+
+	@Test
+	public void testMatchByTransactionId() throws Exception {
+		final int requests = 4;
+		final ExecutorService executor = Executors.newFixedThreadPool(requests);
+		try (ReversingServer server = new ReversingServer(requests)) {
+			final ModbusTcpPipeline sut = new ModbusTcpPipeline(InetAddress.getLoopbackAddress(), server.getPort(),
+					TIMEOUT, requests);
+
+			// Requests for different Unit-IDs and addresses are all in flight at once
+			final List<Future<ReadMultipleRegistersResponse>> responses = new ArrayList<>();
+			for (int i = 0; i < requests; i++) {
+				final ReadMultipleRegistersRequest request = createRequest(1 + i % 2, 100 + i);
+				responses.add(executor.submit(() -> (ReadMultipleRegistersResponse) sut.execute(request)));
+			}
+
+			// Responses arrive in reverse order, but each one reaches its request
+			for (int i = 0; i < requests; i++) {
+				ReadMultipleRegistersResponse response = responses.get(i).get(TIMEOUT, TimeUnit.MILLISECONDS);
+				assertEquals(1 + i % 2, response.getUnitID());
+				assertEquals((1 + i % 2) * 1000 + 100 + i, response.getRegisterValue(0));
+			}
+
+			sut.close();
+			server.done.get(TIMEOUT, TimeUnit.MILLISECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testConnectionClosed() throws Exception {
+		try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			final Thread server = new Thread(() -> {
+				// Close the connection without answering the request
+				try (Socket socket = serverSocket.accept()) {
+					socket.getInputStream().read();
+				} catch (IOException e) {
+					// ignore
+				}
+			});
+			server.setDaemon(true);
+			server.start();
+
+			final ModbusTcpPipeline sut = new ModbusTcpPipeline(InetAddress.getLoopbackAddress(),
+					serverSocket.getLocalPort(), TIMEOUT, 2);
+			final long start = System.currentTimeMillis();
+			try {
+				sut.execute(createRequest(1, 100));
+				fail("Expected OpenemsException");
+			} catch (OpenemsException e) {
+				// Pending transaction fails immediately instead of running into the timeout
+				assertTrue(System.currentTimeMillis() - start < TIMEOUT);
+			}
+			sut.close();
+		}
+	}
+
+}
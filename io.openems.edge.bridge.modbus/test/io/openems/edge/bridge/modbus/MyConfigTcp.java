@@ -12,6 +12,8 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		public int port;
 		public LogVerbosity logVerbosity;
 		public int invalidateElementsAfterReadErrors;
+		public int mergeReadTasksMaxGap = -1;
+		public int maxOutstandingTransactions = 1;
 
 		private Builder() {
 		}
@@ -41,6 +43,16 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 			return this;
 		}
 
+		public Builder setMaxOutstandingTransactions(int maxOutstandingTransactions) {
+			this.maxOutstandingTransactions = maxOutstandingTransactions;
+			return this;
+		}
+
+		public Builder setMergeReadTasksMaxGap(int mergeReadTasksMaxGap) {
+			this.mergeReadTasksMaxGap = mergeReadTasksMaxGap;
+			return this;
+		}
+
 		public MyConfigTcp build() {
 			return new MyConfigTcp(this);
 		}
@@ -82,4 +94,14 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		return this.builder.invalidateElementsAfterReadErrors;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public int maxOutstandingTransactions() {
+		return this.builder.maxOutstandingTransactions;
+	}
+
+	@Override
+	public int mergeReadTasksMaxGap() {
+		return this.builder.mergeReadTasksMaxGap;
+	}
+
+}
@@ -0,0 +1,31 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram h = new LatencyHistogram();
+		assertNull(h.getPercentile(50));
+
+		for (int i = 0; i < 98; i++) {
+			h.record(1_000_000); // 1 ms
+		}
+		h.record(100_000_000); // 100 ms
+		h.record(1_000_000_000); // 1 s
+
+		assertEquals(100, h.getCount());
+		assertEquals(1.0, h.getPercentile(50), 0.2);
+		assertEquals(1.0, h.getPercentile(95), 0.2);
+		assertEquals(100.0, h.getPercentile(99), 20.0);
+		assertEquals(1000.0, h.getPercentile(100), 200.0);
+
+		h.reset();
+		assertEquals(0, h.getCount());
+	}
+
+}
@@ -1,9 +1,9 @@
 package io.openems.edge.common.channel.internal;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -17,9 +17,9 @@ import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
-import io.openems.edge.common.type.CircularTreeMap;
 
 public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implements Channel<T> {
 
@@ -33,7 +33,18 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final CircularTreeMap<LocalDateTime, Value<T>> pastValues = new CircularTreeMap<>(NO_OF_PAST_VALUES);
+	private final PastValues<T> pastValues;
+
+	/*
+	 * Numeric and boolean Channels hold their 'next' and 'active' value in
+	 * primitive slots, guarded by 'slotLock'. The corresponding Value objects are
+	 * only created on demand and cached in 'nextValue' and 'activeValue'; writers
+	 * reset the cache. For other types the slots are null and every value is
+	 * stored directly as a Value object.
+	 */
+	private final PrimitiveValueSlot nextSlot;
+	private final PrimitiveValueSlot activeSlot;
+	private final StampedLock slotLock = new StampedLock();
 
 	private volatile Value<T> nextValue = null;
 	private volatile Value<T> activeValue = null;
@@ -43,8 +54,15 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
-		this.nextValue = new Value<T>(this, null);
-		this.activeValue = new Value<T>(this, null);
+		this.pastValues = new PastValues<>(type, NO_OF_PAST_VALUES);
+		this.nextSlot = PrimitiveValueSlot.of(type);
+		this.activeSlot = PrimitiveValueSlot.of(type);
+		if (this.nextSlot == null) {
+			this.nextValue = new Value<T>(this, null);
+			this.activeValue = new Value<T>(this, null);
+		} else {
+			this.activeSlot.set(null, System.currentTimeMillis());
+		}
 
 		// validate Type
 		if (!this.validateType(channelDoc.getType(), type)) {
@@ -99,6 +117,10 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 
 	@Override
 	public void nextProcessImage() {
+		if (this.nextSlot != null) {
+			this.nextProcessImageFromSlot();
+			return;
+		}
 		Value<T> oldValue = this.activeValue;
 		final boolean valueHasChanged;
 		if (oldValue == null && this.nextValue == null) {
@@ -113,7 +135,83 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		if (valueHasChanged) {
 			this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, this.activeValue));
 		}
-		this.pastValues.put(this.activeValue.getTimestamp(), this.activeValue);
+		this.pastValues.add(this.activeValue.getTimestampMillis(), this.activeValue.get());
+	}
+
+	/**
+	 * Switches to the next process image for Channels that are backed by
+	 * {@link PrimitiveValueSlot}s.
+	 * 
+	 * <p>
+	 * Values are compared and recorded in {@link PastValues} without boxing. If
+	 * the value was not set again since the last process image, the previously
+	 * created 'active' {@link Value} object is kept; otherwise it is recreated on
+	 * demand, so that it carries the current timestamp.
+	 */
+	private void nextProcessImageFromSlot() {
+		final boolean valueHasChanged;
+		final long timestamp;
+		final boolean defined;
+		final long bits;
+		Value<T> oldValue = null;
+		final long stamp = this.slotLock.writeLock();
+		try {
+			valueHasChanged = !this.activeSlot.hasSameValue(this.nextSlot);
+			if (valueHasChanged && !this.onChangeCallbacks.isEmpty()) {
+				oldValue = this.activeValue;
+				if (oldValue == null) {
+					oldValue = this.createValue(this.activeSlot);
+				}
+			}
+			if (valueHasChanged || this.activeSlot.getTimestamp() != this.nextSlot.getTimestamp()) {
+				this.activeValue = this.nextValue; // might be null; created on demand
+			}
+			this.activeSlot.copyFrom(this.nextSlot);
+			timestamp = this.activeSlot.getTimestamp();
+			defined = this.activeSlot.isDefined();
+			bits = this.activeSlot.getBits();
+		} finally {
+			this.slotLock.unlockWrite(stamp);
+		}
+		if (!this.onUpdateCallbacks.isEmpty()) {
+			final Value<T> activeValue = this.getActiveValue();
+			this.onUpdateCallbacks.forEach(callback -> callback.accept(activeValue));
+		}
+		if (valueHasChanged && !this.onChangeCallbacks.isEmpty()) {
+			final Value<T> activeValue = this.getActiveValue();
+			final Value<T> previousValue = oldValue;
+			this.onChangeCallbacks.forEach(callback -> callback.accept(previousValue, activeValue));
+		}
+		this.pastValues.addRawBits(timestamp, defined, bits);
+	}
+
+	/**
+	 * Gets the 'active' {@link Value}; creates it on demand from the primitive
+	 * slot.
+	 * 
+	 * @return the {@link Value}
+	 */
+	private Value<T> getActiveValue() {
+		Value<T> value = this.activeValue;
+		if (value != null || this.activeSlot == null) {
+			return value;
+		}
+		final long stamp = this.slotLock.readLock();
+		try {
+			value = this.activeValue;
+			if (value == null) {
+				value = this.createValue(this.activeSlot);
+				this.activeValue = value;
+			}
+			return value;
+		} finally {
+			this.slotLock.unlockRead(stamp);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Value<T> createValue(PrimitiveValueSlot slot) {
+		return new Value<T>(this, (T) slot.get(), slot.getTimestamp());
 	}
 
 	@Override
@@ -133,16 +231,43 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	 */
 	@Deprecated
 	public void _setNextValue(T value) {
-		this.nextValue = new Value<T>(this, value);
+		if (this.nextSlot != null) {
+			final long stamp = this.slotLock.writeLock();
+			try {
+				this.nextSlot.set(value, System.currentTimeMillis());
+				this.nextValue = null; // created on demand
+			} finally {
+				this.slotLock.unlockWrite(stamp);
+			}
+		} else {
+			this.nextValue = new Value<T>(this, value);
+		}
 		if (this.channelDoc.isDebug()) {
-			this.log.info("Next value for [" + this.address() + "]: " + this.nextValue.asString());
+			this.log.info("Next value for [" + this.address() + "]: " + this.getNextValue().asString());
+		}
+		if (!this.onSetNextValueCallbacks.isEmpty()) {
+			final Value<T> nextValue = this.getNextValue();
+			this.onSetNextValueCallbacks.forEach(callback -> callback.accept(nextValue));
 		}
-		this.onSetNextValueCallbacks.forEach(callback -> callback.accept(this.nextValue));
 	}
 
 	@Override
 	public Value<T> getNextValue() {
-		return this.nextValue;
+		Value<T> value = this.nextValue;
+		if (value != null || this.nextSlot == null) {
+			return value;
+		}
+		final long stamp = this.slotLock.readLock();
+		try {
+			value = this.nextValue;
+			if (value == null) {
+				value = this.createValue(this.nextSlot);
+				this.nextValue = value;
+			}
+			return value;
+		} finally {
+			this.slotLock.unlockRead(stamp);
+		}
 	}
 
 	@Override
@@ -154,7 +279,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		case READ_WRITE:
 			break;
 		}
-		return this.activeValue;
+		return this.getActiveValue();
 	}
 
 	@Override
@@ -162,7 +287,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		return "Channel [" //
 				+ "ID=" + this.channelId + ", " //
 				+ "type=" + this.type + ", " //
-				+ "activeValue=" + this.activeValue.asString() //
+				+ "activeValue=" + this.getActiveValue().asString() //
 				+ "]";
 	}
 
@@ -252,10 +377,10 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	/**
 	 * Gets the past values for this Channel.
 	 * 
-	 * @return a map of recording time and historic value at that time
+	 * @return a ring buffer of recording time and historic value at that time
 	 */
 	@Override
-	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues() {
+	public PastValues<T> getPastValues() {
 		return this.pastValues;
 	}
 
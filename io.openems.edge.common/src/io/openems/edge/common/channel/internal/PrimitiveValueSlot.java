@@ -0,0 +1,136 @@
+package io.openems.edge.common.channel.internal;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.type.TypeUtils;
+
+/**
+ * Holds a numeric or boolean Channel value as primitive bits plus a 'defined'
+ * flag and the epoch-millis timestamp when it was set.
+ *
+ * <p>
+ * This avoids allocating a boxed {@link io.openems.edge.common.channel.value.Value}
+ * on every update. Values are only boxed on demand via {@link #get()}.
+ *
+ * <p>
+ * Equality via {@link #hasSameValue(PrimitiveValueSlot)} follows the semantics
+ * of {@link Object#equals(Object)} of the boxed types, i.e. floating point
+ * values are compared by their bit representation.
+ *
+ * <p>
+ * This class is not thread-safe; access needs to be guarded by the owning
+ * Channel.
+ */
+final class PrimitiveValueSlot {
+
+	private final OpenemsType type;
+
+	private boolean defined = false;
+	private long bits = 0;
+	private long timestamp = 0;
+
+	/**
+	 * Creates a {@link PrimitiveValueSlot} for the given type; or null if values
+	 * of the type cannot be stored as primitive.
+	 *
+	 * @param type the {@link OpenemsType}
+	 * @return the {@link PrimitiveValueSlot} or null
+	 */
+	protected static PrimitiveValueSlot of(OpenemsType type) {
+		switch (type) {
+		case BOOLEAN:
+		case SHORT:
+		case INTEGER:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+			return new PrimitiveValueSlot(type);
+		case STRING:
+			return null;
+		}
+		return null;
+	}
+
+	private PrimitiveValueSlot(OpenemsType type) {
+		this.type = type;
+	}
+
+	/**
+	 * Sets the value.
+	 *
+	 * @param value     the value; null for UNDEFINED
+	 * @param timestamp the timestamp in epoch milliseconds
+	 */
+	protected void set(Object value, long timestamp) {
+		this.timestamp = timestamp;
+		if (value == null) {
+			this.defined = false;
+			this.bits = 0;
+			return;
+		}
+		this.defined = true;
+		this.bits = TypeUtils.getAsRawBits(this.type, value);
+	}
+
+	/**
+	 * Gets the boxed value.
+	 *
+	 * @return the value; null for UNDEFINED
+	 */
+	protected Object get() {
+		if (!this.defined) {
+			return null;
+		}
+		return TypeUtils.getFromRawBits(this.type, this.bits);
+	}
+
+	/**
+	 * Is the value defined?.
+	 *
+	 * @return true if defined; false for UNDEFINED
+	 */
+	protected boolean isDefined() {
+		return this.defined;
+	}
+
+	/**
+	 * Gets the raw bits of the value. See
+	 * {@link TypeUtils#getAsRawBits(OpenemsType, Object)}.
+	 *
+	 * @return the raw bits; undefined if {@link #isDefined()} is false
+	 */
+	protected long getBits() {
+		return this.bits;
+	}
+
+	/**
+	 * Gets the timestamp when the value was set.
+	 *
+	 * @return the timestamp in epoch milliseconds
+	 */
+	protected long getTimestamp() {
+		return this.timestamp;
+	}
+
+	/**
+	 * Copies value and timestamp from another {@link PrimitiveValueSlot}.
+	 *
+	 * @param other the other {@link PrimitiveValueSlot}
+	 */
+	protected void copyFrom(PrimitiveValueSlot other) {
+		this.defined = other.defined;
+		this.bits = other.bits;
+		this.timestamp = other.timestamp;
+	}
+
+	/**
+	 * Compares the value - not the timestamp - with another
+	 * {@link PrimitiveValueSlot}.
+	 *
+	 * @param other the other {@link PrimitiveValueSlot}
+	 * @return true if both are UNDEFINED or both hold the same value
+	 */
+	protected boolean hasSameValue(PrimitiveValueSlot other) {
+		return this.defined == other.defined && this.bits == other.bits;
+	}
+
+}
@@ -0,0 +1,283 @@
+package io.openems.edge.common.channel.value;
+
+import java.util.OptionalDouble;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.type.TypeUtils;
+
+/**
+ * Holds the past values of a Channel in a fixed-capacity ring buffer.
+ *
+ * <p>
+ * Every entry consists of the timestamp in epoch milliseconds and the value.
+ * Values of numeric and boolean types are stored as primitive raw bits (see
+ * {@link TypeUtils#getAsRawBits(OpenemsType, Object)}); only STRING values are
+ * stored as objects. No objects are allocated when adding an entry.
+ *
+ * <p>
+ * Entries are addressed by index, where index '0' is the oldest and
+ * '{@link #size()} - 1' is the latest entry. Use
+ * {@link #indexOf(long, boolean)} to find the start index for a time range:
+ *
+ * <pre>
+ * PastValues&lt;Integer&gt; pastValues = channel.getPastValues();
+ * for (int i = pastValues.indexOf(since, true); i &lt; pastValues.size(); i++) {
+ * 	if (pastValues.isDefined(i)) {
+ * 		double value = pastValues.getAsDouble(i);
+ * 	}
+ * }
+ * </pre>
+ *
+ * <p>
+ * Adding an entry with the same timestamp as the latest entry replaces the
+ * latest entry. This class is not thread-safe; it is written and read on the
+ * Cycle thread.
+ *
+ * @param <T> the type of the value
+ */
+public class PastValues<T> {
+
+	private final OpenemsType type;
+	private final int capacity;
+	private final long[] timestamps;
+	private final boolean[] defined;
+	private final long[] bits;
+	private final Object[] objects;
+
+	private int head = 0; // index of the oldest entry in the arrays
+	private int size = 0;
+
+	public PastValues(OpenemsType type, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive. Got [" + capacity + "]");
+		}
+		this.type = type;
+		this.capacity = capacity;
+		this.timestamps = new long[capacity];
+		this.defined = new boolean[capacity];
+		if (type == OpenemsType.STRING) {
+			this.bits = null;
+			this.objects = new Object[capacity];
+		} else {
+			this.bits = new long[capacity];
+			this.objects = null;
+		}
+	}
+
+	/**
+	 * Adds a value.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param value     the value; null for UNDEFINED
+	 */
+	public void add(long timestamp, T value) {
+		final int position = this.nextPosition(timestamp);
+		this.defined[position] = value != null;
+		if (this.objects != null) {
+			this.objects[position] = value;
+		} else {
+			this.bits[position] = value == null ? 0 : TypeUtils.getAsRawBits(this.type, value);
+		}
+	}
+
+	/**
+	 * Adds a value of a numeric or boolean type given as raw bits.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param defined   false for UNDEFINED
+	 * @param bits      the raw bits, see
+	 *                  {@link TypeUtils#getAsRawBits(OpenemsType, Object)}
+	 */
+	public void addRawBits(long timestamp, boolean defined, long bits) {
+		if (this.bits == null) {
+			throw new IllegalArgumentException("OpenemsType [" + this.type + "] cannot be added as raw bits.");
+		}
+		final int position = this.nextPosition(timestamp);
+		this.defined[position] = defined;
+		this.bits[position] = defined ? bits : 0;
+	}
+
+	/**
+	 * Gets the array position for a new entry and stores the timestamp.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the array position
+	 */
+	private int nextPosition(long timestamp) {
+		final int position;
+		if (this.size > 0 && this.timestamps[this.position(this.size - 1)] == timestamp) {
+			// replace latest entry
+			position = this.position(this.size - 1);
+		} else if (this.size < this.capacity) {
+			position = this.position(this.size);
+			this.size++;
+		} else {
+			// overwrite oldest entry
+			position = this.head;
+			this.head = (this.head + 1) % this.capacity;
+		}
+		this.timestamps[position] = timestamp;
+		return position;
+	}
+
+	private int position(int index) {
+		return (this.head + index) % this.capacity;
+	}
+
+	private int checkedPosition(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index [" + index + "] out of bounds for size [" + this.size + "]");
+		}
+		return this.position(index);
+	}
+
+	/**
+	 * Gets the {@link OpenemsType} of the values.
+	 *
+	 * @return the type
+	 */
+	public OpenemsType getType() {
+		return this.type;
+	}
+
+	/**
+	 * Gets the maximum number of entries.
+	 *
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Gets the number of entries.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Is this buffer empty?.
+	 *
+	 * @return true if there are no entries
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		if (this.objects != null) {
+			for (int i = 0; i < this.capacity; i++) {
+				this.objects[i] = null;
+			}
+		}
+		this.head = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Gets the timestamp of the entry at the given index.
+	 *
+	 * @param index the index; '0' is the oldest entry
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public long getTimestamp(int index) {
+		return this.timestamps[this.checkedPosition(index)];
+	}
+
+	/**
+	 * Is the value of the entry at the given index defined?.
+	 *
+	 * @param index the index; '0' is the oldest entry
+	 * @return true if defined; false for UNDEFINED
+	 */
+	public boolean isDefined(int index) {
+		return this.defined[this.checkedPosition(index)];
+	}
+
+	/**
+	 * Gets the boxed value of the entry at the given index.
+	 *
+	 * @param index the index; '0' is the oldest entry
+	 * @return the value; null for UNDEFINED
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		final int position = this.checkedPosition(index);
+		if (!this.defined[position]) {
+			return null;
+		}
+		if (this.objects != null) {
+			return (T) this.objects[position];
+		}
+		return TypeUtils.getFromRawBits(this.type, this.bits[position]);
+	}
+
+	/**
+	 * Gets the value of the entry at the given index as primitive double.
+	 *
+	 * @param index the index; '0' is the oldest entry
+	 * @return the value; {@link Double#NaN} for UNDEFINED or STRING values
+	 */
+	public double getAsDouble(int index) {
+		final int position = this.checkedPosition(index);
+		if (!this.defined[position] || this.bits == null) {
+			return Double.NaN;
+		}
+		return TypeUtils.getRawBitsAsDouble(this.type, this.bits[position]);
+	}
+
+	/**
+	 * Finds the index of the oldest entry with a timestamp after (or equal to) the
+	 * given timestamp.
+	 *
+	 * <p>
+	 * The search starts from the latest entry, so the cost is proportional to the
+	 * number of matching entries.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param inclusive true to include entries with exactly the given timestamp
+	 * @return the index; {@link #size()} if no entry matches
+	 */
+	public int indexOf(long timestamp, boolean inclusive) {
+		int index = this.size;
+		while (index > 0) {
+			long t = this.timestamps[this.position(index - 1)];
+			if (t > timestamp || (inclusive && t == timestamp)) {
+				index--;
+			} else {
+				break;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Calculates the average of all defined values with a timestamp after (or
+	 * equal to) the given timestamp.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param inclusive true to include entries with exactly the given timestamp
+	 * @return the average; empty if there are no defined values
+	 */
+	public OptionalDouble average(long timestamp, boolean inclusive) {
+		double sum = 0;
+		int count = 0;
+		for (int i = this.indexOf(timestamp, inclusive); i < this.size; i++) {
+			if (this.isDefined(i)) {
+				sum += this.getAsDouble(i);
+				count++;
+			}
+		}
+		if (count == 0) {
+			return OptionalDouble.empty();
+		}
+		return OptionalDouble.of(sum / count);
+	}
+
+}
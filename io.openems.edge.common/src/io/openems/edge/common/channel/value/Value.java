@@ -1,6 +1,8 @@
 package io.openems.edge.common.channel.value;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 
 import com.google.gson.JsonElement;
@@ -40,12 +42,23 @@ public class Value<T> {
 
 	private final Channel<T> parent;
 	private final T value;
-	private final LocalDateTime timestamp;
+	private final long timestamp; // epoch milliseconds
 
 	public Value(Channel<T> parent, T value) {
+		this(parent, value, System.currentTimeMillis());
+	}
+
+	/**
+	 * Creates a {@link Value} with a given timestamp.
+	 * 
+	 * @param parent    the parent {@link Channel}
+	 * @param value     the value; null for UNDEFINED
+	 * @param timestamp the timestamp when the value was set in epoch milliseconds
+	 */
+	public Value(Channel<T> parent, T value, long timestamp) {
 		this.parent = parent;
 		this.value = value;
-		this.timestamp = LocalDateTime.now();
+		this.timestamp = timestamp;
 	}
 
 	/**
@@ -213,6 +226,15 @@ public class Value<T> {
 	 * @return the timestamp
 	 */
 	public LocalDateTime getTimestamp() {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(this.timestamp), ZoneId.systemDefault());
+	}
+
+	/**
+	 * Gets the timestamp when the value was created in epoch milliseconds.
+	 * 
+	 * @return the timestamp
+	 */
+	public long getTimestampMillis() {
 		return this.timestamp;
 	}
 }
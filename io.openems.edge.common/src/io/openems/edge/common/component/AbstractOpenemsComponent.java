@@ -53,6 +53,11 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	 */
 	private final Map<String, Channel<?>> channels = new ConcurrentHashMap<>();
 
+	/**
+	 * Increased whenever a Channel is added or removed.
+	 */
+	private final AtomicInteger channelsVersion = new AtomicInteger(0);
+
 	private String id = null;
 	private String alias = null;
 	private ComponentContext componentContext = null;
@@ -375,6 +380,7 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		}
 		// Add Channel to channels list
 		this.channels.put(channel.channelId().id(), channel);
+		this.channelsVersion.incrementAndGet();
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().addChannel((StateChannel) channel);
@@ -462,8 +468,10 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	 */
 	// TODO remove Channel(s) using Channel-ID; see addChannels()-method above.
 	protected void removeChannel(Channel<?> channel) {
-		// Add Channel to channels list
-		this.channels.remove(channel.channelId().id(), channel);
+		// Remove Channel from channels list
+		if (this.channels.remove(channel.channelId().id(), channel)) {
+			this.channelsVersion.incrementAndGet();
+		}
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().removeChannel((StateChannel) channel);
@@ -475,6 +483,11 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		return this.channels.values();
 	}
 
+	@Override
+	public int getChannelsVersion() {
+		return this.channelsVersion.get();
+	}
+
 	/**
 	 * Log a debug message including the Component ID.
 	 * 
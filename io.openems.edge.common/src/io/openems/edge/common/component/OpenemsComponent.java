@@ -184,6 +184,20 @@ public interface OpenemsComponent {
 	 */
 	public Collection<Channel<?>> channels();
 
+	/**
+	 * Gets the version of the Channels of this Component, i.e. a number that
+	 * changes whenever a Channel is added or removed.
+	 * 
+	 * <p>
+	 * The default implementation returns the number of Channels; it does not
+	 * detect a Channel that was replaced by another one.
+	 * 
+	 * @return the version
+	 */
+	public default int getChannelsVersion() {
+		return this.channels().size();
+	}
+
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		// Running State of the component. Keep values in sync with 'Level' enum!
 		STATE(new StateCollectorChannelDoc() //
@@ -399,6 +399,94 @@ public class TypeUtils {
 		throw new IllegalArgumentException("Converter for value [" + value + "] to JSON is not implemented.");
 	}
 
+	/**
+	 * Gets a non-null value of the given primitive type as raw bits.
+	 * 
+	 * <p>
+	 * Integer types are stored as their long value, boolean as 0 or 1 and
+	 * floating point types by their bit representation; so two raw bits are equal
+	 * exactly if the boxed values are equal. STRING is not supported.
+	 * 
+	 * @param type  the type as {@link OpenemsType}
+	 * @param value the value; not null
+	 * @return the raw bits
+	 * @throws IllegalArgumentException if the type is not primitive
+	 */
+	public static long getAsRawBits(OpenemsType type, Object value) throws IllegalArgumentException {
+		switch (type) {
+		case BOOLEAN:
+			return ((Boolean) value) ? 1 : 0;
+		case SHORT:
+		case INTEGER:
+		case LONG:
+			return ((Number) value).longValue();
+		case FLOAT:
+			return Float.floatToIntBits(((Number) value).floatValue());
+		case DOUBLE:
+			return Double.doubleToLongBits(((Number) value).doubleValue());
+		case STRING:
+			break;
+		}
+		throw new IllegalArgumentException("OpenemsType [" + type + "] cannot be converted to raw bits.");
+	}
+
+	/**
+	 * Converts raw bits created by {@link #getAsRawBits(OpenemsType, Object)}
+	 * back to the boxed value.
+	 * 
+	 * @param <T>  the Type for implicit casting of the result
+	 * @param type the type as {@link OpenemsType}
+	 * @param bits the raw bits
+	 * @return the boxed value
+	 * @throws IllegalArgumentException if the type is not primitive
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T getFromRawBits(OpenemsType type, long bits) throws IllegalArgumentException {
+		switch (type) {
+		case BOOLEAN:
+			return (T) (Boolean) (bits != 0);
+		case SHORT:
+			return (T) (Short) (short) bits;
+		case INTEGER:
+			return (T) (Integer) (int) bits;
+		case LONG:
+			return (T) (Long) bits;
+		case FLOAT:
+			return (T) (Float) Float.intBitsToFloat((int) bits);
+		case DOUBLE:
+			return (T) (Double) Double.longBitsToDouble(bits);
+		case STRING:
+			break;
+		}
+		throw new IllegalArgumentException("OpenemsType [" + type + "] cannot be converted from raw bits.");
+	}
+
+	/**
+	 * Converts raw bits created by {@link #getAsRawBits(OpenemsType, Object)} to a
+	 * primitive double without boxing.
+	 * 
+	 * @param type the type as {@link OpenemsType}
+	 * @param bits the raw bits
+	 * @return the value as double
+	 * @throws IllegalArgumentException if the type is not primitive
+	 */
+	public static double getRawBitsAsDouble(OpenemsType type, long bits) throws IllegalArgumentException {
+		switch (type) {
+		case BOOLEAN:
+		case SHORT:
+		case INTEGER:
+		case LONG:
+			return bits;
+		case FLOAT:
+			return Float.intBitsToFloat((int) bits);
+		case DOUBLE:
+			return Double.longBitsToDouble(bits);
+		case STRING:
+			break;
+		}
+		throw new IllegalArgumentException("OpenemsType [" + type + "] cannot be converted from raw bits.");
+	}
+
 	/**
 	 * Safely add Integers. If one of them is null it is considered '0'. If all of
 	 * them are null, 'null' is returned.
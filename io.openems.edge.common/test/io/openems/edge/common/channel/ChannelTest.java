@@ -1,18 +1,27 @@
 package io.openems.edge.common.channel;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.value.Value;
 
 public class ChannelTest {
 
 	private static enum TestChannelId implements ChannelId {
-		TEST_CHANNEL_WITH_OPTIONS(Doc.of(TestOptions.values()).accessMode(AccessMode.READ_WRITE));
+		TEST_CHANNEL_WITH_OPTIONS(Doc.of(TestOptions.values()).accessMode(AccessMode.READ_WRITE)), //
+		TEST_INTEGER_CHANNEL(Doc.of(OpenemsType.INTEGER)), //
+		TEST_DOUBLE_CHANNEL(Doc.of(OpenemsType.DOUBLE));
 
 		private final Doc doc;
 
@@ -42,4 +51,61 @@ public class ChannelTest {
 		assertEquals(TestOptions.OPTION_1.getValue(), writtenValue.get());
 	}
 
+	@Test
+	public void testPrimitiveIntegerValue() throws InterruptedException {
+		TestChannelId channelId = TestChannelId.TEST_INTEGER_CHANNEL;
+		IntegerReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+		AtomicInteger changes = new AtomicInteger();
+		channel.onChange((oldValue, newValue) -> changes.incrementAndGet());
+
+		assertNull(channel.value().get());
+		channel.setNextValue(123);
+		assertEquals(Integer.valueOf(123), channel.getNextValue().get());
+		assertNull(channel.value().get());
+
+		channel.nextProcessImage();
+		Value<Integer> value = channel.value();
+		assertEquals(Integer.valueOf(123), value.get());
+		assertEquals(1, changes.get());
+
+		// Value that was not set again keeps the Value object
+		channel.nextProcessImage();
+		assertSame(value, channel.value());
+
+		// Unchanged value that was set again gets the current timestamp
+		Thread.sleep(2);
+		channel.setNextValue(123);
+		channel.nextProcessImage();
+		assertEquals(Integer.valueOf(123), channel.value().get());
+		assertTrue(channel.value().getTimestampMillis() > value.getTimestampMillis());
+		assertEquals(channel.value().getTimestampMillis(),
+				channel.getPastValues().getTimestamp(channel.getPastValues().size() - 1));
+		assertEquals(1, changes.get());
+
+		channel.setNextValue(null);
+		channel.nextProcessImage();
+		assertFalse(channel.value().isDefined());
+		assertEquals(2, changes.get());
+	}
+
+	@Test
+	public void testPrimitiveDoubleValue() {
+		TestChannelId channelId = TestChannelId.TEST_DOUBLE_CHANNEL;
+		DoubleReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+		AtomicInteger changes = new AtomicInteger();
+		channel.onChange((oldValue, newValue) -> changes.incrementAndGet());
+
+		channel.setNextValue(1.5);
+		channel.nextProcessImage();
+		assertEquals(Double.valueOf(1.5), channel.value().get());
+		assertEquals(1, changes.get());
+
+		channel.setNextValue(Double.NaN);
+		channel.nextProcessImage();
+		channel.setNextValue(Double.NaN);
+		channel.nextProcessImage();
+		assertEquals(Double.valueOf(Double.NaN), channel.value().get());
+		assertEquals(2, changes.get());
+	}
+
 }
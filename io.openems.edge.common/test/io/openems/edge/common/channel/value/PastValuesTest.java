@@ -0,0 +1,74 @@
+package io.openems.edge.common.channel.value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+
+public class PastValuesTest {
+
+	@Test
+	public void testCircular() {
+		PastValues<Integer> p = new PastValues<>(OpenemsType.INTEGER, 3);
+		p.add(1, 10);
+		p.add(2, null);
+		p.add(3, 30);
+		p.add(4, 40);
+
+		assertEquals(3, p.size());
+		assertEquals(2, p.getTimestamp(0));
+		assertFalse(p.isDefined(0));
+		assertNull(p.get(0));
+		assertEquals(Integer.valueOf(30), p.get(1));
+		assertEquals(Integer.valueOf(40), p.get(2));
+	}
+
+	@Test
+	public void testSameTimestampReplacesLatest() {
+		PastValues<Integer> p = new PastValues<>(OpenemsType.INTEGER, 3);
+		p.add(1, 10);
+		p.add(1, 11);
+
+		assertEquals(1, p.size());
+		assertEquals(Integer.valueOf(11), p.get(0));
+	}
+
+	@Test
+	public void testRange() {
+		PastValues<Integer> p = new PastValues<>(OpenemsType.INTEGER, 10);
+		p.add(1, 10);
+		p.add(2, null);
+		p.add(3, 30);
+		p.add(4, 40);
+
+		assertEquals(2, p.indexOf(3, true));
+		assertEquals(3, p.indexOf(3, false));
+		assertEquals(4, p.indexOf(4, false));
+		assertEquals(35, p.average(3, true).getAsDouble(), 0.001);
+		assertEquals(80 / 3., p.average(0, true).getAsDouble(), 0.001);
+		assertFalse(p.average(4, false).isPresent());
+	}
+
+	@Test
+	public void testRawBits() {
+		PastValues<Double> p = new PastValues<>(OpenemsType.DOUBLE, 3);
+		p.addRawBits(1, true, Double.doubleToLongBits(1.5));
+		p.add(2, 2.5);
+
+		assertEquals(Double.valueOf(1.5), p.get(0));
+		assertEquals(2.5, p.getAsDouble(1), 0.001);
+	}
+
+	@Test
+	public void testString() {
+		PastValues<String> p = new PastValues<>(OpenemsType.STRING, 3);
+		p.add(1, "foo");
+
+		assertEquals("foo", p.get(0));
+		assertEquals(Double.NaN, p.getAsDouble(0), 0.001);
+	}
+
+}
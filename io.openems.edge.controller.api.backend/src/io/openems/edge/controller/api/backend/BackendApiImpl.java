@@ -11,6 +11,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.java_websocket.drafts.Draft;
 import org.ops4j.pax.logging.spi.PaxAppender;
 import org.ops4j.pax.logging.spi.PaxLoggingEvent;
 import org.osgi.service.component.ComponentContext;
@@ -102,6 +103,9 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 			return;
 		}
 
+		// initialize buffer for data that could not be sent
+		this.sendChannelValuesWorker.activate(config.pendingDataBufferSize());
+
 		// initialize Executor
 		String name = COMPONENT_NAME + ":" + this.id();
 		this.executor = Executors
@@ -133,7 +137,10 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 		httpHeaders.put("apikey", config.apikey());
 
 		// Create Websocket instance
-		this.websocket = new WebsocketClient(this, name, uri, httpHeaders, proxy);
+		Draft draft = config.compression() //
+				? AbstractWebsocketClient.COMPRESSION_DRAFT //
+				: AbstractWebsocketClient.DEFAULT_DRAFT;
+		this.websocket = new WebsocketClient(this, name, uri, draft, httpHeaders, proxy);
 		this.websocket.start();
 	}
 
@@ -47,5 +47,11 @@ import io.openems.common.channel.PersistencePriority;
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default false;
 
+	@AttributeDefinition(name = "Pending data buffer size [MB]", description = "Size of the on-disk buffer for data that could not be sent to the Backend; it is replayed once the connection is back. '0' disables the buffer.")
+	int pendingDataBufferSize() default 32;
+
+	@AttributeDefinition(name = "Compression", description = "Requests compressed messages ('permessage-deflate'); falls back to uncompressed messages if the Backend does not support it.")
+	boolean compression() default true;
+
 	String webconsole_configurationFactory_nameHint() default "Controller Api Backend [{id}]";
 }
\ No newline at end of file
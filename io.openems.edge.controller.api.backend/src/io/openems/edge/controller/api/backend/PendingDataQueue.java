@@ -0,0 +1,240 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bounded, persistent FIFO queue of messages in a memory-mapped file.
+ *
+ * <p>
+ * Holds messages that could not be sent to the Backend, so that they can be
+ * replayed once the connection is available again. The queue survives restarts
+ * of OpenEMS Edge.
+ *
+ * <p>
+ * The file consists of a header and a ring buffer of records. Each record is
+ * the length of the message followed by its UTF-8 bytes; records may wrap
+ * around the end of the ring buffer. If the queue is full, the oldest records
+ * are dropped.
+ *
+ * <p>
+ * Read- and write-positions are kept as ever-increasing logical positions in
+ * the header; the physical position is the logical position modulo the
+ * capacity. The header is written after every change; the file is forced to
+ * disk every {@link #FORCE_INTERVAL} appends and on {@link #close()}.
+ */
+class PendingDataQueue {
+
+	private static final int MAGIC = 0x4F454D51; // "OEMQ"
+	private static final int HEADER_SIZE = 32;
+	private static final int POS_MAGIC = 0;
+	private static final int POS_READ = 8;
+	private static final int POS_WRITE = 16;
+	private static final int POS_COUNT = 24;
+	private static final int RECORD_HEADER_SIZE = 4;
+	private static final int FORCE_INTERVAL = 60;
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	private final long capacity;
+
+	private long readPosition;
+	private long writePosition;
+	private int count;
+	private int appendsSinceForce = 0;
+
+	/**
+	 * Opens an existing or creates a new {@link PendingDataQueue}.
+	 *
+	 * <p>
+	 * If the existing file has a different size or is invalid, it is reset.
+	 *
+	 * @param path     the file
+	 * @param capacity the capacity of the ring buffer in bytes
+	 * @throws IOException on error
+	 */
+	public PendingDataQueue(File path, int capacity) throws IOException {
+		if (capacity <= RECORD_HEADER_SIZE) {
+			throw new IllegalArgumentException("Capacity is too small [" + capacity + "]");
+		}
+		if (path.getParentFile() != null && !path.getParentFile().exists()) {
+			path.getParentFile().mkdirs();
+		}
+		this.capacity = capacity;
+		this.file = new RandomAccessFile(path, "rw");
+		final boolean isNew = this.file.length() != HEADER_SIZE + capacity;
+		this.file.setLength(HEADER_SIZE + capacity);
+		this.buffer = this.file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+
+		this.readPosition = this.buffer.getLong(POS_READ);
+		this.writePosition = this.buffer.getLong(POS_WRITE);
+		this.count = this.buffer.getInt(POS_COUNT);
+		if (isNew || this.buffer.getInt(POS_MAGIC) != MAGIC || this.readPosition < 0
+				|| this.writePosition < this.readPosition || this.writePosition - this.readPosition > capacity
+				|| this.count < 0) {
+			this.readPosition = 0;
+			this.writePosition = 0;
+			this.count = 0;
+			this.buffer.putInt(POS_MAGIC, MAGIC);
+			this.writeHeader();
+		}
+	}
+
+	/**
+	 * Appends a message. Drops the oldest messages if required.
+	 *
+	 * @param message the message
+	 * @return false if the message is larger than the capacity
+	 */
+	public synchronized boolean add(String message) {
+		final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		final int recordSize = RECORD_HEADER_SIZE + bytes.length;
+		if (recordSize > this.capacity) {
+			return false;
+		}
+		while (this.capacity - (this.writePosition - this.readPosition) < recordSize) {
+			this.dropOldest();
+		}
+		this.putInt(this.writePosition, bytes.length);
+		this.put(this.writePosition + RECORD_HEADER_SIZE, bytes);
+		this.writePosition += recordSize;
+		this.count++;
+		this.writeHeader();
+
+		if (++this.appendsSinceForce >= FORCE_INTERVAL) {
+			this.buffer.force();
+			this.appendsSinceForce = 0;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the oldest messages without removing them.
+	 *
+	 * @param maxMessages the max number of messages
+	 * @param maxBytes    the max total size of the messages; at least one message
+	 *                    is returned if the queue is not empty
+	 * @return a list of messages, oldest first
+	 */
+	public synchronized List<String> peek(int maxMessages, int maxBytes) {
+		final List<String> result = new ArrayList<>();
+		long position = this.readPosition;
+		int bytes = 0;
+		while (position < this.writePosition && result.size() < maxMessages) {
+			int length = this.getInt(position);
+			if (!result.isEmpty() && bytes + length > maxBytes) {
+				break;
+			}
+			result.add(new String(this.get(position + RECORD_HEADER_SIZE, length), StandardCharsets.UTF_8));
+			bytes += length;
+			position += RECORD_HEADER_SIZE + length;
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the oldest messages, e.g. after they were successfully sent.
+	 *
+	 * @param noOfMessages the number of messages
+	 */
+	public synchronized void remove(int noOfMessages) {
+		for (int i = 0; i < noOfMessages && this.count > 0; i++) {
+			this.dropOldest();
+		}
+		this.writeHeader();
+	}
+
+	/**
+	 * Gets the number of messages.
+	 *
+	 * @return the number of messages
+	 */
+	public synchronized int size() {
+		return this.count;
+	}
+
+	/**
+	 * Is the queue empty?.
+	 *
+	 * @return true if there are no messages
+	 */
+	public synchronized boolean isEmpty() {
+		return this.count == 0;
+	}
+
+	/**
+	 * Forces the content to disk and closes the file.
+	 */
+	public synchronized void close() {
+		this.buffer.force();
+		try {
+			this.file.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private void dropOldest() {
+		int length = this.getInt(this.readPosition);
+		this.readPosition += RECORD_HEADER_SIZE + length;
+		this.count--;
+		if (this.count == 0) {
+			// start at the beginning again to keep positions small
+			this.readPosition = 0;
+			this.writePosition = 0;
+		}
+	}
+
+	private void writeHeader() {
+		this.buffer.putLong(POS_READ, this.readPosition);
+		this.buffer.putLong(POS_WRITE, this.writePosition);
+		this.buffer.putInt(POS_COUNT, this.count);
+	}
+
+	private int physical(long position) {
+		return HEADER_SIZE + (int) (position % this.capacity);
+	}
+
+	private void putInt(long position, int value) {
+		this.put(position, new byte[] { //
+				(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value });
+	}
+
+	private int getInt(long position) {
+		byte[] b = this.get(position, RECORD_HEADER_SIZE);
+		return ((b[0] & 0xFF) << 24) | ((b[1] & 0xFF) << 16) | ((b[2] & 0xFF) << 8) | (b[3] & 0xFF);
+	}
+
+	private void put(long position, byte[] bytes) {
+		int start = this.physical(position);
+		int firstPart = (int) Math.min(bytes.length, HEADER_SIZE + this.capacity - start);
+		this.buffer.position(start);
+		this.buffer.put(bytes, 0, firstPart);
+		if (firstPart < bytes.length) {
+			// wrap around
+			this.buffer.position(HEADER_SIZE);
+			this.buffer.put(bytes, firstPart, bytes.length - firstPart);
+		}
+	}
+
+	private byte[] get(long position, int length) {
+		byte[] bytes = new byte[length];
+		int start = this.physical(position);
+		int firstPart = (int) Math.min(length, HEADER_SIZE + this.capacity - start);
+		this.buffer.position(start);
+		this.buffer.get(bytes, 0, firstPart);
+		if (firstPart < length) {
+			// wrap around
+			this.buffer.position(HEADER_SIZE);
+			this.buffer.get(bytes, firstPart, length - firstPart);
+		}
+		return bytes;
+	}
+
+}
@@ -1,29 +1,42 @@
 package io.openems.edge.controller.api.backend;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.channel.AccessMode;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.OpenemsComponent;
 
 /**
@@ -34,10 +47,25 @@ import io.openems.edge.common.component.OpenemsComponent;
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
  * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ * 
+ * <p>
+ * Changes are tracked via onChange callbacks on the Channels, so only the
+ * values of changed Channels are serialized per Cycle. Sending values of all
+ * Channels is spread over multiple Cycles in chunks of
+ * {@link #SEND_VALUES_OF_ALL_CHANNELS_CHUNK_SIZE} Channels.
+ * 
+ * <p>
+ * Data that could not be sent is stored in a {@link PendingDataQueue} on disk.
+ * After every successful send one batch of pending data is replayed, so the
+ * Backend connection is not flooded after a reconnect.
  */
 public class SendChannelValuesWorker {
 
 	private static final int SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS = 300; /* 5 minutes */
+	protected static final int SEND_VALUES_OF_ALL_CHANNELS_CHUNK_SIZE = 1000;
+	private static final String PENDING_DATA_PATH = "backend";
+	private static final int REPLAY_MAX_MESSAGES = 60;
+	private static final int REPLAY_MAX_BYTES = 512 * 1024;
 
 	private final Logger log = LoggerFactory.getLogger(SendChannelValuesWorker.class);
 
@@ -53,19 +81,68 @@ public class SendChannelValuesWorker {
 	private AtomicBoolean sendValuesOfAllChannels = new AtomicBoolean(true);
 
 	/**
-	 * Keeps the last timestamp when all channel values were sent.
+	 * Keeps the last timestamp when sending of all channel values was started.
 	 */
 	private Instant lastSendValuesOfAllChannels = Instant.MIN;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * The Channels whose values are still to be sent in the currently running
+	 * 'send values of all channels'; null if none is running.
+	 */
+	private List<Channel<?>> sendValuesOfAllChannelsRemaining = null;
+
+	/**
+	 * The tracked Channels with their registered onChange callback.
+	 */
+	private final Map<Channel<?>, BiConsumer<?, ?>> trackedChannels = new IdentityHashMap<>();
+
+	/**
+	 * Fingerprint of the enabled Components and their Channels at the last update
+	 * of {@link #trackedChannels}.
+	 */
+	private long trackedChannelsFingerprint = 0;
+
+	/**
+	 * The Channels that changed their value since the last 'collectData()'.
 	 */
-	private Table<String, String, JsonElement> lastAllValues = ImmutableTable.of();
+	private final Set<Channel<?>> changedChannels = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The collected values that were not yet handled by a {@link SendTask}.
+	 */
+	private Map<ChannelAddress, JsonElement> unsentValues = new HashMap<>();
+
+	/**
+	 * Holds data that could not be sent; null if disabled.
+	 */
+	private volatile PendingDataQueue pendingDataQueue = null;
 
 	protected SendChannelValuesWorker(BackendApiImpl parent) {
 		this.parent = parent;
 	}
 
+	/**
+	 * Opens the on-disk buffer for data that could not be sent.
+	 * 
+	 * @param bufferSizeMb the size of the buffer in [MB]; '0' to disable
+	 */
+	public void activate(int bufferSizeMb) {
+		if (bufferSizeMb <= 0) {
+			return;
+		}
+		File file = Paths.get(OpenemsConstants.getOpenemsDataDir(), PENDING_DATA_PATH, this.parent.id() + ".pending")
+				.toFile();
+		try {
+			this.pendingDataQueue = new PendingDataQueue(file, bufferSizeMb * 1024 * 1024);
+			if (!this.pendingDataQueue.isEmpty()) {
+				this.parent.logInfo(this.log,
+						"Found [" + this.pendingDataQueue.size() + "] pending messages in [" + file + "]");
+			}
+		} catch (IOException e) {
+			this.parent.logWarn(this.log, "Unable to open pending data buffer [" + file + "]: " + e.getMessage());
+		}
+	}
+
 	/**
 	 * Triggers sending all Channel values once.
 	 */
@@ -79,45 +156,217 @@ public class SendChannelValuesWorker {
 	public void deactivate() {
 		// Shutdown executor
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+
+		// Remove onChange callbacks
+		synchronized (this) {
+			this.trackedChannels.forEach((channel, callback) -> channel.removeOnChangeCallback(callback));
+			this.trackedChannels.clear();
+			this.changedChannels.clear();
+		}
+
+		PendingDataQueue pendingDataQueue = this.pendingDataQueue;
+		if (pendingDataQueue != null) {
+			pendingDataQueue.close();
+			this.pendingDataQueue = null;
+		}
 	}
 
 	/**
-	 * Called synchronously on AFTER_PROCESS_IMAGE event. Collects all the data and
-	 * triggers asynchronous sending.
+	 * Sends one batch of pending data. Messages are removed from the queue only if
+	 * sending was successful.
+	 */
+	private void replayPendingData() {
+		final PendingDataQueue pendingDataQueue = this.pendingDataQueue;
+		if (pendingDataQueue == null || pendingDataQueue.isEmpty()) {
+			return;
+		}
+		final List<String> messages = pendingDataQueue.peek(REPLAY_MAX_MESSAGES, REPLAY_MAX_BYTES);
+		final TimestampedDataNotification batch = new TimestampedDataNotification();
+		for (String message : messages) {
+			try {
+				TimestampedDataNotification n = TimestampedDataNotification
+						.from((JsonrpcNotification) JsonrpcMessage.from(message));
+				batch.getData().putAll(n.getData());
+			} catch (OpenemsNamedException | ClassCastException e) {
+				this.parent.logWarn(this.log, "Dropping invalid pending message: " + e.getMessage());
+			}
+		}
+		if (batch.getData().isEmpty() || this.parent.websocket.sendMessage(batch)) {
+			pendingDataQueue.remove(messages.size());
+			if (this.parent.config.debugMode()) {
+				this.parent.logInfo(this.log, "Replayed [" + messages.size() + "] pending messages. Remaining ["
+						+ pendingDataQueue.size() + "]");
+			}
+		}
+	}
+
+	/**
+	 * Stores a message that could not be sent.
+	 * 
+	 * @param message the {@link TimestampedDataNotification}
+	 */
+	private void addPendingData(TimestampedDataNotification message) {
+		final PendingDataQueue pendingDataQueue = this.pendingDataQueue;
+		if (pendingDataQueue == null || message.getData().isEmpty()) {
+			return;
+		}
+		pendingDataQueue.add(message.toString());
+	}
+
+	/**
+	 * Called synchronously on AFTER_PROCESS_IMAGE event. Collects the changed data
+	 * and triggers asynchronous sending.
 	 */
 	public synchronized void collectData() {
 		Instant now = Instant.now(this.parent.componentManager.getClock());
+		final Map<ChannelAddress, JsonElement> values = this.collectValues(now);
+		if (values.isEmpty()) {
+			return;
+		}
 
-		// Update the values of all channels
+		// Add to send Queue. Values of discarded SendTasks are sent by the next one.
+		this.unsentValues.putAll(values);
+		this.executor.execute(new SendTask(this, now));
+	}
+
+	/**
+	 * Collects the values of changed Channels and the next chunk of values of all
+	 * Channels.
+	 * 
+	 * @param now the current timestamp
+	 * @return the values; empty if there is nothing to send
+	 */
+	protected synchronized Map<ChannelAddress, JsonElement> collectValues(Instant now) {
+		// Register onChange callbacks for new Channels
 		final List<OpenemsComponent> enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final ImmutableTable<String, String, JsonElement> allValues = this.collectData(enabledComponents);
+		this.updateTrackedChannels(enabledComponents);
+
+		// Start sending values of all Channels
+		if (this.sendValuesOfAllChannels.getAndSet(false)) {
+			// Send values of all Channels if explicitly asked for
+			this.startSendValuesOfAllChannels(now);
+
+		} else if (this.sendValuesOfAllChannelsRemaining == null
+				&& Duration.between(this.lastSendValuesOfAllChannels, now)
+						.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
+			// Send values of all Channels once in a while
+			this.startSendValuesOfAllChannels(now);
+		}
+
+		final Map<ChannelAddress, JsonElement> values = new HashMap<>();
 
-		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
+		// Collect changed values
+		for (Iterator<Channel<?>> iter = this.changedChannels.iterator(); iter.hasNext();) {
+			Channel<?> channel = iter.next();
+			iter.remove();
+			values.put(channel.address(), channel.value().asJson());
+		}
+
+		// Collect next chunk of values of all Channels
+		final List<Channel<?>> remaining = this.sendValuesOfAllChannelsRemaining;
+		if (remaining != null) {
+			final int size = Math.min(remaining.size(), SEND_VALUES_OF_ALL_CHANNELS_CHUNK_SIZE);
+			final List<Channel<?>> chunk = remaining.subList(remaining.size() - size, remaining.size());
+			for (Channel<?> channel : chunk) {
+				values.putIfAbsent(channel.address(), channel.value().asJson());
+			}
+			chunk.clear();
+			if (remaining.isEmpty()) {
+				this.sendValuesOfAllChannelsRemaining = null;
+			}
+		}
+
+		return values;
+	}
+
+	private void startSendValuesOfAllChannels(Instant now) {
+		this.sendValuesOfAllChannelsRemaining = new ArrayList<>(this.trackedChannels.keySet());
+		this.lastSendValuesOfAllChannels = now;
 	}
 
 	/**
-	 * Cycles through all Channels and collects the value.
+	 * Registers onChange callbacks for new Channels of the enabled Components and
+	 * removes them from Channels that disappeared.
+	 * 
+	 * <p>
+	 * The full update is only executed if the fingerprint of Components and
+	 * Channels changed.
 	 * 
 	 * @param enabledComponents the enabled components
-	 * @return collected data
 	 */
-	private ImmutableTable<String, String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
+	private void updateTrackedChannels(List<OpenemsComponent> enabledComponents) {
+		long fingerprint = enabledComponents.size();
+		for (OpenemsComponent component : enabledComponents) {
+			fingerprint = 31 * fingerprint + System.identityHashCode(component);
+			fingerprint = 31 * fingerprint + component.getChannelsVersion();
+		}
+		if (fingerprint == this.trackedChannelsFingerprint) {
+			return;
+		}
+
+		final Set<Channel<?>> channels = Collections.newSetFromMap(new IdentityHashMap<>());
 		try {
-			return enabledComponents.parallelStream() //
-					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
+			for (OpenemsComponent component : enabledComponents) {
+				for (Channel<?> channel : component.channels()) {
+					if (// Ignore WRITE_ONLY Channels
 					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
 							// Ignore Low-Priority Channels
 							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(ImmutableTable.toImmutableTable(c -> c.address().getComponentId(),
-							c -> c.address().getChannelId(), c -> c.value().asJson()));
-		} catch (Exception e) {
-			// ConcurrentModificationException can happen if Channels are dynamically added
-			// or removed
-			return ImmutableTable.of();
+									.isAtLeast(this.parent.config.persistencePriority())) {
+						channels.add(channel);
+					}
+				}
+			}
+		} catch (ConcurrentModificationException e) {
+			// Channels are dynamically added or removed; try again next Cycle
+			return;
 		}
+
+		// Remove disappeared Channels
+		for (Iterator<Entry<Channel<?>, BiConsumer<?, ?>>> iter = this.trackedChannels.entrySet().iterator(); iter
+				.hasNext();) {
+			Entry<Channel<?>, BiConsumer<?, ?>> entry = iter.next();
+			if (!channels.contains(entry.getKey())) {
+				entry.getKey().removeOnChangeCallback(entry.getValue());
+				this.changedChannels.remove(entry.getKey());
+				iter.remove();
+			}
+		}
+
+		// Add new Channels; their current value is sent with the next send
+		for (Channel<?> channel : channels) {
+			if (!this.trackedChannels.containsKey(channel)) {
+				this.trackedChannels.put(channel, this.registerOnChange(channel));
+				this.changedChannels.add(channel);
+			}
+		}
+
+		this.trackedChannelsFingerprint = fingerprint;
+	}
+
+	private <T> BiConsumer<?, ?> registerOnChange(Channel<T> channel) {
+		return channel.onChange((oldValue, newValue) -> this.changedChannels.add(channel));
+	}
+
+	/**
+	 * Takes the collected values that were not yet sent.
+	 * 
+	 * @return the values
+	 */
+	private synchronized Map<ChannelAddress, JsonElement> takeUnsentValues() {
+		final Map<ChannelAddress, JsonElement> result = this.unsentValues;
+		this.unsentValues = new HashMap<>();
+		return result;
+	}
+
+	/**
+	 * Gives back values that could not be sent. Values that were collected in the
+	 * meantime are newer and take precedence.
+	 * 
+	 * @param values the values
+	 */
+	private synchronized void returnUnsentValues(Map<ChannelAddress, JsonElement> values) {
+		values.forEach(this.unsentValues::putIfAbsent);
 	}
 
 	/*
@@ -128,49 +377,23 @@ public class SendChannelValuesWorker {
 
 		private final SendChannelValuesWorker parent;
 		private final Instant timestamp;
-		private final ImmutableTable<String, String, JsonElement> allValues;
 
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp,
-				ImmutableTable<String, String, JsonElement> allValues) {
+		public SendTask(SendChannelValuesWorker parent, Instant timestamp) {
 			this.parent = parent;
 			this.timestamp = timestamp;
-			this.allValues = allValues;
 		}
 
 		@Override
 		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final Table<String, String, JsonElement> lastAllValues;
-
-			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableTable.of();
-
-			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
-					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableTable.of();
-
-			} else {
-				// Actually use the kept 'lastSentValues'
-				lastAllValues = this.parent.lastAllValues;
-			}
-
 			// Round timestamp to Global Cycle-Time
 			final int cycleTime = this.parent.parent.cycle.getCycleTime();
 			final long timestampMillis = this.timestamp.toEpochMilli() / cycleTime * cycleTime;
 
 			// Prepare message values
-			Map<ChannelAddress, JsonElement> sendValuesMap = new HashMap<>();
-
-			// Collect Changed values
-			for (Entry<String, Map<String, JsonElement>> row : this.allValues.rowMap().entrySet()) {
-				for (Entry<String, JsonElement> column : row.getValue().entrySet()) {
-					if (!Objects.equals(column.getValue(), lastAllValues.get(row.getKey(), column.getKey()))) {
-						sendValuesMap.put(new ChannelAddress(row.getKey(), column.getKey()), column.getValue());
-					}
-				}
+			final Map<ChannelAddress, JsonElement> sendValuesMap = this.parent.takeUnsentValues();
+			if (sendValuesMap.isEmpty()) {
+				// Already sent by a previous SendTask
+				return;
 			}
 
 			// Create JSON-RPC notification
@@ -190,16 +413,20 @@ public class SendChannelValuesWorker {
 			this.parent.parent.getUnableToSendChannel().setNextValue(!wasSent);
 
 			if (wasSent) {
-				// Successfully sent: update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
-					this.parent.lastSendValuesOfAllChannels = this.timestamp;
-				}
+				// Connection is available: replay data that could not be sent before
+				this.parent.replayPendingData();
+
+			} else if (this.parent.pendingDataQueue != null) {
+				// Keep data for later
+				this.parent.addPendingData(message);
+
+			} else {
+				// Try again with the next send
+				this.parent.returnUnsentValues(sendValuesMap);
 			}
 
 		}
 
 	}
 
-}
\ No newline at end of file
+}
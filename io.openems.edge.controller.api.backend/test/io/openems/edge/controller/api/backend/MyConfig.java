@@ -18,6 +18,8 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		public int apiTimeout;
 		public PersistencePriority persistencePriority;
 		public boolean debugMode;
+		public int pendingDataBufferSize = 0;
+		public boolean compression = true;
 
 		private Builder() {
 		}
@@ -67,6 +69,16 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setPendingDataBufferSize(int pendingDataBufferSize) {
+			this.pendingDataBufferSize = pendingDataBufferSize;
+			return this;
+		}
+
+		public Builder setCompression(boolean compression) {
+			this.compression = compression;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -128,4 +140,14 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.debugMode;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public int pendingDataBufferSize() {
+		return this.builder.pendingDataBufferSize;
+	}
+
+	@Override
+	public boolean compression() {
+		return this.builder.compression;
+	}
+
+}
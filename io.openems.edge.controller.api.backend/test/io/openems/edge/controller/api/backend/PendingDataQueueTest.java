@@ -0,0 +1,63 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PendingDataQueueTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testAddPeekRemove() throws Exception {
+		File file = new File(this.folder.getRoot(), "test.pending");
+		PendingDataQueue queue = new PendingDataQueue(file, 1024);
+		assertTrue(queue.isEmpty());
+
+		queue.add("foo");
+		queue.add("bar");
+		queue.add("baz");
+		assertEquals(3, queue.size());
+
+		List<String> messages = queue.peek(2, Integer.MAX_VALUE);
+		assertEquals(List.of("foo", "bar"), messages);
+		assertEquals(3, queue.size());
+
+		queue.remove(messages.size());
+		assertEquals(List.of("baz"), queue.peek(10, Integer.MAX_VALUE));
+		queue.close();
+
+		// Reopen from disk
+		queue = new PendingDataQueue(file, 1024);
+		assertEquals(List.of("baz"), queue.peek(10, Integer.MAX_VALUE));
+		queue.close();
+	}
+
+	@Test
+	public void testDropOldestAndWrapAround() throws Exception {
+		File file = new File(this.folder.getRoot(), "test.pending");
+		PendingDataQueue queue = new PendingDataQueue(file, 20); // two records of 8 bytes fit
+
+		queue.add("1111");
+		queue.add("2222");
+		queue.add("3333"); // drops "1111", wraps around
+		assertEquals(2, queue.size());
+		assertEquals(List.of("2222", "3333"), queue.peek(10, Integer.MAX_VALUE));
+
+		queue.remove(1);
+		queue.add("4444");
+		assertEquals(List.of("3333", "4444"), queue.peek(10, Integer.MAX_VALUE));
+
+		assertFalse(queue.add("this message is too long"));
+		queue.close();
+	}
+
+}
@@ -0,0 +1,134 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.DummyComponentManager;
+
+public class SendChannelValuesWorkerTest {
+
+	private static final Instant NOW = Instant.ofEpochSecond(1577836800L);
+
+	private static class TestChannelId implements io.openems.edge.common.channel.ChannelId {
+
+		private final String name;
+
+		private TestChannelId(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public Doc doc() {
+			return Doc.of(OpenemsType.INTEGER);
+		}
+	}
+
+	private static class TestComponent extends AbstractOpenemsComponent {
+
+		private TestComponent(String id, int noOfChannels) {
+			super(OpenemsComponent.ChannelId.values());
+			for (int i = 0; i < noOfChannels; i++) {
+				this.addChannel(new TestChannelId("CHANNEL_" + i));
+			}
+			super.activate(null, id, "", true);
+		}
+	}
+
+	private static SendChannelValuesWorker createSut(OpenemsComponent component) {
+		final BackendApiImpl parent = new BackendApiImpl();
+		parent.componentManager = new DummyComponentManager().addComponent(component);
+		parent.config = MyConfig.create() //
+				.setId("ctrl0") //
+				.setPersistencePriority(PersistencePriority.VERY_LOW) //
+				.build();
+		return new SendChannelValuesWorker(parent);
+	}
+
+	@Test
+	public void testOnlyChangedChannels() {
+		final TestComponent component = new TestComponent("component0", 3);
+		final SendChannelValuesWorker sut = createSut(component);
+
+		// Initially all values
+		assertEquals(component.channels().size(), sut.collectValues(NOW).size());
+
+		// No change
+		assertTrue(sut.collectValues(NOW).isEmpty());
+
+		// Only changed value
+		IntegerReadChannel channel = component.channel("Channel1");
+		channel.setNextValue(123);
+		channel.nextProcessImage();
+		Map<ChannelAddress, JsonElement> values = sut.collectValues(NOW);
+		assertEquals(1, values.size());
+		assertEquals(new JsonPrimitive(123), values.get(new ChannelAddress("component0", "Channel1")));
+
+		// Unchanged value that was set again
+		channel.setNextValue(123);
+		channel.nextProcessImage();
+		assertTrue(sut.collectValues(NOW).isEmpty());
+
+		// All values once in a while
+		assertEquals(component.channels().size(), sut.collectValues(NOW.plusSeconds(301)).size());
+	}
+
+	@Test
+	public void testSendValuesOfAllChannelsOnReconnect() {
+		final TestComponent component = new TestComponent("component0", 3);
+		final SendChannelValuesWorker sut = createSut(component);
+		sut.collectValues(NOW);
+		assertTrue(sut.collectValues(NOW).isEmpty());
+
+		// Called on websocket open
+		sut.sendValuesOfAllChannelsOnce();
+		assertEquals(component.channels().size(), sut.collectValues(NOW).size());
+		assertTrue(sut.collectValues(NOW).isEmpty());
+	}
+
+	@Test
+	public void testChunks() {
+		final int chunkSize = SendChannelValuesWorker.SEND_VALUES_OF_ALL_CHANNELS_CHUNK_SIZE;
+		final TestComponent component = new TestComponent("component0", 2 * chunkSize + 10);
+		final int noOfChannels = component.channels().size();
+		final SendChannelValuesWorker sut = createSut(component);
+
+		// Values of new Channels are sent at once
+		assertEquals(noOfChannels, sut.collectValues(NOW).size());
+
+		// Values of all Channels are spread over multiple Cycles
+		sut.sendValuesOfAllChannelsOnce();
+		assertEquals(chunkSize, sut.collectValues(NOW).size());
+
+		// Changed values are sent in addition to the chunk
+		IntegerReadChannel channel = component.channel("Channel0");
+		channel.setNextValue(123);
+		channel.nextProcessImage();
+		Map<ChannelAddress, JsonElement> values = sut.collectValues(NOW);
+		assertTrue(values.size() == chunkSize || values.size() == chunkSize + 1);
+		assertEquals(new JsonPrimitive(123), values.get(new ChannelAddress("component0", "Channel0")));
+
+		assertEquals(noOfChannels - 2 * chunkSize, sut.collectValues(NOW).size());
+		assertTrue(sut.collectValues(NOW).isEmpty());
+	}
+
+}
@@ -23,6 +23,21 @@ public interface Controller extends OpenemsComponent {
 	 */
 	public void run() throws OpenemsNamedException;
 
+	/**
+	 * Gets the Components this Controller reads from and writes to in
+	 * {@link #run()}.
+	 *
+	 * <p>
+	 * Controllers with a declared {@link ReadWriteSet} may be executed in parallel
+	 * to other non-conflicting Controllers. By default the set is undeclared, i.e.
+	 * the Controller is always executed exclusively.
+	 *
+	 * @return the {@link ReadWriteSet}; null if undeclared
+	 */
+	public default ReadWriteSet getReadWriteSet() {
+		return null;
+	}
+
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		RUN_FAILED(Doc.of(Level.FAULT) //
 				.persistencePriority(PersistencePriority.HIGH) //
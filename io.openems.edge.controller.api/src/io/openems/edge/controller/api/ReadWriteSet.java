@@ -0,0 +1,120 @@
+package io.openems.edge.controller.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Declares the Components a {@link Controller} reads from and writes to while
+ * it is executed.
+ *
+ * <p>
+ * Entries are Component-IDs. Two Controllers conflict if one of them writes to
+ * a Component that the other one reads from or writes to. Non-conflicting
+ * Controllers may be executed in parallel, conflicting Controllers are always
+ * executed in the priority order of the Schedulers.
+ *
+ * <p>
+ * Reading the active value of a Channel (i.e. {@code channel.value()}) does not
+ * need to be declared, as the process image does not change while Controllers
+ * are executed. Declare a read only if the Controller reads 'next' values or
+ * 'next write' values, that might be set by other Controllers in the same
+ * Cycle.
+ *
+ * <p>
+ * Writing to a {@code ManagedSymmetricEss} implicitly also writes to the
+ * 'Power' Component, so all Controllers that write to any ESS keep their order.
+ */
+public final class ReadWriteSet {
+
+	/**
+	 * A Controller that neither reads nor writes Channels of other Components.
+	 */
+	public static final ReadWriteSet NONE = new ReadWriteSet(Collections.emptySet(), Collections.emptySet());
+
+	/**
+	 * Creates a {@link ReadWriteSet}.
+	 *
+	 * @param reads  the Component-IDs that are read from
+	 * @param writes the Component-IDs that are written to
+	 * @return the {@link ReadWriteSet}
+	 */
+	public static ReadWriteSet of(Collection<String> reads, Collection<String> writes) {
+		return new ReadWriteSet(//
+				Collections.unmodifiableSet(new TreeSet<>(reads)), //
+				Collections.unmodifiableSet(new TreeSet<>(writes)));
+	}
+
+	/**
+	 * Creates a {@link ReadWriteSet} that only writes.
+	 *
+	 * @param componentIds the Component-IDs that are written to
+	 * @return the {@link ReadWriteSet}
+	 */
+	public static ReadWriteSet writes(String... componentIds) {
+		return of(Collections.emptySet(), Arrays.asList(componentIds));
+	}
+
+	private final Set<String> reads;
+	private final Set<String> writes;
+
+	private ReadWriteSet(Set<String> reads, Set<String> writes) {
+		this.reads = reads;
+		this.writes = writes;
+	}
+
+	/**
+	 * Gets the Component-IDs that are read from.
+	 *
+	 * @return an unmodifiable Set of Component-IDs
+	 */
+	public Set<String> getReads() {
+		return this.reads;
+	}
+
+	/**
+	 * Gets the Component-IDs that are written to.
+	 *
+	 * @return an unmodifiable Set of Component-IDs
+	 */
+	public Set<String> getWrites() {
+		return this.writes;
+	}
+
+	/**
+	 * Does this {@link ReadWriteSet} conflict with the other one?.
+	 *
+	 * @param other the other {@link ReadWriteSet}
+	 * @return true if the Controllers must not be executed in parallel
+	 */
+	public boolean conflictsWith(ReadWriteSet other) {
+		return !Collections.disjoint(this.writes, other.writes) //
+				|| !Collections.disjoint(this.writes, other.reads) //
+				|| !Collections.disjoint(this.reads, other.writes);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ReadWriteSet)) {
+			return false;
+		}
+		ReadWriteSet other = (ReadWriteSet) obj;
+		return this.reads.equals(other.reads) && this.writes.equals(other.writes);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.reads.hashCode() + this.writes.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "ReadWriteSet [reads=" + this.reads + ", writes=" + this.writes + "]";
+	}
+
+}
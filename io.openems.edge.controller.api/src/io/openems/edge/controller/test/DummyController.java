@@ -4,6 +4,7 @@ import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ReadWriteSet;
 
 /**
  * Provides a simple, simulated {@link Controller} component that can be used
@@ -12,6 +13,7 @@ import io.openems.edge.controller.api.Controller;
 public class DummyController extends AbstractOpenemsComponent implements Controller, OpenemsComponent {
 
 	private Runnable runCallback = null;
+	private ReadWriteSet readWriteSet = null;
 
 	protected DummyController(String id, String alias,
 			io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
@@ -45,6 +47,22 @@ public class DummyController extends AbstractOpenemsComponent implements Control
 		return this;
 	}
 
+	/**
+	 * Set the {@link ReadWriteSet} of this {@link DummyController}.
+	 * 
+	 * @param readWriteSet the {@link ReadWriteSet}
+	 * @return myself
+	 */
+	public DummyController withReadWriteSet(ReadWriteSet readWriteSet) {
+		this.readWriteSet = readWriteSet;
+		return this;
+	}
+
+	@Override
+	public ReadWriteSet getReadWriteSet() {
+		return this.readWriteSet;
+	}
+
 	@Override
 	public void run() {
 		if (this.runCallback != null) {
@@ -24,6 +24,7 @@ import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ReadWriteSet;
 
 @Designate(ocd = Config.class, factory = true)
 @Component(name = "Controller.ChannelThreshold", immediate = true, configurationPolicy = ConfigurationPolicy.REQUIRE)
@@ -60,6 +61,7 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 
 	private ChannelAddress inputChannelAddress;
 	private ChannelAddress outputChannelAddress;
+	private ReadWriteSet readWriteSet;
 	private int lowThreshold = 0;
 	private int highThreshold = 0;
 	private int hysteresis = 0;
@@ -76,6 +78,7 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 		this.invertOutput = config.invert();
 		this.inputChannelAddress = ChannelAddress.fromString(config.inputChannelAddress());
 		this.outputChannelAddress = ChannelAddress.fromString(config.outputChannelAddress());
+		this.readWriteSet = ReadWriteSet.writes(this.outputChannelAddress.getComponentId());
 
 		super.activate(context, config.id(), config.alias(), config.enabled());
 	}
@@ -99,6 +102,11 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 	 */
 	private boolean applyLowHysteresis = true;
 
+	@Override
+	public ReadWriteSet getReadWriteSet() {
+		return this.readWriteSet;
+	}
+
 	@Override
 	public void run() throws IllegalArgumentException, OpenemsNamedException {
 		/*
@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
@@ -186,11 +187,13 @@ public class EmergencyCapacityReserveImpl extends AbstractOpenemsComponent
 	 */
 	private OptionalInt getLastValidSoc(IntegerReadChannel channel) {
 		// get first defined value
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(value -> value.isDefined()) //
-				.mapToInt(value -> value.get()) //
-				.findFirst();
+		PastValues<Integer> pastValues = channel.getPastValues();
+		for (int i = 0; i < pastValues.size(); i++) {
+			if (pastValues.isDefined(i)) {
+				return OptionalInt.of(pastValues.get(i));
+			}
+		}
+		return OptionalInt.empty();
 	}
 
 	@Override
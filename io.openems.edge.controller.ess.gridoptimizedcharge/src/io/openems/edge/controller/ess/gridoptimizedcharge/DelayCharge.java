@@ -1,6 +1,5 @@
 package io.openems.edge.controller.ess.gridoptimizedcharge;
 
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
@@ -8,14 +7,13 @@ import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.OptionalDouble;
-import java.util.stream.IntStream;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.ess.power.api.Phase;
 import io.openems.edge.ess.power.api.Pwr;
 import io.openems.edge.predictor.api.oneday.Prediction24Hours;
@@ -284,23 +282,21 @@ public class DelayCharge {
 		 */
 		IntegerReadChannel delayChargeLimitRawChannel = this.parent.getRawDelayChargeLimitChannel();
 
-		IntStream pastLimits = delayChargeLimitRawChannel.getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900), true) //
-				.values().stream().filter(v -> v.isDefined()).mapToInt(v -> v.get());
-
-		IntStream currentLimit = IntStream.of(calculatedPower);
-
-		// Concat the limit values of the last 900 seconds with the current limit
-		IntStream limits = IntStream.concat(pastLimits, currentLimit); //
-
-		// Get the average of the past values including the current
-		OptionalDouble limitValueOpt = limits.average();
-
-		if (!limitValueOpt.isPresent()) {
-			return null;
+		PastValues<Integer> pastLimits = delayChargeLimitRawChannel.getPastValues();
+		long since = this.parent.componentManager.getClock().millis() - 900_000L;
+
+		// Get the average of the limit values of the last 900 seconds including the
+		// current limit
+		double sum = calculatedPower;
+		int count = 1;
+		for (int i = pastLimits.indexOf(since, true); i < pastLimits.size(); i++) {
+			if (pastLimits.isDefined(i)) {
+				sum += pastLimits.getAsDouble(i);
+				count++;
+			}
 		}
 
-		return (int) Math.round(limitValueOpt.getAsDouble());
+		return (int) Math.round(sum / count);
 	}
 
 	/**
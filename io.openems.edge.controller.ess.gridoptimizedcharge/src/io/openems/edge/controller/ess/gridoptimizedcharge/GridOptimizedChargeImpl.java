@@ -2,10 +2,7 @@ package io.openems.edge.controller.ess.gridoptimizedcharge;
 
 import java.time.Clock;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.OptionalDouble;
 
 import org.osgi.service.cm.ConfigurationAdmin;
@@ -25,6 +22,7 @@ import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
@@ -363,22 +361,17 @@ public class GridOptimizedChargeImpl extends AbstractOpenemsComponent
 	private OptionalDouble getChannelAverageOfPastSeconds(int consideredSeconds, IntegerReadChannel channel) {
 
 		// Get the past channel values
-		Collection<Value<Integer>> pastValues = channel.getPastValues()
-				.tailMap(LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds), true)
-				.values();
+		PastValues<Integer> pastValues = channel.getPastValues();
+		long since = this.componentManager.getClock().millis() - consideredSeconds * 1000L;
 
 		// Make sure we have at least one value
-		if (pastValues.isEmpty()) {
-			pastValues = new ArrayList<Value<Integer>>();
-			pastValues.add(channel.value());
+		if (pastValues.indexOf(since, true) == pastValues.size()) {
+			Value<Integer> value = channel.value();
+			return value.isDefined() ? OptionalDouble.of(value.get()) : OptionalDouble.empty();
 		}
 
 		// Get the average of the past values
-		OptionalDouble averageOpt = pastValues.stream().filter(v -> v.isDefined()) //
-				.mapToInt(v -> v.get()) //
-				.average();
-
-		return averageOpt;
+		return pastValues.average(since, true);
 	}
 
 	protected void logDebug(String message) {
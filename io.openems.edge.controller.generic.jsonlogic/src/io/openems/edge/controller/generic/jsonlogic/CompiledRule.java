@@ -0,0 +1,537 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.ComponentManager;
+
+/**
+ * A JsonLogic rule that is compiled once to a tree of {@link Expression}s.
+ *
+ * <p>
+ * Every 'var' refers to the value of a Channel. The value is read at most once
+ * per evaluation and only if the branch that uses it is actually evaluated, as
+ * 'if', 'and' and 'or' are short-circuited. Sub-expressions that do not depend
+ * on any 'var' are folded to constants at compile time.
+ *
+ * <p>
+ * The semantics follow the 'json-logic-java' library: number literals are
+ * Doubles and comparisons with non-numeric values are false. Rules with
+ * operations that are not supported here are not compiled (see
+ * {@link #compile(JsonElement)}).
+ *
+ * <p>
+ * This class is not thread-safe; it is evaluated by the Controller only.
+ */
+class CompiledRule {
+
+	@FunctionalInterface
+	private interface Expression {
+		Object evaluate(CompiledRule rule) throws OpenemsNamedException;
+	}
+
+	@FunctionalInterface
+	private interface Operation {
+		Object apply(Object[] values);
+	}
+
+	private static class Constant implements Expression {
+
+		private static final Constant NULL = new Constant(null);
+
+		private final Object value;
+
+		private Constant(Object value) {
+			this.value = value;
+		}
+
+		@Override
+		public Object evaluate(CompiledRule rule) {
+			return this.value;
+		}
+	}
+
+	/**
+	 * Signals an operation that is not supported by the compiler.
+	 */
+	private static class UnsupportedRuleException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		private UnsupportedRuleException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * Compiles a JsonLogic rule.
+	 *
+	 * @param rule the JsonLogic rule
+	 * @return the {@link CompiledRule}; null if the rule uses operations that are
+	 *         not supported by the compiler
+	 * @throws OpenemsNamedException if a 'var' is not a valid
+	 *                               {@link ChannelAddress}
+	 */
+	public static CompiledRule compile(JsonElement rule) throws OpenemsNamedException {
+		Compiler compiler = new Compiler();
+		try {
+			Expression root = compiler.compile(rule);
+			return new CompiledRule(root, compiler.inputs.keySet().toArray(new ChannelAddress[0]));
+		} catch (UnsupportedRuleException e) {
+			return null;
+		}
+	}
+
+	private final Expression root;
+	private final ChannelAddress[] inputs;
+	private final Object[] values;
+	private final boolean[] isRead;
+
+	private ComponentManager componentManager = null;
+
+	private CompiledRule(Expression root, ChannelAddress[] inputs) {
+		this.root = root;
+		this.inputs = inputs;
+		this.values = new Object[inputs.length];
+		this.isRead = new boolean[inputs.length];
+	}
+
+	/**
+	 * Evaluates the rule with the current values of the Channels.
+	 *
+	 * @param componentManager the {@link ComponentManager} to get the Channels
+	 * @return the result
+	 * @throws OpenemsNamedException if a required Channel is not available
+	 */
+	public Object apply(ComponentManager componentManager) throws OpenemsNamedException {
+		this.componentManager = componentManager;
+		Arrays.fill(this.isRead, false);
+		try {
+			return this.root.evaluate(this);
+		} finally {
+			Arrays.fill(this.values, null);
+			this.componentManager = null;
+		}
+	}
+
+	/**
+	 * Is the result of this rule independent of any Channel?.
+	 *
+	 * @return true if the rule was folded to a constant
+	 */
+	public boolean isConstant() {
+		return this.root instanceof Constant;
+	}
+
+	private Object read(int index) throws OpenemsNamedException {
+		if (!this.isRead[index]) {
+			this.values[index] = this.componentManager.getChannel(this.inputs[index]).value().get();
+			this.isRead[index] = true;
+		}
+		return this.values[index];
+	}
+
+	/**
+	 * Builds the {@link Expression} tree and collects the input Channels.
+	 */
+	private static class Compiler {
+
+		private final Map<ChannelAddress, Integer> inputs = new LinkedHashMap<>();
+
+		private Expression compile(JsonElement json) throws OpenemsNamedException, UnsupportedRuleException {
+			if (json == null || json.isJsonNull()) {
+				return Constant.NULL;
+			}
+			if (json.isJsonPrimitive()) {
+				JsonPrimitive primitive = json.getAsJsonPrimitive();
+				if (primitive.isBoolean()) {
+					return new Constant(primitive.getAsBoolean());
+				} else if (primitive.isNumber()) {
+					return new Constant(primitive.getAsDouble());
+				} else {
+					return new Constant(primitive.getAsString());
+				}
+			}
+			if (json.isJsonArray()) {
+				return array(this.compileAll(json.getAsJsonArray()));
+			}
+
+			JsonObject object = json.getAsJsonObject();
+			if (object.size() != 1) {
+				throw new UnsupportedRuleException("Expected exactly one operation in " + json);
+			}
+			Entry<String, JsonElement> entry = object.entrySet().iterator().next();
+			String operator = entry.getKey();
+			JsonElement arguments = entry.getValue();
+			if (operator.equals("var")) {
+				return this.var(arguments);
+			}
+			final Expression[] args;
+			if (arguments.isJsonArray()) {
+				args = this.compileAll(arguments.getAsJsonArray());
+			} else {
+				args = new Expression[] { this.compile(arguments) };
+			}
+
+			switch (operator) {
+			case "if":
+			case "?:":
+				return ifThenElse(args);
+			case "and":
+				return andOr(args, true);
+			case "or":
+				return andOr(args, false);
+			case "!":
+				return eager(args, 1, 1, values -> !truthy(values[0]));
+			case "!!":
+				return eager(args, 1, 1, values -> truthy(values[0]));
+			case "==":
+				return eager(args, 2, 2, values -> looseEquals(values[0], values[1]));
+			case "!=":
+				return eager(args, 2, 2, values -> !looseEquals(values[0], values[1]));
+			case "===":
+				return eager(args, 2, 2, values -> strictEquals(values[0], values[1]));
+			case "!==":
+				return eager(args, 2, 2, values -> !strictEquals(values[0], values[1]));
+			case "<":
+				return eager(args, 2, 3, values -> compare(values, (a, b) -> a < b));
+			case "<=":
+				return eager(args, 2, 3, values -> compare(values, (a, b) -> a <= b));
+			case ">":
+				return eager(args, 2, 2, values -> compare(values, (a, b) -> a > b));
+			case ">=":
+				return eager(args, 2, 2, values -> compare(values, (a, b) -> a >= b));
+			case "+":
+				return eager(args, 1, Integer.MAX_VALUE, values -> reduce(values, (a, b) -> a + b));
+			case "*":
+				return eager(args, 1, Integer.MAX_VALUE, values -> reduce(values, (a, b) -> a * b));
+			case "-":
+				if (args.length == 1) {
+					// Negation; '-0' like the JsonLogic library
+					return eager(args, 1, 1, values -> {
+						Double value = toDouble(values[0]);
+						return value == null ? null : -value;
+					});
+				}
+				return eager(args, 2, 2, values -> reduce(values, (a, b) -> a - b));
+			case "/":
+				return eager(args, 2, 2, values -> reduce(values, (a, b) -> a / b));
+			case "%":
+				return eager(args, 2, 2, values -> reduce(values, (a, b) -> a % b));
+			case "min":
+				return eager(args, 1, Integer.MAX_VALUE, values -> reduce(values, Math::min));
+			case "max":
+				return eager(args, 1, Integer.MAX_VALUE, values -> reduce(values, Math::max));
+			default:
+				throw new UnsupportedRuleException("Unsupported operation [" + operator + "]");
+			}
+		}
+
+		private Expression[] compileAll(JsonArray array) throws OpenemsNamedException, UnsupportedRuleException {
+			Expression[] result = new Expression[array.size()];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = this.compile(array.get(i));
+			}
+			return result;
+		}
+
+		/**
+		 * Compiles a 'var' with a ChannelAddress and an optional default value.
+		 *
+		 * @param arguments the arguments of the 'var'
+		 * @return the {@link Expression}
+		 * @throws OpenemsNamedException    if the ChannelAddress is invalid
+		 * @throws UnsupportedRuleException if the 'var' is not a fixed String
+		 */
+		private Expression var(JsonElement arguments) throws OpenemsNamedException, UnsupportedRuleException {
+			final JsonElement name;
+			final Expression defaultValue;
+			if (arguments.isJsonArray() && arguments.getAsJsonArray().size() > 0) {
+				JsonArray array = arguments.getAsJsonArray();
+				name = array.get(0);
+				defaultValue = array.size() > 1 ? this.compile(array.get(1)) : Constant.NULL;
+			} else {
+				name = arguments;
+				defaultValue = Constant.NULL;
+			}
+			if (!name.isJsonPrimitive() || !name.getAsJsonPrimitive().isString()) {
+				throw new UnsupportedRuleException("Unsupported var " + arguments);
+			}
+			ChannelAddress address = ChannelAddress.fromString(name.getAsString());
+			final int index = this.inputs.computeIfAbsent(address, a -> this.inputs.size());
+			return rule -> {
+				Object value = rule.read(index);
+				if (value != null) {
+					return value;
+				}
+				return defaultValue.evaluate(rule);
+			};
+		}
+	}
+
+	private static Expression array(Expression[] elements) {
+		if (allConstant(elements)) {
+			List<Object> result = new ArrayList<>(elements.length);
+			for (Expression element : elements) {
+				result.add(((Constant) element).value);
+			}
+			return new Constant(Collections.unmodifiableList(result));
+		}
+		return rule -> {
+			List<Object> result = new ArrayList<>(elements.length);
+			for (Expression element : elements) {
+				result.add(element.evaluate(rule));
+			}
+			return result;
+		};
+	}
+
+	private static Expression ifThenElse(Expression[] args) {
+		List<Expression> conditions = new ArrayList<>();
+		List<Expression> results = new ArrayList<>();
+		Expression otherwise = args.length % 2 == 1 ? args[args.length - 1] : Constant.NULL;
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if (args[i] instanceof Constant) {
+				if (truthy(((Constant) args[i]).value)) {
+					// Following branches are never reached
+					otherwise = args[i + 1];
+					break;
+				}
+				// Branch is never taken
+				continue;
+			}
+			conditions.add(args[i]);
+			results.add(args[i + 1]);
+		}
+		if (conditions.isEmpty()) {
+			return otherwise;
+		}
+		final Expression[] c = conditions.toArray(new Expression[conditions.size()]);
+		final Expression[] r = results.toArray(new Expression[results.size()]);
+		final Expression e = otherwise;
+		return rule -> {
+			for (int i = 0; i < c.length; i++) {
+				if (truthy(c[i].evaluate(rule))) {
+					return r[i].evaluate(rule);
+				}
+			}
+			return e.evaluate(rule);
+		};
+	}
+
+	/**
+	 * Creates an 'and' or 'or'. Both return the first argument that decides the
+	 * result, or the last argument.
+	 *
+	 * @param args  the arguments
+	 * @param isAnd true for 'and', false for 'or'
+	 * @return the {@link Expression}
+	 */
+	private static Expression andOr(Expression[] args, boolean isAnd) {
+		List<Expression> operands = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			Expression arg = args[i];
+			if (arg instanceof Constant) {
+				boolean isDeciding = truthy(((Constant) arg).value) != isAnd;
+				if (isDeciding || i == args.length - 1) {
+					operands.add(arg);
+					break;
+				}
+				// Never decides the result
+				continue;
+			}
+			operands.add(arg);
+		}
+		if (operands.isEmpty()) {
+			return Constant.NULL;
+		}
+		if (operands.size() == 1 && operands.get(0) instanceof Constant) {
+			return operands.get(0);
+		}
+		final Expression[] o = operands.toArray(new Expression[operands.size()]);
+		return rule -> {
+			Object result = null;
+			for (Expression operand : o) {
+				result = operand.evaluate(rule);
+				if (truthy(result) != isAnd) {
+					return result;
+				}
+			}
+			return result;
+		};
+	}
+
+	/**
+	 * Creates an {@link Expression} that evaluates all its arguments.
+	 *
+	 * @param args      the arguments
+	 * @param min       the min number of arguments
+	 * @param max       the max number of arguments
+	 * @param operation the {@link Operation} on the argument values
+	 * @return the {@link Expression}; a {@link Constant} if all arguments are
+	 *         constant
+	 * @throws UnsupportedRuleException on unsupported number of arguments
+	 */
+	private static Expression eager(Expression[] args, int min, int max, Operation operation)
+			throws UnsupportedRuleException {
+		if (args.length < min || args.length > max) {
+			throw new UnsupportedRuleException("Unsupported number of arguments [" + args.length + "]");
+		}
+		if (allConstant(args)) {
+			Object[] values = new Object[args.length];
+			for (int i = 0; i < args.length; i++) {
+				values[i] = ((Constant) args[i]).value;
+			}
+			return new Constant(operation.apply(values));
+		}
+		return rule -> {
+			Object[] values = new Object[args.length];
+			for (int i = 0; i < args.length; i++) {
+				values[i] = args[i].evaluate(rule);
+			}
+			return operation.apply(values);
+		};
+	}
+
+	private static boolean allConstant(Expression[] expressions) {
+		for (Expression expression : expressions) {
+			if (!(expression instanceof Constant)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@FunctionalInterface
+	private interface DoubleComparison {
+		boolean test(double a, double b);
+	}
+
+	@FunctionalInterface
+	private interface DoubleOperation {
+		double apply(double a, double b);
+	}
+
+	/**
+	 * Compares every value with its successor.
+	 *
+	 * @param values     the values
+	 * @param comparison the comparison
+	 * @return true if all comparisons are true; false if any value is not numeric
+	 */
+	private static boolean compare(Object[] values, DoubleComparison comparison) {
+		Double previous = toDouble(values[0]);
+		if (previous == null) {
+			return false;
+		}
+		for (int i = 1; i < values.length; i++) {
+			Double value = toDouble(values[i]);
+			if (value == null || !comparison.test(previous, value)) {
+				return false;
+			}
+			previous = value;
+		}
+		return true;
+	}
+
+	/**
+	 * Applies an arithmetic operation on all values from left to right.
+	 *
+	 * @param values    the values
+	 * @param operation the operation
+	 * @return the result; null if any value is not numeric
+	 */
+	private static Double reduce(Object[] values, DoubleOperation operation) {
+		Double result = toDouble(values[0]);
+		if (result == null) {
+			return null;
+		}
+		for (int i = 1; i < values.length; i++) {
+			Double value = toDouble(values[i]);
+			if (value == null) {
+				return null;
+			}
+			result = operation.apply(result, value);
+		}
+		return result;
+	}
+
+	private static Double toDouble(Object value) {
+		if (value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		if (value instanceof String) {
+			try {
+				return Double.parseDouble((String) value);
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private static boolean looseEquals(Object a, Object b) {
+		if (a == null || b == null) {
+			return a == b;
+		}
+		if (isNumeric(a) || isNumeric(b)) {
+			Double x = toDouble(a instanceof Boolean ? ((Boolean) a ? 1. : 0.) : a);
+			Double y = toDouble(b instanceof Boolean ? ((Boolean) b ? 1. : 0.) : b);
+			return x != null && y != null && x.doubleValue() == y.doubleValue();
+		}
+		return a.equals(b);
+	}
+
+	private static boolean strictEquals(Object a, Object b) {
+		if (a instanceof Number && b instanceof Number) {
+			return ((Number) a).doubleValue() == ((Number) b).doubleValue();
+		}
+		if (a == null || b == null) {
+			return a == b;
+		}
+		return a.equals(b);
+	}
+
+	private static boolean isNumeric(Object value) {
+		return value instanceof Number || value instanceof Boolean;
+	}
+
+	/**
+	 * Evaluates the JsonLogic 'truthiness' of a value.
+	 *
+	 * @param value the value
+	 * @return false for null, false, 0, NaN, empty String and empty List
+	 */
+	private static boolean truthy(Object value) {
+		if (value == null) {
+			return false;
+		}
+		if (value instanceof Boolean) {
+			return (Boolean) value;
+		}
+		if (value instanceof Number) {
+			double d = ((Number) value).doubleValue();
+			return d != 0 && !Double.isNaN(d);
+		}
+		if (value instanceof String) {
+			return !((String) value).isEmpty();
+		}
+		if (value instanceof List) {
+			return !((List<?>) value).isEmpty();
+		}
+		return true;
+	}
+
+}
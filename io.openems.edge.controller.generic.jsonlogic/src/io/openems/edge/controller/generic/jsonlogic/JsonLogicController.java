@@ -13,6 +13,8 @@ import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
@@ -38,11 +40,23 @@ import io.openems.edge.controller.api.Controller;
 )
 public class JsonLogicController extends AbstractOpenemsComponent implements Controller, OpenemsComponent {
 
+	private final Logger log = LoggerFactory.getLogger(JsonLogicController.class);
 	private final JsonLogic jsonLogic = new JsonLogic();
 	private final List<ChannelAddress> channelAddresses = new ArrayList<>();
 
+	/**
+	 * Output ChannelAddresses by their String representation, so they are parsed
+	 * only once.
+	 */
+	private final Map<String, ChannelAddress> outputChannelAddresses = new HashMap<>();
+
 	private Config config = null;
 
+	/**
+	 * The compiled rule; null if the rule is interpreted by the JsonLogic library.
+	 */
+	private CompiledRule compiledRule = null;
+
 	@Reference
 	private ComponentManager componentManager;
 
@@ -74,7 +88,12 @@ public class JsonLogicController extends AbstractOpenemsComponent implements Con
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.config = config;
 
-		this.recursivelyParseVars(JsonUtils.parse(config.rule()));
+		JsonElement rule = JsonUtils.parse(config.rule());
+		this.compiledRule = CompiledRule.compile(rule);
+		if (this.compiledRule == null) {
+			this.logInfo(this.log, "Rule uses unsupported operations. Falling back to JsonLogic library.");
+			this.recursivelyParseVars(rule);
+		}
 	}
 
 	@Deactivate
@@ -116,6 +135,35 @@ public class JsonLogicController extends AbstractOpenemsComponent implements Con
 
 	@Override
 	public void run() throws OpenemsNamedException {
+		// Apply JsonLogic rule
+		Object result;
+		if (this.compiledRule != null) {
+			result = this.compiledRule.apply(this.componentManager);
+		} else {
+			result = this.applyWithLibrary();
+		}
+
+		// Get Set-Channel requests
+		try {
+			for (Object entry : (List<?>) result) {
+				List<?> request = (List<?>) entry;
+				ChannelAddress channelAddress = this.getOutputChannelAddress((String) request.get(0));
+				WriteChannel<?> channel = this.componentManager.getChannel(channelAddress);
+				Object value = request.get(1);
+				channel.setNextWriteValueFromObject(value);
+			}
+		} catch (ClassCastException e) {
+			throw new OpenemsException("Result is not a JsonArray: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Applies the rule using the JsonLogic library.
+	 * 
+	 * @return the result
+	 * @throws OpenemsNamedException on error
+	 */
+	private Object applyWithLibrary() throws OpenemsNamedException {
 		// Read JsonLogic data from Channels
 		Map<String, Object> data = new HashMap<>();
 		for (ChannelAddress channelAddress : this.channelAddresses) {
@@ -123,24 +171,20 @@ public class JsonLogicController extends AbstractOpenemsComponent implements Con
 			data.put(channelAddress.toString(), value);
 		}
 
-		// Apply JsonLogic rule
-		List<?> result;
 		try {
-			result = (List<?>) this.jsonLogic.apply(this.config.rule(), data);
+			return this.jsonLogic.apply(this.config.rule(), data);
 		} catch (JsonLogicException e) {
 			throw new OpenemsException("JsonLogicException: " + e.getMessage());
-		} catch (ClassCastException e) {
-			throw new OpenemsException("Result is not a JsonArray: " + e.getMessage());
 		}
+	}
 
-		// Get Set-Channel requests
-		for (Object entry : result) {
-			List<?> request = (List<?>) entry;
-			ChannelAddress channelAddress = ChannelAddress.fromString((String) request.get(0));
-			WriteChannel<?> channel = this.componentManager.getChannel(channelAddress);
-			Object value = request.get(1);
-			channel.setNextWriteValueFromObject(value);
+	private ChannelAddress getOutputChannelAddress(String address) throws OpenemsNamedException {
+		ChannelAddress result = this.outputChannelAddresses.get(address);
+		if (result == null) {
+			result = ChannelAddress.fromString(address);
+			this.outputChannelAddresses.put(address, result);
 		}
+		return result;
 	}
 }
 
@@ -0,0 +1,152 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.github.meiskalt7.jsonlogic.JsonLogic;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.test.DummyComponentManager;
+
+public class CompiledRuleTest {
+
+	private static final String SOC = "{\"var\": \"_sum/EssSoc\"}";
+
+	/**
+	 * Rules that are evaluated by both {@link CompiledRule} and the JsonLogic
+	 * library.
+	 */
+	private static final String[] RULES = { //
+			// Loose equality
+			"{\"==\": [\"1\", 1]}", //
+			"{\"==\": [1, true]}", //
+			"{\"==\": [\"1\", true]}", //
+			"{\"==\": [" + SOC + ", \"40\"]}", //
+			"{\"!=\": [" + SOC + ", 40]}", //
+			// Strict equality of Integer Channel value and Double literal
+			"{\"===\": [" + SOC + ", 40]}", //
+			"{\"!==\": [" + SOC + ", 40]}", //
+			// Truthiness
+			"{\"!\": [[]]}", //
+			"{\"!\": [" + SOC + "]}", //
+			"{\"!!\": [" + SOC + "]}", //
+			// Arithmetic
+			"{\"/\": [1, 0]}", //
+			"{\"/\": [" + SOC + ", 0]}", //
+			"{\"-\": [" + SOC + "]}", //
+			"{\"+\": [" + SOC + ", 1, 2]}", //
+			"{\"%\": [" + SOC + ", 7]}", //
+			"{\"max\": [" + SOC + ", 50]}", //
+			// Default value of 'var' if the Channel has no value
+			"{\"var\": [\"_sum/EssSoc\", 7]}", //
+			// Comparison; '<' and '<=' with three arguments check a range
+			"{\"<\": [" + SOC + ", 50]}", //
+			"{\">=\": [" + SOC + ", 40]}", //
+			"{\"<\": [0, " + SOC + ", 50]}", //
+			"{\"<=\": [0, " + SOC + ", 40]}", //
+			// Logic
+			"{\"and\": [" + SOC + ", \"x\"]}", //
+			"{\"or\": [" + SOC + ", 0]}", //
+			"{\"if\": [{\"<\": [" + SOC + ", 50]}, [[\"ess0/SetActivePowerEquals\", 5000]], []]}", //
+	};
+
+	private static CompiledRule compile(String rule) throws Exception {
+		return CompiledRule.compile(JsonUtils.parse(rule));
+	}
+
+	/**
+	 * Converts all numbers to Double, as the JsonLogic library returns Channel
+	 * values as they are.
+	 *
+	 * @param value the result of a rule
+	 * @return the normalized result
+	 */
+	private static Object normalize(Object value) {
+		if (value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		if (value instanceof List) {
+			List<Object> result = new ArrayList<>();
+			for (Object element : (List<?>) value) {
+				result.add(normalize(element));
+			}
+			return result;
+		}
+		return value;
+	}
+
+	@Test
+	public void testSameResultAsLibrary() throws Exception {
+		final JsonLogic jsonLogic = new JsonLogic();
+		final DummySum sum = new DummySum();
+		final DummyComponentManager componentManager = new DummyComponentManager().addComponent(sum);
+		final IntegerReadChannel soc = sum.channel(Sum.ChannelId.ESS_SOC);
+
+		for (Integer value : new Integer[] { null, 0, 40, 75 }) {
+			soc.setNextValue(value);
+			soc.nextProcessImage();
+			Map<String, Object> data = new HashMap<>();
+			data.put("_sum/EssSoc", value);
+
+			for (String rule : RULES) {
+				CompiledRule compiledRule = compile(rule);
+				assertNotNull(rule, compiledRule);
+				assertEquals(rule + " with EssSoc [" + value + "]", //
+						normalize(jsonLogic.apply(rule, data)), //
+						normalize(compiledRule.apply(componentManager)));
+			}
+		}
+	}
+
+	@Test
+	public void testConstantFolding() throws Exception {
+		CompiledRule rule = compile("{\"if\": [{\"<\": [1, 2]}, [[\"ess0/SetActivePowerEquals\", 5000]], []]}");
+		assertTrue(rule.isConstant());
+		assertEquals(List.of(List.of("ess0/SetActivePowerEquals", 5000.)),
+				rule.apply(new DummyComponentManager()));
+
+		assertTrue(compile("{\"+\": [1, {\"*\": [2, 3]}]}").isConstant());
+		assertFalse(compile("{\"+\": [1, {\"var\": \"_sum/EssSoc\"}]}").isConstant());
+	}
+
+	@Test
+	public void testShortCircuit() throws Exception {
+		DummySum sum = new DummySum();
+		DummyComponentManager componentManager = new DummyComponentManager().addComponent(sum);
+		IntegerReadChannel soc = sum.channel(Sum.ChannelId.ESS_SOC);
+		soc.setNextValue(40);
+		soc.nextProcessImage();
+
+		// 'ess0' does not exist, but is never read
+		CompiledRule rule = compile("{\"if\": [" //
+				+ "{\"or\": [{\"<\": [{\"var\": \"_sum/EssSoc\"}, 50]}, {\"var\": \"ess0/Soc\"}]}," //
+				+ "[[\"ess0/SetActivePowerEquals\", 5000]]," //
+				+ "[]]}");
+		assertEquals(List.of(List.of("ess0/SetActivePowerEquals", 5000.)), rule.apply(componentManager));
+	}
+
+	@Test
+	public void testVarDefault() throws Exception {
+		DummyComponentManager componentManager = new DummyComponentManager().addComponent(new DummySum());
+		CompiledRule rule = compile("{\"var\": [\"_sum/EssSoc\", 7]}");
+		assertEquals(7., rule.apply(componentManager));
+	}
+
+	@Test
+	public void testUnsupported() throws Exception {
+		assertNull(compile("{\"cat\": [\"a\", \"b\"]}"));
+	}
+
+}
@@ -23,6 +23,7 @@ import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ReadWriteSet;
 
 @Designate(ocd = Config.class, factory = true)
 @Component(//
@@ -37,6 +38,7 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 	protected ComponentManager componentManager;
 
 	private Config config;
+	private ReadWriteSet readWriteSet;
 
 	public IoAlarm() {
 		super(//
@@ -64,6 +66,8 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 	void activate(ComponentContext context, Config config) throws OpenemsNamedException {
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.config = config;
+		this.readWriteSet = ReadWriteSet
+				.writes(ChannelAddress.fromString(config.outputChannelAddress()).getComponentId());
 	}
 
 	@Deactivate
@@ -71,6 +75,11 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 		super.deactivate();
 	}
 
+	@Override
+	public ReadWriteSet getReadWriteSet() {
+		return this.readWriteSet;
+	}
+
 	@Override
 	public void run() throws IllegalArgumentException, OpenemsNamedException {
 		boolean setOutput = false;
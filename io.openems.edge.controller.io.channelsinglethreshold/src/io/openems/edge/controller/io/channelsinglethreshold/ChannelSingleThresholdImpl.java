@@ -3,7 +3,6 @@ package io.openems.edge.controller.io.channelsinglethreshold;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.OptionalDouble;
@@ -25,6 +24,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
@@ -150,19 +150,17 @@ public class ChannelSingleThresholdImpl extends AbstractOpenemsComponent
 
 		// Get average input value of the last 'minimumSwitchingTime' seconds
 		IntegerReadChannel inputChannel = this.componentManager.getChannel(inputChannelAddress);
-		Collection<Value<Integer>> values = inputChannel.getPastValues().tailMap(
-				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()),
-				true).values();
+		PastValues<Integer> values = inputChannel.getPastValues();
+		long since = this.componentManager.getClock().millis() - this.config.minimumSwitchingTime() * 1000L;
 
-		// make sure we have at least one value
-		if (values.isEmpty()) {
-			values = new ArrayList<Value<Integer>>();
-			values.add(inputChannel.value());
+		final OptionalDouble inputValueOpt;
+		if (values.indexOf(since, true) == values.size()) {
+			// make sure we have at least one value
+			Value<Integer> value = inputChannel.value();
+			inputValueOpt = value.isDefined() ? OptionalDouble.of(value.get()) : OptionalDouble.empty();
+		} else {
+			inputValueOpt = values.average(since, true);
 		}
-
-		OptionalDouble inputValueOpt = values.stream().filter(v -> v.isDefined()) //
-				.mapToInt(v -> v.get()) //
-				.average();
 		int inputValue;
 		if (inputValueOpt.isPresent()) {
 			inputValue = (int) Math.round(inputValueOpt.getAsDouble());
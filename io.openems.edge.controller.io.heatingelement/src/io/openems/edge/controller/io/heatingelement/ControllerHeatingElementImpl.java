@@ -25,6 +25,7 @@ import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ReadWriteSet;
 
 @Designate(ocd = Config.class, factory = true)
 @Component(name = "Controller.IO.HeatingElement", //
@@ -46,6 +47,7 @@ public class ControllerHeatingElementImpl extends AbstractOpenemsComponent
 	 * Holds the minimum time the phases should be switch on in [Ws].
 	 */
 	private long minimumTotalPhaseTime;
+	private ReadWriteSet readWriteSet;
 
 	@Reference
 	protected ComponentManager componentManager;
@@ -81,9 +83,18 @@ public class ControllerHeatingElementImpl extends AbstractOpenemsComponent
 		super.deactivate();
 	}
 
-	private void updateConfig(Config config) {
+	private void updateConfig(Config config) throws OpenemsNamedException {
 		this.config = config;
 		this.minimumTotalPhaseTime = calculateMinimumTotalPhaseTime(config);
+		this.readWriteSet = ReadWriteSet.writes(//
+				ChannelAddress.fromString(config.outputChannelPhaseL1()).getComponentId(), //
+				ChannelAddress.fromString(config.outputChannelPhaseL2()).getComponentId(), //
+				ChannelAddress.fromString(config.outputChannelPhaseL3()).getComponentId());
+	}
+
+	@Override
+	public ReadWriteSet getReadWriteSet() {
+		return this.readWriteSet;
 	}
 
 	@Override
@@ -0,0 +1,116 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Indexes a list of OpenEMS Components by their Component-ID and caches
+ * resolved Channels by their {@link ChannelAddress}.
+ *
+ * <p>
+ * An index belongs to exactly one list of Components. OSGi replaces the list
+ * whenever a Component is activated or deactivated; the
+ * {@link ComponentManagerImpl} then creates a new index. It also drops the
+ * index on every configuration event.
+ *
+ * <p>
+ * A cached Channel is dropped once the
+ * {@link OpenemsComponent#getChannelsVersion()} of its Component changes, i.e.
+ * after a Channel was added or removed at runtime.
+ */
+class ComponentIndex {
+
+	private final List<OpenemsComponent> components;
+	private final Map<String, OpenemsComponent> componentsById = new HashMap<>();
+	private final Map<ChannelAddress, CachedChannel> channels = new ConcurrentHashMap<>();
+
+	private static class CachedChannel {
+
+		private final OpenemsComponent component;
+		private final int channelsVersion;
+		private final Channel<?> channel;
+
+		private CachedChannel(OpenemsComponent component, int channelsVersion, Channel<?> channel) {
+			this.component = component;
+			this.channelsVersion = channelsVersion;
+			this.channel = channel;
+		}
+	}
+
+	protected ComponentIndex(List<OpenemsComponent> components) {
+		this.components = components;
+		for (OpenemsComponent component : components) {
+			String id = component.id();
+			if (id != null) {
+				// On duplicated Component-IDs the first one wins
+				this.componentsById.putIfAbsent(id, component);
+			}
+		}
+	}
+
+	/**
+	 * Is this index valid for the given list of Components?.
+	 *
+	 * @param components the list of Components
+	 * @return true if the index was created for exactly this list
+	 */
+	protected boolean isFor(List<OpenemsComponent> components) {
+		return this.components == components;
+	}
+
+	/**
+	 * Gets a Component by its Component-ID.
+	 *
+	 * @param componentId the Component-ID
+	 * @return the Component or null if it was not found
+	 */
+	protected OpenemsComponent getComponent(String componentId) {
+		OpenemsComponent component = this.componentsById.get(componentId);
+		if (component != null && componentId.equals(component.id())) {
+			return component;
+		}
+		// Not in the index, e.g. because the ID was modified after the index was
+		// created
+		for (OpenemsComponent c : this.components) {
+			if (componentId.equals(c.id())) {
+				return c;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets a Channel by its Channel-Address.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the Channel or null if the Component or the Channel was not found
+	 */
+	protected Channel<?> getChannel(ChannelAddress address) {
+		CachedChannel cached = this.channels.get(address);
+		if (cached != null) {
+			if (cached.component.getChannelsVersion() == cached.channelsVersion) {
+				return cached.channel;
+			}
+			// Channels of the Component changed
+			this.channels.remove(address, cached);
+		}
+		OpenemsComponent component = this.getComponent(address.getComponentId());
+		if (component == null) {
+			return null;
+		}
+		// Read the version first, so a concurrent change invalidates the entry
+		int channelsVersion = component.getChannelsVersion();
+		Channel<?> channel = component._channel(address.getChannelId());
+		if (channel != null) {
+			this.channels.put(address, new CachedChannel(component, channelsVersion, channel));
+		}
+		return channel;
+	}
+
+}
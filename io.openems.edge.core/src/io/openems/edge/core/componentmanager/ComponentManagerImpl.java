@@ -51,9 +51,11 @@ import io.openems.common.jsonrpc.request.UpdateComponentConfigRequest;
 import io.openems.common.jsonrpc.request.UpdateComponentConfigRequest.Property;
 import io.openems.common.jsonrpc.response.GetEdgeConfigResponse;
 import io.openems.common.session.Role;
+import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.EdgeConfig.Factory;
 import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
@@ -105,6 +107,10 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 			target = "(!(service.factoryPid=Core.ComponentManager))")
 	private volatile List<OpenemsComponent> allComponents = new CopyOnWriteArrayList<>();
 
+	// Rebuilt on access after OSGi replaced the lists above
+	private volatile ComponentIndex enabledComponentsIndex = null;
+	private volatile ComponentIndex allComponentsIndex = null;
+
 	public ComponentManagerImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -161,6 +167,68 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 		return Collections.unmodifiableList(this.allComponents);
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends OpenemsComponent> T getComponent(String componentId) throws OpenemsNamedException {
+		if (SINGLETON_COMPONENT_ID.equals(componentId)) {
+			return (T) this;
+		}
+		OpenemsComponent component = this.getEnabledComponentsIndex().getComponent(componentId);
+		if (component == null) {
+			throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
+		}
+		return (T) component;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends OpenemsComponent> T getPossiblyDisabledComponent(String componentId)
+			throws OpenemsNamedException {
+		if (SINGLETON_COMPONENT_ID.equals(componentId)) {
+			return (T) this;
+		}
+		OpenemsComponent component = this.getAllComponentsIndex().getComponent(componentId);
+		if (component == null) {
+			throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
+		}
+		return (T) component;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends Channel<?>> T getChannel(ChannelAddress channelAddress)
+			throws IllegalArgumentException, OpenemsNamedException {
+		if (!SINGLETON_COMPONENT_ID.equals(channelAddress.getComponentId())) {
+			Channel<?> channel = this.getEnabledComponentsIndex().getChannel(channelAddress);
+			if (channel != null) {
+				return (T) channel;
+			}
+		}
+		// Not found: throw the same exceptions as the default implementation
+		OpenemsComponent component = this.getComponent(channelAddress.getComponentId());
+		return component.channel(channelAddress.getChannelId());
+	}
+
+	private ComponentIndex getEnabledComponentsIndex() {
+		List<OpenemsComponent> components = this.enabledComponents;
+		ComponentIndex index = this.enabledComponentsIndex;
+		if (index == null || !index.isFor(components)) {
+			index = new ComponentIndex(components);
+			this.enabledComponentsIndex = index;
+		}
+		return index;
+	}
+
+	private ComponentIndex getAllComponentsIndex() {
+		List<OpenemsComponent> components = this.allComponents;
+		ComponentIndex index = this.allComponentsIndex;
+		if (index == null || !index.isFor(components)) {
+			index = new ComponentIndex(components);
+			this.allComponentsIndex = index;
+		}
+		return index;
+	}
+
 	@Override
 	public String debugLog() {
 		final List<String> logs = new ArrayList<String>();
@@ -522,6 +590,10 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	@Override
 	public void configurationEvent(ConfigurationEvent event) {
+		// Component-IDs and Channels might have changed
+		this.enabledComponentsIndex = null;
+		this.allComponentsIndex = null;
+
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.configurationEvent(event);
 		}
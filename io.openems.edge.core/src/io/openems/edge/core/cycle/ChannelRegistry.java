@@ -0,0 +1,194 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.Sum;
+
+/**
+ * Holds a flat array of all {@link Channel}s whose process image needs to be
+ * switched by the {@link CycleWorker}.
+ *
+ * <p>
+ * The array is rebuilt only if a Component was activated or deactivated (i.e.
+ * the version changed) or if a Component added or removed Channels at runtime
+ * (i.e. its {@link OpenemsComponent#getChannelsVersion()} changed).
+ * Otherwise {@link #nextProcessImage()} is a tight loop over a preallocated
+ * array without any per-cycle allocation.
+ *
+ * <p>
+ * The {@link Sum} Component is handled separately, because its Channels are
+ * updated only after all other Channels switched their process image.
+ */
+public class ChannelRegistry {
+
+	private static final Channel<?>[] NO_CHANNELS = new Channel<?>[0];
+	private static final OpenemsComponent[] NO_COMPONENTS = new OpenemsComponent[0];
+	private static final int[] NO_VERSIONS = new int[0];
+
+	private final OpenemsComponent self;
+	private final List<OpenemsComponent> components = new CopyOnWriteArrayList<>();
+	private final AtomicInteger version = new AtomicInteger(0);
+
+	/*
+	 * The following fields are only accessed by the Cycle thread.
+	 */
+	private int builtVersion = -1;
+	private OpenemsComponent[] registeredComponents = NO_COMPONENTS;
+	private int[] registeredChannelsVersions = NO_VERSIONS;
+	private int selfChannelsVersion = 0;
+	private Channel<?>[] channels = NO_CHANNELS;
+	private int channelCount = 0;
+	private Sum sum = null;
+	private int sumChannelsVersion = 0;
+	private Channel<?>[] sumChannels = NO_CHANNELS;
+
+	/**
+	 * Creates a {@link ChannelRegistry}.
+	 *
+	 * @param self the Cycle Component itself; its Channels are always registered
+	 */
+	public ChannelRegistry(OpenemsComponent self) {
+		this.self = self;
+	}
+
+	/**
+	 * Registers an enabled Component.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	public void addComponent(OpenemsComponent component) {
+		if (component == this.self) {
+			return;
+		}
+		this.components.add(component);
+		this.version.incrementAndGet();
+	}
+
+	/**
+	 * Unregisters a Component.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	public void removeComponent(OpenemsComponent component) {
+		if (this.components.remove(component)) {
+			this.version.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Switches to the next process image for the Channels of all registered
+	 * Components - excluding the {@link Sum} Component.
+	 */
+	public void nextProcessImage() {
+		if (this.isOutdated()) {
+			this.rebuild();
+		}
+		final Channel<?>[] channels = this.channels;
+		for (int i = 0, n = this.channelCount; i < n; i++) {
+			channels[i].nextProcessImage();
+		}
+	}
+
+	/**
+	 * Switches to the next process image for the Channels of the {@link Sum}
+	 * Component.
+	 *
+	 * @param sum the {@link Sum} Component
+	 */
+	public void nextProcessImageSum(Sum sum) {
+		if (sum != this.sum || sum.getChannelsVersion() != this.sumChannelsVersion) {
+			this.sum = sum;
+			this.sumChannelsVersion = sum.getChannelsVersion();
+			this.sumChannels = sum.channels().toArray(NO_CHANNELS);
+		}
+		final Channel<?>[] channels = this.sumChannels;
+		for (int i = 0; i < channels.length; i++) {
+			channels[i].nextProcessImage();
+		}
+	}
+
+	/**
+	 * Checks if the flat Channel array needs to be rebuilt.
+	 *
+	 * <p>
+	 * Components may add or remove Channels after activation. Those changes are
+	 * detected by comparing the Channels version of every Component; this does
+	 * not allocate.
+	 *
+	 * @return true if {@link #rebuild()} is required
+	 */
+	boolean isOutdated() {
+		if (this.builtVersion != this.version.get()
+				|| this.selfChannelsVersion != this.self.getChannelsVersion()) {
+			return true;
+		}
+		final OpenemsComponent[] components = this.registeredComponents;
+		final int[] versions = this.registeredChannelsVersions;
+		for (int i = 0; i < components.length; i++) {
+			if (components[i].getChannelsVersion() != versions[i]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Rebuilds the flat Channel array from the registered Components.
+	 */
+	private void rebuild() {
+		// Read version first; a concurrent change will trigger another rebuild
+		final int version = this.version.get();
+		final List<OpenemsComponent> components = new ArrayList<>(this.components.size() + 1);
+		for (OpenemsComponent component : this.components) {
+			if (!(component instanceof Sum)) {
+				components.add(component);
+			}
+		}
+
+		// Read Channels versions before the Channels for the same reason
+		final int selfChannelsVersion = this.self.getChannelsVersion();
+		final int[] channelsVersions = new int[components.size()];
+		final List<Channel<?>> channels = new ArrayList<>();
+		channels.addAll(this.self.channels());
+		for (int i = 0; i < components.size(); i++) {
+			OpenemsComponent component = components.get(i);
+			channelsVersions[i] = component.getChannelsVersion();
+			channels.addAll(component.channels());
+		}
+
+		// Keep the array if it is large enough to avoid garbage on every rebuild
+		Channel<?>[] array = this.channels;
+		if (array.length < channels.size()) {
+			array = new Channel<?>[channels.size() + channels.size() / 4];
+		}
+		int i = 0;
+		for (Channel<?> channel : channels) {
+			array[i++] = channel;
+		}
+		for (int j = i; j < array.length; j++) {
+			array[j] = null; // allow garbage collection of removed Channels
+		}
+
+		this.channels = array;
+		this.channelCount = i;
+		this.registeredComponents = components.toArray(NO_COMPONENTS);
+		this.registeredChannelsVersions = channelsVersions;
+		this.selfChannelsVersion = selfChannelsVersion;
+		this.builtVersion = version;
+	}
+
+	/**
+	 * Gets the number of registered Channels.
+	 *
+	 * @return the number of Channels
+	 */
+	int getChannelCount() {
+		return this.channelCount;
+	}
+
+}
@@ -13,6 +13,12 @@ import io.openems.edge.common.cycle.Cycle;
 	@AttributeDefinition(name = "Cycle-Time", description = "The duration of one global OpenEMS Cycle in [ms]")
 	int cycleTime() default Cycle.DEFAULT_CYCLE_TIME;
 
+	@AttributeDefinition(name = "Profile EventHandlers?", description = "Measure the duration of each EventHandler of the Cycle events. Events are then delivered directly by the Cycle instead of the EventAdmin.")
+	boolean profileEventHandlers() default false;
+
+	@AttributeDefinition(name = "Parallel Controllers?", description = "Execute Controllers that declare non-conflicting Components in parallel. Controllers that write to the same Component keep the priority order of the Schedulers.")
+	boolean parallelControllers() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Core Cycle";
 
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ReadWriteSet;
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+
+/**
+ * Groups the Controllers of one Cycle into levels, that can be executed one
+ * after the other. The Controllers within one level do not conflict and may be
+ * executed in parallel.
+ *
+ * <p>
+ * A Controller is placed one level after the last preceding Controller it
+ * conflicts with (see {@link ReadWriteSet#conflictsWith(ReadWriteSet)}), so
+ * conflicting Controllers keep the priority order of the Schedulers.
+ * Controllers without a declared {@link ReadWriteSet} conflict with every other
+ * Controller.
+ */
+class ControllerExecutionPlan {
+
+	/**
+	 * The Component-ID of the Power Component in io.openems.edge.ess.core.
+	 */
+	private static final String POWER_COMPONENT_ID = "_power";
+
+	private final List<Controller> controllers;
+	private final List<ReadWriteSet> readWriteSets;
+	private final List<List<Controller>> levels;
+
+	/**
+	 * Creates a {@link ControllerExecutionPlan}.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 * @param controllers      the Controllers in priority order
+	 * @param readWriteSets    the {@link ReadWriteSet}s of the Controllers
+	 */
+	public ControllerExecutionPlan(ComponentManager componentManager, List<Controller> controllers,
+			List<ReadWriteSet> readWriteSets) {
+		this.controllers = controllers;
+		this.readWriteSets = readWriteSets;
+
+		List<ReadWriteSet> effectiveSets = new ArrayList<>(readWriteSets.size());
+		for (ReadWriteSet readWriteSet : readWriteSets) {
+			effectiveSets.add(addPower(componentManager, readWriteSet));
+		}
+
+		int[] controllerLevels = new int[controllers.size()];
+		List<List<Controller>> levels = new ArrayList<>();
+		for (int i = 0; i < controllers.size(); i++) {
+			Controller controller = controllers.get(i);
+			ReadWriteSet readWriteSet = effectiveSets.get(i);
+			int level = 0;
+			for (int j = 0; j < i; j++) {
+				if (controllerLevels[j] >= level
+						&& conflicts(controller, readWriteSet, controllers.get(j), effectiveSets.get(j))) {
+					level = controllerLevels[j] + 1;
+				}
+			}
+			controllerLevels[i] = level;
+			if (level == levels.size()) {
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(controller);
+		}
+		this.levels = levels;
+	}
+
+	/**
+	 * Is this {@link ControllerExecutionPlan} valid for the given Controllers?.
+	 *
+	 * @param controllers   the Controllers in priority order
+	 * @param readWriteSets the {@link ReadWriteSet}s of the Controllers
+	 * @return true if the Controllers and their {@link ReadWriteSet}s did not
+	 *         change
+	 */
+	public boolean isValidFor(List<Controller> controllers, List<ReadWriteSet> readWriteSets) {
+		if (this.controllers.size() != controllers.size()) {
+			return false;
+		}
+		for (int i = 0; i < controllers.size(); i++) {
+			if (this.controllers.get(i) != controllers.get(i)) {
+				return false;
+			}
+		}
+		return this.readWriteSets.equals(readWriteSets);
+	}
+
+	/**
+	 * Gets the levels of Controllers. Levels have to be executed in order; the
+	 * Controllers of one level may be executed in parallel.
+	 *
+	 * @return the levels
+	 */
+	public List<List<Controller>> getLevels() {
+		return this.levels;
+	}
+
+	private static boolean conflicts(Controller controller1, ReadWriteSet readWriteSet1, Controller controller2,
+			ReadWriteSet readWriteSet2) {
+		if (controller1 == controller2 || readWriteSet1 == null || readWriteSet2 == null) {
+			return true;
+		}
+		return readWriteSet1.conflictsWith(readWriteSet2);
+	}
+
+	/**
+	 * Adds the Power Component to the written Components, if any ESS is written.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 * @param readWriteSet     the declared {@link ReadWriteSet}
+	 * @return the effective {@link ReadWriteSet}
+	 */
+	private static ReadWriteSet addPower(ComponentManager componentManager, ReadWriteSet readWriteSet) {
+		if (readWriteSet == null) {
+			return null;
+		}
+		for (String componentId : readWriteSet.getWrites()) {
+			OpenemsComponent component;
+			try {
+				component = componentManager.getPossiblyDisabledComponent(componentId);
+			} catch (OpenemsNamedException e) {
+				continue;
+			}
+			if (component instanceof ManagedSymmetricEss) {
+				Set<String> writes = new HashSet<>(readWriteSet.getWrites());
+				writes.add(POWER_COMPONENT_ID);
+				return ReadWriteSet.of(readWriteSet.getReads(), writes);
+			}
+		}
+		return readWriteSet;
+	}
+
+}
@@ -0,0 +1,136 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.service.component.ComponentConstants;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Wraps an {@link EventHandler} service, so that Cycle events can be delivered
+ * to it directly and the duration can be profiled.
+ *
+ * <p>
+ * Like the EventAdmin it evaluates the {@link EventConstants#EVENT_TOPIC} and
+ * {@link EventConstants#EVENT_FILTER} service properties.
+ */
+class CycleEventHandler {
+
+	private final EventHandler eventHandler;
+	private final String name;
+	private final String[] topics;
+	private final Filter filter;
+	private final boolean isValid;
+
+	/**
+	 * Keys for {@link CycleProfiler#addEventHandler(String, long)} per Event topic.
+	 */
+	private final Map<String, String> profileKeys = new ConcurrentHashMap<>();
+
+	public CycleEventHandler(EventHandler eventHandler, Map<String, Object> properties) {
+		this.eventHandler = eventHandler;
+		this.name = getName(eventHandler, properties);
+		this.topics = toStringArray(properties.get(EventConstants.EVENT_TOPIC));
+
+		Filter filter = null;
+		boolean isValid = true;
+		Object filterProperty = properties.get(EventConstants.EVENT_FILTER);
+		if (filterProperty instanceof String) {
+			try {
+				filter = FrameworkUtil.createFilter((String) filterProperty);
+			} catch (InvalidSyntaxException e) {
+				// EventAdmin ignores EventHandlers with invalid filter
+				isValid = false;
+			}
+		}
+		this.filter = filter;
+		this.isValid = isValid;
+	}
+
+	/**
+	 * Gets the name, i.e. the Component-ID or the name of the OSGi Component.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Is the {@link EventHandler} subscribed to the {@link Event}?.
+	 *
+	 * @param event the {@link Event}
+	 * @return true if it should handle the {@link Event}
+	 */
+	public boolean isSubscribed(Event event) {
+		if (!this.isValid) {
+			return false;
+		}
+		String topic = event.getTopic();
+		for (String t : this.topics) {
+			if (t.equals(topic) || t.equals("*")
+					|| (t.endsWith("/*") && topic.startsWith(t.substring(0, t.length() - 1)))) {
+				return this.filter == null || event.matches(this.filter);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Delivers the {@link Event} to the {@link EventHandler}.
+	 *
+	 * @param event the {@link Event}
+	 */
+	public void handleEvent(Event event) {
+		this.eventHandler.handleEvent(event);
+	}
+
+	/**
+	 * Gets the key for the {@link CycleProfiler}, e.g. "ess0:BEFORE_PROCESS_IMAGE".
+	 *
+	 * @param topic the Event topic
+	 * @return the key
+	 */
+	public String getProfileKey(String topic) {
+		String key = this.profileKeys.get(topic);
+		if (key == null) {
+			key = this.name + ":" + topic.substring(topic.lastIndexOf('/') + 1);
+			this.profileKeys.put(topic, key);
+		}
+		return key;
+	}
+
+	private static String getName(EventHandler eventHandler, Map<String, Object> properties) {
+		Object id = properties.get("id");
+		if (id instanceof String) {
+			return (String) id;
+		}
+		Object componentName = properties.get(ComponentConstants.COMPONENT_NAME);
+		if (componentName instanceof String) {
+			return (String) componentName;
+		}
+		return eventHandler.getClass().getName();
+	}
+
+	private static String[] toStringArray(Object property) {
+		if (property instanceof String) {
+			return new String[] { (String) property };
+		}
+		if (property instanceof String[]) {
+			return (String[]) property;
+		}
+		if (property instanceof Collection) {
+			return ((Collection<?>) property).stream() //
+					.map(String::valueOf) //
+					.toArray(String[]::new);
+		}
+		return new String[0];
+	}
+
+}
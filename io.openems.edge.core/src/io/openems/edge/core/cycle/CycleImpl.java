@@ -1,8 +1,16 @@
 package io.openems.edge.core.cycle;
 
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -14,17 +22,31 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.event.Event;
 import org.osgi.service.event.EventAdmin;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
 import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.util.tracker.ServiceTracker;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import io.openems.common.channel.Unit;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.session.Role;
+import io.openems.common.types.OpenemsType;
+import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
+import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.user.User;
 import io.openems.edge.scheduler.api.Scheduler;
 
 @Designate(ocd = Config.class, factory = false)
@@ -35,10 +57,88 @@ import io.openems.edge.scheduler.api.Scheduler;
 		property = { //
 				"enabled=true" //
 		})
-public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle {
+public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle, JsonApi {
+
+	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		/**
+		 * Max duration of the BEFORE_PROCESS_IMAGE event within the profiling window.
+		 */
+		PROFILE_BEFORE_PROCESS_IMAGE(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the switch to the next process image within the profiling
+		 * window.
+		 */
+		PROFILE_PROCESS_IMAGE(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the calculation of the Sum-Channels within the profiling
+		 * window.
+		 */
+		PROFILE_SUM(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the AFTER_PROCESS_IMAGE event within the profiling window.
+		 */
+		PROFILE_AFTER_PROCESS_IMAGE(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the BEFORE_CONTROLLERS event within the profiling window.
+		 */
+		PROFILE_BEFORE_CONTROLLERS(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the execution of all Controllers within the profiling
+		 * window.
+		 */
+		PROFILE_CONTROLLERS(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the AFTER_CONTROLLERS event within the profiling window.
+		 */
+		PROFILE_AFTER_CONTROLLERS(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the BEFORE_WRITE event within the profiling window.
+		 */
+		PROFILE_BEFORE_WRITE(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the EXECUTE_WRITE event within the profiling window.
+		 */
+		PROFILE_EXECUTE_WRITE(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max duration of the AFTER_WRITE event within the profiling window.
+		 */
+		PROFILE_AFTER_WRITE(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Max time spent in Garbage Collection per Cycle within the profiling window.
+		 */
+		PROFILE_GARBAGE_COLLECTION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS));
+
+		private final Doc doc;
+
+		private ChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(CycleImpl.class);
 
 	private final CycleWorker worker = new CycleWorker(this);
 
+	protected final CycleProfiler profiler = new CycleProfiler(this);
+
+	protected final ChannelRegistry channelRegistry = new ChannelRegistry(this);
+
 	@Reference
 	private ConfigurationAdmin cm;
 
@@ -59,6 +159,25 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 
 	private Config config = null;;
 
+	/**
+	 * All EventHandlers. Cycle events are delivered directly to them if
+	 * {@link Config#profileEventHandlers()} is set.
+	 */
+	private final Map<ServiceReference<EventHandler>, CycleEventHandler> eventHandlers = new ConcurrentHashMap<>();
+
+	/**
+	 * Tracks the EventHandlers for {@link #eventHandlers}; only open if
+	 * {@link Config#profileEventHandlers()} is set, so that EventHandlers are not
+	 * activated just for the Cycle otherwise; modified only while holding 'this'.
+	 */
+	private volatile ServiceTracker<EventHandler, EventHandler> eventHandlerTracker = null;
+
+	/**
+	 * Executes non-conflicting Controllers in parallel if
+	 * {@link Config#parallelControllers()} is set; guarded by 'this'.
+	 */
+	private ForkJoinPool controllerPool = null;
+
 	@Reference(//
 			policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
@@ -76,16 +195,31 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		}
 	}
 
+	@Reference(//
+			policy = ReferencePolicy.DYNAMIC, //
+			policyOption = ReferencePolicyOption.GREEDY, //
+			cardinality = ReferenceCardinality.MULTIPLE, //
+			target = "(enabled=true)")
+	protected void addComponent(OpenemsComponent component) {
+		this.channelRegistry.addComponent(component);
+	}
+
+	protected void removeComponent(OpenemsComponent component) {
+		this.channelRegistry.removeComponent(component);
+	}
+
 	public CycleImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
-				Cycle.ChannelId.values() //
+				Cycle.ChannelId.values(), //
+				ChannelId.values() //
 		);
 	}
 
 	@Activate
 	private void activate(ComponentContext context, Config config) throws OpenemsException {
 		super.activate(context, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
+		this.updateEventHandlerTracker(context, config.profileEventHandlers());
 		this.config = config;
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
 			return;
@@ -97,12 +231,18 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	protected void deactivate() {
 		super.deactivate();
 		this.worker.deactivate();
+		this.updateEventHandlerTracker(null, false);
+		synchronized (this) {
+			ThreadPoolUtils.shutdownAndAwaitTermination(this.controllerPool, 5);
+			this.controllerPool = null;
+		}
 	}
 
 	@Modified
 	void modified(ComponentContext context, Config config) throws OpenemsNamedException {
 		super.modified(context, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		Config oldConfig = this.config;
+		this.updateEventHandlerTracker(context, config.profileEventHandlers());
 		this.config = config;
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
 			return;
@@ -113,6 +253,72 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		}
 	}
 
+	/**
+	 * Opens or closes the {@link ServiceTracker} for EventHandlers.
+	 * 
+	 * <p>
+	 * The tracker is published only after it was opened, so that
+	 * {@link #sendEvent(Event)} never sees an incomplete list of EventHandlers.
+	 * 
+	 * @param context              the {@link ComponentContext}
+	 * @param profileEventHandlers the value of
+	 *                             {@link Config#profileEventHandlers()}
+	 */
+	private synchronized void updateEventHandlerTracker(ComponentContext context, boolean profileEventHandlers) {
+		ServiceTracker<EventHandler, EventHandler> tracker = this.eventHandlerTracker;
+		if (profileEventHandlers) {
+			if (tracker == null && context != null && context.getBundleContext() != null) {
+				tracker = this.createEventHandlerTracker(context.getBundleContext());
+				tracker.open();
+				this.eventHandlerTracker = tracker;
+			}
+		} else if (tracker != null) {
+			this.eventHandlerTracker = null;
+			tracker.close();
+			this.eventHandlers.clear();
+		}
+	}
+
+	private ServiceTracker<EventHandler, EventHandler> createEventHandlerTracker(BundleContext bundleContext) {
+		return new ServiceTracker<EventHandler, EventHandler>(bundleContext, EventHandler.class, null) {
+
+			@Override
+			public EventHandler addingService(ServiceReference<EventHandler> reference) {
+				if (reference.getProperty(EventConstants.EVENT_TOPIC) == null) {
+					// not subscribed to any topic
+					return null;
+				}
+				EventHandler eventHandler = super.addingService(reference);
+				if (eventHandler != null) {
+					CycleImpl.this.eventHandlers.put(reference,
+							new CycleEventHandler(eventHandler, getProperties(reference)));
+				}
+				return eventHandler;
+			}
+
+			@Override
+			public void modifiedService(ServiceReference<EventHandler> reference, EventHandler eventHandler) {
+				// topics or filter might have changed
+				CycleImpl.this.eventHandlers.put(reference,
+						new CycleEventHandler(eventHandler, getProperties(reference)));
+			}
+
+			@Override
+			public void removedService(ServiceReference<EventHandler> reference, EventHandler eventHandler) {
+				CycleImpl.this.eventHandlers.remove(reference);
+				super.removedService(reference, eventHandler);
+			}
+		};
+	}
+
+	private static Map<String, Object> getProperties(ServiceReference<?> reference) {
+		Map<String, Object> result = new HashMap<>();
+		for (String key : reference.getPropertyKeys()) {
+			result.put(key, reference.getProperty(key));
+		}
+		return result;
+	}
+
 	@Override
 	protected void logInfo(Logger log, String message) {
 		super.logInfo(log, message);
@@ -123,6 +329,73 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		super.logWarn(log, message);
 	}
 
+	/**
+	 * Sends a Cycle event synchronously.
+	 * 
+	 * <p>
+	 * If {@link Config#profileEventHandlers()} is set, the event is delivered
+	 * directly to the subscribed EventHandlers and each one is profiled.
+	 * 
+	 * @param event the {@link Event}
+	 */
+	protected void sendEvent(Event event) {
+		if (this.eventHandlerTracker == null) {
+			this.eventAdmin.sendEvent(event);
+			return;
+		}
+		for (CycleEventHandler eventHandler : this.eventHandlers.values()) {
+			if (!eventHandler.isSubscribed(event)) {
+				continue;
+			}
+			long start = System.nanoTime();
+			try {
+				eventHandler.handleEvent(event);
+			} catch (Throwable t) {
+				this.logWarn(this.log, "Error in EventHandler [" + eventHandler.getName() + "]. "
+						+ t.getClass().getSimpleName() + ": " + t.getMessage());
+			}
+			this.profiler.addEventHandler(eventHandler.getProfileKey(event.getTopic()), System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Gets the {@link ForkJoinPool} for parallel execution of Controllers.
+	 * 
+	 * @return the {@link ForkJoinPool}; null if
+	 *         {@link Config#parallelControllers()} is not set
+	 */
+	protected synchronized ForkJoinPool getControllerPool() {
+		Config config = this.config;
+		if (config == null || !config.parallelControllers()) {
+			return null;
+		}
+		if (this.controllerPool == null) {
+			this.controllerPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName(SINGLETON_SERVICE_PID + ":Controller-" + thread.getPoolIndex());
+				return thread;
+			}, null, false);
+		}
+		return this.controllerPool;
+	}
+
+	@Override
+	public CompletableFuture<? extends JsonrpcResponseSuccess> handleJsonrpcRequest(User user, JsonrpcRequest request)
+			throws OpenemsNamedException {
+		user.assertRoleIsAtLeast("handleJsonrpcRequest", Role.ADMIN);
+
+		switch (request.getMethod()) {
+		case GetCycleProfileRequest.METHOD:
+			return this.handleGetCycleProfileRequest(user, GetCycleProfileRequest.from(request));
+		}
+		return null;
+	}
+
+	private CompletableFuture<? extends JsonrpcResponseSuccess> handleGetCycleProfileRequest(User user,
+			GetCycleProfileRequest request) throws OpenemsNamedException {
+		return CompletableFuture.completedFuture(new GetCycleProfileResponse(request.getId(), this.profiler.toJson()));
+	}
+
 	@Override
 	public int getCycleTime() {
 		Config config = this.config;
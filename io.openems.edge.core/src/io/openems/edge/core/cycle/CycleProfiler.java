@@ -0,0 +1,185 @@
+package io.openems.edge.core.cycle;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Measures the durations of the phases of the Cycle, of each Controller and of
+ * each EventHandler.
+ *
+ * <p>
+ * Durations are kept in {@link RollingHistogram}s over the last
+ * {@link RollingHistogram#WINDOW} Cycles. Histograms of Controllers and
+ * EventHandlers that were not executed within that window are dropped.
+ */
+class CycleProfiler {
+
+	enum Phase {
+		BEFORE_PROCESS_IMAGE(CycleImpl.ChannelId.PROFILE_BEFORE_PROCESS_IMAGE), //
+		PROCESS_IMAGE(CycleImpl.ChannelId.PROFILE_PROCESS_IMAGE), //
+		SUM(CycleImpl.ChannelId.PROFILE_SUM), //
+		AFTER_PROCESS_IMAGE(CycleImpl.ChannelId.PROFILE_AFTER_PROCESS_IMAGE), //
+		BEFORE_CONTROLLERS(CycleImpl.ChannelId.PROFILE_BEFORE_CONTROLLERS), //
+		CONTROLLERS(CycleImpl.ChannelId.PROFILE_CONTROLLERS), //
+		AFTER_CONTROLLERS(CycleImpl.ChannelId.PROFILE_AFTER_CONTROLLERS), //
+		BEFORE_WRITE(CycleImpl.ChannelId.PROFILE_BEFORE_WRITE), //
+		EXECUTE_WRITE(CycleImpl.ChannelId.PROFILE_EXECUTE_WRITE), //
+		AFTER_WRITE(CycleImpl.ChannelId.PROFILE_AFTER_WRITE), //
+		/**
+		 * Time the JVM spent in Garbage Collection during the Cycle.
+		 */
+		GARBAGE_COLLECTION(CycleImpl.ChannelId.PROFILE_GARBAGE_COLLECTION);
+
+		private final CycleImpl.ChannelId channelId;
+
+		private Phase(CycleImpl.ChannelId channelId) {
+			this.channelId = channelId;
+		}
+	}
+
+	private final CycleImpl parent;
+	private final Map<Phase, RollingHistogram> phases = new EnumMap<>(Phase.class);
+	private final Map<String, RollingHistogram> controllers = new ConcurrentHashMap<>();
+	private final Map<String, RollingHistogram> eventHandlers = new ConcurrentHashMap<>();
+	private final List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+	/**
+	 * The number of the current Cycle.
+	 */
+	private volatile long cycle = 0;
+
+	private long lastGarbageCollectionTime;
+
+	public CycleProfiler(CycleImpl parent) {
+		this.parent = parent;
+		for (Phase phase : Phase.values()) {
+			this.phases.put(phase, new RollingHistogram());
+		}
+		this.lastGarbageCollectionTime = this.getGarbageCollectionTime();
+	}
+
+	/**
+	 * Adds the duration of a {@link Phase} that started at the given time and
+	 * ended now.
+	 *
+	 * @param phase     the {@link Phase}
+	 * @param startTime the start time as given by {@link System#nanoTime()}
+	 * @return the end time, i.e. the start time of the next {@link Phase}
+	 */
+	public long addPhase(Phase phase, long startTime) {
+		long now = System.nanoTime();
+		this.phases.get(phase).add((now - startTime) / 1000, this.cycle);
+		return now;
+	}
+
+	/**
+	 * Adds the duration of a Controller run.
+	 *
+	 * @param controllerId the Controller-ID
+	 * @param nanos        the duration in [ns]
+	 */
+	public void addController(String controllerId, long nanos) {
+		add(this.controllers, controllerId, nanos, this.cycle);
+	}
+
+	/**
+	 * Adds the duration of the handling of an Event by an EventHandler.
+	 *
+	 * @param key   the name of the EventHandler and the Event, e.g.
+	 *              "ess0:BEFORE_PROCESS_IMAGE"
+	 * @param nanos the duration in [ns]
+	 */
+	public void addEventHandler(String key, long nanos) {
+		add(this.eventHandlers, key, nanos, this.cycle);
+	}
+
+	private static void add(Map<String, RollingHistogram> histograms, String key, long nanos, long cycle) {
+		histograms.computeIfAbsent(key, k -> new RollingHistogram()).add(nanos / 1000, cycle);
+	}
+
+	/**
+	 * Finishes the current Cycle: measures the Garbage Collection time and updates
+	 * the Channels.
+	 */
+	public void finishCycle() {
+		long garbageCollectionTime = this.getGarbageCollectionTime();
+		this.phases.get(Phase.GARBAGE_COLLECTION)
+				.add((garbageCollectionTime - this.lastGarbageCollectionTime) * 1000, this.cycle);
+		this.lastGarbageCollectionTime = garbageCollectionTime;
+
+		for (Entry<Phase, RollingHistogram> entry : this.phases.entrySet()) {
+			this.parent.channel(entry.getKey().channelId).setNextValue(entry.getValue().getMax() / 1000);
+		}
+		this.cycle++;
+	}
+
+	/**
+	 * Gets the total time of all Garbage Collections.
+	 *
+	 * @return the time in [ms]
+	 */
+	private long getGarbageCollectionTime() {
+		long result = 0;
+		for (GarbageCollectorMXBean garbageCollector : this.garbageCollectors) {
+			result += Math.max(0, garbageCollector.getCollectionTime()); // -1 if undefined
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the profile as JSON.
+	 *
+	 * <pre>
+	 * {
+	 *   "window": number, // number of Cycles
+	 *   "phases": { [phase: string]: statistics },
+	 *   "controllers": { [controllerId: string]: statistics },
+	 *   "eventHandlers": { ["eventHandler:EVENT"]: statistics }
+	 * }
+	 * </pre>
+	 *
+	 * <p>
+	 * See {@link RollingHistogram#toJson()} for 'statistics'.
+	 *
+	 * @return the profile
+	 */
+	public JsonObject toJson() {
+		JsonObject phases = new JsonObject();
+		for (Entry<Phase, RollingHistogram> entry : this.phases.entrySet()) {
+			phases.add(entry.getKey().name(), entry.getValue().toJson());
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("window", RollingHistogram.WINDOW) //
+				.add("phases", phases) //
+				.add("controllers", this.toJson(this.controllers)) //
+				.add("eventHandlers", this.toJson(this.eventHandlers)) //
+				.build();
+	}
+
+	private JsonObject toJson(Map<String, RollingHistogram> histograms) {
+		JsonObject result = new JsonObject();
+		long oldestCycle = this.cycle - RollingHistogram.WINDOW;
+		Iterator<Entry<String, RollingHistogram>> iterator = histograms.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Entry<String, RollingHistogram> entry = iterator.next();
+			if (entry.getValue().getLastCycle() < oldestCycle) {
+				// Not executed anymore
+				iterator.remove();
+				continue;
+			}
+			result.add(entry.getKey(), entry.getValue().toJson());
+		}
+		return result;
+	}
+
+}
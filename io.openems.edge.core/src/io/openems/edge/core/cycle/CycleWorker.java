@@ -1,6 +1,10 @@
 package io.openems.edge.core.cycle;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import org.osgi.service.event.Event;
@@ -13,15 +17,37 @@ import info.faljse.SDNotify.SDNotify;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
 import io.openems.edge.common.event.EdgeEventConstants;
-import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ReadWriteSet;
+import io.openems.edge.core.cycle.CycleProfiler.Phase;
 import io.openems.edge.scheduler.api.Scheduler;
 
 public class CycleWorker extends AbstractWorker {
 
+	/*
+	 * Events are immutable; they are created once and reused in every Cycle.
+	 */
+	private static final Event BEFORE_PROCESS_IMAGE = cycleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+	private static final Event AFTER_PROCESS_IMAGE = cycleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+	private static final Event BEFORE_CONTROLLERS = cycleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
+	private static final Event AFTER_CONTROLLERS = cycleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+	private static final Event BEFORE_WRITE = cycleEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
+	private static final Event EXECUTE_WRITE = cycleEvent(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
+	private static final Event AFTER_WRITE = cycleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+
+	private static Event cycleEvent(String topic) {
+		return new Event(topic, Collections.emptyMap());
+	}
+
 	private final Logger log = LoggerFactory.getLogger(CycleWorker.class);
 	private final CycleImpl parent;
 
+	/**
+	 * The last {@link ControllerExecutionPlan}; it is reused as long as the
+	 * Controllers do not change.
+	 */
+	private ControllerExecutionPlan executionPlan = null;
+
 	public CycleWorker(CycleImpl parent) {
 		this.parent = parent;
 	}
@@ -44,51 +70,46 @@ public class CycleWorker extends AbstractWorker {
 			}
 		}
 
+		final CycleProfiler profiler = this.parent.profiler;
+		long phaseStart = System.nanoTime();
+
 		try {
 			/*
 			 * Trigger BEFORE_PROCESS_IMAGE event
 			 */
-			this.parent.eventAdmin
-					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, new HashMap<>()));
+			this.parent.sendEvent(BEFORE_PROCESS_IMAGE);
+			phaseStart = profiler.addPhase(Phase.BEFORE_PROCESS_IMAGE, phaseStart);
 
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
-			this.parent.channels().forEach(channel -> {
-				channel.nextProcessImage();
-			});
+			this.parent.channelRegistry.nextProcessImage();
+			phaseStart = profiler.addPhase(Phase.PROCESS_IMAGE, phaseStart);
 
 			/*
 			 * Update the Channels in the Sum-Component.
 			 */
 			this.parent.sumComponent.updateChannelsBeforeProcessImage();
-			this.parent.sumComponent.channels().forEach(channel -> {
-				channel.nextProcessImage();
-			});
+			this.parent.channelRegistry.nextProcessImageSum(this.parent.sumComponent);
+			phaseStart = profiler.addPhase(Phase.SUM, phaseStart);
 
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
 			 */
-			this.parent.eventAdmin
-					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, new HashMap<>()));
+			this.parent.sendEvent(AFTER_PROCESS_IMAGE);
+			phaseStart = profiler.addPhase(Phase.AFTER_PROCESS_IMAGE, phaseStart);
 
 			/*
 			 * Trigger BEFORE_CONTROLLERS event
 			 */
-			this.parent.eventAdmin
-					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS, new HashMap<>()));
+			this.parent.sendEvent(BEFORE_CONTROLLERS);
+			phaseStart = profiler.addPhase(Phase.BEFORE_CONTROLLERS, phaseStart);
 
 			boolean hasDisabledController = false;
+			List<Controller> controllers = new ArrayList<>();
 
 			/*
-			 * Execute Schedulers and their Controllers
+			 * Collect the Controllers of the Schedulers in priority order
 			 */
 			if (this.parent.schedulers.isEmpty()) {
 				this.parent.logWarn(this.log, "There are no Schedulers configured!");
@@ -113,30 +134,7 @@ public class CycleWorker extends AbstractWorker {
 							continue;
 						}
 
-						try {
-							// Execute Controller logic
-							controller.run();
-
-							// announce running was ok
-							controller._setRunFailed(false);
-
-						} catch (OpenemsNamedException e) {
-							this.parent.logWarn(this.log,
-									"Error in Controller [" + controller.id() + "]: " + e.getMessage());
-
-							// announce running failed
-							controller._setRunFailed(true);
-
-						} catch (Exception e) {
-							this.parent.logWarn(this.log, "Error in Controller [" + controller.id() + "]. "
-									+ e.getClass().getSimpleName() + ": " + e.getMessage());
-							if (e instanceof ClassCastException || e instanceof NullPointerException
-									|| e instanceof IllegalArgumentException) {
-								e.printStackTrace();
-							}
-							// announce running failed
-							controller._setRunFailed(true);
-						}
+						controllers.add(controller);
 					}
 
 					// announce Scheduler Controller is missing
@@ -144,29 +142,45 @@ public class CycleWorker extends AbstractWorker {
 				}
 			}
 
+			/*
+			 * Execute the Controllers
+			 */
+			ForkJoinPool controllerPool = this.parent.getControllerPool();
+			if (controllerPool == null || controllers.size() < 2) {
+				for (Controller controller : controllers) {
+					this.runController(controller);
+				}
+			} else {
+				this.runControllersInParallel(controllerPool, controllers);
+			}
+
 			// announce ignoring disabled Controllers.
 			this.parent._setIgnoreDisabledController(hasDisabledController);
+			phaseStart = profiler.addPhase(Phase.CONTROLLERS, phaseStart);
 
 			/*
 			 * Trigger AFTER_CONTROLLERS event
 			 */
-			this.parent.eventAdmin
-					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS, new HashMap<>()));
+			this.parent.sendEvent(AFTER_CONTROLLERS);
+			phaseStart = profiler.addPhase(Phase.AFTER_CONTROLLERS, phaseStart);
 
 			/*
 			 * Trigger BEFORE_WRITE event
 			 */
-			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, new HashMap<>()));
+			this.parent.sendEvent(BEFORE_WRITE);
+			phaseStart = profiler.addPhase(Phase.BEFORE_WRITE, phaseStart);
 
 			/*
 			 * Trigger EXECUTE_WRITE event
 			 */
-			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE, new HashMap<>()));
+			this.parent.sendEvent(EXECUTE_WRITE);
+			phaseStart = profiler.addPhase(Phase.EXECUTE_WRITE, phaseStart);
 
 			/*
 			 * Trigger AFTER_WRITE event
 			 */
-			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE, new HashMap<>()));
+			this.parent.sendEvent(AFTER_WRITE);
+			profiler.addPhase(Phase.AFTER_WRITE, phaseStart);
 
 		} catch (Throwable t) {
 			this.parent.logWarn(this.log,
@@ -178,6 +192,76 @@ public class CycleWorker extends AbstractWorker {
 
 		// Measure actual Cycle-Time
 		this.parent._setMeasuredCycleTime(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		profiler.finishCycle();
+	}
+
+	/**
+	 * Executes the Controllers level by level, as given by the
+	 * {@link ControllerExecutionPlan}. Controllers within one level are executed in
+	 * parallel.
+	 *
+	 * @param pool        the {@link ForkJoinPool}
+	 * @param controllers the Controllers in priority order
+	 */
+	private void runControllersInParallel(ForkJoinPool pool, List<Controller> controllers) {
+		List<ReadWriteSet> readWriteSets = new ArrayList<>(controllers.size());
+		for (Controller controller : controllers) {
+			readWriteSets.add(controller.getReadWriteSet());
+		}
+		ControllerExecutionPlan plan = this.executionPlan;
+		if (plan == null || !plan.isValidFor(controllers, readWriteSets)) {
+			plan = new ControllerExecutionPlan(this.parent.componentManager, controllers, readWriteSets);
+			this.executionPlan = plan;
+		}
+
+		for (List<Controller> level : plan.getLevels()) {
+			if (level.size() == 1) {
+				this.runController(level.get(0));
+				continue;
+			}
+			List<Callable<Void>> tasks = new ArrayList<>(level.size());
+			for (Controller controller : level) {
+				tasks.add(() -> {
+					this.runController(controller);
+					return null;
+				});
+			}
+			pool.invokeAll(tasks);
+		}
+	}
+
+	/**
+	 * Executes a Controller and sets its {@link Controller.ChannelId#RUN_FAILED}
+	 * Channel.
+	 *
+	 * @param controller the Controller
+	 */
+	private void runController(Controller controller) {
+		long controllerStart = System.nanoTime();
+		try {
+			// Execute Controller logic
+			controller.run();
+
+			// announce running was ok
+			controller._setRunFailed(false);
+
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, "Error in Controller [" + controller.id() + "]: " + e.getMessage());
+
+			// announce running failed
+			controller._setRunFailed(true);
+
+		} catch (Exception e) {
+			this.parent.logWarn(this.log, "Error in Controller [" + controller.id() + "]. "
+					+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			if (e instanceof ClassCastException || e instanceof NullPointerException
+					|| e instanceof IllegalArgumentException) {
+				e.printStackTrace();
+			}
+			// announce running failed
+			controller._setRunFailed(true);
+		}
+		this.parent.profiler.addController(controller.id(), System.nanoTime() - controllerStart);
 	}
 
 }
@@ -0,0 +1,52 @@
+package io.openems.edge.core.cycle;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+
+/**
+ * Wraps a JSON-RPC Response to "getCycleProfile" Request.
+ * 
+ * <p>
+ * Durations are in [ms] over the last 'window' Cycles.
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "window": number,
+ *     "phases": {
+ *       "BEFORE_PROCESS_IMAGE": {
+ *         "count": number,
+ *         "min": number, "avg": number, "p50": number, "p95": number, "max": number,
+ *         "histogram": [{ "le"?: number, "count": number }]
+ *       }, ...
+ *     },
+ *     "controllers": {
+ *       "ctrlBalancing0": {...}
+ *     },
+ *     "eventHandlers": {
+ *       "ess0:BEFORE_PROCESS_IMAGE": {...}
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public class GetCycleProfileResponse extends JsonrpcResponseSuccess {
+
+	private final JsonObject profile;
+
+	public GetCycleProfileResponse(UUID id, JsonObject profile) {
+		super(id);
+		this.profile = profile;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		return this.profile;
+	}
+
+}
@@ -0,0 +1,150 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Arrays;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Holds the durations of the last {@link #WINDOW} samples and their
+ * distribution over fixed buckets.
+ *
+ * <p>
+ * Adding a sample does not allocate memory. Percentiles are calculated on
+ * request only.
+ */
+class RollingHistogram {
+
+	/**
+	 * The number of samples; i.e. Cycles.
+	 */
+	public static final int WINDOW = 100;
+
+	/**
+	 * The upper bounds of the buckets in [us].
+	 */
+	private static final long[] BUCKET_BOUNDS = { 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 20_000, 50_000,
+			100_000, 200_000, 500_000, 1_000_000, Long.MAX_VALUE };
+
+	private final long[] samples = new long[WINDOW];
+	private final byte[] sampleBuckets = new byte[WINDOW];
+	private final int[] bucketCounts = new int[BUCKET_BOUNDS.length];
+
+	private int next = 0;
+	private int size = 0;
+	private long sum = 0;
+	private long max = 0;
+
+	/**
+	 * The number of the Cycle of the last sample.
+	 */
+	private volatile long lastCycle = 0;
+
+	/**
+	 * Adds a sample.
+	 *
+	 * @param micros the duration in [us]
+	 * @param cycle  the number of the current Cycle
+	 */
+	public synchronized void add(long micros, long cycle) {
+		this.lastCycle = cycle;
+		boolean isMaxEvicted = false;
+		if (this.size == WINDOW) {
+			// Evict oldest sample
+			long oldest = this.samples[this.next];
+			this.sum -= oldest;
+			this.bucketCounts[this.sampleBuckets[this.next]]--;
+			isMaxEvicted = oldest == this.max;
+		} else {
+			this.size++;
+		}
+		int bucket = 0;
+		while (micros > BUCKET_BOUNDS[bucket]) {
+			bucket++;
+		}
+		this.samples[this.next] = micros;
+		this.sampleBuckets[this.next] = (byte) bucket;
+		this.bucketCounts[bucket]++;
+		this.sum += micros;
+		this.next = (this.next + 1) % WINDOW;
+
+		if (micros >= this.max) {
+			this.max = micros;
+		} else if (isMaxEvicted) {
+			long max = 0;
+			for (int i = 0; i < this.size; i++) {
+				max = Math.max(max, this.samples[i]);
+			}
+			this.max = max;
+		}
+	}
+
+	/**
+	 * Gets the max duration within the window.
+	 *
+	 * @return the duration in [us]
+	 */
+	public synchronized long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Gets the number of the Cycle of the last sample.
+	 *
+	 * @return the Cycle
+	 */
+	public long getLastCycle() {
+		return this.lastCycle;
+	}
+
+	/**
+	 * Gets the statistics as JSON; durations in [ms].
+	 *
+	 * <pre>
+	 * {
+	 *   "count": number,
+	 *   "min": number, "avg": number, "p50": number, "p95": number, "max": number,
+	 *   "histogram": [{ "le"?: number, "count": number }] // no "le" for the last bucket
+	 * }
+	 * </pre>
+	 *
+	 * @return the statistics
+	 */
+	public synchronized JsonObject toJson() {
+		long[] sorted = Arrays.copyOf(this.samples, this.size);
+		Arrays.sort(sorted);
+		JsonArray histogram = new JsonArray();
+		for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+			if (this.bucketCounts[i] == 0) {
+				continue;
+			}
+			Double upperBound = BUCKET_BOUNDS[i] == Long.MAX_VALUE ? null : toMillis(BUCKET_BOUNDS[i]);
+			histogram.add(JsonUtils.buildJsonObject() //
+					.addPropertyIfNotNull("le", upperBound) //
+					.addProperty("count", this.bucketCounts[i]) //
+					.build());
+		}
+		if (this.size == 0) {
+			return JsonUtils.buildJsonObject() //
+					.addProperty("count", 0) //
+					.add("histogram", histogram) //
+					.build();
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("count", this.size) //
+				.addProperty("min", toMillis(sorted[0])) //
+				.addProperty("avg", toMillis(this.sum / this.size)) //
+				.addProperty("p50", toMillis(sorted[(this.size - 1) / 2])) //
+				.addProperty("p95", toMillis(sorted[(int) Math.ceil(0.95 * this.size) - 1])) //
+				.addProperty("max", toMillis(this.max)) //
+				.add("histogram", histogram) //
+				.build();
+	}
+
+	private static double toMillis(long micros) {
+		return micros / 1000.;
+	}
+
+}
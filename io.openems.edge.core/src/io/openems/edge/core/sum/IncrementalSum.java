@@ -0,0 +1,151 @@
+package io.openems.edge.core.sum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.Value;
+
+/**
+ * Sums up the values of Channels incrementally.
+ *
+ * <p>
+ * Channels are added once, when the set of Components changes. The sum is then
+ * updated from the 'onChange' events of the Channels, i.e. whenever the active
+ * value of a Channel changes on 'nextProcessImage'. Like
+ * {@link io.openems.edge.common.channel.calculate.CalculateIntegerSum} it only
+ * considers defined values.
+ */
+class IncrementalSum {
+
+	private final Logger log = LoggerFactory.getLogger(IncrementalSum.class);
+
+	private final List<Participant<?>> participants = new ArrayList<>();
+
+	/**
+	 * The sum of the defined values; guarded by 'this'.
+	 */
+	private long sum = 0;
+
+	/**
+	 * The number of defined values; guarded by 'this'.
+	 */
+	private int count = 0;
+
+	private class Participant<T> {
+
+		private final Channel<T> channel;
+		private final Function<T, ? extends Number> converter;
+		private final BiConsumer<Value<T>, Value<T>> onChange;
+
+		/**
+		 * The value that is currently contained in the sum; null if undefined.
+		 */
+		private Number value = null;
+
+		private Participant(Channel<T> channel, Function<T, ? extends Number> converter) {
+			this.channel = channel;
+			this.converter = converter;
+			this.onChange = (oldValue, newValue) -> IncrementalSum.this.update(this, newValue.get());
+		}
+	}
+
+	/**
+	 * Adds a Channel.
+	 *
+	 * @param <T>     the type of the Channel
+	 * @param channel the Channel
+	 */
+	public <T extends Number> void addChannel(Channel<T> channel) {
+		this.addChannel(channel, value -> value);
+	}
+
+	/**
+	 * Adds a Channel.
+	 *
+	 * @param <T>       the type of the Channel
+	 * @param channel   the Channel
+	 * @param converter is applied to the Channel value
+	 */
+	public synchronized <T> void addChannel(Channel<T> channel, Function<T, ? extends Number> converter) {
+		Participant<T> participant = new Participant<>(channel, converter);
+		this.participants.add(participant);
+		channel.onChange(participant.onChange);
+		this.update(participant, channel.value().get());
+	}
+
+	/**
+	 * Removes all Channels.
+	 */
+	public synchronized void clear() {
+		for (Participant<?> participant : this.participants) {
+			participant.channel.removeOnChangeCallback(participant.onChange);
+		}
+		this.participants.clear();
+		this.sum = 0;
+		this.count = 0;
+	}
+
+	/**
+	 * Gets the sum as Integer.
+	 *
+	 * @return the sum or null if no value is defined
+	 */
+	public synchronized Integer getIntegerSum() {
+		if (this.count == 0) {
+			return null;
+		}
+		return (int) this.sum;
+	}
+
+	/**
+	 * Gets the sum as Long.
+	 *
+	 * @return the sum or null if no value is defined
+	 */
+	public synchronized Long getLongSum() {
+		if (this.count == 0) {
+			return null;
+		}
+		return this.sum;
+	}
+
+	/**
+	 * Gets the average.
+	 *
+	 * @return the average or null if no value is defined
+	 */
+	public synchronized Double getAverage() {
+		if (this.count == 0) {
+			return null;
+		}
+		return (double) this.sum / this.count;
+	}
+
+	private synchronized <T> void update(Participant<T> participant, T channelValue) {
+		Number value = null;
+		if (channelValue != null) {
+			try {
+				value = participant.converter.apply(channelValue);
+			} catch (Exception e) {
+				this.log.error("Adding Channel [" + participant.channel.address() + "] value [" + channelValue
+						+ "] failed. " + e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+		}
+		if (participant.value != null) {
+			this.sum -= participant.value.longValue();
+			this.count--;
+		}
+		if (value != null) {
+			this.sum += value.longValue();
+			this.count++;
+		}
+		participant.value = value;
+	}
+
+}
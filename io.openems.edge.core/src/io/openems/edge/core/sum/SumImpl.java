@@ -1,6 +1,8 @@
 package io.openems.edge.core.sum;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -18,15 +20,15 @@ import org.osgi.service.metatype.annotations.Designate;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.channel.Level;
-import io.openems.edge.common.channel.calculate.CalculateAverage;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.calculate.CalculateIntegerSum;
-import io.openems.edge.common.channel.calculate.CalculateLongSum;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.modbusslave.ModbusSlave;
 import io.openems.edge.common.modbusslave.ModbusSlaveTable;
+import io.openems.edge.common.sum.GridMode;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.ess.api.AsymmetricEss;
@@ -61,6 +63,63 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 	private final EnergyValuesHandler energyValuesHandler;
 	private final Set<String> ignoreStateComponents = new HashSet<>();
 
+	/**
+	 * The enabled Components the participating Channels were collected from.
+	 */
+	private OpenemsComponent[] components = new OpenemsComponent[0];
+
+	// Ess
+	private final IncrementalSum essSoc = new IncrementalSum();
+	private final IncrementalSum essActivePower = new IncrementalSum();
+	private final IncrementalSum essActivePowerL1 = new IncrementalSum();
+	private final IncrementalSum essActivePowerL2 = new IncrementalSum();
+	private final IncrementalSum essActivePowerL3 = new IncrementalSum();
+	private final IncrementalSum essReactivePower = new IncrementalSum();
+	private final IncrementalSum essMaxApparentPower = new IncrementalSum();
+	private final List<Channel<GridMode>> essGridModeChannels = new ArrayList<>();
+	private final IncrementalSum essActiveChargeEnergy = new IncrementalSum();
+	private final IncrementalSum essActiveDischargeEnergy = new IncrementalSum();
+	private final IncrementalSum essDcChargeEnergy = new IncrementalSum();
+	private final IncrementalSum essDcDischargeEnergy = new IncrementalSum();
+	private final IncrementalSum essCapacity = new IncrementalSum();
+
+	// Grid
+	private final IncrementalSum gridActivePower = new IncrementalSum();
+	private final IncrementalSum gridActivePowerL1 = new IncrementalSum();
+	private final IncrementalSum gridActivePowerL2 = new IncrementalSum();
+	private final IncrementalSum gridActivePowerL3 = new IncrementalSum();
+	private final IncrementalSum gridMinActivePower = new IncrementalSum();
+	private final IncrementalSum gridMaxActivePower = new IncrementalSum();
+	private final IncrementalSum gridBuyActiveEnergy = new IncrementalSum();
+	private final IncrementalSum gridSellActiveEnergy = new IncrementalSum();
+
+	// Production
+	private final IncrementalSum productionAcActivePower = new IncrementalSum();
+	private final IncrementalSum productionAcActivePowerL1 = new IncrementalSum();
+	private final IncrementalSum productionAcActivePowerL2 = new IncrementalSum();
+	private final IncrementalSum productionAcActivePowerL3 = new IncrementalSum();
+	private final IncrementalSum productionMaxAcActivePower = new IncrementalSum();
+	private final IncrementalSum productionDcActualPower = new IncrementalSum();
+	private final IncrementalSum productionMaxDcActualPower = new IncrementalSum();
+	private final IncrementalSum productionAcActiveEnergy = new IncrementalSum();
+	private final IncrementalSum productionDcActiveEnergy = new IncrementalSum();
+	// handling the corner-case of wrongly measured negative production, due to
+	// cabling errors, etc.
+	private final IncrementalSum productionAcActiveEnergyNegative = new IncrementalSum();
+
+	private final IncrementalSum[] sums = { //
+			this.essSoc, this.essActivePower, this.essActivePowerL1, this.essActivePowerL2, //
+			this.essActivePowerL3, this.essReactivePower, this.essMaxApparentPower, //
+			this.essActiveChargeEnergy, this.essActiveDischargeEnergy, this.essDcChargeEnergy, //
+			this.essDcDischargeEnergy, this.essCapacity, //
+			this.gridActivePower, this.gridActivePowerL1, this.gridActivePowerL2, this.gridActivePowerL3, //
+			this.gridMinActivePower, this.gridMaxActivePower, this.gridBuyActiveEnergy, this.gridSellActiveEnergy, //
+			this.productionAcActivePower, this.productionAcActivePowerL1, this.productionAcActivePowerL2, //
+			this.productionAcActivePowerL3, this.productionMaxAcActivePower, this.productionDcActualPower, //
+			this.productionMaxDcActualPower, this.productionAcActiveEnergy, this.productionDcActiveEnergy, //
+			this.productionAcActiveEnergyNegative //
+	};
+
 	@Override
 	public ModbusSlaveTable getModbusSlaveTable(AccessMode accessMode) {
 		return new ModbusSlaveTable(//
@@ -106,6 +165,10 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 	@Deactivate
 	protected void deactivate() {
 		this.energyValuesHandler.deactivate();
+		for (IncrementalSum sum : this.sums) {
+			sum.clear();
+		}
+		this.components = new OpenemsComponent[0];
 		super.deactivate();
 	}
 
@@ -116,51 +179,22 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 	}
 
 	/**
-	 * Calculates the sum-value for each Channel.
+	 * Updates the participating Channels of each sum-value, if the enabled
+	 * Components changed since the last call.
 	 */
-	private void calculateChannelValues() {
-		// Ess
-		final CalculateAverage essSoc = new CalculateAverage();
-		final CalculateIntegerSum essActivePower = new CalculateIntegerSum();
-		final CalculateIntegerSum essActivePowerL1 = new CalculateIntegerSum();
-		final CalculateIntegerSum essActivePowerL2 = new CalculateIntegerSum();
-		final CalculateIntegerSum essActivePowerL3 = new CalculateIntegerSum();
-
-		final CalculateIntegerSum essReactivePower = new CalculateIntegerSum();
-
-		final CalculateIntegerSum essMaxApparentPower = new CalculateIntegerSum();
-		final CalculateGridMode essGridMode = new CalculateGridMode();
-		final CalculateLongSum essActiveChargeEnergy = new CalculateLongSum();
-		final CalculateLongSum essActiveDischargeEnergy = new CalculateLongSum();
-		final CalculateLongSum essDcChargeEnergy = new CalculateLongSum();
-		final CalculateLongSum essDcDischargeEnergy = new CalculateLongSum();
-		final CalculateIntegerSum essCapacity = new CalculateIntegerSum();
-
-		// Grid
-		final CalculateIntegerSum gridActivePower = new CalculateIntegerSum();
-		final CalculateIntegerSum gridActivePowerL1 = new CalculateIntegerSum();
-		final CalculateIntegerSum gridActivePowerL2 = new CalculateIntegerSum();
-		final CalculateIntegerSum gridActivePowerL3 = new CalculateIntegerSum();
-		final CalculateIntegerSum gridMinActivePower = new CalculateIntegerSum();
-		final CalculateIntegerSum gridMaxActivePower = new CalculateIntegerSum();
-		final CalculateLongSum gridBuyActiveEnergy = new CalculateLongSum();
-		final CalculateLongSum gridSellActiveEnergy = new CalculateLongSum();
+	private void updateParticipatingChannels() {
+		List<OpenemsComponent> components = this.componentManager.getEnabledComponents();
+		if (!this.haveComponentsChanged(components)) {
+			return;
+		}
+		this.components = components.toArray(new OpenemsComponent[components.size()]);
 
-		// Production
-		final CalculateIntegerSum productionAcActivePower = new CalculateIntegerSum();
-		final CalculateIntegerSum productionAcActivePowerL1 = new CalculateIntegerSum();
-		final CalculateIntegerSum productionAcActivePowerL2 = new CalculateIntegerSum();
-		final CalculateIntegerSum productionAcActivePowerL3 = new CalculateIntegerSum();
-		final CalculateIntegerSum productionMaxAcActivePower = new CalculateIntegerSum();
-		final CalculateIntegerSum productionDcActualPower = new CalculateIntegerSum();
-		final CalculateIntegerSum productionMaxDcActualPower = new CalculateIntegerSum();
-		final CalculateLongSum productionAcActiveEnergy = new CalculateLongSum();
-		final CalculateLongSum productionDcActiveEnergy = new CalculateLongSum();
-		// handling the corner-case of wrongly measured negative production, due to
-		// cabling errors, etc.
-		final CalculateLongSum productionAcActiveEnergyNegative = new CalculateLongSum();
+		for (IncrementalSum sum : this.sums) {
+			sum.clear();
+		}
+		this.essGridModeChannels.clear();
 
-		for (OpenemsComponent component : this.componentManager.getEnabledComponents()) {
+		for (OpenemsComponent component : this.components) {
 			if (component instanceof SymmetricEss) {
 				/*
 				 * Ess
@@ -171,33 +205,36 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 					// ignore this Ess
 					continue;
 				}
-				essSoc.addValue(ess.getSocChannel());
-				essActivePower.addValue(ess.getActivePowerChannel());
-				essReactivePower.addValue(ess.getReactivePowerChannel());
-				essMaxApparentPower.addValue(ess.getMaxApparentPowerChannel());
-				essGridMode.addValue(ess.getGridModeChannel());
-				essActiveChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
-				essActiveDischargeEnergy.addValue(ess.getActiveDischargeEnergyChannel());
-				essCapacity.addValue(ess.getCapacityChannel());
+				this.essSoc.addChannel(ess.getSocChannel());
+				this.essActivePower.addChannel(ess.getActivePowerChannel());
+				this.essReactivePower.addChannel(ess.getReactivePowerChannel());
+				this.essMaxApparentPower.addChannel(ess.getMaxApparentPowerChannel());
+				this.essGridModeChannels.add(ess.getGridModeChannel());
+				this.essActiveChargeEnergy.addChannel(ess.getActiveChargeEnergyChannel());
+				this.essActiveDischargeEnergy.addChannel(ess.getActiveDischargeEnergyChannel());
+				this.essCapacity.addChannel(ess.getCapacityChannel());
 
 				if (ess instanceof AsymmetricEss) {
 					AsymmetricEss e = (AsymmetricEss) ess;
-					essActivePowerL1.addValue(e.getActivePowerL1Channel());
-					essActivePowerL2.addValue(e.getActivePowerL2Channel());
-					essActivePowerL3.addValue(e.getActivePowerL3Channel());
+					this.essActivePowerL1.addChannel(e.getActivePowerL1Channel());
+					this.essActivePowerL2.addChannel(e.getActivePowerL2Channel());
+					this.essActivePowerL3.addChannel(e.getActivePowerL3Channel());
 				} else {
-					essActivePowerL1.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-					essActivePowerL2.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-					essActivePowerL3.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+					this.essActivePowerL1.addChannel(ess.getActivePowerChannel(),
+							CalculateIntegerSum.DIVIDE_BY_THREE);
+					this.essActivePowerL2.addChannel(ess.getActivePowerChannel(),
+							CalculateIntegerSum.DIVIDE_BY_THREE);
+					this.essActivePowerL3.addChannel(ess.getActivePowerChannel(),
+							CalculateIntegerSum.DIVIDE_BY_THREE);
 				}
 
 				if (ess instanceof HybridEss) {
 					HybridEss e = (HybridEss) ess;
-					essDcChargeEnergy.addValue(e.getDcChargeEnergyChannel());
-					essDcDischargeEnergy.addValue(e.getDcDischargeEnergyChannel());
+					this.essDcChargeEnergy.addChannel(e.getDcChargeEnergyChannel());
+					this.essDcDischargeEnergy.addChannel(e.getDcDischargeEnergyChannel());
 				} else {
-					essDcChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
-					essDcDischargeEnergy.addValue(ess.getActiveDischargeEnergyChannel());
+					this.essDcChargeEnergy.addChannel(ess.getActiveChargeEnergyChannel());
+					this.essDcDischargeEnergy.addChannel(ess.getActiveDischargeEnergyChannel());
 				}
 
 			} else if (component instanceof SymmetricMeter) {
@@ -229,21 +266,24 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 					/*
 					 * Grid-Meter
 					 */
-					gridActivePower.addValue(meter.getActivePowerChannel());
-					gridMinActivePower.addValue(meter.getMinActivePowerChannel());
-					gridMaxActivePower.addValue(meter.getMaxActivePowerChannel());
-					gridBuyActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
-					gridSellActiveEnergy.addValue(meter.getActiveConsumptionEnergyChannel());
+					this.gridActivePower.addChannel(meter.getActivePowerChannel());
+					this.gridMinActivePower.addChannel(meter.getMinActivePowerChannel());
+					this.gridMaxActivePower.addChannel(meter.getMaxActivePowerChannel());
+					this.gridBuyActiveEnergy.addChannel(meter.getActiveProductionEnergyChannel());
+					this.gridSellActiveEnergy.addChannel(meter.getActiveConsumptionEnergyChannel());
 
 					if (meter instanceof AsymmetricMeter) {
 						AsymmetricMeter m = (AsymmetricMeter) meter;
-						gridActivePowerL1.addValue(m.getActivePowerL1Channel());
-						gridActivePowerL2.addValue(m.getActivePowerL2Channel());
-						gridActivePowerL3.addValue(m.getActivePowerL3Channel());
+						this.gridActivePowerL1.addChannel(m.getActivePowerL1Channel());
+						this.gridActivePowerL2.addChannel(m.getActivePowerL2Channel());
+						this.gridActivePowerL3.addChannel(m.getActivePowerL3Channel());
 					} else {
-						gridActivePowerL1.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-						gridActivePowerL2.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-						gridActivePowerL3.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+						this.gridActivePowerL1.addChannel(meter.getActivePowerChannel(),
+								CalculateIntegerSum.DIVIDE_BY_THREE);
+						this.gridActivePowerL2.addChannel(meter.getActivePowerChannel(),
+								CalculateIntegerSum.DIVIDE_BY_THREE);
+						this.gridActivePowerL3.addChannel(meter.getActivePowerChannel(),
+								CalculateIntegerSum.DIVIDE_BY_THREE);
 					}
 					break;
 
@@ -251,22 +291,22 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 					/*
 					 * Production-Meter
 					 */
-					productionAcActivePower.addValue(meter.getActivePowerChannel());
-					productionMaxAcActivePower.addValue(meter.getMaxActivePowerChannel());
-					productionAcActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
-					productionAcActiveEnergyNegative.addValue(meter.getActiveConsumptionEnergyChannel());
+					this.productionAcActivePower.addChannel(meter.getActivePowerChannel());
+					this.productionMaxAcActivePower.addChannel(meter.getMaxActivePowerChannel());
+					this.productionAcActiveEnergy.addChannel(meter.getActiveProductionEnergyChannel());
+					this.productionAcActiveEnergyNegative.addChannel(meter.getActiveConsumptionEnergyChannel());
 
 					if (meter instanceof AsymmetricMeter) {
 						AsymmetricMeter m = (AsymmetricMeter) meter;
-						productionAcActivePowerL1.addValue(m.getActivePowerL1Channel());
-						productionAcActivePowerL2.addValue(m.getActivePowerL2Channel());
-						productionAcActivePowerL3.addValue(m.getActivePowerL3Channel());
+						this.productionAcActivePowerL1.addChannel(m.getActivePowerL1Channel());
+						this.productionAcActivePowerL2.addChannel(m.getActivePowerL2Channel());
+						this.productionAcActivePowerL3.addChannel(m.getActivePowerL3Channel());
 					} else {
-						productionAcActivePowerL1.addValue(meter.getActivePowerChannel(),
+						this.productionAcActivePowerL1.addChannel(meter.getActivePowerChannel(),
 								CalculateIntegerSum.DIVIDE_BY_THREE);
-						productionAcActivePowerL2.addValue(meter.getActivePowerChannel(),
+						this.productionAcActivePowerL2.addChannel(meter.getActivePowerChannel(),
 								CalculateIntegerSum.DIVIDE_BY_THREE);
-						productionAcActivePowerL3.addValue(meter.getActivePowerChannel(),
+						this.productionAcActivePowerL3.addChannel(meter.getActivePowerChannel(),
 								CalculateIntegerSum.DIVIDE_BY_THREE);
 					}
 					break;
@@ -278,89 +318,125 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 				 * Ess DC-Charger
 				 */
 				EssDcCharger charger = (EssDcCharger) component;
-				productionDcActualPower.addValue(charger.getActualPowerChannel());
-				productionMaxDcActualPower.addValue(charger.getMaxActualPowerChannel());
-				productionDcActiveEnergy.addValue(charger.getActualEnergyChannel());
+				this.productionDcActualPower.addChannel(charger.getActualPowerChannel());
+				this.productionMaxDcActualPower.addChannel(charger.getMaxActualPowerChannel());
+				this.productionDcActiveEnergy.addChannel(charger.getActualEnergyChannel());
+			}
+		}
+	}
+
+	/**
+	 * Did the enabled Components change since the last call to
+	 * {@link #updateParticipatingChannels()}?.
+	 * 
+	 * <p>
+	 * A changed configuration of a Component replaces the Component instance, so it
+	 * is sufficient to compare the instances.
+	 * 
+	 * @param components the enabled Components
+	 * @return true if they changed
+	 */
+	private boolean haveComponentsChanged(List<OpenemsComponent> components) {
+		if (components.size() != this.components.length) {
+			return true;
+		}
+		int i = 0;
+		for (OpenemsComponent component : components) {
+			if (component != this.components[i++]) {
+				return true;
 			}
 		}
+		return false;
+	}
+
+	/**
+	 * Calculates the sum-value for each Channel.
+	 */
+	private void calculateChannelValues() {
+		this.updateParticipatingChannels();
+
+		final CalculateGridMode essGridMode = new CalculateGridMode();
+		for (Channel<GridMode> channel : this.essGridModeChannels) {
+			essGridMode.addValue(channel);
+		}
 
 		/*
 		 * Set values
 		 */
 		// Ess
-		this.getEssSocChannel().setNextValue(essSoc.calculate());
-		Integer essActivePowerSum = essActivePower.calculate();
+		this.getEssSocChannel().setNextValue(this.essSoc.getAverage());
+		Integer essActivePowerSum = this.essActivePower.getIntegerSum();
 		this._setEssActivePower(essActivePowerSum);
-		Integer essActivePowerL1Sum = essActivePowerL1.calculate();
+		Integer essActivePowerL1Sum = this.essActivePowerL1.getIntegerSum();
 		this._setEssActivePowerL1(essActivePowerL1Sum);
-		Integer essActivePowerL2Sum = essActivePowerL2.calculate();
+		Integer essActivePowerL2Sum = this.essActivePowerL2.getIntegerSum();
 		this._setEssActivePowerL2(essActivePowerL2Sum);
-		Integer essActivePowerL3Sum = essActivePowerL3.calculate();
+		Integer essActivePowerL3Sum = this.essActivePowerL3.getIntegerSum();
 		this._setEssActivePowerL3(essActivePowerL3Sum);
 
-		Integer essReactivePowerSum = essReactivePower.calculate();
+		Integer essReactivePowerSum = this.essReactivePower.getIntegerSum();
 		this._setEssReactivePower(essReactivePowerSum);
 
-		Integer essMaxApparentPowerSum = essMaxApparentPower.calculate();
+		Integer essMaxApparentPowerSum = this.essMaxApparentPower.getIntegerSum();
 		this._setEssMaxApparentPower(essMaxApparentPowerSum);
 		this._setGridMode(essGridMode.calculate());
 
-		Long essActiveChargeEnergySum = essActiveChargeEnergy.calculate();
+		Long essActiveChargeEnergySum = this.essActiveChargeEnergy.getLongSum();
 		essActiveChargeEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.ESS_ACTIVE_CHARGE_ENERGY,
 				essActiveChargeEnergySum);
-		Long essActiveDischargeEnergySum = essActiveDischargeEnergy.calculate();
+		Long essActiveDischargeEnergySum = this.essActiveDischargeEnergy.getLongSum();
 		essActiveDischargeEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.ESS_ACTIVE_DISCHARGE_ENERGY,
 				essActiveDischargeEnergySum);
 
-		this.energyValuesHandler.setValue(Sum.ChannelId.ESS_DC_CHARGE_ENERGY, essDcChargeEnergy.calculate());
-		this.energyValuesHandler.setValue(Sum.ChannelId.ESS_DC_DISCHARGE_ENERGY, essDcDischargeEnergy.calculate());
+		this.energyValuesHandler.setValue(Sum.ChannelId.ESS_DC_CHARGE_ENERGY, this.essDcChargeEnergy.getLongSum());
+		this.energyValuesHandler.setValue(Sum.ChannelId.ESS_DC_DISCHARGE_ENERGY, this.essDcDischargeEnergy.getLongSum());
 
-		Integer essCapacitySum = essCapacity.calculate();
+		Integer essCapacitySum = this.essCapacity.getIntegerSum();
 		this._setEssCapacity(essCapacitySum);
 
 		// Grid
-		Integer gridActivePowerSum = gridActivePower.calculate();
+		Integer gridActivePowerSum = this.gridActivePower.getIntegerSum();
 		this._setGridActivePower(gridActivePowerSum);
-		Integer gridActivePowerL1Sum = gridActivePowerL1.calculate();
+		Integer gridActivePowerL1Sum = this.gridActivePowerL1.getIntegerSum();
 		this._setGridActivePowerL1(gridActivePowerL1Sum);
-		Integer gridActivePowerL2Sum = gridActivePowerL2.calculate();
+		Integer gridActivePowerL2Sum = this.gridActivePowerL2.getIntegerSum();
 		this._setGridActivePowerL2(gridActivePowerL2Sum);
-		Integer gridActivePowerL3Sum = gridActivePowerL3.calculate();
+		Integer gridActivePowerL3Sum = this.gridActivePowerL3.getIntegerSum();
 		this._setGridActivePowerL3(gridActivePowerL3Sum);
-		this._setGridMinActivePower(gridMinActivePower.calculate());
-		Integer gridMaxActivePowerSum = gridMaxActivePower.calculate();
+		this._setGridMinActivePower(this.gridMinActivePower.getIntegerSum());
+		Integer gridMaxActivePowerSum = this.gridMaxActivePower.getIntegerSum();
 		this._setGridMaxActivePower(gridMaxActivePowerSum);
 
-		Long gridBuyActiveEnergySum = gridBuyActiveEnergy.calculate();
+		Long gridBuyActiveEnergySum = this.gridBuyActiveEnergy.getLongSum();
 		gridBuyActiveEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.GRID_BUY_ACTIVE_ENERGY,
 				gridBuyActiveEnergySum);
-		Long gridSellActiveEnergySum = gridSellActiveEnergy.calculate();
+		Long gridSellActiveEnergySum = this.gridSellActiveEnergy.getLongSum();
 		gridSellActiveEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.GRID_SELL_ACTIVE_ENERGY,
 				gridSellActiveEnergySum);
 
 		// Production
-		Integer productionAcActivePowerSum = productionAcActivePower.calculate();
+		Integer productionAcActivePowerSum = this.productionAcActivePower.getIntegerSum();
 		this._setProductionAcActivePower(productionAcActivePowerSum);
-		Integer productionAcActivePowerL1Sum = productionAcActivePowerL1.calculate();
+		Integer productionAcActivePowerL1Sum = this.productionAcActivePowerL1.getIntegerSum();
 		this._setProductionAcActivePowerL1(productionAcActivePowerL1Sum);
-		Integer productionAcActivePowerL2Sum = productionAcActivePowerL2.calculate();
+		Integer productionAcActivePowerL2Sum = this.productionAcActivePowerL2.getIntegerSum();
 		this._setProductionAcActivePowerL2(productionAcActivePowerL2Sum);
-		Integer productionAcActivePowerL3Sum = productionAcActivePowerL3.calculate();
+		Integer productionAcActivePowerL3Sum = this.productionAcActivePowerL3.getIntegerSum();
 		this._setProductionAcActivePowerL3(productionAcActivePowerL3Sum);
-		Integer productionDcActualPowerSum = productionDcActualPower.calculate();
+		Integer productionDcActualPowerSum = this.productionDcActualPower.getIntegerSum();
 		this._setProductionDcActualPower(productionDcActualPowerSum);
 		this._setProductionActivePower(TypeUtils.sum(productionAcActivePowerSum, productionDcActualPowerSum));
 
-		Integer productionMaxAcActivePowerSum = productionMaxAcActivePower.calculate();
+		Integer productionMaxAcActivePowerSum = this.productionMaxAcActivePower.getIntegerSum();
 		this._setProductionMaxAcActivePower(productionMaxAcActivePowerSum);
-		Integer productionMaxDcActualPowerSum = productionMaxDcActualPower.calculate();
+		Integer productionMaxDcActualPowerSum = this.productionMaxDcActualPower.getIntegerSum();
 		this._setProductionMaxDcActualPower(productionMaxDcActualPowerSum);
 		this._setProductionMaxActivePower(TypeUtils.sum(productionMaxAcActivePowerSum, productionMaxDcActualPowerSum));
 
-		Long productionAcActiveEnergySum = productionAcActiveEnergy.calculate();
+		Long productionAcActiveEnergySum = this.productionAcActiveEnergy.getLongSum();
 		productionAcActiveEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.PRODUCTION_AC_ACTIVE_ENERGY,
 				productionAcActiveEnergySum);
-		Long productionDcActiveEnergySum = productionDcActiveEnergy.calculate();
+		Long productionDcActiveEnergySum = this.productionDcActiveEnergy.getLongSum();
 		productionDcActiveEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.PRODUCTION_DC_ACTIVE_ENERGY,
 				productionDcActiveEnergySum);
 		Long productionActiveEnergySum = TypeUtils.sum(productionAcActiveEnergySum, productionDcActiveEnergySum);
@@ -382,7 +458,7 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 		Long enterTheSystem = TypeUtils.sum(essActiveDischargeEnergySum, gridBuyActiveEnergySum,
 				productionAcActiveEnergySum);
 		Long leaveTheSystem = TypeUtils.sum(essActiveChargeEnergySum, gridSellActiveEnergySum,
-				/* handling corner-case */ productionAcActiveEnergyNegative.calculate());
+				/* handling corner-case */ this.productionAcActiveEnergyNegative.getLongSum());
 		this.energyValuesHandler.setValue(Sum.ChannelId.CONSUMPTION_ACTIVE_ENERGY,
 				Optional.ofNullable(enterTheSystem).orElse(0L) - Optional.ofNullable(leaveTheSystem).orElse(0L));
 
@@ -0,0 +1,105 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.test.DummyCycle;
+
+public class ComponentIndexTest {
+
+	private static enum TestChannelId implements io.openems.edge.common.channel.ChannelId {
+		CHANNEL_A(Doc.of(OpenemsType.INTEGER));
+
+		private final Doc doc;
+
+		private TestChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private static class TestComponent extends AbstractOpenemsComponent {
+
+		private TestComponent(String id) {
+			super(OpenemsComponent.ChannelId.values());
+			super.activate(null, id, "", true);
+		}
+
+		private Channel<?> add(TestChannelId channelId) {
+			return this.addChannel(channelId);
+		}
+
+		private void remove(Channel<?> channel) {
+			this.removeChannel(channel);
+		}
+	}
+
+	@Test
+	public void test() {
+		final DummySum sum = new DummySum();
+		final DummyCycle cycle = new DummyCycle(1000);
+		final List<OpenemsComponent> components = new ArrayList<>();
+		components.add(sum);
+		components.add(cycle);
+		final ComponentIndex sut = new ComponentIndex(components);
+
+		assertTrue(sut.isFor(components));
+		assertFalse(sut.isFor(new ArrayList<>(components)));
+
+		// Components
+		assertSame(sum, sut.getComponent(sum.id()));
+		assertSame(cycle, sut.getComponent(cycle.id()));
+		assertNull(sut.getComponent("foo0"));
+
+		// Channels
+		ChannelAddress address = new ChannelAddress(sum.id(), Sum.ChannelId.GRID_ACTIVE_POWER.id());
+		assertSame(sum.getGridActivePowerChannel(), sut.getChannel(address));
+		assertSame(sum.getGridActivePowerChannel(), sut.getChannel(address)); // from cache
+		assertNull(sut.getChannel(new ChannelAddress(sum.id(), "Foo")));
+		assertNull(sut.getChannel(new ChannelAddress("foo0", "Foo")));
+	}
+
+	@Test
+	public void testChangedChannels() {
+		final TestComponent component = new TestComponent("test0");
+		final Channel<?> channel = component.add(TestChannelId.CHANNEL_A);
+		final List<OpenemsComponent> components = new ArrayList<>();
+		components.add(component);
+		final ComponentIndex sut = new ComponentIndex(components);
+
+		ChannelAddress address = new ChannelAddress(component.id(), TestChannelId.CHANNEL_A.id());
+		assertSame(channel, sut.getChannel(address));
+
+		// Channel is replaced at runtime: the cached Channel is dropped
+		component.remove(channel);
+		final Channel<?> replaced = component.add(TestChannelId.CHANNEL_A);
+		assertNotSame(channel, replaced);
+		assertSame(replaced, sut.getChannel(address));
+		assertSame(replaced, sut.getChannel(address)); // from cache
+
+		// Channel is removed at runtime
+		component.remove(replaced);
+		assertNull(sut.getChannel(address));
+	}
+
+}
@@ -0,0 +1,89 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+public class ChannelRegistryTest {
+
+	private static enum TestChannelId implements io.openems.edge.common.channel.ChannelId {
+		CHANNEL_A(Doc.of(OpenemsType.INTEGER)), //
+		CHANNEL_B(Doc.of(OpenemsType.INTEGER));
+
+		private final Doc doc;
+
+		private TestChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private static class TestComponent extends AbstractOpenemsComponent {
+
+		private TestComponent() {
+			super(OpenemsComponent.ChannelId.values());
+		}
+
+		private Channel<?> add(TestChannelId channelId) {
+			return this.addChannel(channelId);
+		}
+
+		private void remove(Channel<?> channel) {
+			this.removeChannel(channel);
+		}
+	}
+
+	@Test
+	public void testReplacedChannel() {
+		final TestComponent self = new TestComponent();
+		final TestComponent component = new TestComponent();
+		final Channel<?> channelA = component.add(TestChannelId.CHANNEL_A);
+		final ChannelRegistry sut = new ChannelRegistry(self);
+		sut.addComponent(component);
+
+		sut.nextProcessImage();
+		assertFalse(sut.isOutdated());
+		final int channelCount = sut.getChannelCount();
+
+		// Replace a Channel within one Cycle; the number of Channels stays the same
+		component.remove(channelA);
+		final IntegerReadChannel channelB = (IntegerReadChannel) component.add(TestChannelId.CHANNEL_B);
+		assertTrue(sut.isOutdated());
+
+		channelB.setNextValue(123);
+		sut.nextProcessImage();
+		assertFalse(sut.isOutdated());
+		assertEquals(channelCount, sut.getChannelCount());
+		assertEquals(Integer.valueOf(123), channelB.value().get());
+	}
+
+	@Test
+	public void testRemovedComponent() {
+		final TestComponent component = new TestComponent();
+		final IntegerReadChannel channelA = (IntegerReadChannel) component.add(TestChannelId.CHANNEL_A);
+		final ChannelRegistry sut = new ChannelRegistry(new TestComponent());
+		sut.addComponent(component);
+		sut.nextProcessImage();
+
+		sut.removeComponent(component);
+		assertTrue(sut.isOutdated());
+		channelA.setNextValue(123);
+		sut.nextProcessImage();
+		assertNull(channelA.value().get());
+	}
+
+}
@@ -0,0 +1,62 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.controller.api.Controller;
+import io.openems.edge.controller.api.ReadWriteSet;
+import io.openems.edge.controller.test.DummyController;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+public class ControllerExecutionPlanTest {
+
+	private static List<ReadWriteSet> getReadWriteSets(List<Controller> controllers) {
+		List<ReadWriteSet> result = new ArrayList<>();
+		for (Controller controller : controllers) {
+			result.add(controller.getReadWriteSet());
+		}
+		return result;
+	}
+
+	@Test
+	public void test() {
+		final DummyComponentManager componentManager = new DummyComponentManager() //
+				.addComponent(new DummyManagedSymmetricEss("ess0")) //
+				.addComponent(new DummyManagedSymmetricEss("ess1"));
+		final Controller ctrlIo0 = new DummyController("ctrl0").withReadWriteSet(ReadWriteSet.writes("io0"));
+		final Controller ctrlIo1 = new DummyController("ctrl1").withReadWriteSet(ReadWriteSet.writes("io1"));
+		final Controller ctrlEss0 = new DummyController("ctrl2").withReadWriteSet(ReadWriteSet.writes("ess0"));
+		final Controller ctrlNone = new DummyController("ctrl3").withReadWriteSet(ReadWriteSet.NONE);
+		final Controller ctrlEss1 = new DummyController("ctrl4").withReadWriteSet(ReadWriteSet.writes("ess1"));
+		final Controller ctrlReadIo0 = new DummyController("ctrl5")
+				.withReadWriteSet(ReadWriteSet.of(List.of("io0"), List.of("io2")));
+		final Controller ctrlUndeclared = new DummyController("ctrl6");
+
+		final List<Controller> controllers = List.of(ctrlIo0, ctrlIo1, ctrlEss0, ctrlNone, ctrlEss1, ctrlReadIo0,
+				ctrlUndeclared, ctrlIo1);
+		final List<ReadWriteSet> readWriteSets = getReadWriteSets(controllers);
+		final ControllerExecutionPlan sut = new ControllerExecutionPlan(componentManager, controllers,
+				readWriteSets);
+
+		assertEquals(List.of(//
+				List.of(ctrlIo0, ctrlIo1, ctrlEss0, ctrlNone), //
+				// ESS share the Power Component; reading io0 conflicts with writing io0
+				List.of(ctrlEss1, ctrlReadIo0), //
+				// undeclared Controllers are executed exclusively
+				List.of(ctrlUndeclared), //
+				List.of(ctrlIo1)), sut.getLevels());
+
+		assertTrue(sut.isValidFor(controllers, getReadWriteSets(controllers)));
+		assertFalse(sut.isValidFor(List.of(ctrlIo0, ctrlIo1), getReadWriteSets(List.of(ctrlIo0, ctrlIo1))));
+		((DummyController) ctrlIo0).withReadWriteSet(ReadWriteSet.writes("io3"));
+		assertFalse(sut.isValidFor(controllers, getReadWriteSets(controllers)));
+	}
+
+}
@@ -0,0 +1,85 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+public class RollingHistogramTest {
+
+	@Test
+	public void testPercentiles() {
+		final RollingHistogram sut = new RollingHistogram();
+		// 1 ms to 100 ms
+		for (int i = RollingHistogram.WINDOW; i > 0; i--) {
+			sut.add(i * 1_000, i);
+		}
+
+		JsonObject json = sut.toJson();
+		assertEquals(100, json.get("count").getAsInt());
+		assertEquals(1., json.get("min").getAsDouble(), 0.001);
+		assertEquals(50.5, json.get("avg").getAsDouble(), 0.001);
+		assertEquals(50., json.get("p50").getAsDouble(), 0.001);
+		assertEquals(95., json.get("p95").getAsDouble(), 0.001);
+		assertEquals(100., json.get("max").getAsDouble(), 0.001);
+
+		JsonArray histogram = json.get("histogram").getAsJsonArray();
+		int[] expectedCounts = { 1, 1, 3, 5, 10, 30, 50 };
+		double[] expectedBounds = { 1, 2, 5, 10, 20, 50, 100 };
+		assertEquals(expectedCounts.length, histogram.size());
+		for (int i = 0; i < expectedCounts.length; i++) {
+			JsonObject bucket = histogram.get(i).getAsJsonObject();
+			assertEquals(expectedBounds[i], bucket.get("le").getAsDouble(), 0.001);
+			assertEquals(expectedCounts[i], bucket.get("count").getAsInt());
+		}
+	}
+
+	@Test
+	public void testEmptyAndLastBucket() {
+		final RollingHistogram sut = new RollingHistogram();
+		JsonObject json = sut.toJson();
+		assertEquals(0, json.get("count").getAsInt());
+		assertFalse(json.has("max"));
+
+		// Last bucket has no upper bound
+		sut.add(2_000_000, 1);
+		JsonObject bucket = sut.toJson().get("histogram").getAsJsonArray().get(0).getAsJsonObject();
+		assertFalse(bucket.has("le"));
+		assertEquals(1, bucket.get("count").getAsInt());
+	}
+
+	@Test
+	public void testMaxRecompute() {
+		final RollingHistogram sut = new RollingHistogram();
+		long cycle = 0;
+		sut.add(500, ++cycle);
+		for (int i = 1; i < RollingHistogram.WINDOW; i++) {
+			sut.add(100 + i, ++cycle);
+		}
+		assertEquals(500, sut.getMax());
+
+		// Evicting the max recomputes it from the remaining samples
+		sut.add(100, ++cycle);
+		assertEquals(199, sut.getMax());
+
+		// A new max is taken directly
+		sut.add(300, ++cycle);
+		assertEquals(300, sut.getMax());
+
+		// Evicting a sample that is not the max keeps the max
+		for (int i = 0; i < RollingHistogram.WINDOW - 1; i++) {
+			sut.add(50, ++cycle);
+		}
+		assertEquals(300, sut.getMax());
+		assertEquals(cycle, sut.getLastCycle());
+
+		// Window is full of equal samples after evicting the max
+		sut.add(50, ++cycle);
+		assertEquals(50, sut.getMax());
+		assertEquals(RollingHistogram.WINDOW, sut.toJson().get("count").getAsInt());
+	}
+
+}
@@ -0,0 +1,144 @@
+package io.openems.edge.core.sum;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+public class IncrementalSumTest {
+
+	private static enum TestChannelId implements ChannelId {
+		CHANNEL(Doc.of(OpenemsType.INTEGER));
+
+		private final Doc doc;
+
+		private TestChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private static class TestComponent extends AbstractOpenemsComponent {
+
+		private TestComponent(String id) {
+			super(OpenemsComponent.ChannelId.values(), TestChannelId.values());
+			super.activate(null, id, "", true);
+		}
+	}
+
+	private static IntegerReadChannel createChannel(String componentId) {
+		return new TestComponent(componentId).channel(TestChannelId.CHANNEL);
+	}
+
+	private static void nextValue(IntegerReadChannel channel, Integer value) {
+		channel.setNextValue(value);
+		channel.nextProcessImage();
+	}
+
+	@Test
+	public void testAddAndUpdate() {
+		final IntegerReadChannel channel0 = createChannel("component0");
+		final IntegerReadChannel channel1 = createChannel("component1");
+		nextValue(channel0, 100);
+
+		final IncrementalSum sut = new IncrementalSum();
+		assertNull(sut.getIntegerSum());
+
+		// Current value is added with the Channel
+		sut.addChannel(channel0);
+		sut.addChannel(channel1);
+		assertEquals(Integer.valueOf(100), sut.getIntegerSum());
+
+		nextValue(channel1, 50);
+		assertEquals(Integer.valueOf(150), sut.getIntegerSum());
+		assertEquals(Long.valueOf(150), sut.getLongSum());
+		assertEquals(75, sut.getAverage(), 0.001);
+
+		// Next value is only considered on nextProcessImage
+		channel0.setNextValue(200);
+		assertEquals(Integer.valueOf(150), sut.getIntegerSum());
+		channel0.nextProcessImage();
+		assertEquals(Integer.valueOf(250), sut.getIntegerSum());
+	}
+
+	@Test
+	public void testNullValues() {
+		final IntegerReadChannel channel0 = createChannel("component0");
+		final IntegerReadChannel channel1 = createChannel("component1");
+		final IncrementalSum sut = new IncrementalSum();
+		sut.addChannel(channel0);
+		sut.addChannel(channel1);
+		assertNull(sut.getIntegerSum());
+		assertNull(sut.getAverage());
+
+		nextValue(channel0, 100);
+		assertEquals(Integer.valueOf(100), sut.getIntegerSum());
+		// Undefined values are not part of the average
+		assertEquals(100, sut.getAverage(), 0.001);
+
+		nextValue(channel1, 300);
+		assertEquals(200, sut.getAverage(), 0.001);
+
+		nextValue(channel0, null);
+		assertEquals(Integer.valueOf(300), sut.getIntegerSum());
+
+		nextValue(channel1, null);
+		assertNull(sut.getIntegerSum());
+		assertNull(sut.getLongSum());
+	}
+
+	@Test
+	public void testConverter() {
+		final IntegerReadChannel channel = createChannel("component0");
+		final IncrementalSum sut = new IncrementalSum();
+		sut.addChannel(channel, value -> {
+			if (value < 0) {
+				throw new IllegalArgumentException("negative");
+			}
+			return value * 2;
+		});
+
+		nextValue(channel, 100);
+		assertEquals(Integer.valueOf(200), sut.getIntegerSum());
+
+		// Failing conversion is treated like an undefined value
+		nextValue(channel, -1);
+		assertNull(sut.getIntegerSum());
+	}
+
+	@Test
+	public void testRemovedComponent() {
+		final IntegerReadChannel channel0 = createChannel("component0");
+		final IntegerReadChannel channel1 = createChannel("component1");
+		final IncrementalSum sut = new IncrementalSum();
+		sut.addChannel(channel0);
+		sut.addChannel(channel1);
+		nextValue(channel0, 100);
+		nextValue(channel1, 50);
+		assertEquals(Integer.valueOf(150), sut.getIntegerSum());
+
+		// Component of channel1 was removed: Channels are collected again
+		sut.clear();
+		assertNull(sut.getIntegerSum());
+		sut.addChannel(channel0);
+		assertEquals(Integer.valueOf(100), sut.getIntegerSum());
+
+		// Changes of the removed Channel are ignored
+		nextValue(channel1, 500);
+		assertEquals(Integer.valueOf(100), sut.getIntegerSum());
+		nextValue(channel0, 200);
+		assertEquals(Integer.valueOf(200), sut.getIntegerSum());
+	}
+
+}
@@ -31,7 +31,7 @@ import io.openems.edge.common.filter.PidFilter;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
 import io.openems.edge.ess.core.power.data.LogUtil;
-import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
+import io.openems.edge.ess.core.power.solver.PowerExtremaCache;
 import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Phase;
@@ -60,6 +60,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 
 	private final Data data;
 	private final Solver solver;
+	private final PowerExtremaCache powerExtremaCache = new PowerExtremaCache();
 
 	private boolean debugMode = PowerComponentImpl.DEFAULT_DEBUG_MODE;
 
@@ -198,8 +199,8 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 			this.logError(this.log, "Unable to get Constraints " + e.getMessage());
 			return 0;
 		}
-		double power = CalculatePowerExtrema.from(this.data.getCoefficients(), allConstraints, ess.id(), phase, pwr,
-				goal);
+		double power = this.powerExtremaCache.from(this.data.getCoefficients(), allConstraints, ess.id(), phase,
+				pwr, goal);
 		if (power > Integer.MIN_VALUE && power < Integer.MAX_VALUE) {
 			if (goal == GoalType.MAXIMIZE) {
 				return (int) Math.floor(power);
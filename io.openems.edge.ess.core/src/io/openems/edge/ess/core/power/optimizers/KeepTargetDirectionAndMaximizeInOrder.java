@@ -4,12 +4,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
 import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
+import io.openems.edge.ess.core.power.data.LinearSolverUtil;
 import io.openems.edge.ess.core.power.data.TargetDirection;
 import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
@@ -82,7 +84,10 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 			return result;
 		}
 
-		// Try maximizing all inverters in order in target direction
+		// Try maximizing all inverters in order in target direction. 'allConstraints'
+		// does not change in the loop, so it is converted only once.
+		final List<LinearConstraint> allLinearConstraints = LinearSolverUtil.convertToLinearConstraints(coefficients,
+				allConstraints);
 		for (Inverter inv : targetInverters) {
 			GoalType goal;
 			if (targetDirection == TargetDirection.CHARGE) {
@@ -91,15 +96,15 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 				goal = GoalType.MAXIMIZE;
 			}
 
-			double activePowerTarget = CalculatePowerExtrema.from(coefficients, allConstraints, inv.getEssId(),
-					inv.getPhase(), Pwr.ACTIVE, goal);
+			double activePowerTarget = CalculatePowerExtrema.fromLinearConstraints(coefficients,
+					allLinearConstraints, inv.getEssId(), inv.getPhase(), Pwr.ACTIVE, goal);
 			result = addContraintIfProblemStillSolves(result, constraints, coefficients,
 					ConstraintUtil.createSimpleConstraint(coefficients, //
 							inv.toString() + ": Set ActivePower " + goal.name() + " value", //
 							inv.getEssId(), inv.getPhase(), Pwr.ACTIVE, Relationship.EQUALS, activePowerTarget));
 
-			double reactivePowerTarget = CalculatePowerExtrema.from(coefficients, allConstraints, inv.getEssId(),
-					inv.getPhase(), Pwr.REACTIVE, goal);
+			double reactivePowerTarget = CalculatePowerExtrema.fromLinearConstraints(coefficients,
+					allLinearConstraints, inv.getEssId(), inv.getPhase(), Pwr.REACTIVE, goal);
 			result = addContraintIfProblemStillSolves(result, constraints, coefficients,
 					ConstraintUtil.createSimpleConstraint(coefficients, //
 							inv.toString() + ": Set ReactivePower " + goal.name() + " value", //
@@ -0,0 +1,87 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.core.power.data.LinearSolverUtil;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+
+/**
+ * Memoizes the results of {@link CalculatePowerExtrema}.
+ * 
+ * <p>
+ * getMinPower() and getMaxPower() are called multiple times per Cycle - e.g.
+ * by every Controller for every ESS - mostly under unchanged Constraints. The
+ * results are kept as long as the {@link LinearConstraint}s are equal to the
+ * ones of the previous call. Any change, like an added Constraint or new values
+ * of the static ESS Constraints, clears the cache.
+ */
+public class PowerExtremaCache {
+
+	@FunctionalInterface
+	interface Solver {
+
+		/**
+		 * Calculates the extrema; see
+		 * {@link CalculatePowerExtrema#fromLinearConstraints(Coefficients, List, String, Phase, Pwr, GoalType)}.
+		 * 
+		 * @param coefficients      the {@link Coefficients}
+		 * @param linearConstraints the {@link LinearConstraint}s
+		 * @param essId             the ID of the {@link ManagedSymmetricEss}
+		 * @param phase             the {@link Phase}
+		 * @param pwr               the {@link Pwr}
+		 * @param goal              the {@link GoalType}
+		 * @return the extrema value
+		 */
+		public double solve(Coefficients coefficients, List<LinearConstraint> linearConstraints, String essId,
+				Phase phase, Pwr pwr, GoalType goal);
+
+	}
+
+	private final Solver solver;
+
+	private List<LinearConstraint> linearConstraints = Collections.emptyList();
+	private final Map<List<Object>, Double> results = new HashMap<>();
+
+	public PowerExtremaCache() {
+		this(CalculatePowerExtrema::fromLinearConstraints);
+	}
+
+	PowerExtremaCache(Solver solver) {
+		this.solver = solver;
+	}
+
+	/**
+	 * Gets the extrema under the current constraints for the given parameters.
+	 * 
+	 * @param coefficients   the {@link Coefficients}
+	 * @param allConstraints all active {@link Constraint}s
+	 * @param essId          the ID of the {@link ManagedSymmetricEss}
+	 * @param phase          the {@link Phase}
+	 * @param pwr            the {@link Pwr}
+	 * @param goal           the {@link GoalType}
+	 * @return the extrema value; or 0 on error
+	 */
+	public synchronized double from(Coefficients coefficients, List<Constraint> allConstraints, String essId,
+			Phase phase, Pwr pwr, GoalType goal) {
+		final List<LinearConstraint> linearConstraints = LinearSolverUtil.convertToLinearConstraints(coefficients,
+				allConstraints);
+		if (!linearConstraints.equals(this.linearConstraints)) {
+			this.linearConstraints = linearConstraints;
+			this.results.clear();
+		}
+		return this.results.computeIfAbsent(Arrays.asList(essId, phase, pwr, goal),
+				key -> this.solver.solve(coefficients, linearConstraints, essId, phase, pwr, goal));
+	}
+
+}
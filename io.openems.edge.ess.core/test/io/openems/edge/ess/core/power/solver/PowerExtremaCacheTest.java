@@ -0,0 +1,67 @@
+package io.openems.edge.ess.core.power.solver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.core.power.data.ConstraintUtil;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+
+public class PowerExtremaCacheTest {
+
+	private static final String ESS_ID = "ess0";
+
+	@Test
+	public void test() throws OpenemsException {
+		final Coefficients coefficients = new Coefficients();
+		coefficients.initialize(true, Set.of(ESS_ID));
+		final AtomicInteger solverCalls = new AtomicInteger();
+		final PowerExtremaCache sut = new PowerExtremaCache((c, linearConstraints, essId, phase, pwr, goal) -> {
+			solverCalls.incrementAndGet();
+			return CalculatePowerExtrema.fromLinearConstraints(c, linearConstraints, essId, phase, pwr, goal);
+		});
+
+		List<Constraint> constraints = new ArrayList<>();
+		constraints.add(ConstraintUtil.createSimpleConstraint(coefficients, "Max", ESS_ID, Phase.ALL, Pwr.ACTIVE,
+				Relationship.LESS_OR_EQUALS, 5000));
+		constraints.add(ConstraintUtil.createSimpleConstraint(coefficients, "Min", ESS_ID, Phase.ALL, Pwr.ACTIVE,
+				Relationship.GREATER_OR_EQUALS, -3000));
+		constraints.add(ConstraintUtil.createSimpleConstraint(coefficients, "Reactive", ESS_ID, Phase.ALL,
+				Pwr.REACTIVE, Relationship.EQUALS, 0));
+
+		assertEquals(5000, sut.from(coefficients, constraints, ESS_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE),
+				0.001);
+		assertEquals(-3000, sut.from(coefficients, constraints, ESS_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MINIMIZE),
+				0.001);
+		assertEquals(2, solverCalls.get());
+
+		// Equal Constraints (new instances) -> cached result
+		List<Constraint> sameConstraints = new ArrayList<>(constraints);
+		sameConstraints.set(0, ConstraintUtil.createSimpleConstraint(coefficients, "Max", ESS_ID, Phase.ALL,
+				Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 5000));
+		assertEquals(5000, sut.from(coefficients, sameConstraints, ESS_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE),
+				0.001);
+		assertEquals(2, solverCalls.get());
+
+		// Additional Constraint -> recalculate
+		constraints.add(ConstraintUtil.createSimpleConstraint(coefficients, "Limit", ESS_ID, Phase.ALL, Pwr.ACTIVE,
+				Relationship.LESS_OR_EQUALS, 1000));
+		assertEquals(1000, sut.from(coefficients, constraints, ESS_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE),
+				0.001);
+		assertEquals(-3000, sut.from(coefficients, constraints, ESS_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MINIMIZE),
+				0.001);
+		assertEquals(4, solverCalls.get());
+	}
+
+}
@@ -0,0 +1,117 @@
+package io.openems.edge.timedata.rrd4j;
+
+import org.rrd4j.ConsolFun;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.PastValues;
+
+/**
+ * Aggregates the values of one Channel between two records in primitive
+ * fields, without intermediate streams or collections.
+ *
+ * <p>
+ * The accumulator takes one sample per Cycle via {@link #sample()}. Samples
+ * are read as primitive doubles from the {@link PastValues} of the Channel, so
+ * no {@link io.openems.edge.common.channel.value.Value} objects are created or
+ * boxed for numeric Channels.
+ *
+ * <p>
+ * All methods must be called by the Cycle thread.
+ *
+ * @param <T> the Channel type
+ */
+class ChannelAccumulator<T> {
+
+	private final Channel<T> channel;
+	private final boolean isString;
+	private final boolean isMax;
+
+	private double sum = 0;
+	private int count = 0;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Creates a {@link ChannelAccumulator}.
+	 *
+	 * @param <T>       the Channel type
+	 * @param channel   the {@link Channel}
+	 * @param consolFun the {@link ConsolFun} of the Channel; {@link ConsolFun#MAX}
+	 *                  or {@link ConsolFun#AVERAGE}
+	 * @return the {@link ChannelAccumulator}
+	 */
+	public static <T> ChannelAccumulator<T> of(Channel<T> channel, ConsolFun consolFun) {
+		return new ChannelAccumulator<>(channel, consolFun == ConsolFun.MAX);
+	}
+
+	private ChannelAccumulator(Channel<T> channel, boolean isMax) {
+		this.channel = channel;
+		this.isString = channel.getType() == OpenemsType.STRING;
+		this.isMax = isMax;
+	}
+
+	/**
+	 * Adds the current value of the Channel, i.e. the latest entry of its
+	 * {@link PastValues}. Called once per Cycle after the process image was
+	 * switched.
+	 */
+	public void sample() {
+		PastValues<T> pastValues = this.channel.getPastValues();
+		int latest = pastValues.size() - 1;
+		if (latest >= 0) {
+			this.add(pastValues, latest);
+		}
+	}
+
+	/**
+	 * Adds the values that were recorded by the Channel before this
+	 * {@link ChannelAccumulator} was created.
+	 *
+	 * @param since the timestamp in epoch milliseconds; values with exactly this
+	 *              timestamp are not added
+	 */
+	public void addPastValues(long since) {
+		PastValues<T> pastValues = this.channel.getPastValues();
+		for (int i = pastValues.indexOf(since, false); i < pastValues.size(); i++) {
+			this.add(pastValues, i);
+		}
+	}
+
+	private void add(PastValues<T> pastValues, int index) {
+		if (!pastValues.isDefined(index)) {
+			return;
+		}
+		// Strings are not supported by RRD4J
+		this.add(this.isString ? 0d : pastValues.getAsDouble(index));
+	}
+
+	private void add(double value) {
+		this.sum += value;
+		this.count++;
+		if (value > this.max) {
+			this.max = value;
+		}
+	}
+
+	/**
+	 * Gets the aggregated value and resets the accumulator for the next record.
+	 *
+	 * @return the average or maximum value; {@link Double#NaN} if no value was
+	 *         added
+	 */
+	public double getAndReset() {
+		double result;
+		if (this.count == 0) {
+			result = Double.NaN;
+		} else if (this.isMax) {
+			result = this.max;
+		} else {
+			result = this.sum / this.count;
+		}
+		this.sum = 0;
+		this.count = 0;
+		this.max = Double.NEGATIVE_INFINITY;
+		return result;
+	}
+
+}
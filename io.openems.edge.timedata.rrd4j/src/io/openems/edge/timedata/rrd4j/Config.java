@@ -22,5 +22,14 @@ import io.openems.common.channel.PersistencePriority;
 	@AttributeDefinition(name = "Persistence Priority", description = "Store only Channels with a Persistence Priority above this. Be aware that too many writes can wear-out your flash storage.")
 	PersistencePriority persistencePriority() default PersistencePriority.MEDIUM;
 
+	@AttributeDefinition(name = "Storage Layout", description = "Store one file per Channel or one file per Component. Existing per-Channel files are migrated to per-Component files automatically.")
+	StorageLayout storageLayout() default StorageLayout.PER_CHANNEL;
+
+	@AttributeDefinition(name = "Component Groups", description = "For Storage Layout 'PER_COMPONENT': stores the Channels of multiple Components in one file. Format: 'group=componentId,componentId'; e.g. 'meters=meter0,meter1'")
+	String[] componentGroups() default {};
+
+	@AttributeDefinition(name = "Max open files", description = "Maximum number of RRD4J files that are kept open between writes and queries.")
+	int maxOpenFiles() default 1024;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata RRD4J [{id}]";
 }
\ No newline at end of file
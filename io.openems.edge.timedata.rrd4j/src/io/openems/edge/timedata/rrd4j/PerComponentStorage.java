@@ -0,0 +1,331 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.rrd4j.ConsolFun;
+import org.rrd4j.core.Archive;
+import org.rrd4j.core.DsDef;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdToolkit;
+import org.rrd4j.core.Robin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.rrd4j.Rrd4jTimedataImpl.ChannelDef;
+
+/**
+ * Stores all Channels of a Component - or of a configured group of Components
+ * - in one RRD4J file per consolidation function, with one datasource per
+ * Channel. See {@link StorageLayout#PER_COMPONENT}.
+ *
+ * <p>
+ * Files are stored next to the per-Channel files, e.g. 'meter0/_AVERAGE' and
+ * 'meter0/_MAX'. If a Channel is added to a per-Component file and there is
+ * still a per-Channel file, its archived data is copied over and the
+ * per-Channel file is deleted.
+ *
+ * <p>
+ * All methods must be called while holding the lock on the
+ * {@link Rrd4jTimedataImpl}.
+ */
+class PerComponentStorage {
+
+	/**
+	 * RRD4J limits the length of datasource names.
+	 */
+	private static final int MAX_DS_NAME_LENGTH = 20;
+
+	private final Logger log = LoggerFactory.getLogger(PerComponentStorage.class);
+
+	private final Rrd4jTimedataImpl parent;
+	private final RrdDbCache rrdDbCache;
+
+	/**
+	 * Group by Component-ID; Components without configured group are their own
+	 * group.
+	 */
+	private final Map<String, String> groups = new HashMap<>();
+
+	/**
+	 * Groups that hold other Components than the one with the group's name. Their
+	 * datasource names contain the Component-ID.
+	 */
+	private final Set<String> sharedGroups = new HashSet<>();
+
+	/**
+	 * Channels that are known to be contained in their per-Component file, i.e.
+	 * that do not need to be added or migrated anymore.
+	 */
+	private final Set<ChannelAddress> storedChannels = new HashSet<>();
+
+	public PerComponentStorage(Rrd4jTimedataImpl parent, RrdDbCache rrdDbCache, String[] componentGroups)
+			throws OpenemsException {
+		this.parent = parent;
+		this.rrdDbCache = rrdDbCache;
+		for (String componentGroup : componentGroups) {
+			if (componentGroup.isBlank()) {
+				continue;
+			}
+			String[] groupAndComponentIds = componentGroup.split("=", 2);
+			if (groupAndComponentIds.length != 2 || groupAndComponentIds[0].isBlank()) {
+				throw new OpenemsException("Unable to parse Component Group [" + componentGroup + "]");
+			}
+			String group = groupAndComponentIds[0].trim();
+			for (String componentId : groupAndComponentIds[1].split(",")) {
+				if (componentId.isBlank()) {
+					continue;
+				}
+				this.groups.put(componentId.trim(), group);
+				if (!componentId.trim().equals(group)) {
+					this.sharedGroups.add(group);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the group of a Component.
+	 *
+	 * @param componentId the Component-ID
+	 * @return the group
+	 */
+	public String getGroup(String componentId) {
+		return this.groups.getOrDefault(componentId, componentId);
+	}
+
+	/**
+	 * Gets the name of the datasource of a Channel.
+	 *
+	 * <p>
+	 * The Channel-ID is used if the Component is stored in a file of its own;
+	 * within a group of Components the full Channel-Address is used, e.g.
+	 * 'meter0/ActivePower'. If the name is too long, it is shortened and the hash
+	 * of the full name is appended to keep it unique, e.g.
+	 * 'ActivePowerL1Ex4f3a2b1c'.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the datasource name
+	 */
+	public String getDsName(ChannelAddress channelAddress) {
+		final String name;
+		if (this.sharedGroups.contains(this.getGroup(channelAddress.getComponentId()))) {
+			name = channelAddress.toString();
+		} else {
+			name = channelAddress.getChannelId();
+		}
+		if (name.length() <= MAX_DS_NAME_LENGTH) {
+			return name;
+		}
+		String hash = String.format("%08x", name.hashCode());
+		return name.substring(0, MAX_DS_NAME_LENGTH - hash.length()) + hash;
+	}
+
+	/**
+	 * Gets the per-Component RRD4J file.
+	 *
+	 * @param group     the group, i.e. usually the Component-ID
+	 * @param consolFun the {@link ConsolFun}
+	 * @return the {@link File}
+	 */
+	public File getFile(String group, ConsolFun consolFun) {
+		return this.parent.getDbFile(group, "_" + consolFun.name());
+	}
+
+	/**
+	 * Gets an existing per-Component RrdDb, if it contains the datasource for the
+	 * given Channel.
+	 *
+	 * <p>
+	 * The RrdDb must be given back using {@link RrdDbCache#release(RrdDb)}.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param consolFun      the {@link ConsolFun} of the Channel
+	 * @return the RrdDb or null
+	 * @throws IOException on error
+	 */
+	public RrdDb getExistingRrdDb(ChannelAddress channelAddress, ConsolFun consolFun) throws IOException {
+		File file = this.getFile(this.getGroup(channelAddress.getComponentId()), consolFun);
+		RrdDb database = this.rrdDbCache.acquire(file.getPath(), () -> {
+			if (!file.exists()) {
+				return null;
+			}
+			return this.parent.openRrdDb(file);
+		});
+		if (database == null) {
+			return null;
+		}
+		if (!this.storedChannels.contains(channelAddress)
+				&& !Arrays.asList(database.getDsNames()).contains(this.getDsName(channelAddress))) {
+			this.rrdDbCache.release(database);
+			return null;
+		}
+		return database;
+	}
+
+	/**
+	 * Gets the per-Component RrdDb for writing the given Channels; creates it or
+	 * adds datasources if required and migrates existing per-Channel files.
+	 *
+	 * <p>
+	 * The RrdDb must be given back using {@link RrdDbCache#release(RrdDb)}.
+	 *
+	 * @param group     the group, i.e. usually the Component-ID
+	 * @param consolFun the {@link ConsolFun} of the Channels
+	 * @param channels  the Channels and their {@link Unit}s
+	 * @param startTime the start time for a newly created RrdDb
+	 * @return the RrdDb
+	 * @throws IOException on error
+	 */
+	public RrdDb getRrdDb(String group, ConsolFun consolFun, Map<ChannelAddress, Unit> channels, long startTime)
+			throws IOException {
+		File file = this.getFile(group, consolFun);
+		String path = file.getPath();
+		RrdDb database = this.rrdDbCache.acquire(path, () -> {
+			if (file.exists()) {
+				return this.parent.openRrdDb(file);
+			}
+			return this.createNewDb(file, consolFun, channels, startTime);
+		});
+
+		try {
+			// Find Channels that are not yet known
+			Map<ChannelAddress, Unit> newChannels = new HashMap<>();
+			for (Entry<ChannelAddress, Unit> entry : channels.entrySet()) {
+				if (!this.storedChannels.contains(entry.getKey())) {
+					newChannels.put(entry.getKey(), entry.getValue());
+				}
+			}
+			if (newChannels.isEmpty()) {
+				return database;
+			}
+
+			// Add missing datasources
+			List<String> dsNames = Arrays.asList(database.getDsNames());
+			List<DsDef> newDsDefs = new ArrayList<>();
+			for (Entry<ChannelAddress, Unit> entry : newChannels.entrySet()) {
+				String dsName = this.getDsName(entry.getKey());
+				if (!dsNames.contains(dsName)) {
+					newDsDefs.add(this.createDsDef(dsName, entry.getValue()));
+				}
+			}
+			if (!newDsDefs.isEmpty()) {
+				// RrdToolkit rewrites the file; make sure it is closed before
+				this.rrdDbCache.detach(database);
+				this.rrdDbCache.release(database);
+				database = null;
+				RrdToolkit.addDatasources(path, newDsDefs, false);
+				database = this.rrdDbCache.acquire(path, () -> this.parent.openRrdDb(file));
+			}
+
+			// Migrate per-Channel files
+			for (Entry<ChannelAddress, Unit> entry : newChannels.entrySet()) {
+				this.migrate(database, entry.getKey(), entry.getValue());
+				this.storedChannels.add(entry.getKey());
+			}
+			return database;
+
+		} catch (IOException | RuntimeException e) {
+			this.rrdDbCache.release(database);
+			throw e;
+		}
+	}
+
+	private RrdDb createNewDb(File file, ConsolFun consolFun, Map<ChannelAddress, Unit> channels, long startTime)
+			throws IOException {
+		RrdDef rrdDef = new RrdDef(//
+				file.toURI(), //
+				startTime, // Start-Time
+				Rrd4jTimedataImpl.DEFAULT_STEP_SECONDS // Step in [s], default: 300 = 5 minutes
+		);
+		for (Entry<ChannelAddress, Unit> entry : channels.entrySet()) {
+			rrdDef.addDatasource(this.createDsDef(this.getDsName(entry.getKey()), entry.getValue()));
+		}
+		Rrd4jTimedataImpl.addArchives(rrdDef, consolFun);
+		return this.parent.buildRrdDb(rrdDef);
+	}
+
+	private DsDef createDsDef(String dsName, Unit channelUnit) {
+		ChannelDef channelDef = this.parent.getDsDefForChannel(channelUnit);
+		return new DsDef(dsName, //
+				channelDef.dsType, //
+				Rrd4jTimedataImpl.DEFAULT_HEARTBEAT_SECONDS, // Heartbeat in [s], default 300 = 5 minutes
+				channelDef.minValue, channelDef.maxValue);
+	}
+
+	/**
+	 * Copies the archived data of an existing per-Channel file to the
+	 * per-Component file and deletes the per-Channel file.
+	 *
+	 * <p>
+	 * Rows are aligned by their timestamps; rows that already hold a value in the
+	 * per-Component file are kept.
+	 *
+	 * @param database       the per-Component {@link RrdDb}
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param channelUnit    the {@link Unit} of the Channel
+	 * @throws IOException on error
+	 */
+	private void migrate(RrdDb database, ChannelAddress channelAddress, Unit channelUnit) throws IOException {
+		File oldFile = this.parent.getDbFile(channelAddress.getComponentId(), channelAddress.getChannelId());
+		if (!oldFile.exists()) {
+			return;
+		}
+		RrdDb oldDb = this.rrdDbCache.acquire(oldFile.getPath(), () -> this.parent.openRrdDb(oldFile));
+		try {
+			oldDb = this.parent.updateRrdDbToLatestDefinition(oldDb, channelAddress, channelUnit);
+
+			int dsIndex = database.getDsIndex(this.getDsName(channelAddress));
+			for (int i = 0; i < oldDb.getArcCount(); i++) {
+				Archive oldArchive = oldDb.getArchive(i);
+				Archive newArchive = getMatchingArchive(database, oldArchive);
+				if (newArchive == null) {
+					continue;
+				}
+				double[] oldValues = oldArchive.getRobin(0).getValues();
+				Robin newRobin = newArchive.getRobin(dsIndex);
+				double[] newValues = newRobin.getValues();
+				long shift = (newArchive.getEndTime() - oldArchive.getEndTime()) / newArchive.getArcStep();
+				for (int oldIndex = 0; oldIndex < oldValues.length; oldIndex++) {
+					long newIndex = oldIndex - shift;
+					if (newIndex >= 0 && newIndex < newValues.length && Double.isNaN(newValues[(int) newIndex])) {
+						newValues[(int) newIndex] = oldValues[oldIndex];
+					}
+				}
+				newRobin.setValues(newValues);
+			}
+		} finally {
+			this.rrdDbCache.detach(oldDb);
+			this.rrdDbCache.release(oldDb);
+		}
+
+		Files.delete(oldFile.toPath());
+		this.log.info("Migrated RRD4j Database [" + channelAddress + "] to per-Component file ["
+				+ this.getGroup(channelAddress.getComponentId()) + "]");
+	}
+
+	private static Archive getMatchingArchive(RrdDb database, Archive archive) throws IOException {
+		for (int i = 0; i < database.getArcCount(); i++) {
+			Archive result = database.getArchive(i);
+			if (result.getConsolFun() == archive.getConsolFun() && result.getArcStep() == archive.getArcStep()
+					&& result.getRows() == archive.getRows()) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+}
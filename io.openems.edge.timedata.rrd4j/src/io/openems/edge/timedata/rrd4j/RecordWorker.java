@@ -1,16 +1,19 @@
 package io.openems.edge.timedata.rrd4j;
 
-import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.OptionalDouble;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
-import java.util.stream.DoubleStream;
 
+import org.rrd4j.ConsolFun;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
@@ -19,7 +22,6 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.channel.AccessMode;
 import io.openems.common.channel.Unit;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.Doc;
@@ -54,7 +56,13 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 	// keeps the last recorded timestamp
 	private Instant lastTimestamp = Instant.MIN;
-	private LocalDateTime readChannelValuesSince = LocalDateTime.MIN;
+	private long readChannelValuesSince = Long.MIN_VALUE; // epoch milliseconds
+
+	// Accumulators for all persisted Channels of the enabled Components
+	private Map<Channel<?>, ChannelAccumulator<?>> accumulators = new HashMap<>();
+	private List<ChannelAccumulator<?>> accumulatorList = new ArrayList<>();
+	private List<OpenemsComponent> accumulatorComponents = new ArrayList<>();
+	private long accumulatorChannelsVersion = 0;
 
 	public RecordWorker(Rrd4jTimedataImpl parent) {
 		this.parent = parent;
@@ -65,13 +73,18 @@ public class RecordWorker extends AbstractImmediateWorker {
 	 * OpenEMS cycle. On finish it triggers a next async task to write the data to
 	 * RRD4J.
 	 */
-	public void collectData() {
+	public synchronized void collectData() {
 		Instant timestamp = Instant.now().truncatedTo(ChronoUnit.SECONDS);
-		final LocalDateTime nextReadChannelValuesSince = LocalDateTime.now();
+		final long nextReadChannelValuesSince = System.currentTimeMillis();
 
 		// Increase CycleCount
 		this.cycleCount += 1;
 
+		// Take one sample per Cycle
+		for (int i = 0; i < this.accumulatorList.size(); i++) {
+			this.accumulatorList.get(i).sample();
+		}
+
 		// Same second as last run? -> RRD4j can only handle one sample per second per
 		// database. Timestamps are all stored "truncated to seconds".
 		if (timestamp.equals(this.lastTimestamp)) {
@@ -91,173 +104,202 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 		this.lastTimestamp = timestamp;
 
-		for (OpenemsComponent component : this.parent.componentManager.getEnabledComponents()) {
+		this.updateAccumulators();
+
+		for (Entry<Channel<?>, ChannelAccumulator<?>> entry : this.accumulators.entrySet()) {
+			// new values since last recording; only not-null values
+			double value = entry.getValue().getAndReset();
+			if (Double.isNaN(value)) {
+				// only available channels
+				continue;
+			}
+
+			Channel<?> channel = entry.getKey();
+			if (this.records.offer(//
+					new Record(timestamp.getEpochSecond(), channel.address(), channel.channelDoc().getUnit(), value))) {
+				this.parent._setQueueIsFull(false);
+
+			} else {
+				this.parent.logWarn(this.log, "Unable to add record [" + channel.address() + "]. Queue is full!");
+				this.parent._setQueueIsFull(true);
+			}
+		}
+
+		this.readChannelValuesSince = nextReadChannelValuesSince;
+	}
+
+	/**
+	 * Creates {@link ChannelAccumulator}s for all persisted Channels of the
+	 * enabled Components and removes the ones of Channels that are gone.
+	 *
+	 * <p>
+	 * Newly created {@link ChannelAccumulator}s are filled with the values the
+	 * Channel recorded since the last record.
+	 */
+	private void updateAccumulators() {
+		List<OpenemsComponent> components = this.parent.componentManager.getEnabledComponents();
+		// Versions only increase, so the sum changes if any Channel was added or removed
+		long channelsVersion = 0;
+		for (OpenemsComponent component : components) {
+			channelsVersion += component.getChannelsVersion();
+		}
+		if (channelsVersion == this.accumulatorChannelsVersion && components.equals(this.accumulatorComponents)) {
+			// no Components or Channels were added or removed
+			return;
+		}
+
+		Map<Channel<?>, ChannelAccumulator<?>> accumulators = new HashMap<>();
+		for (OpenemsComponent component : components) {
 			for (Channel<?> channel : component.channels()) {
 				Doc doc = channel.channelDoc();
 				if ( // Ignore Low-Priority Channels
 				doc.getPersistencePriority().isLowerThan(this.parent.persistencePriority)
 						// Ignore WRITE_ONLY Channels
-						|| channel.channelDoc().getAccessMode() == AccessMode.WRITE_ONLY) {
-					continue;
-				}
-
-				ToDoubleFunction<? super Object> channelMapFunction = this
-						.getChannelMapFunction(channel.channelDoc().getType());
-				Function<DoubleStream, OptionalDouble> channelAggregateFunction = this
-						.getChannelAggregateFunction(channel.channelDoc().getUnit());
-
-				OptionalDouble value = channelAggregateFunction.apply(//
-						channel.getPastValues() //
-								.tailMap(this.readChannelValuesSince, false) // new values since last recording
-								.values().stream() //
-								.map(v -> v.get()) //
-								.filter(v -> v != null) // only not-null values
-								.mapToDouble(channelMapFunction) // convert to double
-				);
-				if (!value.isPresent()) {
-					// only available channels
+						|| doc.getAccessMode() == AccessMode.WRITE_ONLY) {
 					continue;
 				}
-
-				if (this.records.offer(//
-						new Record(timestamp.getEpochSecond(), channel.address(), channel.channelDoc().getUnit(),
-								value.getAsDouble()))) {
-					this.parent._setQueueIsFull(false);
-
-				} else {
-					this.parent.logWarn(this.log, "Unable to add record [" + channel.address() + "]. Queue is full!");
-					this.parent._setQueueIsFull(true);
+				ChannelAccumulator<?> accumulator = this.accumulators.remove(channel);
+				if (accumulator == null) {
+					accumulator = ChannelAccumulator.of(channel,
+							this.parent.getDsDefForChannel(doc.getUnit()).consolFun);
+					accumulator.addPastValues(this.readChannelValuesSince);
 				}
+				accumulators.put(channel, accumulator);
 			}
 		}
+		this.accumulators = accumulators;
+		this.accumulatorList = new ArrayList<>(accumulators.values());
+		this.accumulatorComponents = new ArrayList<>(components);
+		this.accumulatorChannelsVersion = channelsVersion;
+	}
 
-		this.readChannelValuesSince = nextReadChannelValuesSince;
+	@Override
+	public synchronized void deactivate() {
+		super.deactivate();
+		this.accumulators = new HashMap<>();
+		this.accumulatorList = new ArrayList<>();
+		this.accumulatorComponents = new ArrayList<>();
+		this.accumulatorChannelsVersion = 0;
 	}
 
 	@Override
 	protected void forever() throws InterruptedException {
-		Record record = this.records.take();
-		RrdDb database = null;
+		// Wait for the next Record and drain all Records that are already queued
+		List<Record> records = new ArrayList<>();
+		records.add(this.records.take());
+		this.records.drainTo(records);
+
+		// Group Records per RRD4j file, keeping their order
+		boolean isPerComponent = this.parent.storageLayout == StorageLayout.PER_COMPONENT;
+		Map<String, List<Record>> recordsPerFile = new LinkedHashMap<>();
+		for (Record record : records) {
+			String file;
+			if (isPerComponent) {
+				file = this.parent.perComponentStorage.getGroup(record.address.getComponentId()) + "/"
+						+ this.parent.getDsDefForChannel(record.unit).consolFun.name();
+			} else {
+				file = record.address.toString();
+			}
+			recordsPerFile.computeIfAbsent(file, f -> new ArrayList<>()).add(record);
+		}
 
-		try {
-			database = this.parent.getRrdDb(record.address, record.unit, record.timestamp - 1);
+		boolean unableToInsertSample = false;
+		for (List<Record> fileRecords : recordsPerFile.values()) {
+			boolean isOk;
+			if (isPerComponent) {
+				isOk = this.writePerComponent(fileRecords);
+			} else {
+				isOk = this.write(fileRecords.get(0).address, fileRecords);
+			}
+			if (!isOk) {
+				unableToInsertSample = true;
+			}
+		}
+		this.parent._setUnableToInsertSample(unableToInsertSample);
+	}
 
-			if (database.getLastUpdateTime() < record.timestamp) {
-				// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
-				// YYY. Last update time was ZZZ, at least one second step is required".
+	/**
+	 * Writes the Records of one Component - or group of Components - to its
+	 * per-Component RRD4j database. See {@link StorageLayout#PER_COMPONENT}.
+	 * 
+	 * @param records the Records in chronological order; all with the same
+	 *                {@link ConsolFun}
+	 * @return false on error
+	 */
+	private boolean writePerComponent(List<Record> records) {
+		Record first = records.get(0);
+		String group = this.parent.perComponentStorage.getGroup(first.address.getComponentId());
+		ConsolFun consolFun = this.parent.getDsDefForChannel(first.unit).consolFun;
+		Map<ChannelAddress, Unit> channels = new HashMap<>();
+		SortedMap<Long, List<Record>> recordsPerTimestamp = new TreeMap<>();
+		for (Record record : records) {
+			channels.put(record.address, record.unit);
+			recordsPerTimestamp.computeIfAbsent(record.timestamp, timestamp -> new ArrayList<>()).add(record);
+		}
 
-				// Add Sample to RRD4J
-				Sample sample = database.createSample(record.timestamp);
-				sample.setValue(0, record.value);
-				sample.update();
+		RrdDb database = null;
+		try {
+			database = this.parent.getPerComponentRrdDb(group, consolFun, channels,
+					recordsPerTimestamp.firstKey() - 1);
+
+			for (Entry<Long, List<Record>> entry : recordsPerTimestamp.entrySet()) {
+				if (database.getLastUpdateTime() < entry.getKey()) {
+					// Avoid and silently ignore error "Bad sample time"; see write()
+
+					// Add one Sample for all Channels to RRD4J
+					Sample sample = database.createSample(entry.getKey());
+					for (Record record : entry.getValue()) {
+						sample.setValue(this.parent.perComponentStorage.getDsName(record.address), record.value);
+					}
+					sample.update();
+				}
 			}
-
-			this.parent._setUnableToInsertSample(false);
+			return true;
 
 		} catch (Throwable e) {
-			this.parent._setUnableToInsertSample(true);
-			this.parent.logWarn(this.log, "Unable to insert Sample [" + record.address + "] "
+			this.parent.logWarn(this.log, "Unable to insert Sample [" + group + "/" + consolFun + "] "
 					+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			return false;
+
 		} finally {
-			if (database != null) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.parent.logWarn(this.log,
-							"Unable to close database [" + record.address + "]: " + e.getMessage());
-				}
-			}
+			this.parent.releaseRrdDb(database);
 		}
 	}
 
-	private static final ToDoubleFunction<? super Object> MAP_BOOLEAN_TO_DOUBLE = (value) -> {
-		return (Boolean) value ? 1d : 0d;
-	};
-
-	private static final ToDoubleFunction<? super Object> MAP_SHORT_TO_DOUBLE = (value) -> {
-		return ((Short) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_INTEGER_TO_DOUBLE = (value) -> {
-		return ((Integer) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_LONG_TO_DOUBLE = (value) -> {
-		return ((Long) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_FLOAT_TO_DOUBLE = (value) -> {
-		return ((Float) value).doubleValue();
-	};
-	private static final ToDoubleFunction<? super Object> MAP_DOUBLE_TO_DOUBLE = (value) -> {
-		return (Double) value;
-	};
-	private static final ToDoubleFunction<? super Object> MAP_TO_DOUBLE_NOT_SUPPORTED = (value) -> {
-		return 0d;
-	};
-
-	private ToDoubleFunction<? super Object> getChannelMapFunction(OpenemsType openemsType) {
-		switch (openemsType) {
-		case BOOLEAN:
-			return MAP_BOOLEAN_TO_DOUBLE;
-		case SHORT:
-			return MAP_SHORT_TO_DOUBLE;
-		case INTEGER:
-			return MAP_INTEGER_TO_DOUBLE;
-		case LONG:
-			return MAP_LONG_TO_DOUBLE;
-		case FLOAT:
-			return MAP_FLOAT_TO_DOUBLE;
-		case DOUBLE:
-			return MAP_DOUBLE_TO_DOUBLE;
-		case STRING:
-			// Strings are not supported by RRD4J
-			return MAP_TO_DOUBLE_NOT_SUPPORTED;
-		}
-		throw new IllegalArgumentException("Type [" + openemsType + "] is not supported.");
-	}
+	/**
+	 * Writes the Records of one Channel to its RRD4j database.
+	 * 
+	 * @param address the {@link ChannelAddress}
+	 * @param records the Records in chronological order
+	 * @return false on error
+	 */
+	private boolean write(ChannelAddress address, List<Record> records) {
+		Record first = records.get(0);
+		RrdDb database = null;
+		try {
+			database = this.parent.getRrdDb(address, first.unit, first.timestamp - 1);
 
-	private Function<DoubleStream, OptionalDouble> getChannelAggregateFunction(Unit channelUnit) {
-		switch (channelUnit) {
-		case AMPERE:
-		case AMPERE_HOURS:
-		case DEGREE_CELSIUS:
-		case DEZIDEGREE_CELSIUS:
-		case EUROS_PER_MEGAWATT_HOUR:
-		case HERTZ:
-		case HOUR:
-		case KILOAMPERE_HOURS:
-		case KILOOHM:
-		case KILOVOLT_AMPERE:
-		case KILOVOLT_AMPERE_REACTIVE:
-		case KILOWATT:
-		case MICROOHM:
-		case MILLIAMPERE_HOURS:
-		case MILLIAMPERE:
-		case MILLIHERTZ:
-		case MILLIOHM:
-		case MILLISECONDS:
-		case MILLIVOLT:
-		case MILLIWATT:
-		case MINUTE:
-		case NONE:
-		case WATT:
-		case VOLT:
-		case VOLT_AMPERE:
-		case VOLT_AMPERE_REACTIVE:
-		case WATT_HOURS_BY_WATT_PEAK:
-		case OHM:
-		case SECONDS:
-		case THOUSANDTH:
-		case PERCENT:
-		case ON_OFF:
-			return DoubleStream::average;
-		case CUMULATED_SECONDS:
-		case WATT_HOURS:
-		case KILOWATT_HOURS:
-		case VOLT_AMPERE_HOURS:
-		case VOLT_AMPERE_REACTIVE_HOURS:
-		case KILOVOLT_AMPERE_REACTIVE_HOURS:
-			return DoubleStream::max;
+			for (Record record : records) {
+				if (database.getLastUpdateTime() < record.timestamp) {
+					// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
+					// YYY. Last update time was ZZZ, at least one second step is required".
+
+					// Add Sample to RRD4J
+					Sample sample = database.createSample(record.timestamp);
+					sample.setValue(0, record.value);
+					sample.update();
+				}
+			}
+			return true;
+
+		} catch (Throwable e) {
+			this.parent.logWarn(this.log, "Unable to insert Sample [" + address + "] " + e.getClass().getSimpleName()
+					+ ": " + e.getMessage());
+			return false;
+
+		} finally {
+			this.parent.releaseRrdDb(database);
 		}
-		throw new IllegalArgumentException("Channel Unit [" + channelUnit + "] is not supported.");
 	}
 
 }
@@ -2,13 +2,18 @@ package io.openems.edge.timedata.rrd4j;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
@@ -75,6 +80,8 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	private final RecordWorker worker;
 	private final RrdRandomAccessFileBackendFactory factory;
 
+	private RrdDbCache rrdDbCache = null;
+
 	public Rrd4jTimedataImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -89,10 +96,15 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	protected ComponentManager componentManager;
 
 	protected PersistencePriority persistencePriority = PersistencePriority.MEDIUM;
+	protected StorageLayout storageLayout = StorageLayout.PER_CHANNEL;
+	protected PerComponentStorage perComponentStorage = null;
 
 	@Activate
 	void activate(ComponentContext context, Config config) throws Exception {
 		this.persistencePriority = config.persistencePriority();
+		this.storageLayout = config.storageLayout();
+		this.rrdDbCache = new RrdDbCache(config.maxOpenFiles());
+		this.perComponentStorage = new PerComponentStorage(this, this.rrdDbCache, config.componentGroups());
 		super.activate(context, config.id(), config.alias(), config.enabled());
 
 		if (config.enabled()) {
@@ -103,6 +115,9 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		this.worker.deactivate();
+		if (this.rrdDbCache != null) {
+			this.rrdDbCache.closeAll();
+		}
 		super.deactivate();
 	}
 
@@ -113,25 +128,13 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		ZoneId timezone = fromDate.getZone();
 		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
 
-		RrdDb database = null;
 		try {
 			long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 			long toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 
-			for (ChannelAddress channelAddress : channels) {
-				Channel<?> channel = this.componentManager.getChannel(channelAddress);
-				database = this.getExistingRrdDb(channel.address());
-				if (database == null) {
-					continue; // not existing -> abort
-				}
-
-				ChannelDef chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-				FetchRequest request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp,
-						resolution);
-
+			this.fetch(channels, fromTimestamp, toTimeStamp, resolution, (channelAddress, request, data, values) -> {
 				// Post-Process data
-				double[] result = postProcessData(request, resolution);
-				database.close();
+				double[] result = postProcessData(request, data.getStep(), values, resolution);
 
 				for (int i = 0; i < result.length; i++) {
 					long timestamp = fromTimestamp + (i * resolution);
@@ -154,20 +157,91 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 
 					table.put(dateTime, tableRow);
 				}
-			}
+			});
 
 		} catch (Exception e) {
 			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
-		} finally {
-			if (database != null && !database.isClosed()) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close database: " + e.getMessage());
+		}
+		return table;
+	}
+
+	@FunctionalInterface
+	private static interface FetchDataConsumer {
+		public void accept(ChannelAddress channelAddress, FetchRequest request, FetchData data, double[] values)
+				throws Exception;
+	}
+
+	private static class PerComponentFetch {
+		private final ConsolFun consolFun;
+		private final Map<ChannelAddress, String> dsNames = new LinkedHashMap<>();
+
+		private PerComponentFetch(ConsolFun consolFun) {
+			this.consolFun = consolFun;
+		}
+	}
+
+	/**
+	 * Fetches the data of the given Channels.
+	 * 
+	 * <p>
+	 * Channels that are stored in the same per-Component file are fetched with a
+	 * single {@link FetchRequest}.
+	 * 
+	 * @param channels      the Channels
+	 * @param fromTimestamp the start timestamp in epoch seconds
+	 * @param toTimestamp   the end timestamp in epoch seconds
+	 * @param resolution    the resolution in seconds
+	 * @param consumer      called with the values of each Channel that exists
+	 * @throws Exception on error
+	 */
+	private void fetch(Set<ChannelAddress> channels, long fromTimestamp, long toTimestamp, long resolution,
+			FetchDataConsumer consumer) throws Exception {
+		final List<RrdDb> databases = new ArrayList<>();
+		final Map<RrdDb, PerComponentFetch> perComponentFetches = new IdentityHashMap<>();
+		try {
+			for (ChannelAddress channelAddress : channels) {
+				Channel<?> channel = this.componentManager.getChannel(channelAddress);
+				ChannelDef chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
+
+				// Per-Component file
+				if (this.storageLayout == StorageLayout.PER_COMPONENT) {
+					RrdDb database = this.getExistingPerComponentRrdDb(channelAddress, chDef.consolFun);
+					if (database != null) {
+						databases.add(database);
+						perComponentFetches.computeIfAbsent(database, db -> new PerComponentFetch(chDef.consolFun)) //
+								.dsNames.put(channelAddress, this.perComponentStorage.getDsName(channelAddress));
+						continue;
+					}
+				}
+
+				// Per-Channel file; also for Channels that were not migrated yet
+				RrdDb database = this.getExistingRrdDb(channelAddress);
+				if (database == null) {
+					continue; // not existing -> abort
+				}
+				databases.add(database);
+				FetchRequest request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimestamp,
+						resolution);
+				FetchData data = request.fetchData();
+				consumer.accept(channelAddress, request, data, data.getValues()[0]);
+			}
+
+			for (Entry<RrdDb, PerComponentFetch> entry : perComponentFetches.entrySet()) {
+				PerComponentFetch fetch = entry.getValue();
+				FetchRequest request = entry.getKey().createFetchRequest(fetch.consolFun, fromTimestamp, toTimestamp,
+						resolution);
+				request.setFilter(fetch.dsNames.values().toArray(new String[fetch.dsNames.size()]));
+				FetchData data = request.fetchData();
+				for (Entry<ChannelAddress, String> dsName : fetch.dsNames.entrySet()) {
+					consumer.accept(dsName.getKey(), request, data, data.getValues(dsName.getValue()));
 				}
 			}
+
+		} finally {
+			for (RrdDb database : databases) {
+				this.releaseRrdDb(database);
+			}
 		}
-		return table;
 	}
 
 	/**
@@ -185,9 +259,21 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	protected static double[] postProcessData(FetchRequest request, int resolution)
 			throws IOException, IllegalArgumentException {
 		FetchData data = request.fetchData();
-		long step = data.getStep();
-		double[] input = data.getValues()[0];
+		return postProcessData(request, data.getStep(), data.getValues()[0], resolution);
+	}
 
+	/**
+	 * Post-Process the received data of one datasource.
+	 * 
+	 * @param request    the RRD4j {@link FetchRequest}
+	 * @param step       the step of the {@link FetchData}
+	 * @param input      the fetched values of the datasource
+	 * @param resolution the resolution in seconds
+	 * @return the result array
+	 * @throws IllegalArgumentException on error
+	 */
+	protected static double[] postProcessData(FetchRequest request, long step, double[] input, int resolution)
+			throws IllegalArgumentException {
 		// Initialize result array
 		final double[] result = new double[(int) ((request.getFetchEnd() - request.getFetchStart()) / resolution)];
 		for (int i = 0; i < result.length; i++) {
@@ -244,25 +330,12 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 		long toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 
-		RrdDb database = null;
 		try {
-			for (ChannelAddress channelAddress : channels) {
-				Channel<?> channel = this.componentManager.getChannel(channelAddress);
-				database = this.getExistingRrdDb(channel.address());
-
-				if (database == null) {
-					continue; // not existing -> abort
-				}
-
-				ChannelDef chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-				FetchRequest request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp);
-				FetchData data = request.fetchData();
-				database.close();
-
+			this.fetch(channels, fromTimestamp, toTimeStamp, 1, (channelAddress, request, data, values) -> {
 				// Find first and last energy value != null
 				double first = Double.NaN;
 				double last = Double.NaN;
-				for (Double tmp : data.getValues(0)) {
+				for (double tmp : values) {
 					if (Double.isNaN(first) && !Double.isNaN(tmp)) {
 						first = tmp;
 					}
@@ -279,19 +352,10 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 				} else {
 					table.put(channelAddress, new JsonPrimitive(value));
 				}
-
-			}
+			});
 
 		} catch (Exception e) {
 			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
-		} finally {
-			if (database != null && !database.isClosed()) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close database: " + e.getMessage());
-				}
-			}
 		}
 		return table;
 	}
@@ -339,20 +403,37 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		final CompletableFuture<Optional<Object>> result = new CompletableFuture<>();
 
 		CompletableFuture.runAsync(() -> {
+			// Per-Component file
+			if (this.storageLayout == StorageLayout.PER_COMPONENT) {
+				for (ConsolFun consolFun : new ConsolFun[] { ConsolFun.AVERAGE, ConsolFun.MAX }) {
+					RrdDb database = this.getExistingPerComponentRrdDb(channelAddress, consolFun);
+					if (database == null) {
+						continue;
+					}
+					try {
+						result.complete(Optional.of(
+								database.getLastDatasourceValue(this.perComponentStorage.getDsName(channelAddress))));
+					} catch (Exception e) {
+						result.complete(Optional.empty());
+					} finally {
+						this.releaseRrdDb(database);
+					}
+					return;
+				}
+			}
+
+			// Per-Channel file
 			RrdDb database = this.getExistingRrdDb(channelAddress);
 			if (database == null) {
 				result.complete(Optional.empty());
+				return;
 			}
 			try {
 				result.complete(Optional.of(database.getLastDatasourceValues()[0]));
 			} catch (Exception e) {
 				result.complete(Optional.empty());
 			} finally {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close Database for [" + channelAddress + "]: " + e.getMessage());
-				}
+				this.releaseRrdDb(database);
 			}
 		});
 
@@ -360,35 +441,89 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	}
 
 	/**
-	 * Gets the RRD4j database for the given Channel-Address.
+	 * Gets the RRD4j database for the given Channel-Address; creates it if it is
+	 * not existing.
 	 * 
 	 * <p>
 	 * The predefined RRD4J archives match the requirements of
 	 * {@link CommonTimedataService#calculateResolution(ZonedDateTime, ZonedDateTime)}
 	 * 
+	 * <p>
+	 * The RrdDb must be given back using {@link #releaseRrdDb(RrdDb)}.
+	 * 
 	 * @param channelAddress the Channel-Address
+	 * @param channelUnit    the {@link Unit} of the Channel
 	 * @param startTime      the starttime for newly created RrdDbs
 	 * @return the RrdDb
-	 * @throws IOException        on error
-	 * @throws URISyntaxException on error
+	 * @throws IOException on error
 	 */
 	protected synchronized RrdDb getRrdDb(ChannelAddress channelAddress, Unit channelUnit, long startTime)
-			throws IOException, URISyntaxException {
-		RrdDb rrdDb = this.getExistingRrdDb(channelAddress);
-		if (rrdDb != null) {
-			// Database exists
+			throws IOException {
+		File file = this.getDbFile(channelAddress);
+		RrdDb rrdDb = this.rrdDbCache.acquire(file.getPath(), () -> {
+			if (file.exists()) {
+				return this.openRrdDb(file);
+			}
+			// Create new database
+			return this.createNewDb(channelAddress, channelUnit, startTime);
+		});
 
-			// Update database definition if required
-			rrdDb = this.updateRrdDbToLatestDefinition(rrdDb, channelAddress, channelUnit);
+		// Update database definition if required
+		return this.updateRrdDbToLatestDefinition(rrdDb, channelAddress, channelUnit);
+	}
 
-			return rrdDb;
+	/**
+	 * Gets the per-Component RRD4j database for the given Channels; creates it or
+	 * adds datasources if required. See {@link StorageLayout#PER_COMPONENT}.
+	 * 
+	 * <p>
+	 * The RrdDb must be given back using {@link #releaseRrdDb(RrdDb)}.
+	 * 
+	 * @param group     the group, i.e. usually the Component-ID
+	 * @param consolFun the {@link ConsolFun} of the Channels
+	 * @param channels  the Channels and their {@link Unit}s
+	 * @param startTime the starttime for newly created RrdDbs
+	 * @return the RrdDb
+	 * @throws IOException on error
+	 */
+	protected synchronized RrdDb getPerComponentRrdDb(String group, ConsolFun consolFun,
+			Map<ChannelAddress, Unit> channels, long startTime) throws IOException {
+		return this.perComponentStorage.getRrdDb(group, consolFun, channels, startTime);
+	}
 
-		} else {
-			// Create new database
-			return this.createNewDb(channelAddress, channelUnit, startTime);
+	/**
+	 * Gets an existing per-Component RRD4j database, if it stores the given
+	 * Channel.
+	 * 
+	 * <p>
+	 * The RrdDb must be given back using {@link #releaseRrdDb(RrdDb)}.
+	 * 
+	 * @param channelAddress the Channel-Address
+	 * @param consolFun      the {@link ConsolFun} of the Channel
+	 * @return the RrdDb or null
+	 */
+	protected synchronized RrdDb getExistingPerComponentRrdDb(ChannelAddress channelAddress, ConsolFun consolFun) {
+		try {
+			return this.perComponentStorage.getExistingRrdDb(channelAddress, consolFun);
+		} catch (IOException e) {
+			this.logError(this.log, "Unable to open existing RrdDb: " + e.getMessage());
+			return null;
 		}
 	}
 
+	/**
+	 * Gives back a RrdDb that was returned by
+	 * {@link #getRrdDb(ChannelAddress, Unit, long)},
+	 * {@link #getExistingRrdDb(ChannelAddress)} or one of the per-Component
+	 * methods. The RrdDb stays open for
+	 * subsequent writes and queries.
+	 * 
+	 * @param rrdDb the RrdDb; null is ignored
+	 */
+	protected void releaseRrdDb(RrdDb rrdDb) {
+		this.rrdDbCache.release(rrdDb);
+	}
+
 	/**
 	 * Creates new DB
 	 * 
@@ -410,13 +545,32 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 						channelDef.dsType, //
 						DEFAULT_HEARTBEAT_SECONDS, // Heartbeat in [s], default 300 = 5 minutes
 						channelDef.minValue, channelDef.maxValue));
+		addArchives(rrdDef, channelDef.consolFun);
+		return this.buildRrdDb(rrdDef);
+	}
+
+	/**
+	 * Adds the OpenEMS default archives to a {@link RrdDef}.
+	 * 
+	 * @param rrdDef    the {@link RrdDef}
+	 * @param consolFun the {@link ConsolFun}
+	 */
+	protected static void addArchives(RrdDef rrdDef, ConsolFun consolFun) {
 		// detailed recordings
-		rrdDef.addArchive(channelDef.consolFun, 0.5, 1, 8_928); // 1 step (5 minutes), 8928 rows (31 days)
-		rrdDef.addArchive(channelDef.consolFun, 0.5, 12, 8_016); // 12 steps (60 minutes), 8016 rows (334 days)
+		rrdDef.addArchive(consolFun, 0.5, 1, 8_928); // 1 step (5 minutes), 8928 rows (31 days)
+		rrdDef.addArchive(consolFun, 0.5, 12, 8_016); // 12 steps (60 minutes), 8016 rows (334 days)
+	}
 
+	/**
+	 * Creates a new RRD4j file.
+	 * 
+	 * @param rrdDef the {@link RrdDef}
+	 * @return the {@link RrdDb}
+	 * @throws IOException on error
+	 */
+	protected RrdDb buildRrdDb(RrdDef rrdDef) throws IOException {
 		return RrdDb.getBuilder() //
 				.setBackendFactory(this.factory) //
-				.usePool() //
 				.setRrdDef(rrdDef) //
 				.build();
 	}
@@ -424,35 +578,59 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	/**
 	 * Gets an existing RrdDb.
 	 * 
+	 * <p>
+	 * The RrdDb must be given back using {@link #releaseRrdDb(RrdDb)}.
+	 * 
 	 * @param channelAddress the ChannelAddress
 	 * @return the RrdDb or null
-	 * @throws IOException        on error
-	 * @throws URISyntaxException on error
 	 */
 	protected synchronized RrdDb getExistingRrdDb(ChannelAddress channelAddress) {
 		File file = this.getDbFile(channelAddress);
-		if (!file.exists()) {
-			return null;
-		}
 		try {
-			return RrdDb.getBuilder() //
-					.setBackendFactory(this.factory) //
-					.usePool() //
-					.setPath(file.toURI()) //
-					.build();
+			return this.rrdDbCache.acquire(file.getPath(), () -> {
+				if (!file.exists()) {
+					return null;
+				}
+				return this.openRrdDb(file);
+			});
 		} catch (IOException e) {
 			this.logError(this.log, "Unable to open existing RrdDb: " + e.getMessage());
 			return null;
 		}
 	}
 
+	/**
+	 * Opens an existing RRD4j file.
+	 * 
+	 * @param file the {@link File}
+	 * @return the {@link RrdDb}
+	 * @throws IOException on error
+	 */
+	protected RrdDb openRrdDb(File file) throws IOException {
+		return RrdDb.getBuilder() //
+				.setBackendFactory(this.factory) //
+				.setPath(file.toURI()) //
+				.build();
+	}
+
 	private File getDbFile(ChannelAddress channelAddress) {
+		return this.getDbFile(channelAddress.getComponentId(), channelAddress.getChannelId());
+	}
+
+	/**
+	 * Gets a RRD4j file; creates the parent directory if required.
+	 * 
+	 * @param directory the directory, i.e. the Component-ID
+	 * @param fileName  the file name, i.e. the Channel-ID
+	 * @return the {@link File}
+	 */
+	protected File getDbFile(String directory, String fileName) {
 		File file = Paths.get(//
 				OpenemsConstants.getOpenemsDataDir(), //
 				RRD4J_PATH, //
 				this.id(), //
-				channelAddress.getComponentId(), //
-				channelAddress.getChannelId()) //
+				directory, //
+				fileName) //
 				.toFile();
 		if (!file.getParentFile().exists()) {
 			file.getParentFile().mkdirs();
@@ -460,11 +638,11 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		return file;
 	}
 
-	private static class ChannelDef {
-		private final DsType dsType;
-		private final double minValue;
-		private final double maxValue;
-		private final ConsolFun consolFun;
+	static class ChannelDef {
+		final DsType dsType;
+		final double minValue;
+		final double maxValue;
+		final ConsolFun consolFun;
 
 		public ChannelDef(DsType dsType, double minValue, double maxValue, ConsolFun consolFun) {
 			this.dsType = dsType;
@@ -481,7 +659,7 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	 * @param channel the Channel
 	 * @return the {@link DsDef}
 	 */
-	private ChannelDef getDsDefForChannel(Unit channelUnit) {
+	ChannelDef getDsDefForChannel(Unit channelUnit) {
 		switch (channelUnit) {
 		case AMPERE:
 		case AMPERE_HOURS:
@@ -532,15 +710,19 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	/**
 	 * Migrates between different versions of the OpenEMS-RRD4j Definition.
 	 * 
-	 * @param database       the {@link RrdDb} database
+	 * <p>
+	 * If a migration is required, the old {@link RrdDb} is released and a new one
+	 * is returned instead.
+	 * 
+	 * @param oldDb          the {@link RrdDb} database
 	 * @param channelAddress the {@link ChannelAddress}
 	 * @param channelUnit    the {@link Unit} of the Channel
 	 * @return new {@link RrdDb}
 	 * @throws IOException on error
 	 */
-	private RrdDb updateRrdDbToLatestDefinition(RrdDb oldDb, ChannelAddress channelAddress, Unit channelUnit)
+	protected RrdDb updateRrdDbToLatestDefinition(RrdDb oldDb, ChannelAddress channelAddress, Unit channelUnit)
 			throws IOException {
-		if (oldDb.getArcCount() > 2 || oldDb.getRrdDef().getStep() == 60) {
+		if (oldDb.getArcCount() > 2 || oldDb.getHeader().getStep() == 60) {
 			/*
 			 * This is an old OpenEMS-RRD4j Definition -> migrate to latest version
 			 */
@@ -554,13 +736,17 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 			if (fetchData.getTimestamps().length > 0) {
 				firstTimestamp = fetchData.getTimestamps()[0];
 			}
-			oldDb.close();
+			String path = oldDb.getCanonicalPath();
+			this.rrdDbCache.detach(oldDb);
+			this.rrdDbCache.release(oldDb);
 
 			// Delete old file
-			Files.delete(Paths.get(oldDb.getCanonicalPath()));
+			Files.delete(Paths.get(path));
 
 			// Create new database
-			RrdDb newDb = this.createNewDb(channelAddress, channelUnit, firstTimestamp - 1);
+			final long startTime = firstTimestamp - 1;
+			RrdDb newDb = this.rrdDbCache.acquire(this.getDbFile(channelAddress).getPath(),
+					() -> this.createNewDb(channelAddress, channelUnit, startTime));
 
 			// Migrate data
 			Sample sample = newDb.createSample();
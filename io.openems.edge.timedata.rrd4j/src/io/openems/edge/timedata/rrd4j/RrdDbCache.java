@@ -0,0 +1,175 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a bounded number of {@link RrdDb}s open, so that files do not need to
+ * be opened and closed for every write and every query.
+ *
+ * <p>
+ * Every {@link RrdDb} returned by {@link #acquire(String, Opener)} must be
+ * given back using {@link #release(RrdDb)} instead of {@link RrdDb#close()}.
+ * References are counted, so the RecordWorker and queries can share the same
+ * {@link RrdDb}. If more than 'capacity' {@link RrdDb}s are open, the least
+ * recently used ones that are not referenced anymore are closed.
+ */
+class RrdDbCache {
+
+	@FunctionalInterface
+	public interface Opener {
+
+		/**
+		 * Opens a {@link RrdDb}.
+		 *
+		 * @return the {@link RrdDb} or null if it is not existing
+		 * @throws IOException on error
+		 */
+		public RrdDb open() throws IOException;
+
+	}
+
+	private static class Entry {
+		private final String path;
+		private final RrdDb database;
+		private int references = 0;
+		private boolean isDetached = false;
+
+		private Entry(String path, RrdDb database) {
+			this.path = path;
+			this.database = database;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(RrdDbCache.class);
+
+	private final int capacity;
+
+	/**
+	 * Entries by path in access-order, i.e. least recently used first.
+	 */
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Referenced entries by {@link RrdDb}; also holds detached entries.
+	 */
+	private final Map<RrdDb, Entry> referencedEntries = new IdentityHashMap<>();
+
+	public RrdDbCache(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Gets the {@link RrdDb} for the given path; opens it if it is not open yet.
+	 *
+	 * @param path   the path of the RRD4j file
+	 * @param opener opens the {@link RrdDb} if it is not open yet
+	 * @return the {@link RrdDb} or null if it is not existing
+	 * @throws IOException on error
+	 */
+	public synchronized RrdDb acquire(String path, Opener opener) throws IOException {
+		Entry entry = this.entries.get(path);
+		if (entry == null) {
+			RrdDb database = opener.open();
+			if (database == null) {
+				return null;
+			}
+			entry = new Entry(path, database);
+			this.entries.put(path, entry);
+		}
+		entry.references++;
+		this.referencedEntries.put(entry.database, entry);
+		this.evict();
+		return entry.database;
+	}
+
+	/**
+	 * Gives back a {@link RrdDb} that was returned by
+	 * {@link #acquire(String, Opener)}.
+	 *
+	 * @param database the {@link RrdDb}; null is ignored
+	 */
+	public synchronized void release(RrdDb database) {
+		if (database == null) {
+			return;
+		}
+		Entry entry = this.referencedEntries.get(database);
+		if (entry == null) {
+			this.log.warn("Released RrdDb [" + database.getPath() + "] is not referenced");
+			return;
+		}
+		entry.references--;
+		if (entry.references > 0) {
+			return;
+		}
+		this.referencedEntries.remove(database);
+		if (entry.isDetached) {
+			this.close(entry);
+		} else {
+			this.evict();
+		}
+	}
+
+	/**
+	 * Removes a {@link RrdDb} from the cache, e.g. because its file is going to be
+	 * replaced. It is closed once all references are released.
+	 *
+	 * @param database the {@link RrdDb}
+	 */
+	public synchronized void detach(RrdDb database) {
+		Entry entry = this.referencedEntries.get(database);
+		if (entry == null) {
+			return;
+		}
+		entry.isDetached = true;
+		this.entries.remove(entry.path, entry);
+	}
+
+	/**
+	 * Closes all {@link RrdDb}s.
+	 */
+	public synchronized void closeAll() {
+		for (Entry entry : this.entries.values()) {
+			this.close(entry);
+		}
+		for (Entry entry : this.referencedEntries.values()) {
+			if (entry.isDetached) {
+				this.close(entry);
+			}
+		}
+		this.entries.clear();
+		this.referencedEntries.clear();
+	}
+
+	/**
+	 * Closes least recently used, not referenced {@link RrdDb}s while there are
+	 * more than 'capacity' open.
+	 */
+	private void evict() {
+		Iterator<Entry> iterator = this.entries.values().iterator();
+		while (this.entries.size() > this.capacity && iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (entry.references > 0) {
+				continue;
+			}
+			iterator.remove();
+			this.close(entry);
+		}
+	}
+
+	private void close(Entry entry) {
+		try {
+			entry.database.close();
+		} catch (IOException e) {
+			this.log.warn("Unable to close RrdDb [" + entry.path + "]: " + e.getMessage());
+		}
+	}
+
+}
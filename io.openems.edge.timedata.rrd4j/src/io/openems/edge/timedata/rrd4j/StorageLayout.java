@@ -0,0 +1,14 @@
+package io.openems.edge.timedata.rrd4j;
+
+public enum StorageLayout {
+	/**
+	 * One RRD4J file per Channel with a single datasource.
+	 */
+	PER_CHANNEL,
+	/**
+	 * One RRD4J file per Component - or per configured group of Components - and
+	 * consolidation function, with one datasource per Channel. Existing
+	 * {@link #PER_CHANNEL} files are migrated automatically.
+	 */
+	PER_COMPONENT;
+}
@@ -0,0 +1,94 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.rrd4j.ConsolFun;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+
+public class ChannelAccumulatorTest {
+
+	private static enum TestChannelId implements ChannelId {
+		TEST_CHANNEL(Doc.of(OpenemsType.INTEGER));
+
+		private final Doc doc;
+
+		private TestChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private static void nextValue(IntegerReadChannel channel, Integer value) {
+		channel.setNextValue(value);
+		channel.nextProcessImage();
+	}
+
+	private static void nextCycle(IntegerReadChannel channel, ChannelAccumulator<Integer> sut, Integer value) {
+		nextValue(channel, value);
+		sut.sample();
+	}
+
+	@Test
+	public void testAverage() {
+		IntegerReadChannel channel = TestChannelId.TEST_CHANNEL.doc().createChannelInstance(null,
+				TestChannelId.TEST_CHANNEL);
+		nextValue(channel, 100);
+		ChannelAccumulator<Integer> sut = ChannelAccumulator.of(channel, ConsolFun.AVERAGE);
+		sut.addPastValues(Long.MIN_VALUE);
+
+		nextCycle(channel, sut, null);
+		nextCycle(channel, sut, 200);
+		nextCycle(channel, sut, 300);
+		assertEquals(200, sut.getAndReset(), 0.001);
+
+		// reset
+		assertTrue(Double.isNaN(sut.getAndReset()));
+
+		// not sampled
+		nextValue(channel, 400);
+		assertTrue(Double.isNaN(sut.getAndReset()));
+	}
+
+	@Test
+	public void testOneSamplePerCycle() {
+		IntegerReadChannel channel = TestChannelId.TEST_CHANNEL.doc().createChannelInstance(null,
+				TestChannelId.TEST_CHANNEL);
+		ChannelAccumulator<Integer> sut = ChannelAccumulator.of(channel, ConsolFun.AVERAGE);
+
+		// No value yet
+		sut.sample();
+		assertTrue(Double.isNaN(sut.getAndReset()));
+
+		// A value that is not set again is sampled in every Cycle
+		nextCycle(channel, sut, 100);
+		channel.nextProcessImage();
+		sut.sample();
+		channel.nextProcessImage();
+		sut.sample();
+		nextCycle(channel, sut, 500);
+		assertEquals(200, sut.getAndReset(), 0.001);
+	}
+
+	@Test
+	public void testMax() {
+		IntegerReadChannel channel = TestChannelId.TEST_CHANNEL.doc().createChannelInstance(null,
+				TestChannelId.TEST_CHANNEL);
+		ChannelAccumulator<Integer> sut = ChannelAccumulator.of(channel, ConsolFun.MAX);
+
+		nextCycle(channel, sut, 300);
+		nextCycle(channel, sut, 500);
+		nextCycle(channel, sut, 400);
+		assertEquals(500, sut.getAndReset(), 0.001);
+	}
+
+}
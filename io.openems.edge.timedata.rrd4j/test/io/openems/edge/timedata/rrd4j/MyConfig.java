@@ -0,0 +1,85 @@
+package io.openems.edge.timedata.rrd4j;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.edge.common.test.AbstractComponentConfig;
+
+@SuppressWarnings("all")
+public class MyConfig extends AbstractComponentConfig implements Config {
+
+	protected static class Builder {
+		private String id;
+		private PersistencePriority persistencePriority = PersistencePriority.MEDIUM;
+		private StorageLayout storageLayout = StorageLayout.PER_CHANNEL;
+		private String[] componentGroups = {};
+		private int maxOpenFiles = 1024;
+
+		private Builder() {
+		}
+
+		public Builder setId(String id) {
+			this.id = id;
+			return this;
+		}
+
+		public Builder setPersistencePriority(PersistencePriority persistencePriority) {
+			this.persistencePriority = persistencePriority;
+			return this;
+		}
+
+		public Builder setStorageLayout(StorageLayout storageLayout) {
+			this.storageLayout = storageLayout;
+			return this;
+		}
+
+		public Builder setComponentGroups(String... componentGroups) {
+			this.componentGroups = componentGroups;
+			return this;
+		}
+
+		public Builder setMaxOpenFiles(int maxOpenFiles) {
+			this.maxOpenFiles = maxOpenFiles;
+			return this;
+		}
+
+		public MyConfig build() {
+			return new MyConfig(this);
+		}
+	}
+
+	/**
+	 * Create a Config builder.
+	 *
+	 * @return a {@link Builder}
+	 */
+	public static Builder create() {
+		return new Builder();
+	}
+
+	private final Builder builder;
+
+	private MyConfig(Builder builder) {
+		super(Config.class, builder.id);
+		this.builder = builder;
+	}
+
+	@Override
+	public PersistencePriority persistencePriority() {
+		return this.builder.persistencePriority;
+	}
+
+	@Override
+	public StorageLayout storageLayout() {
+		return this.builder.storageLayout;
+	}
+
+	@Override
+	public String[] componentGroups() {
+		return this.builder.componentGroups;
+	}
+
+	@Override
+	public int maxOpenFiles() {
+		return this.builder.maxOpenFiles;
+	}
+
+}
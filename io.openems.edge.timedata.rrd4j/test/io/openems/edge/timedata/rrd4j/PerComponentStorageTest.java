@@ -0,0 +1,299 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.Sample;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.DummyComponentManager;
+
+public class PerComponentStorageTest {
+
+	private static final long START = 1577836800L; /* 1. January 2020 00:00:00 */
+	private static final int STEP = Rrd4jTimedataImpl.DEFAULT_STEP_SECONDS;
+
+	private static final ChannelAddress METER0_ACTIVE_POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final ChannelAddress METER0_VOLTAGE = new ChannelAddress("meter0", "Voltage");
+	private static final ChannelAddress METER1_ACTIVE_POWER = new ChannelAddress("meter1", "ActivePower");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static enum TestChannelId implements io.openems.edge.common.channel.ChannelId {
+		ACTIVE_POWER(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.WATT)), //
+		VOLTAGE(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.VOLT));
+
+		private final Doc doc;
+
+		private TestChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private static class TestComponent extends AbstractOpenemsComponent {
+
+		private TestComponent(String id) {
+			super(OpenemsComponent.ChannelId.values(), TestChannelId.values());
+			super.activate(null, id, "", true);
+		}
+	}
+
+	private static class TestTimedata extends Rrd4jTimedataImpl {
+
+		private final File directory;
+
+		private TestTimedata(File directory) {
+			this.directory = directory;
+		}
+
+		@Override
+		protected File getDbFile(String directory, String fileName) {
+			File file = new File(new File(this.directory, directory), fileName);
+			file.getParentFile().mkdirs();
+			return file;
+		}
+	}
+
+	private TestTimedata createTimedata(StorageLayout storageLayout, String... componentGroups) throws Exception {
+		TestTimedata sut = new TestTimedata(this.folder.getRoot());
+		sut.componentManager = new DummyComponentManager() //
+				.addComponent(new TestComponent("meter0")) //
+				.addComponent(new TestComponent("meter1"));
+		sut.activate(null, MyConfig.create() //
+				.setId("rrd4j0") //
+				.setStorageLayout(storageLayout) //
+				.setComponentGroups(componentGroups) //
+				.build());
+		return sut;
+	}
+
+	private static void update(RrdDb database, String dsName, long timestamp, double value) throws IOException {
+		Sample sample = database.createSample(timestamp);
+		sample.setValue(dsName, value);
+		sample.update();
+	}
+
+	private static double[] fetch(RrdDb database, String dsName, int steps) throws IOException {
+		return database.createFetchRequest(ConsolFun.AVERAGE, START, START + steps * STEP) //
+				.fetchData() //
+				.getValues(dsName);
+	}
+
+	/**
+	 * Writes values to a per-Channel file.
+	 *
+	 * @param sut            the {@link TestTimedata}
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param steps          the number of steps
+	 * @param factor         the factor for the values
+	 * @return the values as fetched from the per-Channel file
+	 * @throws IOException on error
+	 */
+	private static double[] writePerChannel(TestTimedata sut, ChannelAddress channelAddress, int steps,
+			double factor) throws IOException {
+		RrdDb database = sut.getRrdDb(channelAddress, Unit.WATT, START - 1);
+		try {
+			for (int i = 0; i <= steps; i++) {
+				update(database, Rrd4jTimedataImpl.DEFAULT_DATASOURCE_NAME, START + i * STEP, i * factor);
+			}
+			return fetch(database, Rrd4jTimedataImpl.DEFAULT_DATASOURCE_NAME, steps);
+		} finally {
+			sut.releaseRrdDb(database);
+		}
+	}
+
+	@Test
+	public void testGetDsName() throws OpenemsException {
+		PerComponentStorage sut = new PerComponentStorage(null, null, new String[0]);
+		assertEquals("ActivePower", sut.getDsName(METER0_ACTIVE_POWER));
+
+		String dsName1 = sut.getDsName(new ChannelAddress("meter0", "ActiveProductionEnergyL1"));
+		String dsName2 = sut.getDsName(new ChannelAddress("meter0", "ActiveProductionEnergyL2"));
+		assertEquals(20, dsName1.length());
+		assertEquals(20, dsName2.length());
+		assertNotEquals(dsName1, dsName2);
+	}
+
+	@Test
+	public void testGetDsNameInGroup() throws OpenemsException {
+		PerComponentStorage sut = new PerComponentStorage(null, null,
+				new String[] { "meters=meter0,meter1", "ess0=ess0", "meter2=meter3" });
+		assertEquals("meter0/ActivePower", sut.getDsName(METER0_ACTIVE_POWER));
+		assertEquals("meter1/ActivePower", sut.getDsName(METER1_ACTIVE_POWER));
+
+		// Length limit and hash apply to the full name
+		String dsName1 = sut.getDsName(new ChannelAddress("meter0", "ActivePowerL1"));
+		String dsName2 = sut.getDsName(new ChannelAddress("meter1", "ActivePowerL1"));
+		assertEquals(20, dsName1.length());
+		assertEquals(20, dsName2.length());
+		assertNotEquals(dsName1, dsName2);
+
+		// Component in a file of its own
+		assertEquals("ActivePower", sut.getDsName(new ChannelAddress("ess0", "ActivePower")));
+		assertEquals("ActivePower", sut.getDsName(new ChannelAddress("ess1", "ActivePower")));
+
+		// Component shares the file with a Component of another group
+		assertEquals("meter2/ActivePower", sut.getDsName(new ChannelAddress("meter2", "ActivePower")));
+		assertEquals("meter3/ActivePower", sut.getDsName(new ChannelAddress("meter3", "ActivePower")));
+	}
+
+	@Test
+	public void testGetGroup() throws OpenemsException {
+		PerComponentStorage sut = new PerComponentStorage(null, null,
+				new String[] { "meters = meter0, meter1", "", "pv=pvInverter0" });
+		assertEquals("meters", sut.getGroup("meter0"));
+		assertEquals("meters", sut.getGroup("meter1"));
+		assertEquals("pv", sut.getGroup("pvInverter0"));
+		assertEquals("ess0", sut.getGroup("ess0"));
+	}
+
+	@Test(expected = OpenemsException.class)
+	public void testInvalidGroup() throws OpenemsException {
+		new PerComponentStorage(null, null, new String[] { "meter0,meter1" });
+	}
+
+	@Test
+	public void testMigrate() throws Exception {
+		final TestTimedata sut = this.createTimedata(StorageLayout.PER_COMPONENT);
+		try {
+			final double[] activePower = writePerChannel(sut, METER0_ACTIVE_POWER, 5, 10);
+
+			// Per-Component file with another Channel and a later end time
+			final double[] voltage;
+			RrdDb database = sut.getPerComponentRrdDb("meter0", ConsolFun.AVERAGE,
+					Map.of(METER0_VOLTAGE, Unit.VOLT), START - 1);
+			try {
+				for (int i = 0; i <= 10; i++) {
+					update(database, "Voltage", START + i * STEP, 230 + i);
+				}
+				voltage = fetch(database, "Voltage", 10);
+			} finally {
+				sut.releaseRrdDb(database);
+			}
+			assertTrue(sut.getDbFile("meter0", "ActivePower").exists());
+
+			// New Channel: datasource is added and per-Channel file is migrated
+			database = sut.getPerComponentRrdDb("meter0", ConsolFun.AVERAGE,
+					Map.of(METER0_ACTIVE_POWER, Unit.WATT, METER0_VOLTAGE, Unit.VOLT), START - 1);
+			try {
+				assertTrue(Arrays.asList(database.getDsNames()).contains("ActivePower"));
+				// Rows are aligned by timestamp, although the files end at different times
+				assertArrayEquals(activePower, fetch(database, "ActivePower", 5), 0.001);
+				assertTrue(Double.isNaN(fetch(database, "ActivePower", 10)[8]));
+				assertArrayEquals(voltage, fetch(database, "Voltage", 10), 0.001);
+			} finally {
+				sut.releaseRrdDb(database);
+			}
+			assertFalse(sut.getDbFile("meter0", "ActivePower").exists());
+
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testTwoComponentsInGroup() throws Exception {
+		final TestTimedata sut = this.createTimedata(StorageLayout.PER_COMPONENT, "meters=meter0,meter1");
+		try {
+			final double[] meter0 = writePerChannel(sut, METER0_ACTIVE_POWER, 5, 10);
+			final double[] meter1 = writePerChannel(sut, METER1_ACTIVE_POWER, 5, 100);
+
+			RrdDb database = sut.getPerComponentRrdDb("meters", ConsolFun.AVERAGE,
+					Map.of(METER0_ACTIVE_POWER, Unit.WATT, METER1_ACTIVE_POWER, Unit.WATT), START - 1);
+			try {
+				assertEquals(2, database.getDsCount());
+				assertArrayEquals(meter0, fetch(database, "meter0/ActivePower", 5), 0.001);
+				assertArrayEquals(meter1, fetch(database, "meter1/ActivePower", 5), 0.001);
+			} finally {
+				sut.releaseRrdDb(database);
+			}
+			assertFalse(sut.getDbFile("meter0", "ActivePower").exists());
+			assertFalse(sut.getDbFile("meter1", "ActivePower").exists());
+
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testQuery() throws Exception {
+		final TestTimedata sut = this.createTimedata(StorageLayout.PER_COMPONENT);
+		try {
+			// ActivePower in per-Component file; Voltage only in per-Channel file
+			RrdDb database = sut.getPerComponentRrdDb("meter0", ConsolFun.AVERAGE,
+					Map.of(METER0_ACTIVE_POWER, Unit.WATT), START - 1);
+			try {
+				for (int i = 0; i <= 10; i++) {
+					update(database, "ActivePower", START + i * STEP, 1000);
+				}
+			} finally {
+				sut.releaseRrdDb(database);
+			}
+			writePerChannel(sut, METER0_VOLTAGE, 10, 0);
+
+			final ZonedDateTime fromDate = ZonedDateTime.ofInstant(Instant.ofEpochSecond(START), ZoneOffset.UTC);
+			final ZonedDateTime toDate = fromDate.plusSeconds(10 * STEP);
+			final Set<ChannelAddress> channels = Set.of(METER0_ACTIVE_POWER, METER0_VOLTAGE);
+
+			// Single fetch from per-Component file and fallback to per-Channel file
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = sut.queryHistoricData(null,
+					fromDate, toDate, channels, STEP);
+			assertTrue(containsValue(table, METER0_ACTIVE_POWER, 1000));
+			assertTrue(containsValue(table, METER0_VOLTAGE, 0));
+			assertEquals(Optional.of(1000.), sut.getLatestValue(METER0_ACTIVE_POWER).get());
+
+			// Per-Component files are ignored for PER_CHANNEL
+			sut.storageLayout = StorageLayout.PER_CHANNEL;
+			table = sut.queryHistoricData(null, fromDate, toDate, channels, STEP);
+			assertFalse(table.values().stream().anyMatch(row -> row.containsKey(METER0_ACTIVE_POWER)));
+			assertTrue(containsValue(table, METER0_VOLTAGE, 0));
+			assertEquals(Optional.empty(), sut.getLatestValue(METER0_ACTIVE_POWER).get());
+
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	private static boolean containsValue(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table,
+			ChannelAddress channelAddress, double value) {
+		return table.values().stream() //
+				.map(row -> row.get(channelAddress)) //
+				.anyMatch(element -> element != null && !element.isJsonNull() && element.getAsDouble() == value);
+	}
+
+}
@@ -0,0 +1,68 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.DsDef;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdMemoryBackendFactory;
+
+public class RrdDbCacheTest {
+
+	private static RrdDb createRrdDb(String path) throws IOException {
+		final RrdDef rrdDef = new RrdDef(path, 300);
+		rrdDef.addDatasource(new DsDef(Rrd4jTimedataImpl.DEFAULT_DATASOURCE_NAME, DsType.GAUGE, 300, Double.NaN,
+				Double.NaN));
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 10);
+		return RrdDb.getBuilder() //
+				.setBackendFactory(new RrdMemoryBackendFactory()) // in memory
+				.setRrdDef(rrdDef) //
+				.build();
+	}
+
+	@Test
+	public void test() throws IOException {
+		final RrdDbCache sut = new RrdDbCache(1);
+
+		// not existing
+		assertNull(sut.acquire("a", () -> null));
+
+		// shared between references
+		final RrdDb a = sut.acquire("a", () -> createRrdDb("a"));
+		assertSame(a, sut.acquire("a", () -> createRrdDb("a")));
+		sut.release(a);
+
+		// referenced RrdDbs are not evicted
+		final RrdDb b = sut.acquire("b", () -> createRrdDb("b"));
+		assertFalse(a.isClosed());
+
+		// least recently used, released RrdDb is evicted
+		sut.release(a);
+		assertTrue(a.isClosed());
+		assertFalse(b.isClosed());
+
+		// stays open after release
+		sut.release(b);
+		assertFalse(b.isClosed());
+		assertSame(b, sut.acquire("b", () -> createRrdDb("b")));
+
+		// detached RrdDb is closed on release
+		sut.detach(b);
+		sut.release(b);
+		assertTrue(b.isClosed());
+
+		final RrdDb c = sut.acquire("c", () -> createRrdDb("c"));
+		sut.release(c);
+		sut.closeAll();
+		assertTrue(c.isClosed());
+	}
+
+}
@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -21,6 +22,7 @@ import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBException;
 import org.influxdb.InfluxDBFactory;
 import org.influxdb.InfluxDBIOException;
+import org.influxdb.dto.BatchPoints;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
@@ -119,7 +121,7 @@ public class InfluxConnector {
 	 * 
 	 * @return the {@link InfluxDB} connection
 	 */
-	private InfluxDB getConnection() {
+	private synchronized InfluxDB getConnection() {
 		if (this._influxDB == null) {
 			OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient().newBuilder() //
 					.connectTimeout(CONNECT_TIMEOUT, TimeUnit.SECONDS) //
@@ -524,4 +526,34 @@ public class InfluxConnector {
 			throw new OpenemsException("Unable to write point: " + e.getMessage());
 		}
 	}
+
+	/**
+	 * Synchronously writes multiple points in one request.
+	 * 
+	 * <p>
+	 * In contrast to {@link #write(Point)} this method blocks until the points
+	 * were written, i.e. the caller is responsible for batching and backpressure.
+	 * Errors are forwarded to the 'onWriteError' callback.
+	 * 
+	 * @param points the {@link Point}s
+	 * @return true on success
+	 */
+	public boolean write(Collection<Point> points) {
+		if (this.isReadOnly) {
+			log.info("Read-Only-Mode is activated. Not writing [" + points.size() + "] points");
+			return true;
+		}
+		BatchPoints batchPoints = BatchPoints.database(this.database) //
+				.retentionPolicy(this.retentionPolicy) //
+				.precision(TimeUnit.MILLISECONDS) //
+				.points(points) //
+				.build();
+		try {
+			this.getConnection().write(batchPoints);
+			return true;
+		} catch (InfluxDBException e) {
+			this.onWriteError.accept(points, e);
+			return false;
+		}
+	}
 }